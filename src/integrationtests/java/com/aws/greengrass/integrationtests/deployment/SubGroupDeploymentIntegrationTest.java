@@ -214,13 +214,24 @@ public class SubGroupDeploymentIntegrationTest extends BaseITCase {
         iotJobsClientWrapper = spy(jobsHelper.getIotJobsClientWrapper());
 
         // mimic response back from cloud to update job accepted topic
+        AtomicReference<Consumer<UpdateJobExecutionResponse>> acceptedHandler = new AtomicReference<>();
         doAnswer((i) -> {
-            Consumer<UpdateJobExecutionResponse> handler = i.getArgument(2);
-            handler.accept(new UpdateJobExecutionResponse());
+            acceptedHandler.set(i.getArgument(2));
             return CompletableFuture.completedFuture(0);
         }).when(iotJobsClientWrapper)
                 .SubscribeToUpdateJobExecutionAccepted(any(UpdateJobExecutionSubscriptionRequest.class),
                         any(QualityOfService.class), any(Consumer.class));
+        doAnswer((i) -> CompletableFuture.completedFuture(0)).when(iotJobsClientWrapper)
+                .SubscribeToUpdateJobExecutionRejected(any(UpdateJobExecutionSubscriptionRequest.class),
+                        any(QualityOfService.class), any(Consumer.class));
+        doAnswer((i) -> {
+            Object published = i.callRealMethod();
+            UpdateJobExecutionResponse response = new UpdateJobExecutionResponse();
+            response.clientToken = ((UpdateJobExecutionRequest) i.getArgument(0)).clientToken;
+            acceptedHandler.get().accept(response);
+            return published;
+        }).when(iotJobsClientWrapper)
+                .PublishUpdateJobExecution(any(UpdateJobExecutionRequest.class), any(QualityOfService.class));
 
         // replace with spied version
         jobsHelper.setIotJobsClientWrapper(iotJobsClientWrapper);
@@ -140,13 +140,19 @@ class EventFleetStatusServiceTest extends BaseITCase {
         CompletableFuture<Void> cf = new CompletableFuture<>();
         fleetStatusDetailsList = new AtomicReference<>(new ArrayList<>());
         cf.complete(null);
+        lenient().when(mockIotJobsClientWrapper.SubscribeToUpdateJobExecutionAccepted(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(0));
+        lenient().when(mockIotJobsClientWrapper.SubscribeToUpdateJobExecutionRejected(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(0));
         lenient().when(mockIotJobsClientWrapper.PublishUpdateJobExecution(any(UpdateJobExecutionRequest.class),
                 any(QualityOfService.class))).thenAnswer(invocationOnMock -> {
             verify(mockIotJobsClientWrapper, atLeastOnce()).SubscribeToUpdateJobExecutionAccepted(any(),
                     eq(QualityOfService.AT_LEAST_ONCE), jobsAcceptedHandlerCaptor.capture());
             Consumer<UpdateJobExecutionResponse> jobResponseConsumer = jobsAcceptedHandlerCaptor.getValue();
-            UpdateJobExecutionResponse mockJobExecutionResponse = mock(UpdateJobExecutionResponse.class);
-            jobResponseConsumer.accept(mockJobExecutionResponse);
+            UpdateJobExecutionResponse jobExecutionResponse = new UpdateJobExecutionResponse();
+            jobExecutionResponse.clientToken =
+                    ((UpdateJobExecutionRequest) invocationOnMock.getArgument(0)).clientToken;
+            jobResponseConsumer.accept(jobExecutionResponse);
             return cf;
         });
         when(mqttClient.publish(any(PublishRequest.class))).thenAnswer(i -> {
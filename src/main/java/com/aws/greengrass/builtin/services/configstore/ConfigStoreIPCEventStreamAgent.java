@@ -7,6 +7,7 @@ package com.aws.greengrass.builtin.services.configstore;
 
 import com.aws.greengrass.builtin.services.configstore.exceptions.ValidateEventRegistrationException;
 import com.aws.greengrass.config.ChildChanged;
+import com.aws.greengrass.config.ConfigSnapshot;
 import com.aws.greengrass.config.Node;
 import com.aws.greengrass.config.Topic;
 import com.aws.greengrass.config.Topics;
@@ -36,7 +37,6 @@ import software.amazon.awssdk.aws.greengrass.model.InvalidArgumentsError;
 import software.amazon.awssdk.aws.greengrass.model.ResourceNotFoundError;
 import software.amazon.awssdk.aws.greengrass.model.SendConfigurationValidityReportRequest;
 import software.amazon.awssdk.aws.greengrass.model.SendConfigurationValidityReportResponse;
-import software.amazon.awssdk.aws.greengrass.model.ServiceError;
 import software.amazon.awssdk.aws.greengrass.model.SubscribeToConfigurationUpdateRequest;
 import software.amazon.awssdk.aws.greengrass.model.SubscribeToConfigurationUpdateResponse;
 import software.amazon.awssdk.aws.greengrass.model.SubscribeToValidateConfigurationUpdatesRequest;
@@ -49,13 +49,17 @@ import software.amazon.awssdk.eventstreamrpc.OperationContinuationHandlerContext
 import software.amazon.awssdk.eventstreamrpc.StreamEventPublisher;
 import software.amazon.awssdk.eventstreamrpc.model.EventStreamJsonMessage;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -71,6 +75,7 @@ public class ConfigStoreIPCEventStreamAgent {
     private static final Logger logger = LogManager.getLogger(ConfigStoreIPCEventStreamAgent.class);
     private static final String KEY_NOT_FOUND_ERROR_MESSAGE = "Key not found";
     private static final String SERVICE_NAME = "service-name";
+    private static final int MAX_CACHED_CONFIGURATION_RESPONSES = 256;
     @Getter(AccessLevel.PACKAGE)
     private final ConcurrentHashMap<String, Set<StreamEventPublisher<ConfigurationUpdateEvents>>>
             configUpdateListeners = new ConcurrentHashMap<>();
@@ -83,6 +88,22 @@ public class ConfigStoreIPCEventStreamAgent {
     private final Map<Pair<String, String>, CompletableFuture<ConfigurationValidityReport>>
             configValidationReportFutures = new ConcurrentHashMap<>();
 
+    // Map of component + key path --> version of the config node and the immutable value read from it. A node's
+    // version changes whenever anything beneath it changes, so a matching version means the cached value is still
+    // current. Responses are mutable, so every request gets its own response around the shared value.
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<Pair<String, List<String>>, Pair<Long, Map<String, Object>>> configurationValueCache =
+            Collections.synchronizedMap(new LinkedHashMap<Pair<String, List<String>>,
+                    Pair<Long, Map<String, Object>>>(16, 0.75f, true) {
+                private static final long serialVersionUID = -4510723524356104418L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<Pair<String, List<String>>, Pair<Long, Map<String, Object>>> eldest) {
+                    return size() > MAX_CACHED_CONFIGURATION_RESPONSES;
+                }
+            });
+
     @Inject
     @Setter(AccessLevel.PACKAGE)
     private Kernel kernel;
@@ -184,6 +205,7 @@ public class ConfigStoreIPCEventStreamAgent {
          * @return response data
          */
         @Override
+        @SuppressWarnings("unchecked")
         public GetConfigurationResponse handleRequest(GetConfigurationRequest request) {
             return translateExceptions(() -> {
                 logger.atDebug().kv(SERVICE_NAME, serviceName).log("Config IPC get config request");
@@ -212,22 +234,56 @@ public class ConfigStoreIPCEventStreamAgent {
                     }
                 }
 
-                GetConfigurationResponse response = new GetConfigurationResponse();
-                response.setComponentName(finalServiceName);
-                if (node instanceof Topic) {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put(node.getName(), ((Topic) node).getOnce());
-                    response.setValue(map);
-                } else if (node instanceof Topics) {
-                    response.setValue(((Topics) node).toPOJO());
+                // The response is built from an immutable snapshot, so it is consistent with the version it is cached
+                // at and building it doesn't hold up concurrent config updates
+                ConfigSnapshot snapshot = node.snapshot();
+                long version = snapshot.getVersion();
+                Pair<String, List<String>> cacheKey = new Pair<>(finalServiceName,
+                        request.getKeyPath() == null ? Collections.emptyList() : new ArrayList<>(request.getKeyPath()));
+                Pair<Long, Map<String, Object>> cached = configurationValueCache.get(cacheKey);
+                Map<String, Object> value;
+                if (cached != null && cached.getLeft() == version) {
+                    value = cached.getRight();
                 } else {
-                    logger.atError().log("Somehow Node has an unknown type {}", node.getClass());
-                    throw new ServiceError("Node has an unknown type");
+                    Map<String, Object> map;
+                    if (snapshot.isLeaf()) {
+                        map = new HashMap<>();
+                        map.put(snapshot.getName(), snapshot.getValue());
+                    } else {
+                        map = snapshot.toPOJO();
+                    }
+                    value = (Map<String, Object>) immutableValue(map);
+                    configurationValueCache.put(cacheKey, new Pair<>(version, value));
                 }
+
+                GetConfigurationResponse response = new GetConfigurationResponse();
+                response.setComponentName(finalServiceName);
+                response.setValue(value);
                 return response;
             });
         }
 
+        /**
+         * Make a read-only copy of a config value, so a cached value can be shared between responses without one
+         * caller's changes leaking to another.
+         */
+        @SuppressWarnings("unchecked")
+        private Object immutableValue(Object value) {
+            if (value instanceof Map) {
+                // Keep the ordering (and case insensitivity) of the maps built from config snapshots
+                Map<String, Object> map = value instanceof SortedMap
+                        ? new TreeMap<>(((SortedMap<String, Object>) value).comparator()) : new LinkedHashMap<>();
+                ((Map<String, Object>) value).forEach((k, v) -> map.put(k, immutableValue(v)));
+                return Collections.unmodifiableMap(map);
+            }
+            if (value instanceof List) {
+                List<Object> list = new ArrayList<>();
+                ((List<Object>) value).forEach(v -> list.add(immutableValue(v)));
+                return Collections.unmodifiableList(list);
+            }
+            return value;
+        }
+
         @Override
         public void handleStreamEvent(EventStreamJsonMessage streamRequestEvent) {
 
@@ -10,6 +10,7 @@ import com.aws.greengrass.authorization.Permission;
 import com.aws.greengrass.authorization.exceptions.AuthorizationException;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
 import com.aws.greengrass.telemetry.impl.Metric;
 import com.aws.greengrass.telemetry.impl.MetricFactory;
 import com.aws.greengrass.telemetry.models.TelemetryAggregation;
@@ -51,10 +52,13 @@ public class ComponentMetricIPCEventStreamAgent {
     @Getter(AccessLevel.PACKAGE)
     private final Map<String, MetricFactory> metricFactoryMap = new HashMap<>();
     private final AuthorizationHandler authorizationHandler;
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
 
     @Inject
-    ComponentMetricIPCEventStreamAgent(AuthorizationHandler authorizationHandler) {
+    ComponentMetricIPCEventStreamAgent(AuthorizationHandler authorizationHandler,
+                                       StreamingMetricsAggregator streamingMetricsAggregator) {
         this.authorizationHandler = authorizationHandler;
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
     }
 
     public PutComponentMetricOperationHandler getPutComponentMetricHandler(
@@ -143,6 +147,7 @@ public class ComponentMetricIPCEventStreamAgent {
                 logger.atDebug().kv(SERVICE_NAME, serviceName)
                         .log("Publish Telemetry metric" + telemetryMetric.getName());
                 metricFactory.putMetricData(telemetryMetric);
+                streamingMetricsAggregator.record(telemetryMetric);
             });
         }
     }
@@ -0,0 +1,263 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.builtins.BandwidthLimiter;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.CommitableFile;
+import com.aws.greengrass.util.SerializerFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent index of the digests of artifacts in the component store, so that artifacts are not re-hashed in full
+ * every time a deployment checks whether they need to be downloaded. An entry is trusted for as long as the size,
+ * modification time and file key (inode) of the artifact are the ones it was recorded with.
+ */
+class ArtifactDigestIndex {
+    private static final Logger logger = LogManager.getLogger(ArtifactDigestIndex.class);
+    private static final String ARTIFACT_PATH_LOG_KEY = "artifactPath";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // A file modified shortly before it was hashed may be modified again without its modification time changing,
+    // depending on the timestamp granularity of the file system. Such entries are not trusted until re-hashed.
+    private static final long RACY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Path indexFile;
+    private final ComponentStore componentStore;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private boolean loaded;
+
+    ArtifactDigestIndex(Path indexFile, ComponentStore componentStore) {
+        this.indexFile = indexFile;
+        this.componentStore = componentStore;
+    }
+
+    /**
+     * Get the recorded digest of an artifact if the file did not change since it was recorded.
+     *
+     * @param artifactPath path of the artifact
+     * @param algorithm    digest algorithm
+     * @return the Base64 encoded digest, or empty if it needs to be computed
+     */
+    Optional<String> get(Path artifactPath, String algorithm) {
+        load();
+        Entry entry = entries.get(key(artifactPath));
+        if (entry == null || !entry.getAlgorithm().equals(algorithm)) {
+            return Optional.empty();
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(artifactPath, BasicFileAttributes.class);
+            if (!entry.isTrusted(attributes)) {
+                return Optional.empty();
+            }
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.getDigest());
+    }
+
+    /**
+     * Record the digest of an artifact as it is on disk now.
+     *
+     * @param artifactPath path of the artifact
+     * @param algorithm    digest algorithm
+     * @param digest       Base64 encoded digest
+     */
+    void put(Path artifactPath, String algorithm, String digest) {
+        load();
+        long recordedAtNanos = epochNanos(Instant.now());
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(artifactPath, BasicFileAttributes.class);
+            entries.put(key(artifactPath), new Entry(attributes.size(), attributes.lastModifiedTime().to(
+                    TimeUnit.NANOSECONDS), fileKey(attributes), algorithm, digest, recordedAtNanos));
+        } catch (IOException e) {
+            logger.atWarn().kv(ARTIFACT_PATH_LOG_KEY, artifactPath).setCause(e)
+                    .log("Unable to read artifact attributes, its digest is not recorded");
+            return;
+        }
+        save();
+    }
+
+    /**
+     * Remove the entries of all artifacts under the given directory.
+     *
+     * @param directory artifact directory which is being deleted
+     */
+    void removeUnder(Path directory) {
+        load();
+        Path normalized = directory.toAbsolutePath().normalize();
+        if (entries.keySet().removeIf(key -> Paths.get(key).startsWith(normalized))) {
+            save();
+        }
+    }
+
+    /**
+     * Re-hash every indexed artifact and drop the entries which are no longer correct, so that a file corrupted on
+     * disk without its metadata changing is verified and downloaded again by the next deployment.
+     *
+     * @param ioLimiter limits the rate at which artifacts are read
+     * @return number of entries dropped
+     * @throws InterruptedException if interrupted while scrubbing
+     */
+    int scrub(BandwidthLimiter ioLimiter) throws InterruptedException {
+        load();
+        int dropped = 0;
+        boolean changed = false;
+        for (Map.Entry<String, Entry> indexed : new ArrayList<>(entries.entrySet())) {
+            Path artifactPath = Paths.get(indexed.getKey());
+            Entry entry = indexed.getValue();
+            String reason = null;
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(artifactPath, BasicFileAttributes.class);
+                long hashedAtNanos = epochNanos(Instant.now());
+                if (!entry.isUnchanged(attributes)) {
+                    // Changed since it was recorded, the next deployment re-hashes it anyway
+                    reason = "Artifact changed since its digest was recorded";
+                } else if (!entry.getDigest().equals(hash(artifactPath, entry.getAlgorithm(), ioLimiter))) {
+                    reason = "Artifact no longer matches its recorded digest, it will be verified again by the "
+                            + "next deployment";
+                } else if (!entry.isTrusted(attributes)) {
+                    // Recorded right after the artifact was written, it can be trusted now that it was hashed later
+                    entries.replace(indexed.getKey(), entry, new Entry(entry.getSize(), entry.getLastModifiedNanos(),
+                            entry.getFileKey(), entry.getAlgorithm(), entry.getDigest(), hashedAtNanos));
+                    changed = true;
+                }
+            } catch (NoSuchFileException e) {
+                reason = "Artifact no longer exists";
+            } catch (IOException | NoSuchAlgorithmException e) {
+                logger.atWarn().kv(ARTIFACT_PATH_LOG_KEY, artifactPath).setCause(e)
+                        .log("Unable to verify artifact digest");
+                continue;
+            }
+            // Only drop the entry scrubbed, a download may have recorded a new one in the meantime
+            if (reason != null && entries.remove(indexed.getKey(), entry)) {
+                logger.atWarn().kv(ARTIFACT_PATH_LOG_KEY, artifactPath).log(reason);
+                dropped++;
+            }
+        }
+        if (changed || dropped > 0) {
+            save();
+        }
+        return dropped;
+    }
+
+    private static String hash(Path artifactPath, String algorithm, BandwidthLimiter ioLimiter)
+            throws IOException, NoSuchAlgorithmException, InterruptedException {
+        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
+        try (InputStream in = Files.newInputStream(artifactPath)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int readBytes = in.read(buffer);
+            while (readBytes > -1) {
+                messageDigest.update(buffer, 0, readBytes);
+                ioLimiter.acquire(readBytes);
+                readBytes = in.read(buffer);
+            }
+        }
+        return Base64.getEncoder().encodeToString(messageDigest.digest());
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try {
+            Map<String, Entry> persisted = SerializerFactory.getFailSafeJsonObjectMapper()
+                    .readValue(indexFile.toFile(), new TypeReference<Map<String, Entry>>() {
+                    });
+            persisted.forEach((key, entry) -> {
+                if (entry != null && entry.getAlgorithm() != null && entry.getDigest() != null) {
+                    entries.putIfAbsent(key, entry);
+                }
+            });
+        } catch (IOException e) {
+            // The index only saves work, artifacts are hashed again when it can't be read
+            logger.atWarn().kv("indexFile", indexFile).setCause(e).log("Unable to read artifact digest index");
+        }
+    }
+
+    private synchronized void save() {
+        // The index is kept in the component store, so it counts towards the store size along with the new version
+        // and the backup which are written next to it
+        List<Path> files = Arrays.asList(indexFile, CommitableFile.getNewFile(indexFile),
+                CommitableFile.getBackupFile(indexFile));
+        long[] sizesBefore = new long[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            sizesBefore[i] = componentStore.beginContentSizeChange(files.get(i));
+        }
+        try (CommitableFile out = CommitableFile.abandonOnClose(indexFile)) {
+            SerializerFactory.getFailSafeJsonObjectMapper().writeValue(out, entries);
+            out.commit();
+        } catch (IOException e) {
+            logger.atWarn().kv("indexFile", indexFile).setCause(e).log("Unable to save artifact digest index");
+        } finally {
+            for (int i = 0; i < files.size(); i++) {
+                componentStore.recordContentSizeChange(files.get(i), sizesBefore[i]);
+            }
+        }
+    }
+
+    private static String key(Path artifactPath) {
+        return artifactPath.toAbsolutePath().normalize().toString();
+    }
+
+    private static String fileKey(BasicFileAttributes attributes) {
+        // (dev=...,ino=...) on unix, null where the file system has no such key
+        return attributes.fileKey() == null ? null : attributes.fileKey().toString();
+    }
+
+    private static long epochNanos(Instant instant) {
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Entry {
+        private long size;
+        private long lastModifiedNanos;
+        private String fileKey;
+        private String algorithm;
+        private String digest;
+        private long recordedAtNanos;
+
+        boolean isUnchanged(BasicFileAttributes attributes) {
+            return size == attributes.size()
+                    && lastModifiedNanos == attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+                    && Objects.equals(fileKey, fileKey(attributes));
+        }
+
+        boolean isTrusted(BasicFileAttributes attributes) {
+            return isUnchanged(attributes) && lastModifiedNanos < recordedAtNanos - RACY_WINDOW_NANOS;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.builtins.BandwidthLimiter;
+import com.aws.greengrass.dependency.InjectionActions;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.Coerce;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+
+/**
+ * Periodically re-verifies the artifact digests recorded in the component store, because the digest index trusts
+ * file metadata and would not notice content corrupted in place. Disabled unless an interval is configured. Reads
+ * are throttled so that scrubbing does not compete with components for disk IO.
+ */
+public class ArtifactDigestScrubber implements InjectionActions {
+    private static final Logger logger = LogManager.getLogger(ArtifactDigestScrubber.class);
+
+    private final ComponentStore componentStore;
+    private final DeviceConfiguration deviceConfiguration;
+    private final BandwidthLimiter ioLimiter;
+    private final PeriodicBackgroundTask periodicScrub;
+
+    /**
+     * Constructor.
+     *
+     * @param componentStore      component store
+     * @param deviceConfiguration device configuration
+     * @param ses                 scheduled executor service which triggers the scrub
+     * @param executorService     executor service which runs the scrub
+     */
+    @Inject
+    public ArtifactDigestScrubber(ComponentStore componentStore, DeviceConfiguration deviceConfiguration,
+                                  ScheduledExecutorService ses, ExecutorService executorService) {
+        this.componentStore = componentStore;
+        this.deviceConfiguration = deviceConfiguration;
+        // Runs for long, keep it off the few scheduler threads
+        this.periodicScrub = new PeriodicBackgroundTask("artifact digest scrub", ses, executorService,
+                this::scrub);
+        this.ioLimiter = new BandwidthLimiter(
+                () -> Coerce.toLong(deviceConfiguration.getArtifactDigestScrubMaxBytesPerSecond()));
+    }
+
+    @Override
+    public void postInject() {
+        periodicScrub.scheduleOn(deviceConfiguration.getArtifactDigestScrubIntervalSeconds());
+    }
+
+    void scrub() {
+        try {
+            int dropped = componentStore.scrubArtifactDigests(ioLimiter);
+            logger.atInfo().kv("droppedDigests", dropped).log("Finished scrubbing artifact digests");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.exceptions.PackageDownloadException;
+import com.aws.greengrass.componentmanager.exceptions.PackagingException;
+import lombok.Value;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the preparation of artifacts in parallel, bounded by a global limit and by a limit per host so that a
+ * deployment with many artifacts is not bound by one sequential chain of downloads while no single host gets
+ * flooded. The calling thread works through the jobs together with helpers submitted to the executor, so all jobs
+ * complete even when the executor has no spare thread.
+ */
+class ArtifactDownloadScheduler {
+    private final ExecutorService executorService;
+
+    ArtifactDownloadScheduler(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Get the key under which downloads of the given artifact count against the per host limit.
+     *
+     * @param artifactUri artifact URI
+     * @return the scheme and host of the URI, or only the scheme for URIs without a host
+     */
+    static String hostKey(URI artifactUri) {
+        String scheme = artifactUri.getScheme() == null ? "" : artifactUri.getScheme().toLowerCase(Locale.ROOT);
+        // s3://bucket/key has the bucket as host. Greengrass and docker URIs are opaque, greengrass artifacts are
+        // all served from the same service and docker pulls all go through the local docker daemon.
+        if (artifactUri.getHost() == null) {
+            return scheme;
+        }
+        return scheme + "://" + artifactUri.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Run all jobs and wait for them to finish. The first failure stops jobs which have not started, interrupts the
+     * running ones and is rethrown once they stopped. This never returns, normally or exceptionally, while a job is
+     * still running.
+     *
+     * @param jobs                          jobs to run
+     * @param maxConcurrentDownloads        maximum number of jobs running at the same time
+     * @param maxConcurrentDownloadsPerHost maximum number of jobs for the same host running at the same time
+     * @throws PackagingException       if a job failed to load the artifact
+     * @throws PackageDownloadException if a job failed to download the artifact
+     * @throws InterruptedException     if interrupted, running jobs are interrupted as well
+     */
+    void runAll(List<ArtifactJob> jobs, int maxConcurrentDownloads, int maxConcurrentDownloadsPerHost)
+            throws PackagingException, PackageDownloadException, InterruptedException {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        Batch batch = new Batch(jobs, Math.max(1, maxConcurrentDownloadsPerHost), Thread.currentThread());
+        int helpers = Math.min(Math.max(1, maxConcurrentDownloads), jobs.size()) - 1;
+        boolean completed = false;
+        try {
+            for (int i = 0; i < helpers; i++) {
+                batch.addHelper(executorService.submit(batch::help));
+            }
+            batch.work();
+            completed = true;
+        } finally {
+            batch.stop(!completed);
+            batch.awaitIdle();
+        }
+        batch.throwIfFailed();
+    }
+
+    /**
+     * Preparation of a single artifact.
+     */
+    @FunctionalInterface
+    interface ArtifactTask {
+        void run() throws PackagingException, PackageDownloadException, InterruptedException;
+    }
+
+    @Value
+    static class ArtifactJob {
+        String host;
+        ArtifactTask task;
+    }
+
+    private static final class Batch {
+        private final Deque<ArtifactJob> pending;
+        private final int maxConcurrentDownloadsPerHost;
+        private final Map<String, Integer> runningPerHost = new HashMap<>();
+        private final List<Future<?>> helpers = new ArrayList<>();
+        // The calling thread runs jobs too and is interrupted directly when a helper fails
+        private final Thread caller;
+        private boolean callerInJob;
+        private boolean callerInterrupted;
+        private int running;
+        private boolean stopped;
+        private Exception failure;
+
+        Batch(List<ArtifactJob> jobs, int maxConcurrentDownloadsPerHost, Thread caller) {
+            this.pending = new ArrayDeque<>(jobs);
+            this.maxConcurrentDownloadsPerHost = maxConcurrentDownloadsPerHost;
+            this.caller = caller;
+        }
+
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        void work() throws InterruptedException {
+            for (ArtifactJob job = take(); job != null; job = take()) {
+                try {
+                    job.getTask().run();
+                } catch (InterruptedException e) {
+                    if (!isInterruptedByBatch()) {
+                        throw e;
+                    }
+                } catch (PackagingException | PackageDownloadException | RuntimeException e) {
+                    fail(e);
+                } finally {
+                    release(job);
+                }
+            }
+        }
+
+        void help() {
+            try {
+                work();
+            } catch (InterruptedException e) {
+                interrupted(e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private synchronized ArtifactJob take() throws InterruptedException {
+            while (!stopped && !pending.isEmpty()) {
+                Iterator<ArtifactJob> iterator = pending.iterator();
+                while (iterator.hasNext()) {
+                    ArtifactJob job = iterator.next();
+                    int runningForHost = runningPerHost.getOrDefault(job.getHost(), 0);
+                    if (runningForHost < maxConcurrentDownloadsPerHost) {
+                        iterator.remove();
+                        runningPerHost.put(job.getHost(), runningForHost + 1);
+                        running++;
+                        if (Thread.currentThread() == caller) {
+                            callerInJob = true;
+                        }
+                        return job;
+                    }
+                }
+                // Every pending job is for a host which is at its limit, wait for one of those to finish
+                wait();
+            }
+            return null;
+        }
+
+        private synchronized void release(ArtifactJob job) {
+            running--;
+            runningPerHost.merge(job.getHost(), -1, Integer::sum);
+            if (Thread.currentThread() == caller) {
+                callerInJob = false;
+                if (callerInterrupted) {
+                    // The job may have finished without noticing the interrupt, which is not meant for the caller
+                    Thread.interrupted();
+                }
+            }
+            notifyAll();
+        }
+
+        private synchronized boolean isInterruptedByBatch() {
+            // Helpers are interrupted by cancelling them when the batch stops
+            return Thread.currentThread() == caller ? callerInterrupted : stopped;
+        }
+
+        private synchronized void addHelper(Future<?> helper) {
+            if (stopped) {
+                helper.cancel(true);
+            } else {
+                helpers.add(helper);
+            }
+        }
+
+        private synchronized void fail(Exception e) {
+            if (failure == null) {
+                failure = e;
+            }
+            if (callerInJob && Thread.currentThread() != caller) {
+                callerInterrupted = true;
+                caller.interrupt();
+            }
+            stop(true);
+        }
+
+        private synchronized void interrupted(InterruptedException e) {
+            // A helper is interrupted when the batch aborts, otherwise its job did not complete and must not be lost
+            if (!stopped) {
+                fail(new PackageDownloadException("Interrupted while preparing artifacts", e));
+            }
+        }
+
+        /**
+         * Stop taking jobs. Helpers which have not started are not needed anymore, running helpers are only
+         * interrupted when aborting.
+         */
+        synchronized void stop(boolean abort) {
+            stopped = true;
+            for (Future<?> helper : helpers) {
+                helper.cancel(abort);
+            }
+            notifyAll();
+        }
+
+        /**
+         * Wait for the running jobs to finish. The wait is not cut short by an interrupt, since the jobs were
+         * interrupted already when the batch aborted; the interrupt status is restored afterwards.
+         */
+        synchronized void awaitIdle() {
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized void throwIfFailed() throws PackagingException, PackageDownloadException {
+            if (failure instanceof PackagingException) {
+                throw (PackagingException) failure;
+            }
+            if (failure instanceof PackageDownloadException) {
+                throw (PackageDownloadException) failure;
+            }
+            if (failure != null) {
+                throw (RuntimeException) failure;
+            }
+        }
+    }
+}
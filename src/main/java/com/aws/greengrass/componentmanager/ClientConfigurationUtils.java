@@ -28,6 +28,7 @@ import java.security.KeyStore;
 import java.security.cert.X509Certificate;
 import java.util.List;
 import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.security.auth.x500.X500Principal;
@@ -124,6 +125,30 @@ public final class ClientConfigurationUtils {
         httpBuilder.tlsKeyManagersProvider(() -> keyManagers).tlsTrustManagersProvider(() -> trustManagers);
     }
 
+    /**
+     * Create an SSL context which authenticates with the device identity and trusts the configured root CA, for
+     * clients which manage their own TLS connections.
+     *
+     * @param deviceConfiguration {@link DeviceConfiguration}
+     * @return SSL context, or null if no root CA is configured
+     * @throws TLSAuthException if the key material or root CA can't be loaded
+     */
+    public static SSLContext createMutualTLSContext(DeviceConfiguration deviceConfiguration)
+            throws TLSAuthException {
+        String rootCAPath = Coerce.toString(deviceConfiguration.getRootCAFilePath());
+        if (Utils.isEmpty(rootCAPath)) {
+            return null;
+        }
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(deviceConfiguration.getDeviceIdentityKeyManagers(), createTrustManagers(rootCAPath),
+                    null);
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new TLSAuthException("Failed to create SSL context", e);
+        }
+    }
+
     private static TrustManager[] createTrustManagers(String rootCAPath) throws TLSAuthException {
         try {
             List<X509Certificate> trustCertificates = EncryptionUtils.loadX509Certificates(Paths.get(rootCAPath));
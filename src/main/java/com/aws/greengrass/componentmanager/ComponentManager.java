@@ -9,6 +9,7 @@ import com.amazon.aws.iot.greengrass.component.common.ComponentType;
 import com.amazon.aws.iot.greengrass.component.common.Unarchive;
 import com.aws.greengrass.componentmanager.builtins.ArtifactDownloader;
 import com.aws.greengrass.componentmanager.builtins.ArtifactDownloaderFactory;
+import com.aws.greengrass.componentmanager.builtins.BandwidthLimiter;
 import com.aws.greengrass.componentmanager.converter.RecipeLoader;
 import com.aws.greengrass.componentmanager.exceptions.HashingAlgorithmUnavailableException;
 import com.aws.greengrass.componentmanager.exceptions.InvalidArtifactUriException;
@@ -56,7 +57,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -65,6 +68,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
@@ -79,6 +83,7 @@ public class ComponentManager implements InjectionActions {
     private static final String PACKAGE_NAME_KEY = "packageName";
     private static final String PACKAGE_IDENTIFIER = "packageIdentifier";
     private static final String COMPONENT_STR = "component";
+    private static final String ELAPSED_MILLIS = "elapsedMillis";
 
     private static final long DEFAULT_MIN_DISK_AVAIL_BYTES = 20 * ONE_MB;
     protected static final String COMPONENT_NAME = "componentName";
@@ -95,6 +100,11 @@ public class ComponentManager implements InjectionActions {
     private final Kernel kernel;
     private final Unarchiver unarchiver;
     private final NucleusPaths nucleusPaths;
+    private final ArtifactDownloadScheduler artifactDownloadScheduler;
+    // Shared by all artifact downloads, so that parallel downloads together stay within the bandwidth budget
+    private final BandwidthLimiter bandwidthLimiter;
+    private final Object downloadReservationLock = new Object();
+    private long reservedDownloadBytes;
     // Setter for unit tests
     @Setter(AccessLevel.PACKAGE)
     private RetryUtils.RetryConfig clientExceptionRetryConfig =
@@ -132,6 +142,9 @@ public class ComponentManager implements InjectionActions {
         this.unarchiver = unarchiver;
         this.deviceConfiguration = deviceConfiguration;
         this.nucleusPaths = nucleusPaths;
+        this.artifactDownloadScheduler = new ArtifactDownloadScheduler(executorService);
+        this.bandwidthLimiter = new BandwidthLimiter(
+                () -> Coerce.toLong(this.deviceConfiguration.getArtifactDownloadMaxBytesPerSecond()));
     }
 
     ComponentMetadata resolveComponentVersion(String componentName, Map<String, Requirement> versionRequirements)
@@ -343,13 +356,17 @@ public class ComponentManager implements InjectionActions {
 
     /**
      * Make sure all the specified packages exist in the package cache. Download them from remote repository if they
-     * don't exist.
+     * don't exist. Artifacts are downloaded in parallel within the configured concurrency and bandwidth limits.
      *
      * @param pkgIds a list of packages.
      * @return a future to notify once this is finished.
      */
     public Future<Void> preparePackages(List<ComponentIdentifier> pkgIds) {
         return executorService.submit(() -> {
+            long startNanos = System.nanoTime();
+            // Recipes are local, read them one component at a time so that cancelling stops early. Artifacts of all
+            // components are then downloaded in parallel.
+            List<ArtifactDownloadScheduler.ArtifactJob> jobs = new ArrayList<>();
             for (ComponentIdentifier componentIdentifier : pkgIds) {
                 if (Thread.currentThread().isInterrupted()) {
                     logger.atInfo().log("Interrupted while preparing artifact for component {}.",
@@ -357,13 +374,22 @@ public class ComponentManager implements InjectionActions {
                     return null;
                 }
                 try {
-                    preparePackage(componentIdentifier);
+                    jobs.addAll(planPackage(componentIdentifier));
                 } catch (InterruptedException ie) {
                     logger.atInfo().log("Interrupted while preparing artifact for component {}.",
                             componentIdentifier.getName());
                     return null;
                 }
             }
+            try {
+                runArtifactJobs(jobs);
+            } catch (InterruptedException ie) {
+                logger.atInfo().log("Interrupted while preparing artifacts.");
+                return null;
+            }
+            logger.atInfo("prepare-packages-finished").kv("componentCount", pkgIds.size())
+                    .kv("artifactCount", jobs.size()).kv(ELAPSED_MILLIS, elapsedMillis(startNanos))
+                    .log("Prepared all components");
             return null;
         });
     }
@@ -390,72 +416,63 @@ public class ComponentManager implements InjectionActions {
         }
     }
 
-    private void preparePackage(ComponentIdentifier componentIdentifier)
-            throws PackageLoadingException, PackageDownloadException, InvalidArtifactUriException,
-            InterruptedException {
+    private List<ArtifactDownloadScheduler.ArtifactJob> planPackage(ComponentIdentifier componentIdentifier)
+            throws PackageLoadingException, InterruptedException {
         logger.atInfo().setEventType("prepare-package-start").kv(PACKAGE_IDENTIFIER, componentIdentifier).log();
         try {
             ComponentRecipe pkg = componentStore.getPackageRecipe(componentIdentifier);
-            prepareArtifacts(componentIdentifier, pkg.getArtifacts());
-            logger.atDebug("prepare-package-finished").kv(PACKAGE_IDENTIFIER, componentIdentifier).log();
-        } catch (SizeLimitException e) {
-            logger.atError().log("Size limit reached", e);
-            throw e;
-        } catch (PackageLoadingException | PackageDownloadException e) {
+            return planArtifacts(componentIdentifier, pkg.getArtifacts());
+        } catch (PackageLoadingException e) {
             logger.atError().log("Failed to prepare package {}", componentIdentifier, e);
             throw e;
         }
     }
 
     void prepareArtifacts(ComponentIdentifier componentIdentifier, List<ComponentArtifact> artifacts)
-            throws PackageLoadingException, PackageDownloadException, InvalidArtifactUriException,
-            InterruptedException {
+            throws PackagingException, PackageDownloadException, InterruptedException {
+        runArtifactJobs(planArtifacts(componentIdentifier, artifacts));
+    }
+
+    private void runArtifactJobs(List<ArtifactDownloadScheduler.ArtifactJob> jobs)
+            throws PackagingException, PackageDownloadException, InterruptedException {
+        artifactDownloadScheduler.runAll(jobs, Coerce.toInt(deviceConfiguration.getMaxConcurrentArtifactDownloads()),
+                Coerce.toInt(deviceConfiguration.getMaxConcurrentArtifactDownloadsPerHost()));
+    }
+
+    private List<ArtifactDownloadScheduler.ArtifactJob> planArtifacts(ComponentIdentifier componentIdentifier,
+                                                                      List<ComponentArtifact> artifacts)
+            throws PackageLoadingException {
         if (artifacts == null) {
             logger.atWarn().kv(PACKAGE_IDENTIFIER, componentIdentifier)
                     .log("Artifact list was null, expected non-null and non-empty");
-            return;
+            return Collections.emptyList();
         }
         Path packageArtifactDirectory = componentStore.resolveArtifactDirectoryPath(componentIdentifier);
 
         logger.atDebug().setEventType("downloading-package-artifacts")
                 .addKeyValue(PACKAGE_IDENTIFIER, componentIdentifier).log();
 
+        List<ArtifactDownloadScheduler.ArtifactJob> jobs = new ArrayList<>(artifacts.size());
         for (ComponentArtifact artifact : artifacts) {
+            jobs.add(new ArtifactDownloadScheduler.ArtifactJob(
+                    ArtifactDownloadScheduler.hostKey(artifact.getArtifactUri()),
+                    () -> prepareArtifact(componentIdentifier, artifact, packageArtifactDirectory)));
+        }
+        return jobs;
+    }
+
+    private void prepareArtifact(ComponentIdentifier componentIdentifier, ComponentArtifact artifact,
+                                 Path packageArtifactDirectory)
+            throws PackageLoadingException, PackageDownloadException, InvalidArtifactUriException,
+            InterruptedException {
+        long startNanos = System.nanoTime();
+        boolean downloaded = false;
+        try {
             ArtifactDownloader downloader = artifactDownloaderFactory
                     .getArtifactDownloader(componentIdentifier, artifact, packageArtifactDirectory);
             if (downloader.downloadRequired()) {
-                Optional<String> errorMsg = downloader.checkDownloadable();
-                if (errorMsg.isPresent()) {
-                    throw new PackageDownloadException(
-                            String.format("Download required for artifact %s but device configs are invalid: %s",
-                                    artifact.getArtifactUri(), errorMsg.get()),
-                            DeploymentErrorCode.DEVICE_CONFIG_NOT_VALID_FOR_ARTIFACT_DOWNLOAD);
-                }
-                // Check disk size limits before download
-                // TODO: [P41215447]: Check artifact size for all artifacts to download early to fail early
-                long usableSpaceBytes = componentStore.getUsableSpace();
-                if (usableSpaceBytes < DEFAULT_MIN_DISK_AVAIL_BYTES) {
-                    throw new SizeLimitException(
-                            String.format("Disk space critical: %d bytes usable, %d bytes minimum allowed",
-                                    usableSpaceBytes, DEFAULT_MIN_DISK_AVAIL_BYTES));
-                }
-                if (downloader.checkComponentStoreSize()) {
-                    long downloadSize = downloader.getDownloadSize();
-                    long storeContentSize = componentStore.getContentSize();
-                    if (storeContentSize + downloadSize > getConfiguredMaxSize()) {
-                        throw new SizeLimitException(String.format(
-                                "Component store size limit reached: %d bytes existing, %d bytes needed"
-                                        + ", %d bytes maximum allowed total", storeContentSize, downloadSize,
-                                getConfiguredMaxSize()));
-                    }
-                }
-                try {
-                    downloader.download();
-                } catch (IOException e) {
-                    throw new PackageDownloadException(
-                            String.format("Failed to download component %s artifact %s", componentIdentifier, artifact),
-                            e);
-                }
+                downloadArtifact(componentIdentifier, artifact, downloader);
+                downloaded = true;
             }
             if (downloader.canSetFilePermissions()) {
                 File artifactFile = downloader.getArtifactFile();
@@ -472,38 +489,124 @@ public class ComponentManager implements InjectionActions {
                 }
             }
             if (downloader.canUnarchiveArtifact()) {
-                Unarchive unarchive = artifact.getUnarchive();
-                if (unarchive == null) {
-                    unarchive = Unarchive.NONE;
+                unarchiveArtifact(componentIdentifier, artifact, downloader);
+            }
+        } catch (SizeLimitException e) {
+            logger.atError().log("Size limit reached", e);
+            throw e;
+        } catch (PackageLoadingException | PackageDownloadException e) {
+            logger.atError().log("Failed to prepare package {}", componentIdentifier, e);
+            throw e;
+        }
+        logger.atInfo("prepare-artifact-finished").kv(PACKAGE_IDENTIFIER, componentIdentifier)
+                .kv(ArtifactDownloader.ARTIFACT_URI_LOG_KEY, artifact.getArtifactUri()).kv("downloaded", downloaded)
+                .kv(ELAPSED_MILLIS, elapsedMillis(startNanos)).log();
+    }
+
+    private void downloadArtifact(ComponentIdentifier componentIdentifier, ComponentArtifact artifact,
+                                  ArtifactDownloader downloader)
+            throws PackageLoadingException, PackageDownloadException, InterruptedException {
+        Optional<String> errorMsg = downloader.checkDownloadable();
+        if (errorMsg.isPresent()) {
+            throw new PackageDownloadException(
+                    String.format("Download required for artifact %s but device configs are invalid: %s",
+                            artifact.getArtifactUri(), errorMsg.get()),
+                    DeploymentErrorCode.DEVICE_CONFIG_NOT_VALID_FOR_ARTIFACT_DOWNLOAD);
+        }
+        // Check disk size limits before download
+        // TODO: [P41215447]: Check artifact size for all artifacts to download early to fail early
+        long usableSpaceBytes = componentStore.getUsableSpace();
+        if (usableSpaceBytes < DEFAULT_MIN_DISK_AVAIL_BYTES) {
+            throw new SizeLimitException(
+                    String.format("Disk space critical: %d bytes usable, %d bytes minimum allowed",
+                            usableSpaceBytes, DEFAULT_MIN_DISK_AVAIL_BYTES));
+        }
+        long reservedBytes = 0;
+        Path artifactPath = null;
+        long artifactSizeBefore = 0;
+        if (downloader.checkComponentStoreSize()) {
+            long downloadSize = downloader.getDownloadSize();
+            // Downloads running in parallel reserve their size so that together they can't exceed the limit
+            synchronized (downloadReservationLock) {
+                long storeContentSize = componentStore.getContentSize();
+                if (storeContentSize + reservedDownloadBytes + downloadSize > getConfiguredMaxSize()) {
+                    throw new SizeLimitException(String.format(
+                            "Component store size limit reached: %d bytes existing, %d bytes reserved by "
+                                    + "downloads in progress, %d bytes needed, %d bytes maximum allowed total",
+                            storeContentSize, reservedDownloadBytes, downloadSize, getConfiguredMaxSize()));
+                }
+                reservedDownloadBytes += downloadSize;
+                reservedBytes = downloadSize;
+            }
+            File artifactFile = downloader.getArtifactFile();
+            if (artifactFile != null) {
+                // A partial download may be resumed, so only what is added to the file counts
+                artifactPath = artifactFile.toPath();
+                artifactSizeBefore = componentStore.beginContentSizeChange(artifactPath);
+            }
+        }
+        downloader.setBandwidthLimiter(bandwidthLimiter);
+        downloader.setExecutorService(executorService);
+        try {
+            downloader.download();
+        } catch (IOException e) {
+            throw new PackageDownloadException(
+                    String.format("Failed to download component %s artifact %s", componentIdentifier, artifact),
+                    e);
+        } finally {
+            // Accounted before the reservation is released, so that parallel downloads never miss these bytes
+            if (artifactPath != null) {
+                componentStore.recordContentSizeChange(artifactPath, artifactSizeBefore);
+            }
+            if (reservedBytes > 0) {
+                synchronized (downloadReservationLock) {
+                    reservedDownloadBytes -= reservedBytes;
                 }
+            }
+        }
+    }
 
-                File artifactFile = downloader.getArtifactFile();
-                if (artifactFile != null && !unarchive.equals(Unarchive.NONE)) {
+    private void unarchiveArtifact(ComponentIdentifier componentIdentifier, ComponentArtifact artifact,
+                                   ArtifactDownloader downloader) throws PackageDownloadException {
+        Unarchive unarchive = artifact.getUnarchive();
+        if (unarchive == null) {
+            unarchive = Unarchive.NONE;
+        }
+
+        File artifactFile = downloader.getArtifactFile();
+        if (artifactFile != null && !unarchive.equals(Unarchive.NONE)) {
+            try {
+                Path unarchivePath =
+                        nucleusPaths.unarchiveArtifactPath(componentIdentifier, getFileName(artifactFile));
+                long unarchivedSizeBefore = componentStore.beginContentSizeChange(unarchivePath);
+                try {
+                    unarchiver.unarchive(unarchive, artifactFile, unarchivePath);
+                } finally {
+                    componentStore.recordContentSizeChange(unarchivePath, unarchivedSizeBefore);
+                }
+                if (downloader.canSetFilePermissions()) {
                     try {
-                        Path unarchivePath =
-                                nucleusPaths.unarchiveArtifactPath(componentIdentifier, getFileName(artifactFile));
-                        unarchiver.unarchive(unarchive, artifactFile, unarchivePath);
-                        if (downloader.canSetFilePermissions()) {
-                            try {
-                                Permissions.setArtifactPermission(unarchivePath,
-                                        artifact.getPermission().toFileSystemPermission());
-                            } catch (IOException e) {
-                                throw new PackageDownloadException(
-                                        String.format("Failed to change permissions of component %s artifact %s",
-                                                componentIdentifier, artifact), e)
-                                        .withErrorContext(e, DeploymentErrorCode.SET_PERMISSION_ERROR);
-                            }
-                        }
+                        Permissions.setArtifactPermission(unarchivePath,
+                                artifact.getPermission().toFileSystemPermission());
                     } catch (IOException e) {
                         throw new PackageDownloadException(
-                                String.format("Failed to unarchive component %s artifact %s", componentIdentifier,
-                                        artifact), e).withErrorContext(e, DeploymentErrorCode.IO_UNZIP_ERROR);
+                                String.format("Failed to change permissions of component %s artifact %s",
+                                        componentIdentifier, artifact), e)
+                                .withErrorContext(e, DeploymentErrorCode.SET_PERMISSION_ERROR);
                     }
                 }
+            } catch (IOException e) {
+                throw new PackageDownloadException(
+                        String.format("Failed to unarchive component %s artifact %s", componentIdentifier,
+                                artifact), e).withErrorContext(e, DeploymentErrorCode.IO_UNZIP_ERROR);
             }
         }
     }
 
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     private long getConfiguredMaxSize() {
         return Coerce.toLong(deviceConfiguration.getComponentStoreMaxSizeBytes());
     }
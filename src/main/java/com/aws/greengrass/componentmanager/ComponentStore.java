@@ -7,6 +7,7 @@ package com.aws.greengrass.componentmanager;
 
 import com.aws.greengrass.componentmanager.builtins.ArtifactDownloader;
 import com.aws.greengrass.componentmanager.builtins.ArtifactDownloaderFactory;
+import com.aws.greengrass.componentmanager.builtins.BandwidthLimiter;
 import com.aws.greengrass.componentmanager.converter.RecipeLoader;
 import com.aws.greengrass.componentmanager.exceptions.HashingAlgorithmUnavailableException;
 import com.aws.greengrass.componentmanager.exceptions.InvalidArtifactUriException;
@@ -32,14 +33,17 @@ import com.vdurmont.semver4j.Requirement;
 import com.vdurmont.semver4j.Semver;
 import com.vdurmont.semver4j.SemverException;
 import lombok.NonNull;
+import lombok.Value;
 import org.apache.commons.io.FileUtils;
 import software.amazon.awssdk.arns.Arn;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -49,6 +53,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.LongStream;
 import javax.inject.Inject;
 
@@ -64,10 +71,26 @@ public class ComponentStore {
     private static final String LOG_METADATA_INVALID = "Ignoring the local recipe metadata file and proceeding with "
             + "dependency resolution";
     private static final String RECIPE_SUFFIX = ".recipe";
+    private static final String ARTIFACT_DIGEST_INDEX_FILE = "artifact-digests.json";
 
     private final NucleusPaths nucleusPaths;
     private final PlatformResolver platformResolver;
     private final RecipeLoader recipeLoader;
+    private ArtifactDigestIndex artifactDigestIndex;
+    // Parsing recipes is expensive and a deployment looks up the same recipes many times
+    private final Map<ComponentIdentifier, ParsedRecipe> parsedRecipes = new ConcurrentHashMap<>();
+    private final AtomicLong recipeCacheHits = new AtomicLong();
+    private final AtomicLong recipeCacheMisses = new AtomicLong();
+    // Content size is accounted incrementally instead of walking the store for every artifact to download.
+    // Scans are serialized by the scan lock, the ledger fields are only accessed holding the ledger lock.
+    private final Object contentSizeScanLock = new Object();
+    private final Object contentSizeLedgerLock = new Object();
+    private long contentSizeBytes;
+    private long contentSizeChanges;
+    private boolean contentSizeKnown;
+    // Files and directories being changed -> their size before the change, which is what the ledger counts for them
+    // until the change is recorded. Scans count these instead of the partially written content.
+    private final Map<Path, Long> pendingContentSizeChanges = new HashMap<>();
 
     /**
      * Constructor. It will initialize recipe, artifact and artifact decompressed directory.
@@ -113,7 +136,14 @@ public class ComponentStore {
                 return recipeContent;
             }
 
-            FileUtils.writeStringToFile(resolveRecipePath(componentIdentifier).toFile(), recipeContent);
+            Path recipePath = resolveRecipePath(componentIdentifier);
+            long sizeBefore = beginContentSizeChange(recipePath);
+            try {
+                FileUtils.writeStringToFile(recipePath.toFile(), recipeContent);
+            } finally {
+                parsedRecipes.remove(componentIdentifier);
+                recordContentSizeChange(recipePath, sizeBefore);
+            }
 
             return recipeContent;
         } catch (IOException e) {
@@ -134,7 +164,13 @@ public class ComponentStore {
             throws PackageLoadingException {
         try {
             Path recipePath = resolveRecipePath(componentId);
-            FileUtils.writeStringToFile(recipePath.toFile(), recipeContent);
+            long sizeBefore = beginContentSizeChange(recipePath);
+            try {
+                FileUtils.writeStringToFile(recipePath.toFile(), recipeContent);
+            } finally {
+                parsedRecipes.remove(componentId);
+                recordContentSizeChange(recipePath, sizeBefore);
+            }
         } catch (IOException e) {
             // TODO: [P41215929]: Better logging and exception messages in component store
             throw new PackageLoadingException("Failed to save package recipe", e);
@@ -142,16 +178,54 @@ public class ComponentStore {
     }
 
     /**
-     * Find the target package recipe from package store on the disk.
+     * Find the target package recipe from package store on the disk. The parsed recipe is cached until the recipe
+     * file or the platform changes.
      *
      * @param pkgId package identifier
      * @return Optional of package recipe; empty if not found.
      * @throws PackageLoadingException if fails to parse the recipe file.
      */
     Optional<ComponentRecipe> findPackageRecipe(@NonNull ComponentIdentifier pkgId) throws PackageLoadingException {
+        // The platform decides which manifest is picked, so it can be overridden without the recipe changing
+        Map<String, String> platform = platformResolver.getCurrentPlatform();
+        RecipeFileState fileState = RecipeFileState.of(resolveRecipePath(pkgId));
+        ParsedRecipe cached = parsedRecipes.get(pkgId);
+        if (fileState != null && cached != null && cached.getFileState().equals(fileState)
+                && cached.getPlatform().equals(platform)) {
+            recipeCacheHits.incrementAndGet();
+            return cached.getRecipe();
+        }
+        recipeCacheMisses.incrementAndGet();
+
         Optional<String> recipeContent = findComponentRecipeContent(pkgId);
+        if (!recipeContent.isPresent()) {
+            parsedRecipes.remove(pkgId);
+            return Optional.empty();
+        }
+        Optional<ComponentRecipe> recipe = recipeLoader.loadFromFile(recipeContent.get());
+        if (fileState != null) {
+            // If the file changed after its state was read, the next lookup sees a different state and parses again
+            parsedRecipes.put(pkgId, new ParsedRecipe(fileState, platform, recipe));
+        }
+        return recipe;
+    }
+
+    /**
+     * Get the number of recipe lookups served from parsed recipes.
+     *
+     * @return number of cache hits
+     */
+    public long getRecipeCacheHits() {
+        return recipeCacheHits.get();
+    }
 
-        return recipeContent.isPresent() ? recipeLoader.loadFromFile(recipeContent.get()) : Optional.empty();
+    /**
+     * Get the number of recipe lookups which read and parsed the recipe file.
+     *
+     * @return number of cache misses
+     */
+    public long getRecipeCacheMisses() {
+        return recipeCacheMisses.get();
     }
 
     /**
@@ -257,9 +331,15 @@ public class ComponentStore {
             }
         }
         // delete recipe
+        parsedRecipes.remove(compId);
         try {
             Path recipePath = resolveRecipePath(compId);
-            Files.deleteIfExists(recipePath);
+            long sizeBefore = beginContentSizeChange(recipePath);
+            try {
+                Files.deleteIfExists(recipePath);
+            } finally {
+                recordContentSizeChange(recipePath, sizeBefore);
+            }
         } catch (IOException e) {
             if (exception == null) {
                 exception = e;
@@ -269,7 +349,13 @@ public class ComponentStore {
         }
         // delete recipeMetadata
         try {
-            Files.deleteIfExists(resolveRecipeMetadataFile(compId).toPath());
+            Path recipeMetadataPath = resolveRecipeMetadataFile(compId).toPath();
+            long sizeBefore = beginContentSizeChange(recipeMetadataPath);
+            try {
+                Files.deleteIfExists(recipeMetadataPath);
+            } finally {
+                recordContentSizeChange(recipeMetadataPath, sizeBefore);
+            }
         } catch (IOException e) {
             if (exception == null) {
                 exception = e;
@@ -280,7 +366,13 @@ public class ComponentStore {
         // delete artifacts
         try {
             Path artifactDirPath = resolveArtifactDirectoryPath(compId);
-            FileUtils.deleteDirectory(artifactDirPath.toFile());
+            long sizeBefore = beginContentSizeChange(artifactDirPath);
+            try {
+                FileUtils.deleteDirectory(artifactDirPath.toFile());
+            } finally {
+                recordContentSizeChange(artifactDirPath, sizeBefore);
+            }
+            getArtifactDigestIndex().removeUnder(artifactDirPath);
         } catch (IOException e) {
             if (exception == null) {
                 exception = e;
@@ -291,7 +383,12 @@ public class ComponentStore {
         // delete decompressed files
         try {
             Path artifactDecompressedDirPath = nucleusPaths.unarchiveArtifactPath(compId);
-            FileUtils.deleteDirectory(artifactDecompressedDirPath.toFile());
+            long sizeBefore = beginContentSizeChange(artifactDecompressedDirPath);
+            try {
+                FileUtils.deleteDirectory(artifactDecompressedDirPath.toFile());
+            } finally {
+                recordContentSizeChange(artifactDecompressedDirPath, sizeBefore);
+            }
         } catch (IOException e) {
             if (exception == null) {
                 exception = e;
@@ -428,24 +525,176 @@ public class ComponentStore {
     }
 
     /**
-     * Get the total size of files in the package store by recursively walking the package store directory. Provides an
-     * estimate of the package store's disk usage.
+     * Get the total size of files in the package store. The size is scanned once and then maintained as the component
+     * store changes its content, files changed around the component store are only counted by {@link
+     * #reconcileContentSize}.
      *
      * @return total length of files in bytes
      * @throws PackageLoadingException if unable to access the package store directory
      */
     public long getContentSize() throws PackageLoadingException {
+        synchronized (contentSizeLedgerLock) {
+            if (contentSizeKnown) {
+                return contentSizeBytes;
+            }
+        }
+        return scanContentSize(false);
+    }
+
+    /**
+     * Correct the accounted size of the package store by walking the package store directory.
+     *
+     * @return total length of files in bytes
+     * @throws PackageLoadingException if unable to access the package store directory
+     */
+    public long reconcileContentSize() throws PackageLoadingException {
+        return scanContentSize(true);
+    }
+
+    private long scanContentSize(boolean reconcile) throws PackageLoadingException {
+        synchronized (contentSizeScanLock) {
+            long changesBefore;
+            Map<Path, Long> pendingChanges;
+            synchronized (contentSizeLedgerLock) {
+                if (contentSizeKnown && !reconcile) {
+                    // Scanned by a concurrent caller
+                    return contentSizeBytes;
+                }
+                changesBefore = contentSizeChanges;
+                pendingChanges = new HashMap<>(pendingContentSizeChanges);
+            }
+            long scannedBytes;
+            try {
+                // Content being written is counted at its size before the change, as the ledger does, so the change
+                // is not counted twice once it's recorded
+                scannedBytes = sizeOf(nucleusPaths.componentStorePath(), pendingChanges.keySet());
+                for (long sizeBefore : pendingChanges.values()) {
+                    scannedBytes += sizeBefore;
+                }
+            } catch (IOException | UncheckedIOException e) {
+                throw new PackageLoadingException("Failed to access package store", e)
+                        .withErrorContext(e, DeploymentErrorCode.IO_FILE_ATTRIBUTE_ERROR);
+            }
+            synchronized (contentSizeLedgerLock) {
+                if (contentSizeKnown && contentSizeChanges != changesBefore) {
+                    // The scan may or may not have seen those changes, keep the accounted size until the next scan
+                    logger.atDebug().log("Component store changed while scanning its size, keeping accounted size");
+                    return contentSizeBytes;
+                }
+                if (contentSizeKnown && contentSizeBytes != scannedBytes) {
+                    logger.atInfo().kv("accountedBytes", contentSizeBytes).kv("scannedBytes", scannedBytes)
+                            .log("Corrected accounted component store size");
+                }
+                contentSizeBytes = scannedBytes;
+                contentSizeKnown = true;
+                return scannedBytes;
+            }
+        }
+    }
+
+    /**
+     * Get the size of a file, or of all files in a directory, before changing it in the component store. Until the
+     * change is recorded with {@link #recordContentSizeChange}, size scans count the path at this size rather than
+     * with what is partially written.
+     *
+     * @param path file or directory in the component store
+     * @return size in bytes, zero if it doesn't exist
+     */
+    long beginContentSizeChange(Path path) {
+        long sizeBefore = measureContentSize(path);
+        synchronized (contentSizeLedgerLock) {
+            pendingContentSizeChanges.putIfAbsent(path, sizeBefore);
+            // A scan running now may have seen the path before it was registered
+            contentSizeChanges++;
+        }
+        return sizeBefore;
+    }
+
+    private long measureContentSize(Path path) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
         try {
-            try (LongStream lengths = Files.walk(nucleusPaths.componentStorePath()).map(Path::toFile)
-                    .filter(File::isFile).mapToLong(File::length)) {
-                return lengths.sum();
+            return sizeOf(path);
+        } catch (IOException | UncheckedIOException e) {
+            logger.atDebug().kv("path", path).setCause(e)
+                    .log("Unable to measure size, the component store size will be scanned again");
+            synchronized (contentSizeLedgerLock) {
+                contentSizeKnown = false;
             }
-        } catch (IOException e) {
-            throw new PackageLoadingException("Failed to access package store", e)
-                    .withErrorContext(e, DeploymentErrorCode.IO_FILE_ATTRIBUTE_ERROR);
+            return 0;
+        }
+    }
+
+    /**
+     * Account for the change in size of a file or directory in the component store.
+     *
+     * @param path       file or directory in the component store
+     * @param sizeBefore size returned by {@link #beginContentSizeChange} before it changed
+     */
+    void recordContentSizeChange(Path path, long sizeBefore) {
+        long delta = measureContentSize(path) - sizeBefore;
+        synchronized (contentSizeLedgerLock) {
+            pendingContentSizeChanges.remove(path);
+            contentSizeBytes += delta;
+            contentSizeChanges++;
+        }
+    }
+
+    private static long sizeOf(Path path) throws IOException {
+        return sizeOf(path, Collections.emptySet());
+    }
+
+    private static long sizeOf(Path path, Set<Path> excluded) throws IOException {
+        try (LongStream lengths = Files.walk(path).filter(p -> excluded.stream().noneMatch(p::startsWith))
+                .map(Path::toFile).filter(File::isFile).mapToLong(File::length)) {
+            return lengths.sum();
         }
     }
 
+    /**
+     * Get the digest of an artifact recorded by {@link #recordArtifactDigest}, as long as the size, modification time
+     * and inode of the file are unchanged since.
+     *
+     * @param artifactPath path of the artifact
+     * @param algorithm    digest algorithm
+     * @return Base64 encoded digest, or empty if the artifact has to be hashed
+     */
+    public Optional<String> findArtifactDigest(Path artifactPath, String algorithm) {
+        return getArtifactDigestIndex().get(artifactPath, algorithm);
+    }
+
+    /**
+     * Record the digest of an artifact, so that it doesn't need to be hashed again until the file changes.
+     *
+     * @param artifactPath path of the artifact
+     * @param algorithm    digest algorithm
+     * @param digest       Base64 encoded digest of the artifact as it is on disk
+     */
+    public void recordArtifactDigest(Path artifactPath, String algorithm, String digest) {
+        getArtifactDigestIndex().put(artifactPath, algorithm, digest);
+    }
+
+    /**
+     * Re-hash all artifacts with a recorded digest and forget the digests which no longer match, so that corruption
+     * on disk is caught by the next deployment.
+     *
+     * @param ioLimiter limits the rate at which artifacts are read
+     * @return number of recorded digests dropped
+     * @throws InterruptedException if interrupted
+     */
+    public int scrubArtifactDigests(BandwidthLimiter ioLimiter) throws InterruptedException {
+        return getArtifactDigestIndex().scrub(ioLimiter);
+    }
+
+    private synchronized ArtifactDigestIndex getArtifactDigestIndex() {
+        if (artifactDigestIndex == null) {
+            artifactDigestIndex = new ArtifactDigestIndex(
+                    nucleusPaths.componentStorePath().resolve(ARTIFACT_DIGEST_INDEX_FILE), this);
+        }
+        return artifactDigestIndex;
+    }
+
     /**
      * Get remaining usable bytes for the package store.
      *
@@ -487,6 +736,7 @@ public class ComponentStore {
             throws PackageLoadingException {
         File metadataFile = resolveRecipeMetadataFile(componentIdentifier);
 
+        long sizeBefore = beginContentSizeChange(metadataFile.toPath());
         try {
             SerializerFactory.getFailSafeJsonObjectMapper().writeValue(metadataFile, recipeMetadata);
         } catch (IOException e) {
@@ -496,6 +746,8 @@ public class ComponentStore {
             throw new PackageLoadingException(
                     String.format("Failed to write recipe metadata to file: '%s'", metadataFile.getAbsolutePath()),
                     e).withErrorContext(e, DeploymentErrorCode.IO_WRITE_ERROR);
+        } finally {
+            recordContentSizeChange(metadataFile.toPath(), sizeBefore);
         }
     }
 
@@ -644,4 +896,31 @@ public class ComponentStore {
                     "Failed to compute filename because desired hashing algorithm is not available", e);
         }
     }
+
+    @Value
+    private static class RecipeFileState {
+        long size;
+        long lastModifiedNanos;
+        Object fileKey;
+
+        static RecipeFileState of(Path recipePath) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(recipePath, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    return null;
+                }
+                return new RecipeFileState(attributes.size(),
+                        attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), attributes.fileKey());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    @Value
+    private static class ParsedRecipe {
+        RecipeFileState fileState;
+        Map<String, String> platform;
+        Optional<ComponentRecipe> recipe;
+    }
 }
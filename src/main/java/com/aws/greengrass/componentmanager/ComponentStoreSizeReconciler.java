@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.exceptions.PackageLoadingException;
+import com.aws.greengrass.dependency.InjectionActions;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+
+/**
+ * Periodically corrects the component store size accounted by {@link ComponentStore}, which only sees the changes
+ * the nucleus makes itself, by walking the whole component store in the background.
+ */
+public class ComponentStoreSizeReconciler implements InjectionActions {
+    private static final Logger logger = LogManager.getLogger(ComponentStoreSizeReconciler.class);
+
+    private final ComponentStore componentStore;
+    private final DeviceConfiguration deviceConfiguration;
+    private final PeriodicBackgroundTask periodicReconcile;
+
+    /**
+     * Constructor.
+     *
+     * @param componentStore      component store
+     * @param deviceConfiguration device configuration
+     * @param ses                 scheduled executor service which triggers the reconciliation
+     * @param executorService     executor service which runs the reconciliation
+     */
+    @Inject
+    public ComponentStoreSizeReconciler(ComponentStore componentStore, DeviceConfiguration deviceConfiguration,
+                                        ScheduledExecutorService ses, ExecutorService executorService) {
+        this.componentStore = componentStore;
+        this.deviceConfiguration = deviceConfiguration;
+        // Runs for long, keep it off the few scheduler threads
+        this.periodicReconcile = new PeriodicBackgroundTask("component store size reconciliation", ses,
+                executorService, this::reconcile);
+    }
+
+    @Override
+    public void postInject() {
+        periodicReconcile.scheduleOn(deviceConfiguration.getComponentStoreSizeReconcileIntervalSeconds());
+    }
+
+    void reconcile() {
+        try {
+            long sizeBytes = componentStore.reconcileContentSize();
+            logger.atDebug().kv("sizeBytes", sizeBytes).log("Reconciled component store size");
+        } catch (PackageLoadingException e) {
+            logger.atWarn().setCause(e).log("Unable to reconcile component store size");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.exceptions.PackagingException;
+import com.aws.greengrass.componentmanager.models.ComponentMetadata;
+import com.vdurmont.semver4j.Requirement;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves component versions for one deployment. Every combination of component and version requirements is
+ * resolved once and the result is reused for the rest of the deployment. Components of the next level of the
+ * dependency tree can be prefetched, so that their negotiations with the cloud run concurrently instead of one round
+ * trip after the other. The calling thread resolves whatever no helper has started yet, so resolution completes even
+ * when the executor has no spare thread. Resolving a version saves the component's recipe and metadata in the component
+ * store, so resolutions of the same component, with different requirements, run one after the other.
+ */
+class ConcurrentComponentResolver implements DependencyResolver.ComponentResolver, AutoCloseable {
+    private final DependencyResolver.ComponentResolver delegate;
+    private final ExecutorService executorService;
+    private final int maxConcurrentResolutions;
+    private final Map<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+    private final Map<String, Object> componentLocks = new ConcurrentHashMap<>();
+    private final Queue<Resolution> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeHelpers = new AtomicInteger();
+    private final List<Future<?>> helpers = new ArrayList<>();
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final AtomicInteger reusedResolutions = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate                 resolves a single component version
+     * @param executorService          executor for resolving prefetched components, null to only resolve on demand
+     * @param maxConcurrentResolutions maximum number of resolutions running at the same time, including the caller
+     */
+    ConcurrentComponentResolver(DependencyResolver.ComponentResolver delegate, ExecutorService executorService,
+                                int maxConcurrentResolutions) {
+        this.delegate = delegate;
+        this.executorService = executorService;
+        this.maxConcurrentResolutions = Math.max(1, maxConcurrentResolutions);
+    }
+
+    /**
+     * Start resolving components in the background. Results are picked up by {@link #resolve} when it is called with
+     * the same version requirements.
+     *
+     * @param componentsToRequirements version requirements of the components which will be resolved next
+     */
+    void prefetch(Map<String, Map<String, Requirement>> componentsToRequirements) {
+        if (executorService == null || closed) {
+            return;
+        }
+        int added = 0;
+        for (Map.Entry<String, Map<String, Requirement>> entry : componentsToRequirements.entrySet()) {
+            Key key = new Key(entry.getKey(), new HashMap<>(entry.getValue()));
+            Resolution resolution = new Resolution(key);
+            if (resolutions.putIfAbsent(key, resolution) == null) {
+                pending.add(resolution);
+                added++;
+            }
+        }
+        // The caller resolves one of them itself
+        int helpersToStart = Math.min(maxConcurrentResolutions, added) - 1 - activeHelpers.get();
+        synchronized (helpers) {
+            for (int i = 0; i < helpersToStart && !closed; i++) {
+                activeHelpers.incrementAndGet();
+                helpers.add(executorService.submit(this::help));
+            }
+        }
+    }
+
+    @Override
+    public ComponentMetadata resolve(String name, Map<String, Requirement> requirements)
+            throws PackagingException, InterruptedException {
+        Resolution resolution = resolutions.computeIfAbsent(new Key(name, new HashMap<>(requirements)),
+                Resolution::new);
+        if (resolution.claim()) {
+            run(resolution);
+        } else {
+            reusedResolutions.incrementAndGet();
+        }
+        return resolution.await();
+    }
+
+    /**
+     * Get the number of resolutions which were actually performed, including prefetched ones.
+     *
+     * @return number of calls to the delegate
+     */
+    int getResolutionCount() {
+        return delegateCalls.get();
+    }
+
+    /**
+     * Get the number of resolutions served from a result which was resolved before or by a helper.
+     *
+     * @return number of reused resolutions
+     */
+    int getReusedResolutionCount() {
+        return reusedResolutions.get();
+    }
+
+    /**
+     * Stop prefetching. Resolutions which are no longer needed are interrupted.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (helpers) {
+            for (Future<?> helper : helpers) {
+                helper.cancel(true);
+            }
+        }
+    }
+
+    private void help() {
+        try {
+            for (Resolution resolution = pending.poll(); resolution != null && !closed; resolution = pending.poll()) {
+                if (resolution.claim()) {
+                    run(resolution);
+                }
+            }
+        } finally {
+            activeHelpers.decrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void run(Resolution resolution) {
+        delegateCalls.incrementAndGet();
+        Key key = resolution.key;
+        try {
+            ComponentMetadata metadata;
+            synchronized (componentLocks.computeIfAbsent(key.getName(), name -> new Object())) {
+                metadata = delegate.resolve(key.getName(), key.getRequirements());
+            }
+            resolution.result.complete(metadata);
+        } catch (PackagingException | InterruptedException | RuntimeException e) {
+            // Rethrown to whoever needs this result
+            resolution.result.completeExceptionally(e);
+        } finally {
+            if (!resolution.result.isDone()) {
+                // Don't leave anyone waiting for the result when the delegate failed with an error
+                resolution.result.completeExceptionally(
+                        new IllegalStateException("Failed to resolve component " + key.getName()));
+            }
+        }
+    }
+
+    @Value
+    private static class Key {
+        String name;
+        Map<String, Requirement> requirements;
+    }
+
+    private static final class Resolution {
+        private final Key key;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<ComponentMetadata> result = new CompletableFuture<>();
+
+        Resolution(Key key) {
+            this.key = key;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        ComponentMetadata await() throws PackagingException, InterruptedException {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof PackagingException) {
+                    throw (PackagingException) cause;
+                }
+                if (cause instanceof InterruptedException) {
+                    throw (InterruptedException) cause;
+                }
+                throw (RuntimeException) cause;
+            }
+        }
+    }
+}
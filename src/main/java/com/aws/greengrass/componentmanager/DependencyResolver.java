@@ -29,6 +29,7 @@ import lombok.NoArgsConstructor;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,6 +37,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 
@@ -50,6 +53,8 @@ public class DependencyResolver {
     private static final String VERSION_KEY = "version";
     private static final String COMPONENT_NAME_KEY = "componentName";
     private static final String COMPONENT_VERSION_REQUIREMENT_KEY = "componentToVersionRequirements";
+    // Each resolution may negotiate with the cloud, bound the number of requests in flight for one deployment
+    private static final int MAX_CONCURRENT_VERSION_RESOLUTIONS = 4;
     @Inject
     private ComponentManager componentManager;
 
@@ -59,6 +64,9 @@ public class DependencyResolver {
     @Inject
     private ComponentStore componentStore;
 
+    @Inject
+    private ExecutorService executorService;
+
     /**
      * Create the full list of components to be run on the device from a deployment document. It also resolves the
      * conflicts between the components specified in the deployment document and the existing running components on the
@@ -114,11 +122,19 @@ public class DependencyResolver {
                 .log("Start to resolve all groups dependencies");
         // populate all groups target components dependencies
         // resolve updated version from the cloud, update version requirement map
-        for (String targetComponent : combinedTargetComponents) {
-            resolveComponentDependencies(targetComponent, componentNameToVersionConstraints,
-                    resolvedComponents, componentIncomingReferenceCount,
-                    (name, requirements) ->
-                            componentManager.resolveComponentVersion(name, requirements));
+        long startNanos = System.nanoTime();
+        try (ConcurrentComponentResolver componentResolver = new ConcurrentComponentResolver(
+                (name, requirements) -> componentManager.resolveComponentVersion(name, requirements),
+                executorService, MAX_CONCURRENT_VERSION_RESOLUTIONS)) {
+            for (String targetComponent : combinedTargetComponents) {
+                resolveComponentDependencies(targetComponent, componentNameToVersionConstraints,
+                        resolvedComponents, componentIncomingReferenceCount, componentResolver);
+            }
+            logger.atInfo().setEventType("resolve-component-versions-finish")
+                    .kv("resolutions", componentResolver.getResolutionCount())
+                    .kv("reusedResolutions", componentResolver.getReusedResolutionCount())
+                    .kv("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                    .log("Resolved component versions");
         }
 
         // detect circular dependencies for target components from the current deployment
@@ -199,12 +215,12 @@ public class DependencyResolver {
         return targetComponents;
     }
 
-    // Breadth first traverse of dependency tree, use component resolve to resolve every component
+    // Breadth first traverse of dependency tree level by level, use component resolve to resolve every component
     private void resolveComponentDependencies(
             String targetComponentName, Map<String, Map<String, Requirement>> componentNameToVersionConstraints,
             Map<String, ComponentMetadata> resolvedComponents,
             Map<String, Integer> componentIncomingReferenceCount,
-            ComponentResolver componentResolver) throws PackagingException, InterruptedException {
+            ConcurrentComponentResolver componentResolver) throws PackagingException, InterruptedException {
         logger.atDebug().setEventType("traverse-dependencies-start").kv("targetComponent", targetComponentName)
                 .kv(COMPONENT_VERSION_REQUIREMENT_KEY, componentNameToVersionConstraints)
                 .log("Start traversing dependencies");
@@ -212,32 +228,43 @@ public class DependencyResolver {
         componentsToResolve.add(targetComponentName);
 
         while (!componentsToResolve.isEmpty()) {
-            String componentToResolve = componentsToResolve.poll();
-            Map<String, Requirement> versionConstraints =
-                    new HashMap<>(componentNameToVersionConstraints.get(componentToResolve));
-            ComponentMetadata resolvedVersion = componentResolver.resolve(componentToResolve, versionConstraints);
-            // Incrementing the incoming reference count
-            componentIncomingReferenceCount.compute(resolvedVersion.getComponentIdentifier().getName(),
-                    (key, value) -> value == null ? 1 : value + 1);
-            logger.atDebug().kv("resolvedVersion", resolvedVersion).log("Resolved component");
-
-            ComponentMetadata previousVersion = resolvedComponents.put(componentToResolve, resolvedVersion);
-
-            if (previousVersion != null && !previousVersion.equals(resolvedVersion)) {
-                logger.atDebug().kv("previousVersion", previousVersion).kv("newVersion", resolvedVersion)
-                        .log("The resolved version of the component changed, updating the dependency tree");
-                removeDependencies(previousVersion, resolvedComponents, componentIncomingReferenceCount,
-                        componentNameToVersionConstraints);
-            }
-            // Skipping dependency resolution for the component as there is no change in the version.
-            if (resolvedVersion.equals(previousVersion)) {
-                continue;
+            // Everything queued is the next level of the dependency tree. Start resolving the whole level with the
+            // requirements known now, a result is only used if the requirements are still the same when the
+            // component's turn comes.
+            Map<String, Map<String, Requirement>> nextLevel = new LinkedHashMap<>();
+            for (String component : componentsToResolve) {
+                nextLevel.put(component, new HashMap<>(componentNameToVersionConstraints.get(component)));
             }
-            for (Map.Entry<String, String> dependency : resolvedVersion.getDependencies().entrySet()) {
-                componentNameToVersionConstraints.putIfAbsent(dependency.getKey(), new HashMap<>());
-                componentNameToVersionConstraints.get(dependency.getKey()).put(componentToResolve,
-                        Requirement.buildNPM(dependency.getValue()));
-                componentsToResolve.add(dependency.getKey());
+            componentResolver.prefetch(nextLevel);
+
+            for (int levelSize = componentsToResolve.size(); levelSize > 0; levelSize--) {
+                String componentToResolve = componentsToResolve.poll();
+                Map<String, Requirement> versionConstraints =
+                        new HashMap<>(componentNameToVersionConstraints.get(componentToResolve));
+                ComponentMetadata resolvedVersion = componentResolver.resolve(componentToResolve, versionConstraints);
+                // Incrementing the incoming reference count
+                componentIncomingReferenceCount.compute(resolvedVersion.getComponentIdentifier().getName(),
+                        (key, value) -> value == null ? 1 : value + 1);
+                logger.atDebug().kv("resolvedVersion", resolvedVersion).log("Resolved component");
+
+                ComponentMetadata previousVersion = resolvedComponents.put(componentToResolve, resolvedVersion);
+
+                if (previousVersion != null && !previousVersion.equals(resolvedVersion)) {
+                    logger.atDebug().kv("previousVersion", previousVersion).kv("newVersion", resolvedVersion)
+                            .log("The resolved version of the component changed, updating the dependency tree");
+                    removeDependencies(previousVersion, resolvedComponents, componentIncomingReferenceCount,
+                            componentNameToVersionConstraints);
+                }
+                // Skipping dependency resolution for the component as there is no change in the version.
+                if (resolvedVersion.equals(previousVersion)) {
+                    continue;
+                }
+                for (Map.Entry<String, String> dependency : resolvedVersion.getDependencies().entrySet()) {
+                    componentNameToVersionConstraints.putIfAbsent(dependency.getKey(), new HashMap<>());
+                    componentNameToVersionConstraints.get(dependency.getKey()).put(componentToResolve,
+                            Requirement.buildNPM(dependency.getValue()));
+                    componentsToResolve.add(dependency.getKey());
+                }
             }
         }
 
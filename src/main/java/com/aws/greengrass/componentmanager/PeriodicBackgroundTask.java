@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.config.Topic;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.Coerce;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a long running maintenance task of the component store at a configurable interval. The scheduler only
+ * triggers the task, which runs on the executor service so that it doesn't hold one of the few scheduler threads,
+ * and a run is skipped while the previous one is still running.
+ */
+class PeriodicBackgroundTask {
+    private static final Logger logger = LogManager.getLogger(PeriodicBackgroundTask.class);
+
+    private final String name;
+    private final ScheduledExecutorService ses;
+    private final ExecutorService executorService;
+    private final Runnable task;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Future<?> scheduled;
+
+    PeriodicBackgroundTask(String name, ScheduledExecutorService ses, ExecutorService executorService,
+                           Runnable task) {
+        this.name = name;
+        this.ses = ses;
+        this.executorService = executorService;
+        this.task = task;
+    }
+
+    /**
+     * Schedule the task at the interval in seconds configured in the given topic, and reschedule it whenever the
+     * interval changes. An interval of zero or less disables the task.
+     *
+     * @param intervalSeconds topic with the interval in seconds
+     */
+    void scheduleOn(Topic intervalSeconds) {
+        intervalSeconds.subscribe((whatHappened, interval) -> schedule(Coerce.toLong(interval)));
+    }
+
+    synchronized void schedule(long intervalSeconds) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        scheduled = ses.scheduleWithFixedDelay(() -> executorService.execute(this::run), intervalSeconds,
+                intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void run() {
+        if (!running.compareAndSet(false, true)) {
+            logger.atDebug().kv("task", name).log("Previous run is still running");
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            running.set(false);
+        }
+    }
+}
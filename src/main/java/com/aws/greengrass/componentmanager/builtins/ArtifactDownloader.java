@@ -34,6 +34,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ArtifactDownloader {
@@ -45,6 +46,10 @@ public abstract class ArtifactDownloader {
             "Failed to download artifact name: '%s' for component %s-%s, reason: ";
     private static final int DOWNLOAD_BUFFER_SIZE = 1024 * 64; // Download/write with 64KB buffer
     private static final int READ_BUFFER_SIZE = 8192;
+    private static final String SEGMENT_PROGRESS_FILE_SUFFIX = ".segments";
+    static final long DEFAULT_MULTI_PART_THRESHOLD_BYTES = 64L * 1024 * 1024;
+    static final long DEFAULT_SEGMENT_SIZE_BYTES = 8L * 1024 * 1024;
+    static final int DEFAULT_PARALLEL_SEGMENTS = 4;
     protected final Logger logger;
     protected final ComponentIdentifier identifier;
     protected final ComponentArtifact artifact;
@@ -57,6 +62,18 @@ public abstract class ArtifactDownloader {
                     .maxRetryInterval(Duration.ofMinutes(1L)).maxAttempt(10)
                     .retryableExceptions(Arrays.asList(ArtifactChecksumMismatchException.class)).build();
     private Path saveToPath;
+    // Shared by all downloads of a deployment, null when not limited
+    @Setter
+    private BandwidthLimiter bandwidthLimiter;
+    // Runs the helpers of multi-part downloads, artifacts are downloaded sequentially when not set
+    @Setter
+    private ExecutorService executorService;
+    @Setter(AccessLevel.PACKAGE)
+    private long multiPartThresholdBytes = DEFAULT_MULTI_PART_THRESHOLD_BYTES;
+    @Setter(AccessLevel.PACKAGE)
+    private long segmentSizeBytes = DEFAULT_SEGMENT_SIZE_BYTES;
+    // Set while a thread fetches a segment of a multi-part download, the bytes it reads are written to the segment
+    private final ThreadLocal<SegmentedDownload.Segment> activeSegment = new ThreadLocal<>();
 
     protected ArtifactDownloader(ComponentIdentifier identifier, ComponentArtifact artifact,
                                  Path artifactDir, ComponentStore componentStore) {
@@ -110,8 +127,16 @@ public abstract class ArtifactDownloader {
 
         saveToPath = getArtifactFile().toPath();
         long artifactSize = getDownloadSize();
+        if (executorService != null && supportsParallelRangedDownload() && artifactSize >= multiPartThresholdBytes) {
+            return downloadInSegments(messageDigest, artifactSize);
+        }
         final AtomicLong offset = new AtomicLong(0);
 
+        // A file left by a multi-part download is preallocated, so it can't be resumed sequentially
+        if (Files.deleteIfExists(getSegmentProgressPath())) {
+            Files.deleteIfExists(saveToPath);
+        }
+
         // If there are partially downloaded artifact existing on device
         if (Files.exists(saveToPath)) {
             if (Files.size(saveToPath) > artifactSize) {
@@ -131,6 +156,9 @@ public abstract class ArtifactDownloader {
             //download for 10 times before giving up.
             return RetryUtils.runWithRetry(checksumMismatchRetryConfig, () -> {
                 while (offset.get() < artifactSize) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException(getErrorString("Interrupted while downloading"));
+                    }
                     long downloadedBytes = download(offset.get(), artifactSize - 1, messageDigest);
                     offset.addAndGet(downloadedBytes);
                 }
@@ -147,6 +175,7 @@ public abstract class ArtifactDownloader {
                             DeploymentErrorCode.ARTIFACT_CHECKSUM_MISMATCH);
                 }
                 logger.atDebug().setEventType("download-artifact").log("Passed integrity check");
+                componentStore.recordArtifactDigest(saveToPath, artifact.getAlgorithm(), digest);
                 return saveToPath.toFile();
             }, "download-artifact", logger);
         } catch (InterruptedException | PackageDownloadException e) {
@@ -156,6 +185,58 @@ public abstract class ArtifactDownloader {
         }
     }
 
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
+    private File downloadInSegments(MessageDigest messageDigest, long artifactSize)
+            throws PackageDownloadException, InterruptedException {
+        try {
+            return RetryUtils.runWithRetry(checksumMismatchRetryConfig, () -> {
+                messageDigest.reset();
+                SegmentedDownload segmentedDownload = new SegmentedDownload(logger, saveToPath,
+                        getSegmentProgressPath(), artifactSize, segmentSizeBytes, DEFAULT_PARALLEL_SEGMENTS,
+                        artifact.getChecksum(), messageDigest, executorService, bandwidthLimiter,
+                        (segment, rangeStart, rangeEnd) -> {
+                            activeSegment.set(segment);
+                            try {
+                                // Bytes are written to the active segment, which maintains the digest in order
+                                return download(rangeStart, rangeEnd, null);
+                            } finally {
+                                activeSegment.remove();
+                            }
+                        });
+                String digest = segmentedDownload.run();
+                if (!digest.equals(artifact.getChecksum())) {
+                    segmentedDownload.discard();
+                    throw new ArtifactChecksumMismatchException(
+                            "Failed integrity check for the downloaded artifact. Artifact contents may have changed "
+                                    + "after component version was created",
+                            DeploymentErrorCode.ARTIFACT_CHECKSUM_MISMATCH);
+                }
+                segmentedDownload.finish();
+                logger.atDebug().setEventType("download-artifact").log("Passed integrity check");
+                componentStore.recordArtifactDigest(saveToPath, artifact.getAlgorithm(), digest);
+                return saveToPath.toFile();
+            }, "download-artifact-segments", logger);
+        } catch (InterruptedException | PackageDownloadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PackageDownloadException(getErrorString("Failed to download the artifact"), e);
+        }
+    }
+
+    private Path getSegmentProgressPath() {
+        return artifactDir.resolve(getArtifactFilename() + SEGMENT_PROGRESS_FILE_SUFFIX);
+    }
+
+    /**
+     * Check if the downloader can fetch ranges of the artifact from several threads at the same time, which enables
+     * multi-part downloads of large artifacts.
+     *
+     * @return true if {@link #download(long, long, MessageDigest)} is safe to call concurrently
+     */
+    protected boolean supportsParallelRangedDownload() {
+        return false;
+    }
+
     /**
      * Internal helper method to download from input stream. If IOException is thrown during the process, the method
      * will return actual number of bytes downloaded. Supposed to be invoked in `protected abstract long download(long
@@ -167,6 +248,10 @@ public abstract class ArtifactDownloader {
      * @throws PackageDownloadException Throw PackageDownloadException when fail to write to the disk
      */
     protected long download(InputStream inputStream, MessageDigest messageDigest) throws PackageDownloadException {
+        SegmentedDownload.Segment segment = activeSegment.get();
+        if (segment != null) {
+            return segment.write(inputStream);
+        }
         long totalReadBytes = 0;
         try (FileChannel artifactFileChannel = FileChannel.open(saveToPath, StandardOpenOption.CREATE,
                 StandardOpenOption.WRITE, StandardOpenOption.APPEND);
@@ -184,6 +269,15 @@ public abstract class ArtifactDownloader {
 
                 messageDigest.update(buffer, 0, readBytes);
                 totalReadBytes += readBytes;
+                if (bandwidthLimiter != null) {
+                    try {
+                        bandwidthLimiter.acquire(readBytes);
+                    } catch (InterruptedException e) {
+                        // Keep what was written, the caller checks the interrupt flag before downloading more
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
                 readBytes = inputStream.read(buffer);
             }
             // calls sync() to force the file to disk to the best of our abilities
@@ -215,13 +309,24 @@ public abstract class ArtifactDownloader {
      */
     public boolean downloadRequired() {
         String filename = getArtifactFilename();
+        if (Files.exists(getSegmentProgressPath())) {
+            // A multi-part download is in progress, its file is preallocated so there is no point in hashing it
+            return true;
+        }
         if (Files.exists(artifactDir.resolve(filename))) {
             if (recipeHasDigest(artifact)) {
                 // If the file already exists and has the right content, skip download
                 try {
-                    MessageDigest messageDigest = MessageDigest.getInstance(artifact.getAlgorithm());
-                    updateDigestFromFile(artifactDir.resolve(filename), messageDigest);
-                    String digest = Base64.getEncoder().encodeToString(messageDigest.digest());
+                    Path artifactPath = artifactDir.resolve(filename);
+                    // Hashing a large artifact takes long, reuse the digest recorded while the file is unchanged
+                    String digest = componentStore.findArtifactDigest(artifactPath, artifact.getAlgorithm())
+                            .orElse(null);
+                    if (digest == null) {
+                        MessageDigest messageDigest = MessageDigest.getInstance(artifact.getAlgorithm());
+                        updateDigestFromFile(artifactPath, messageDigest);
+                        digest = Base64.getEncoder().encodeToString(messageDigest.digest());
+                        componentStore.recordArtifactDigest(artifactPath, artifact.getAlgorithm(), digest);
+                    }
                     boolean mismatches = !digest.equals(artifact.getChecksum());
                     if (mismatches) {
                         logger.atWarn().log("Artifact appears to exist on disk, "
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager.builtins;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket shared by all concurrent artifact downloads so that together they stay within one bandwidth budget.
+ * The budget is read on every acquisition so that configuration changes apply to downloads in progress.
+ */
+public class BandwidthLimiter {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongSupplier maxBytesPerSecond;
+    private double availableBytes;
+    private long lastRefillNanos = System.nanoTime();
+
+    /**
+     * Constructor.
+     *
+     * @param maxBytesPerSecond supplier of the budget in bytes per second, zero or negative means unlimited
+     */
+    public BandwidthLimiter(LongSupplier maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    /**
+     * Take bytes from the budget, sleeping as long as it takes for the budget to cover them. Bytes are taken
+     * after they were read, so a caller may run ahead of the budget by one buffer at most.
+     *
+     * @param bytes number of bytes transferred
+     * @throws InterruptedException if interrupted while waiting for the budget
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        long rate = maxBytesPerSecond.getAsLong();
+        if (rate <= 0 || bytes <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            // Allow at most one second worth of burst after being idle
+            availableBytes = Math.min(rate, availableBytes + (now - lastRefillNanos) / NANOS_PER_SECOND * rate);
+            lastRefillNanos = now;
+            // Going into debt reserves the bytes for this caller, later callers wait for the debt to be paid off
+            availableBytes -= bytes;
+            waitNanos = availableBytes >= 0 ? 0 : (long) (-availableBytes / rate * NANOS_PER_SECOND);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package com.aws.greengrass.componentmanager.builtins;
 
 import com.aws.greengrass.componentmanager.ComponentStore;
+import com.aws.greengrass.componentmanager.exceptions.HashingAlgorithmUnavailableException;
 import com.aws.greengrass.componentmanager.exceptions.PackageDownloadException;
 import com.aws.greengrass.componentmanager.exceptions.PackageLoadingException;
 import com.aws.greengrass.componentmanager.models.ComponentArtifact;
@@ -30,6 +31,7 @@ import software.amazon.awssdk.services.greengrassv2data.model.GetComponentVersio
 import software.amazon.awssdk.services.greengrassv2data.model.GetComponentVersionArtifactResponse;
 import software.amazon.awssdk.services.greengrassv2data.model.GreengrassV2DataException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
@@ -42,6 +44,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class GreengrassRepositoryDownloader extends ArtifactDownloader {
@@ -52,6 +55,13 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
     private final ComponentStore componentStore;
     private final GreengrassServiceClientFactory clientFactory;
     private Long artifactSize = null;
+    // The pre-signed url is fetched once per artifact and shared by all ranged requests, including parallel segments.
+    // It is only fetched again if the url is rejected, for example because it expired during a long download.
+    private final Object downloadUrlLock = new Object();
+    private String downloadUrl;
+    // One client serves all ranged requests of a download, it is closed when the download returns
+    private final Object httpClientLock = new Object();
+    private SdkHttpClient httpClient;
     // Setter for unit test
     @Setter(AccessLevel.PACKAGE)
     private RetryUtils.RetryConfig clientExceptionRetryConfig =
@@ -83,6 +93,16 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
 
     }
 
+    @Override
+    public File download()
+            throws PackageDownloadException, IOException, InterruptedException, HashingAlgorithmUnavailableException {
+        try {
+            return super.download();
+        } finally {
+            closeHttpClient();
+        }
+    }
+
     @Override
     @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
     public Long getDownloadSize() throws PackageDownloadException, InterruptedException {
@@ -104,8 +124,9 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
     @SuppressWarnings({"PMD.PreserveStackTrace", "PMD.AvoidCatchingGenericException"})
     private Long getDownloadSizeWithoutRetry() throws InterruptedException, PackageDownloadException, IOException,
             RetryableServerErrorException {
-        String url = getArtifactDownloadURL(identifier, artifact.getArtifactUri().getSchemeSpecificPart());
+        String url = getArtifactDownloadURL();
 
+        // The size is queried once per artifact, possibly without a download following it
         try (SdkHttpClient client = getSdkHttpClient()) {
             HttpExecuteRequest executeRequest = HttpExecuteRequest.builder()
                     .request(SdkHttpFullRequest.builder().uri(URI.create(url)).method(SdkHttpMethod.GET).build())
@@ -137,67 +158,71 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
     @Override
     protected long download(long rangeStart, long rangeEnd, MessageDigest messageDigest)
             throws PackageDownloadException, InterruptedException {
-        String url = getArtifactDownloadURL(identifier, artifact.getArtifactUri().getSchemeSpecificPart());
-
+        AtomicBoolean urlRefreshed = new AtomicBoolean();
         try {
             return RetryUtils.runWithRetry(clientExceptionRetryConfig, () -> {
-                try (SdkHttpClient client = getSdkHttpClient()) {
-                    HttpExecuteRequest executeRequest = HttpExecuteRequest.builder().request(
-                                    SdkHttpFullRequest.builder().uri(URI.create(url)).method(SdkHttpMethod.GET)
-                                            .putHeader(HTTP_RANGE_HEADER_KEY,
-                                                    String.format(HTTP_RANGE_HEADER_FORMAT, rangeStart, rangeEnd))
-                                            .build())
-                            .build();
-                    HttpExecuteResponse executeResponse = client.prepareRequest(executeRequest).call();
+                String url = getArtifactDownloadURL();
+                HttpExecuteRequest executeRequest = HttpExecuteRequest.builder().request(
+                                SdkHttpFullRequest.builder().uri(URI.create(url)).method(SdkHttpMethod.GET)
+                                        .putHeader(HTTP_RANGE_HEADER_KEY,
+                                                String.format(HTTP_RANGE_HEADER_FORMAT, rangeStart, rangeEnd))
+                                        .build())
+                        .build();
+                HttpExecuteResponse executeResponse = getHttpClient().prepareRequest(executeRequest).call();
 
-                    int responseCode = executeResponse.httpResponse().statusCode();
+                int responseCode = executeResponse.httpResponse().statusCode();
 
-                    // check response code
-                    if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
-                        try (InputStream inputStream = executeResponse.responseBody().get()) {
-                            long downloaded = download(inputStream, messageDigest);
-                            if (downloaded == 0) {
-                                // If 0 byte is read, it's fairly certain that the input stream is closed.
-                                // Therefore throw IOException to trigger the retry logic.
-                                throw new IOException(getErrorString("Failed to read any byte from the stream"));
-                            } else {
-                                return downloaded;
-                            }
+                // check response code
+                if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+                    try (InputStream inputStream = executeResponse.responseBody().get()) {
+                        long downloaded = download(inputStream, messageDigest);
+                        if (downloaded == 0) {
+                            // If 0 byte is read, it's fairly certain that the input stream is closed.
+                            // Therefore throw IOException to trigger the retry logic.
+                            throw new IOException(getErrorString("Failed to read any byte from the stream"));
+                        } else {
+                            return downloaded;
                         }
-                    } else if (responseCode == HttpURLConnection.HTTP_OK) {
-                        long length = getContentLengthLong(executeResponse.httpResponse());
-                        if (length < rangeEnd) {
-                            String errMsg = String.format(
-                                    "Artifact size mismatch. Expected artifact size %d. HTTP contentLength %d",
-                                    rangeEnd, length);
-                            throw new PackageDownloadException(getErrorString(errMsg), HTTP_DOWNLOAD_ERROR_CODE);
+                    }
+                } else if (responseCode == HttpURLConnection.HTTP_OK) {
+                    long length = getContentLengthLong(executeResponse.httpResponse());
+                    if (length < rangeEnd) {
+                        String errMsg = String.format(
+                                "Artifact size mismatch. Expected artifact size %d. HTTP contentLength %d",
+                                rangeEnd, length);
+                        throw new PackageDownloadException(getErrorString(errMsg), HTTP_DOWNLOAD_ERROR_CODE);
+                    }
+                    // 200 means server doesn't recognize the Range header and returns all contents.
+                    // try to discard the offset number of bytes.
+                    try (InputStream inputStream = executeResponse.responseBody().get()) {
+                        long byteSkipped = inputStream.skip(rangeStart);
+                        // If number of bytes skipped is less than declared, throw error.
+                        if (byteSkipped != rangeStart) {
+                            throw new PackageDownloadException(getErrorString("Reach the end of the stream"),
+                                    HTTP_DOWNLOAD_ERROR_CODE);
                         }
-                        // 200 means server doesn't recognize the Range header and returns all contents.
-                        // try to discard the offset number of bytes.
-                        try (InputStream inputStream = executeResponse.responseBody().get()) {
-                            long byteSkipped = inputStream.skip(rangeStart);
-                            // If number of bytes skipped is less than declared, throw error.
-                            if (byteSkipped != rangeStart) {
-                                throw new PackageDownloadException(getErrorString("Reach the end of the stream"),
-                                        HTTP_DOWNLOAD_ERROR_CODE);
-                            }
-                            long downloaded = download(inputStream, messageDigest);
-                            if (downloaded == 0) {
-                                // If 0 byte is read, it's fairly certain that the inputStream is closed.
-                                // Therefore throw IOException to trigger the retry logic.
-                                throw new IOException("Failed to read any byte from the inputStream");
-                            } else {
-                                return downloaded;
-                            }
+                        long downloaded = download(inputStream, messageDigest);
+                        if (downloaded == 0) {
+                            // If 0 byte is read, it's fairly certain that the inputStream is closed.
+                            // Therefore throw IOException to trigger the retry logic.
+                            throw new IOException("Failed to read any byte from the inputStream");
+                        } else {
+                            return downloaded;
                         }
-                    } else if (RetryUtils.retryErrorCodes(responseCode)) {
-                        throw new RetryableServerErrorException(
-                                "Failed to download artifact with retryable error, error code:" + responseCode);
-                    } else {
-                        throw new PackageDownloadException(
-                                getErrorString("Unable to download Greengrass artifact. HTTP Error: " + responseCode),
-                                HTTP_DOWNLOAD_ERROR_CODE);
                     }
+                } else if (responseCode == HttpURLConnection.HTTP_FORBIDDEN
+                        && urlRefreshed.compareAndSet(false, true)) {
+                    // The pre-signed url may have expired while the artifact was downloading
+                    invalidateArtifactDownloadURL(url);
+                    throw new RetryableServerErrorException(
+                            "Pre-signed url of the artifact was rejected, retrying with a new url");
+                } else if (RetryUtils.retryErrorCodes(responseCode)) {
+                    throw new RetryableServerErrorException(
+                            "Failed to download artifact with retryable error, error code:" + responseCode);
+                } else {
+                    throw new PackageDownloadException(
+                            getErrorString("Unable to download Greengrass artifact. HTTP Error: " + responseCode),
+                            HTTP_DOWNLOAD_ERROR_CODE);
                 }
             }, "download-artifact", logger);
         } catch (InterruptedException | PackageDownloadException e) {
@@ -207,11 +232,53 @@ public class GreengrassRepositoryDownloader extends ArtifactDownloader {
         }
     }
 
+    @Override
+    protected boolean supportsParallelRangedDownload() {
+        return true;
+    }
+
     @Override
     public Optional<String> checkDownloadable() {
         return Optional.ofNullable(clientFactory.getConfigValidationError());
     }
 
+    private String getArtifactDownloadURL() throws InterruptedException, PackageDownloadException {
+        // Parallel segments wait for a single fetch of the url rather than each fetching their own
+        synchronized (downloadUrlLock) {
+            if (downloadUrl == null) {
+                downloadUrl = getArtifactDownloadURL(identifier, artifact.getArtifactUri().getSchemeSpecificPart());
+            }
+            return downloadUrl;
+        }
+    }
+
+    private void invalidateArtifactDownloadURL(String url) {
+        synchronized (downloadUrlLock) {
+            // Another segment may have refreshed the url already
+            if (url.equals(downloadUrl)) {
+                downloadUrl = null;
+            }
+        }
+    }
+
+    private SdkHttpClient getHttpClient() {
+        synchronized (httpClientLock) {
+            if (httpClient == null) {
+                httpClient = getSdkHttpClient();
+            }
+            return httpClient;
+        }
+    }
+
+    private void closeHttpClient() {
+        synchronized (httpClientLock) {
+            if (httpClient != null) {
+                httpClient.close();
+                httpClient = null;
+            }
+        }
+    }
+
     @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidRethrowingException"})
     private String getArtifactDownloadURL(ComponentIdentifier componentIdentifier, String artifactName)
             throws InterruptedException, PackageDownloadException {
@@ -131,6 +131,11 @@ public class S3Downloader extends ArtifactDownloader {
         }
     }
 
+    @Override
+    protected boolean supportsParallelRangedDownload() {
+        return true;
+    }
+
     @Override
     public Optional<String> checkDownloadable() {
         return Optional.ofNullable(s3ClientFactory.getConfigValidationError());
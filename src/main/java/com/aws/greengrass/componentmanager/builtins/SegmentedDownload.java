@@ -0,0 +1,437 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager.builtins;
+
+import com.aws.greengrass.componentmanager.exceptions.PackageDownloadException;
+import com.aws.greengrass.deployment.errorcode.DeploymentErrorCode;
+import com.aws.greengrass.logging.api.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Downloads an artifact as fixed size segments which are fetched in parallel with ranged requests. Segments are
+ * written with positional writes into the preallocated artifact file and recorded in a progress file once they are
+ * durable, so a download interrupted by a crash resumes with the missing segments only.
+ *
+ * <p>The digest is computed in file order while segments arrive. The segment at the digest frontier is hashed as it
+ * streams and segments completed ahead of it are kept in memory until the frontier reaches them. Workers only start
+ * segments within {@code parallelism} segments of the frontier, which bounds that memory to {@code parallelism}
+ * segment buffers: 4 x 8MB = 32MB with the defaults of {@link ArtifactDownloader}. Only segments completed before a
+ * restart are read back from the file.</p>
+ */
+class SegmentedDownload {
+    private static final String PROGRESS_HEADER_FORMAT = "size=%d segmentSize=%d checksum=%s";
+    private static final int DOWNLOAD_BUFFER_SIZE = 1024 * 64;
+
+    private final Logger logger;
+    private final Path artifactPath;
+    private final Path progressPath;
+    private final long artifactSize;
+    private final long segmentSize;
+    private final int segmentCount;
+    private final int parallelism;
+    private final String checksum;
+    private final MessageDigest messageDigest;
+    private final ExecutorService executorService;
+    private final BandwidthLimiter bandwidthLimiter;
+    private final SegmentFetcher fetcher;
+
+    // Guarded by this
+    private final boolean[] completed;
+    private final Segment[] segments;
+    private int nextSegment;
+    private int frontier;
+    private int activeHelpers;
+    private boolean stopped;
+    private Exception failure;
+
+    private FileChannel channel;
+    private Writer progressWriter;
+
+    /**
+     * Fetches the bytes of a segment from {@code rangeStart} to {@code rangeEnd}, both inclusive, and passes the
+     * response stream to {@link Segment#write(InputStream)}.
+     */
+    @FunctionalInterface
+    interface SegmentFetcher {
+        long fetch(Segment segment, long rangeStart, long rangeEnd)
+                throws PackageDownloadException, InterruptedException;
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    SegmentedDownload(Logger logger, Path artifactPath, Path progressPath, long artifactSize, long segmentSize,
+                      int parallelism, String checksum, MessageDigest messageDigest, ExecutorService executorService,
+                      BandwidthLimiter bandwidthLimiter, SegmentFetcher fetcher) {
+        this.logger = logger;
+        this.artifactPath = artifactPath;
+        this.progressPath = progressPath;
+        this.artifactSize = artifactSize;
+        this.segmentSize = segmentSize;
+        this.segmentCount = (int) ((artifactSize + segmentSize - 1) / segmentSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.checksum = checksum;
+        this.messageDigest = messageDigest;
+        this.executorService = executorService;
+        this.bandwidthLimiter = bandwidthLimiter;
+        this.fetcher = fetcher;
+        this.completed = new boolean[segmentCount];
+        this.segments = new Segment[segmentCount];
+    }
+
+    /**
+     * Download all segments which are not on disk yet.
+     *
+     * @return Base64 encoded digest of the whole artifact
+     * @throws PackageDownloadException if a segment failed to download or write
+     * @throws InterruptedException     if interrupted, helpers are interrupted as well
+     * @throws IOException              if the artifact or progress file can't be opened
+     */
+    String run() throws PackageDownloadException, InterruptedException, IOException {
+        int resumedSegments = loadProgress();
+        logger.atDebug().kv("segmentCount", segmentCount).kv("resumedSegments", resumedSegments)
+                .log("Starting multi-part download");
+        try (RandomAccessFile file = new RandomAccessFile(artifactPath.toFile(), "rw");
+             Writer progress = Files.newBufferedWriter(progressPath, StandardCharsets.UTF_8,
+                     StandardOpenOption.APPEND)) {
+            if (file.length() != artifactSize) {
+                file.setLength(artifactSize);
+            }
+            channel = file.getChannel();
+            progressWriter = progress;
+            synchronized (this) {
+                advanceFrontier();
+            }
+
+            int helpers = Math.min(parallelism, segmentCount - resumedSegments) - 1;
+            List<Future<?>> helperFutures = new ArrayList<>();
+            boolean finished = false;
+            try {
+                for (int i = 0; i < helpers; i++) {
+                    helperFutures.add(executorService.submit(this::help));
+                }
+                work();
+                finished = true;
+            } finally {
+                synchronized (this) {
+                    // Helpers which did not start by now are not needed anymore
+                    stopped = true;
+                    notifyAll();
+                }
+                for (Future<?> helper : helperFutures) {
+                    helper.cancel(!finished);
+                }
+            }
+            awaitHelpers();
+            throwIfFailed();
+            channel.force(true);
+        }
+        return Base64.getEncoder().encodeToString(messageDigest.digest());
+    }
+
+    /**
+     * Delete the progress file once the artifact was verified.
+     *
+     * @throws IOException if the progress file can't be deleted
+     */
+    void finish() throws IOException {
+        Files.deleteIfExists(progressPath);
+    }
+
+    /**
+     * Delete the artifact and progress file so that the next attempt starts over.
+     *
+     * @throws IOException if the files can't be deleted
+     */
+    void discard() throws IOException {
+        Files.deleteIfExists(progressPath);
+        Files.deleteIfExists(artifactPath);
+    }
+
+    private int loadProgress() throws IOException {
+        String header = String.format(PROGRESS_HEADER_FORMAT, artifactSize, segmentSize, checksum);
+        if (Files.exists(progressPath) && Files.exists(artifactPath) && Files.size(artifactPath) == artifactSize) {
+            List<String> lines = Files.readAllLines(progressPath, StandardCharsets.UTF_8);
+            if (!lines.isEmpty() && header.equals(lines.get(0))) {
+                int resumed = 0;
+                for (String line : lines.subList(1, lines.size())) {
+                    try {
+                        int index = Integer.parseInt(line.trim());
+                        if (index >= 0 && index < segmentCount && !completed[index]) {
+                            completed[index] = true;
+                            resumed++;
+                        }
+                    } catch (NumberFormatException e) {
+                        // The last line may be torn by a crash, the segment is simply downloaded again
+                    }
+                }
+                return resumed;
+            }
+        }
+        // Start over, the existing file is from a sequential download or of a different artifact version
+        Files.deleteIfExists(artifactPath);
+        Files.write(progressPath, (header + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        return 0;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void work() throws InterruptedException {
+        for (Segment segment = take(); segment != null; segment = take()) {
+            try {
+                if (segment.fetch()) {
+                    complete(segment);
+                }
+            } catch (PackageDownloadException | IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void help() {
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            activeHelpers++;
+        }
+        try {
+            work();
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                // Helpers are interrupted when the download stops, otherwise the segment must not be lost
+                if (!stopped) {
+                    fail(new PackageDownloadException("Interrupted while downloading artifact segment", e));
+                }
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                activeHelpers--;
+                notifyAll();
+            }
+        }
+    }
+
+    private synchronized Segment take() throws InterruptedException {
+        while (!stopped) {
+            while (nextSegment < segmentCount && completed[nextSegment]) {
+                nextSegment++;
+            }
+            if (nextSegment >= segmentCount) {
+                return null;
+            }
+            if (nextSegment < frontier + parallelism) {
+                long start = nextSegment * segmentSize;
+                Segment segment = new Segment(nextSegment, start, Math.min(start + segmentSize, artifactSize) - 1);
+                segments[nextSegment++] = segment;
+                return segment;
+            }
+            // Wait for the frontier to move, so that at most parallelism segments are buffered in memory
+            wait();
+        }
+        return null;
+    }
+
+    private void complete(Segment segment) throws IOException {
+        // The data must be durable before the segment is recorded as done
+        channel.force(false);
+        synchronized (progressWriter) {
+            progressWriter.write(segment.index + System.lineSeparator());
+            progressWriter.flush();
+        }
+        synchronized (this) {
+            completed[segment.index] = true;
+            advanceFrontier();
+            notifyAll();
+        }
+    }
+
+    private synchronized void fail(Exception e) {
+        if (failure == null) {
+            failure = e;
+        }
+        stopped = true;
+        notifyAll();
+    }
+
+    private synchronized void awaitHelpers() throws InterruptedException {
+        while (activeHelpers > 0) {
+            wait();
+        }
+    }
+
+    private synchronized void throwIfFailed() throws PackageDownloadException, IOException {
+        if (failure instanceof PackageDownloadException) {
+            throw (PackageDownloadException) failure;
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    // Must hold the lock of this
+    private void advanceFrontier() throws IOException {
+        while (frontier < segmentCount && completed[frontier]) {
+            Segment segment = segments[frontier];
+            if (segment == null) {
+                digestFromFile(frontier);
+            } else if (segment.buffer != null) {
+                segment.buffer.digestInto(messageDigest);
+                segment.buffer = null;
+            }
+            segments[frontier++] = null;
+        }
+    }
+
+    private void digestFromFile(int index) throws IOException {
+        long position = index * segmentSize;
+        long end = Math.min(position + segmentSize, artifactSize);
+        ByteBuffer buffer = ByteBuffer.allocate(DOWNLOAD_BUFFER_SIZE);
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of partially downloaded artifact");
+            }
+            messageDigest.update(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+
+    // Must hold the lock of this
+    private void digestOrBuffer(Segment segment, byte[] bytes, int length) {
+        if (segment.index == frontier) {
+            if (segment.buffer != null) {
+                segment.buffer.digestInto(messageDigest);
+                segment.buffer = null;
+            }
+            messageDigest.update(bytes, 0, length);
+        } else {
+            if (segment.buffer == null) {
+                segment.buffer = new SegmentBuffer((int) segment.length());
+            }
+            segment.buffer.write(bytes, 0, length);
+        }
+    }
+
+    private static final class SegmentBuffer extends ByteArrayOutputStream {
+        SegmentBuffer(int size) {
+            super(size);
+        }
+
+        void digestInto(MessageDigest digest) {
+            digest.update(buf, 0, count);
+        }
+    }
+
+    /**
+     * Range of the artifact fetched by one worker.
+     */
+    final class Segment {
+        private final int index;
+        private final long start;
+        private final long end;
+        private long written;
+        // Guarded by the enclosing download, holds bytes which arrived before the digest frontier reached them
+        private SegmentBuffer buffer;
+
+        private Segment(int index, long start, long end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+
+        private boolean fetch() throws PackageDownloadException, InterruptedException {
+            while (written < length()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Interrupted while downloading artifact segment");
+                }
+                synchronized (SegmentedDownload.this) {
+                    if (stopped) {
+                        return false;
+                    }
+                }
+                fetcher.fetch(this, start + written, end);
+            }
+            return true;
+        }
+
+        /**
+         * Write the bytes of a ranged response to the segment. If reading the stream fails, the bytes read so far
+         * are kept and the number of bytes is returned, so the caller can request the rest.
+         *
+         * @param inputStream response stream starting at the first byte which has not been written yet
+         * @return number of bytes written
+         * @throws PackageDownloadException if writing to the artifact file failed
+         */
+        long write(InputStream inputStream) throws PackageDownloadException {
+            long totalReadBytes = 0;
+            byte[] bytes = new byte[DOWNLOAD_BUFFER_SIZE];
+            try {
+                while (written < length()) {
+                    int readBytes = inputStream.read(bytes, 0, (int) Math.min(bytes.length, length() - written));
+                    if (readBytes < 0) {
+                        break;
+                    }
+                    writeFully(ByteBuffer.wrap(bytes, 0, readBytes), start + written);
+                    synchronized (SegmentedDownload.this) {
+                        digestOrBuffer(this, bytes, readBytes);
+                    }
+                    written += readBytes;
+                    totalReadBytes += readBytes;
+                    if (bandwidthLimiter != null) {
+                        try {
+                            bandwidthLimiter.acquire(readBytes);
+                        } catch (InterruptedException e) {
+                            // Keep what was written, fetch() checks the interrupt flag before requesting more
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.atWarn().kv("segment", index).kv("bytes-read", totalReadBytes).setCause(e)
+                        .log("Failed to read from input stream and will retry");
+            }
+            return totalReadBytes;
+        }
+
+        private void writeFully(ByteBuffer bytes, long position) throws PackageDownloadException {
+            try {
+                long offset = position;
+                while (bytes.hasRemaining()) {
+                    offset += channel.write(bytes, offset);
+                }
+            } catch (IOException e) {
+                throw new PackageDownloadException("Error writing artifact segment", e)
+                        .withErrorContext(e, DeploymentErrorCode.IO_WRITE_ERROR);
+            }
+        }
+    }
+}
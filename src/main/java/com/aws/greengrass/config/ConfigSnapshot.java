@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.config;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of a config subtree at a version, taken with {@link Node#snapshot()}. Snapshots of unchanged subtrees
+ * are shared between the snapshots of their ancestors, so taking a snapshot only copies the nodes which changed since
+ * the previous one, and reading a snapshot never blocks, nor is blocked by, writers of the live tree.
+ */
+public final class ConfigSnapshot {
+    @Getter
+    private final String name;
+    // Every change up to this version of the node is visible in the snapshot
+    @Getter
+    private final long version;
+    private final Object value;
+    private final Map<CaseInsensitiveString, ConfigSnapshot> children;
+
+    private ConfigSnapshot(String name, long version, Object value,
+                           Map<CaseInsensitiveString, ConfigSnapshot> children) {
+        this.name = name;
+        this.version = version;
+        this.value = value;
+        this.children = children;
+    }
+
+    static ConfigSnapshot ofLeaf(String name, long version, Object value) {
+        return new ConfigSnapshot(name, version, value, null);
+    }
+
+    static ConfigSnapshot ofContainer(String name, long version, Map<CaseInsensitiveString, ConfigSnapshot> children) {
+        return new ConfigSnapshot(name, version, null, Collections.unmodifiableMap(children));
+    }
+
+    public boolean isLeaf() {
+        return children == null;
+    }
+
+    /**
+     * Get the value of a leaf.
+     *
+     * @return value of the leaf, null for a container
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * Get the children of a container.
+     *
+     * @return children, empty for a leaf
+     */
+    public Collection<ConfigSnapshot> getChildren() {
+        return isLeaf() ? Collections.emptyList() : children.values();
+    }
+
+    public ConfigSnapshot getChild(String childName) {
+        return isLeaf() ? null : children.get(new CaseInsensitiveString(childName));
+    }
+
+    /**
+     * Find a node of the snapshot.
+     *
+     * @param path names of the nodes to traverse, relative to this node
+     * @return the node, or null if it doesn't exist
+     */
+    public ConfigSnapshot find(String... path) {
+        ConfigSnapshot n = this;
+        for (int i = 0; i < path.length && n != null; i++) {
+            n = n.getChild(path[i]);
+        }
+        return n;
+    }
+
+    /**
+     * Convert a container to plain maps and values, the same way {@link Topics#toPOJO()} does.
+     *
+     * @return map of the children, empty for a leaf
+     */
+    public Map<String, Object> toPOJO() {
+        Map<String, Object> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        getChildren().forEach((n) -> {
+            if (!n.getName().startsWith("_")) {
+                // Don't save entries whose name starts in '_'
+                map.put(n.getName(), n.isLeaf() ? n.getValue() : n.toPOJO());
+            }
+        });
+        return map;
+    }
+}
@@ -134,6 +134,17 @@ public class Configuration {
         return root;
     }
 
+    /**
+     * Take an immutable snapshot of the whole configuration, for readers which shouldn't block, or be torn by,
+     * concurrent updates.
+     *
+     * @return snapshot of the root
+     * @see Node#snapshot()
+     */
+    public ConfigSnapshot snapshot() {
+        return root.snapshot();
+    }
+
     public boolean isEmpty() {
         return root == null || root.isEmpty();
     }
@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.function.Predicate;
 
 public final class ConfigurationReader {
@@ -144,18 +145,56 @@ public final class ConfigurationReader {
         ConfigurationReader.discardNodesNotInTLog(config, tlogPath, tree);
     }
 
+    /**
+     * In place update for the given subtrees of the config object from the given transaction log, which only needs
+     * to contain those subtrees. Nodes outside of the subtrees are left as they are, otherwise this behaves like
+     * {@link #updateFromTLog(Configuration, Path, boolean, Predicate, UpdateBehaviorTree)}.
+     *
+     * @param config         configuration to merge into
+     * @param tlogPath       path of the tlog file to read to-be-replaced subtrees from
+     * @param forceTimestamp should ignore if the proposed timestamp is older than current
+     * @param mergeCondition Predicate that returns true if the provided Topic should be merged and false if not
+     * @param tree           Merge behavior hierarchy for the update
+     * @param subtrees       paths of the subtrees to update
+     * @throws IOException if update fails
+     */
+    public static void updateFromTLog(Configuration config, Path tlogPath, boolean forceTimestamp,
+                                      Predicate<Node> mergeCondition, UpdateBehaviorTree tree,
+                                      Collection<String[]> subtrees) throws IOException {
+        ConfigurationReader.mergeTLogInto(config, tlogPath, forceTimestamp, mergeCondition);
+
+        try (Context stubContext = new Context()) {
+            Configuration tlogMirror = createFromTLog(stubContext, tlogPath, ConfigurationMode.SKELETON_ONLY);
+
+            for (String[] subtree : subtrees) {
+                Node node = config.findNode(subtree);
+                if (node == null) {
+                    continue;
+                }
+                UpdateBehaviorTree subtreeBehavior = tree;
+                for (String key : node.path()) {
+                    subtreeBehavior = subtreeBehavior.getChildBehavior(key);
+                }
+                node.deepForEach((n, b) -> discardNodeNotInTLog(tlogMirror, n, b), subtreeBehavior);
+            }
+        }
+    }
+
     private static void discardNodesNotInTLog(Configuration config, Path tlogPath, UpdateBehaviorTree tree)
             throws IOException {
         try (Context stubContext = new Context()) {
             Configuration tlogMirror = createFromTLog(stubContext, tlogPath, ConfigurationMode.SKELETON_ONLY);
 
-            config.deepForEach((n, b) -> {
-                if (UpdateBehaviorTree.UpdateBehavior.REPLACE.equals(b) && tlogMirror.findNode(n.path()) == null) {
-                    logger.atTrace().kv("node-to-remove", n.getFullName())
-                            .log("Removing config node not in source tlog");
-                    n.remove();
-                }
-            }, tree);
+            config.deepForEach((n, b) -> discardNodeNotInTLog(tlogMirror, n, b), tree);
+        }
+    }
+
+    private static void discardNodeNotInTLog(Configuration tlogMirror, Node n,
+                                             UpdateBehaviorTree.UpdateBehavior behavior) {
+        if (UpdateBehaviorTree.UpdateBehavior.REPLACE.equals(behavior) && tlogMirror.findNode(n.path()) == null) {
+            logger.atTrace().kv("node-to-remove", n.getFullName())
+                    .log("Removing config node not in source tlog");
+            n.remove();
         }
     }
 
@@ -22,6 +22,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -73,6 +74,23 @@ public class ConfigurationWriter implements Closeable, ChildChanged {
         }
     }
 
+    /**
+     * Dump the given subtrees of the configuration into a file given by the path. Subtrees which don't exist are
+     * skipped.
+     *
+     * @param c        configuration to write out
+     * @param p        path to write to
+     * @param subtrees paths of the subtrees to write out
+     * @throws IOException if writing fails
+     */
+    public static void dump(Configuration c, Path p, Collection<String[]> subtrees) throws IOException {
+        try (ConfigurationWriter cs = new ConfigurationWriter(c, p)) {
+            for (String[] subtree : subtrees) {
+                cs.writeAll(c.findNode(subtree));
+            }
+        }
+    }
+
     /**
      * Create a ConfigurationWriter from a given configuration and file path.
      *
@@ -183,6 +201,15 @@ public class ConfigurationWriter implements Closeable, ChildChanged {
         conf.forEachChildlessTopics(t -> childChanged(WhatHappened.interiorAdded, t));
     }
 
+    private void writeAll(Node subtree) {
+        if (subtree instanceof Topics) {
+            subtree.deepForEachTopic(n -> childChanged(WhatHappened.childChanged, n));
+            ((Topics) subtree).forEachChildlessTopics(t -> childChanged(WhatHappened.interiorAdded, t));
+        } else if (subtree != null) {
+            childChanged(WhatHappened.childChanged, subtree);
+        }
+    }
+
     /**
      * Create a new Writer for writing to a tlog file.
      *
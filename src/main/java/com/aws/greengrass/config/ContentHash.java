@@ -0,0 +1,140 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 64 bit content hashes of config nodes. A leaf hashes the type and the canonical serialized form of its value, a
+ * container hashes the sum of its hashed children so that the result doesn't depend on the iteration order of the
+ * children. Names are hashed case insensitively, like they are looked up.
+ */
+final class ContentHash {
+    private static final long LEAF_SEED = 0x9E3779B97F4A7C15L;
+    private static final long CONTAINER_SEED = 0xC2B2AE3D27D4EB4FL;
+    // FNV-1a 64
+    private static final long OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long PRIME = 0x100000001B3L;
+
+    // Type tags, values of different types never hash alike even if they serialize alike, like "1" and 1
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+    private static final byte OTHER = 9;
+
+    private ContentHash() {
+    }
+
+    static long ofLeaf(Object value) {
+        return mix(LEAF_SEED + ofValue(value));
+    }
+
+    static long ofChild(String name, long childHash) {
+        return mix(childHash ^ mix(name.toLowerCase(Locale.ROOT).hashCode()));
+    }
+
+    static long ofContainer(long sumOfChildren) {
+        return mix(CONTAINER_SEED + sumOfChildren);
+    }
+
+    /**
+     * Get the hash the node would have after the value is merged into an empty node, maps become containers and
+     * anything else becomes a leaf.
+     *
+     * @param value plain value or map of children
+     * @return content hash
+     */
+    static long of(Object value) {
+        if (!(value instanceof Map)) {
+            return ofLeaf(value);
+        }
+        long sum = 0;
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+            sum += ofChild(String.valueOf(entry.getKey()), of(entry.getValue()));
+        }
+        return ofContainer(sum);
+    }
+
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private static long ofValue(Object value) {
+        long h = OFFSET_BASIS;
+        if (value == null) {
+            return add(h, NULL);
+        }
+        if (value instanceof String) {
+            return addString(add(h, STRING), (String) value);
+        }
+        if (value instanceof Boolean) {
+            return add(add(h, BOOLEAN), (Boolean) value ? 1 : 0);
+        }
+        if (value instanceof Integer) {
+            return addLong(add(h, INTEGER), (Integer) value);
+        }
+        if (value instanceof Long) {
+            return addLong(add(h, LONG), (Long) value);
+        }
+        if (value instanceof Double) {
+            return addLong(add(h, DOUBLE), Double.doubleToLongBits((Double) value));
+        }
+        if (value instanceof Float) {
+            return addLong(add(h, FLOAT), Float.floatToIntBits((Float) value));
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            h = addLong(add(h, LIST), list.size());
+            for (Object element : list) {
+                h = addLong(h, ofValue(element));
+            }
+            return h;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            // Entries are summed, maps with the same entries are equal whatever their iteration order
+            long sumOfEntries = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sumOfEntries += mix(ofValue(entry.getKey()) ^ mix(ofValue(entry.getValue())));
+            }
+            return addLong(addLong(add(h, MAP), map.size()), sumOfEntries);
+        }
+        return addString(addString(add(h, OTHER), value.getClass().getName()), value.toString());
+    }
+
+    private static long add(long h, int b) {
+        return (h ^ (b & 0xFF)) * PRIME;
+    }
+
+    private static long addLong(long h, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            h = add(h, (int) (value >>> shift));
+        }
+        return h;
+    }
+
+    private static long addString(long h, String value) {
+        // Length first, so that concatenations of different strings don't serialize alike
+        h = addLong(h, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            h = add(add(h, c), c >>> Byte.SIZE);
+        }
+        return h;
+    }
+
+    // Finalizer of splitmix64, spreads every input bit over the whole hash
+    private static long mix(long value) {
+        long z = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
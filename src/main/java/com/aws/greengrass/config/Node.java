@@ -11,10 +11,16 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public abstract class Node {
+    private static final int MAX_SNAPSHOT_ATTEMPTS = 3;
+    // Source of globally unique version stamps, so a recreated node never reuses a version of the node it replaced
+    private static final AtomicLong versionSequence = new AtomicLong();
+
     public final Context context;
     public final Topics parent;
     private final String fnc;
@@ -22,6 +28,9 @@ public abstract class Node {
     protected final CopyOnWriteArraySet<Watcher> watchers = new CopyOnWriteArraySet<>();
     private boolean parentNeedsToKnow = true; // parent gets notified of changes to this node
     private String[] path;
+    private final AtomicLong version = new AtomicLong(versionSequence.incrementAndGet());
+    private volatile HashStamp contentHash;
+    private volatile ConfigSnapshot snapshot;
 
     @SuppressFBWarnings(value = "IS2_INCONSISTENT_SYNC", justification = "No need for modtime to be sync")
     protected long modtime;
@@ -228,4 +237,110 @@ public abstract class Node {
     public long getModtime() {
         return modtime;
     }
+
+    /**
+     * Get the version of this node. The version changes whenever the value of this node or of anything beneath it
+     * changes, so two reads returning the same version are guaranteed to have seen the same content.
+     *
+     * @return current version of this subtree
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get a hash of the names and values in this subtree. Nodes holding the same content have the same hash, also when
+     * they belong to different configurations, and the hash is only recomputed for the nodes whose version changed
+     * since it was last read, so comparing two unchanged subtrees is O(1).
+     *
+     * @return content hash of this subtree
+     */
+    public long getContentHash() {
+        long v = getVersion();
+        HashStamp stamp = contentHash;
+        if (stamp != null && stamp.version == v) {
+            return stamp.hash;
+        }
+        // Content read after the version, so a stale stamp is replaced on the next read once the version moves on
+        long hash = computeContentHash();
+        contentHash = new HashStamp(v, hash);
+        return hash;
+    }
+
+    /**
+     * Check if this node and the other node hold the same content, comparing their content hashes.
+     *
+     * @param other node to compare with
+     * @return true if both nodes have the same names and values beneath them
+     */
+    public boolean contentEquals(Node other) {
+        return other != null && (this instanceof Topics) == (other instanceof Topics)
+                && getContentHash() == other.getContentHash();
+    }
+
+    protected abstract long computeContentHash();
+
+    /**
+     * Take an immutable snapshot of this subtree, which can be read while the live tree is being changed. Subtrees
+     * which didn't change since the last snapshot are reused, so this only copies the changed nodes. If the subtree
+     * changes while the snapshot is taken, it is taken again, up to a few times. If it keeps changing, the snapshot is
+     * taken on the publish queue, where the merges and the change notifications of the configuration are serialized,
+     * so that the snapshot shows the subtree as of a single version.
+     *
+     * @return snapshot of this subtree
+     */
+    public ConfigSnapshot snapshot() {
+        ConfigSnapshot s = snapshotAtCurrentVersion();
+        for (int attempt = 1; attempt < MAX_SNAPSHOT_ATTEMPTS && s.getVersion() != getVersion(); attempt++) {
+            s = snapshotAtCurrentVersion();
+        }
+        if (s.getVersion() == getVersion() || context == null) {
+            return s;
+        }
+        AtomicReference<ConfigSnapshot> serialized = new AtomicReference<>();
+        Throwable t = context.runOnPublishQueueAndWait(() -> serialized.set(snapshotAtCurrentVersion()));
+        if (t instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        if (serialized.get() != null) {
+            return serialized.get();
+        }
+        // The publish thread doesn't wait for its own queue, and nothing queued on it can run before this returns
+        return snapshotAtCurrentVersion();
+    }
+
+    ConfigSnapshot snapshotAtCurrentVersion() {
+        long v = getVersion();
+        ConfigSnapshot s = snapshot;
+        if (s != null && s.getVersion() == v) {
+            return s;
+        }
+        // Like the content hash, a snapshot built from content newer than its version is replaced on the next read
+        s = buildSnapshot(v);
+        snapshot = s;
+        return s;
+    }
+
+    protected abstract ConfigSnapshot buildSnapshot(long atVersion);
+
+    /**
+     * Assign a new version to this node and all of its ancestors. Must be called after the change has been applied
+     * so that a reader observing the new version also observes the change.
+     */
+    protected void bumpVersion() {
+        long v = versionSequence.incrementAndGet();
+        for (Node n = this; n != null; n = n.parent) {
+            n.version.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    private static final class HashStamp {
+        private final long version;
+        private final long hash;
+
+        private HashStamp(long version, long hash) {
+            this.version = version;
+            this.hash = hash;
+        }
+    }
 }
@@ -252,6 +252,7 @@ public class Topic extends Node {
         value = validated;
         modtime = proposedModtime;
         if (changed) {
+            bumpVersion();
             context.runOnPublishQueue(() -> this.fire(WhatHappened.changed));
         } else {
             context.runOnPublishQueue(() -> this.fire(WhatHappened.timestampUpdated));
@@ -322,6 +323,16 @@ public class Topic extends Node {
         return Objects.hashCode(getName());
     }
 
+    @Override
+    protected ConfigSnapshot buildSnapshot(long atVersion) {
+        return ConfigSnapshot.ofLeaf(getName(), atVersion, value);
+    }
+
+    @Override
+    protected long computeContentHash() {
+        return ContentHash.ofLeaf(value);
+    }
+
     @Override
     public void deepForEachTopic(Consumer<Topic> f) {
         f.accept(this);
@@ -12,9 +12,12 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -115,12 +118,16 @@ public class Topics extends Node implements Iterable<Node> {
     }
 
     private Topic createLeafChild(CaseInsensitiveString name, long timestamp) {
-        Node n = children.computeIfAbsent(name,
-                (nm) -> {
-                    Topic t = new Topic(context, nm.toString(), this, timestamp);
-                    context.runOnPublishQueue(() -> childChanged(WhatHappened.childChanged, t));
-                    return t;
-                });
+        Node n = children.get(name);
+        if (n == null) {
+            n = children.computeIfAbsent(name,
+                    (nm) -> {
+                        Topic t = new Topic(context, nm.toString(), this, timestamp);
+                        context.runOnPublishQueue(() -> childChanged(WhatHappened.childChanged, t));
+                        return t;
+                    });
+            bumpVersion();
+        }
         if (n instanceof Topic) {
             return (Topic) n;
         } else {
@@ -152,12 +159,16 @@ public class Topics extends Node implements Iterable<Node> {
     }
 
     private Topics createInteriorChild(CaseInsensitiveString name, long timestamp) {
-        Node n = children.computeIfAbsent(name,
-                (nm) -> {
-                    Topics t = new Topics(context, nm.toString(), this, timestamp);
-                    context.runOnPublishQueue(() -> childChanged(WhatHappened.interiorAdded, t));
-                    return t;
-                });
+        Node n = children.get(name);
+        if (n == null) {
+            n = children.computeIfAbsent(name,
+                    (nm) -> {
+                        Topics t = new Topics(context, nm.toString(), this, timestamp);
+                        context.runOnPublishQueue(() -> childChanged(WhatHappened.interiorAdded, t));
+                        return t;
+                    });
+            bumpVersion();
+        }
         if (n instanceof Topics) {
             return (Topics) n;
         } else {
@@ -385,6 +396,55 @@ public class Topics extends Node implements Iterable<Node> {
         return Objects.hashCode(children);
     }
 
+    @Override
+    protected ConfigSnapshot buildSnapshot(long atVersion) {
+        Map<CaseInsensitiveString, ConfigSnapshot> snapshots = new HashMap<>();
+        children.forEach((name, n) -> snapshots.put(name, n.snapshotAtCurrentVersion()));
+        return ConfigSnapshot.ofContainer(getName(), atVersion, snapshots);
+    }
+
+    @Override
+    protected long computeContentHash() {
+        long sum = 0;
+        for (Node n : children.values()) {
+            sum += ContentHash.ofChild(n.getName(), n.getContentHash());
+        }
+        return ContentHash.ofContainer(sum);
+    }
+
+    /**
+     * Find the nodes which differ between this tree and the other tree. Only subtrees whose content hashes differ are
+     * walked, so the time taken is proportional to the size of the change rather than the size of the trees.
+     *
+     * @param other tree to compare with
+     * @return paths relative to this node of the topmost nodes which were added, removed, changed their value or
+     *     changed between leaf and container. Empty if both trees hold the same content
+     */
+    public List<String[]> diff(Topics other) {
+        List<String[]> changed = new ArrayList<>();
+        diff(this, other, new ArrayList<>(), changed);
+        return changed;
+    }
+
+    private static void diff(Topics left, Topics right, List<String> path, List<String[]> changed) {
+        if (left.getContentHash() == right.getContentHash()) {
+            return;
+        }
+        Set<CaseInsensitiveString> names = new HashSet<>(left.children.keySet());
+        names.addAll(right.children.keySet());
+        for (CaseInsensitiveString name : names) {
+            Node l = left.children.get(name);
+            Node r = right.children.get(name);
+            path.add(l == null ? r.getName() : l.getName());
+            if (l instanceof Topics && r instanceof Topics) {
+                diff((Topics) l, (Topics) r, path, changed);
+            } else if (l == null || !l.contentEquals(r)) {
+                changed.add(path.toArray(new String[0]));
+            }
+            path.remove(path.size() - 1);
+        }
+    }
+
     @Override
     @Nonnull
     public Iterator<Node> iterator() {
@@ -413,6 +473,7 @@ public class Topics extends Node implements Iterable<Node> {
                     .log();
             return;
         }
+        bumpVersion();
         context.runOnPublishQueue(() -> {
             n.fire(WhatHappened.removed);
             this.childChanged(WhatHappened.childRemoved, n);
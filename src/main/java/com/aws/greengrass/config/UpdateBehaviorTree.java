@@ -9,8 +9,11 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /** A hierarchy data structure indicating merge behavior of entire config tree.
@@ -140,6 +143,42 @@ public class UpdateBehaviorTree {
         return getDefaultChildBehavior();
     }
 
+    /**
+     * Get the paths of the subtrees which can be modified by merging the given map into the given node with this
+     * behavior. Merged nodes which already exist are descended into, while replaced or new nodes are modified as a
+     * whole. Subtrees which already hold the content of the map are left out, found by comparing content hashes.
+     *
+     * @param node node the map is merged into
+     * @param map  map to be merged
+     * @return absolute paths of the subtrees which can be modified
+     */
+    public List<String[]> subtreesModifiedBy(Topics node, Map<String, Object> map) {
+        List<String[]> subtrees = new ArrayList<>();
+        collectSubtreesModifiedBy(node, map, subtrees);
+        return subtrees;
+    }
+
+    private void collectSubtreesModifiedBy(Topics node, Map<?, ?> map, List<String[]> subtrees) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            UpdateBehaviorTree childBehavior = getChildBehavior(key);
+            Node child = node.getChild(key);
+            if (UpdateBehavior.MERGE.equals(childBehavior.getBehavior()) && child instanceof Topics
+                    && entry.getValue() instanceof Map) {
+                childBehavior.collectSubtreesModifiedBy((Topics) child, (Map<?, ?>) entry.getValue(), subtrees);
+            } else if (!holds(child, entry.getValue())) {
+                String[] path = Arrays.copyOf(node.path(), node.path().length + 1);
+                path[path.length - 1] = key;
+                subtrees.add(path);
+            }
+        }
+    }
+
+    private static boolean holds(Node node, Object value) {
+        return node != null && (node instanceof Topics) == (value instanceof Map)
+                && node.getContentHash() == ContentHash.of(value);
+    }
+
     /**
      * This transitively applies to subtree without needing to recursively create objects.
      */
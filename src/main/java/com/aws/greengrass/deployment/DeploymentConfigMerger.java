@@ -7,6 +7,7 @@ package com.aws.greengrass.deployment;
 
 
 import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.Context;
 import com.aws.greengrass.dependency.Context.Value;
 import com.aws.greengrass.dependency.State;
 import com.aws.greengrass.deployment.activator.DeploymentActivator;
@@ -19,8 +20,10 @@ import com.aws.greengrass.deployment.exceptions.ServiceUpdateException;
 import com.aws.greengrass.deployment.model.Deployment;
 import com.aws.greengrass.deployment.model.DeploymentDocument;
 import com.aws.greengrass.deployment.model.DeploymentResult;
+import com.aws.greengrass.lifecyclemanager.GlobalStateChangeListener;
 import com.aws.greengrass.lifecyclemanager.GreengrassService;
 import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.lifecyclemanager.ShutdownScheduler;
 import com.aws.greengrass.lifecyclemanager.UnloadableService;
 import com.aws.greengrass.lifecyclemanager.UpdateAction;
 import com.aws.greengrass.lifecyclemanager.UpdateSystemPolicyService;
@@ -33,6 +36,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import software.amazon.awssdk.services.greengrassv2.model.DeploymentComponentUpdatePolicyAction;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,6 +45,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -171,7 +176,9 @@ public class DeploymentConfigMerger {
     }
 
     /**
-     * Completes the provided future when all of the listed services are running.
+     * Completes the provided future when all of the listed services are running. The services are checked again
+     * whenever one of them changes state, and at least every {@link #WAIT_SVC_START_POLL_INTERVAL_MILLISEC}, since
+     * reaching the desired state doesn't always come with a state change.
      *
      * @param servicesToTrack       services to track
      * @param mergeTime             time the merge was started, used to check if a service is broken due to the merge
@@ -182,38 +189,64 @@ public class DeploymentConfigMerger {
     public static void waitForServicesToStart(Collection<GreengrassService> servicesToTrack, long mergeTime,
                                               Kernel kernel)
             throws InterruptedException, ServiceUpdateException {
-        // Relying on the fact that all service lifecycle steps should have timeouts,
-        // assuming this loop will not get stuck waiting forever
-        while (true) {
-            boolean allServicesRunning = true;
-            for (GreengrassService service : servicesToTrack) {
-                State state = service.getState();
-
-                // If a service is previously BROKEN, its state might have not been updated yet when this check
-                // executes. Therefore we first check the service state has been updated since merge map occurs.
-                if (service.getStateModTime() > mergeTime && State.BROKEN.equals(state)) {
-                    logger.atWarn(MERGE_CONFIG_EVENT_KEY).kv(SERVICE_NAME_LOG_KEY, service.getName())
-                            .log("merge-config-service BROKEN");
-                    throw new ServiceUpdateException(
-                            String.format("Service %s in broken state after deployment", service.getName()),
-                            DeploymentErrorCode.COMPONENT_BROKEN,
-                            DeploymentErrorCodeUtils.classifyComponentError(service, kernel));
-                }
-                if (!service.reachedDesiredState()) {
-                    allServicesRunning = false;
-                    continue;
-                }
-                if (State.RUNNING.equals(state) || State.FINISHED.equals(state) || !service.shouldAutoStart()
-                        && service.reachedDesiredState()) {
-                    continue;
+        long waitStartedAt = System.currentTimeMillis();
+        Semaphore stateChanged = new Semaphore(0);
+        GlobalStateChangeListener listener = (service, oldState, newState) -> {
+            if (servicesToTrack.contains(service)) {
+                stateChanged.release();
+            }
+        };
+        Context context = kernel.getContext();
+        if (context != null) {
+            context.addGlobalStateChangeListener(listener);
+        }
+        try {
+            // Relying on the fact that all service lifecycle steps should have timeouts,
+            // assuming this loop will not get stuck waiting forever
+            while (!allServicesStarted(servicesToTrack, mergeTime, kernel)) {
+                if (stateChanged.tryAcquire(WAIT_SVC_START_POLL_INTERVAL_MILLISEC, TimeUnit.MILLISECONDS)) {
+                    // Several changes are handled by one check
+                    stateChanged.drainPermits();
                 }
+            }
+        } finally {
+            if (context != null) {
+                context.removeGlobalStateChangeListener(listener);
+            }
+        }
+        long now = System.currentTimeMillis();
+        logger.atInfo(MERGE_CONFIG_EVENT_KEY).kv("services", servicesToTrack.size())
+                .kv("timeToHealthyMillis", now - mergeTime).kv("waitMillis", now - waitStartedAt)
+                .log("All services reached their desired state");
+    }
+
+    private static boolean allServicesStarted(Collection<GreengrassService> servicesToTrack, long mergeTime,
+                                              Kernel kernel) throws ServiceUpdateException {
+        boolean allServicesRunning = true;
+        for (GreengrassService service : servicesToTrack) {
+            State state = service.getState();
+
+            // If a service is previously BROKEN, its state might have not been updated yet when this check
+            // executes. Therefore we first check the service state has been updated since merge map occurs.
+            if (service.getStateModTime() > mergeTime && State.BROKEN.equals(state)) {
+                logger.atWarn(MERGE_CONFIG_EVENT_KEY).kv(SERVICE_NAME_LOG_KEY, service.getName())
+                        .log("merge-config-service BROKEN");
+                throw new ServiceUpdateException(
+                        String.format("Service %s in broken state after deployment", service.getName()),
+                        DeploymentErrorCode.COMPONENT_BROKEN,
+                        DeploymentErrorCodeUtils.classifyComponentError(service, kernel));
+            }
+            if (!service.reachedDesiredState()) {
                 allServicesRunning = false;
+                continue;
             }
-            if (allServicesRunning) {
-                return;
+            if (State.RUNNING.equals(state) || State.FINISHED.equals(state) || !service.shouldAutoStart()
+                    && service.reachedDesiredState()) {
+                continue;
             }
-            Thread.sleep(WAIT_SVC_START_POLL_INTERVAL_MILLISEC); // hardcoded
+            allServicesRunning = false;
         }
+        return allServicesRunning;
     }
 
     private String tryGetAwsRegionFromNewConfig(Map<String, Object> kernelConfig) {
@@ -378,10 +411,14 @@ public class DeploymentConfigMerger {
                 return true;
             }).collect(Collectors.toSet());
             logger.atInfo(MERGE_CONFIG_EVENT_KEY).kv("service-to-remove", servicesToRemove).log("Removing services");
-            // waiting for removed service to close before removing reference and config entry
-            for (GreengrassService service : ggServicesToRemove) {
+            // waiting for removed service to close before removing reference and config entry.
+            // Removed services which depend on each other are closed dependers first, the rest in parallel.
+            Map<GreengrassService, CompletableFuture<Void>> closeFutures =
+                    ShutdownScheduler.closeInDependerOrder(new ArrayList<>(ggServicesToRemove));
+            for (Map.Entry<GreengrassService, CompletableFuture<Void>> entry : closeFutures.entrySet()) {
+                GreengrassService service = entry.getKey();
                 try {
-                    service.close().get();
+                    entry.getValue().get();
                 } catch (ExecutionException e) {
                     throw new ServiceUpdateException("Failed to remove obsolete services.", e,
                             DeploymentErrorCode.REMOVE_COMPONENT_ERROR,
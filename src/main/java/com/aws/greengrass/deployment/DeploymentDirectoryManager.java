@@ -21,6 +21,7 @@ import lombok.Getter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
 
@@ -183,6 +184,20 @@ public class DeploymentDirectoryManager {
         kernel.writeEffectiveConfigAsTransactionLog(filepath);
     }
 
+    /**
+     * Take a snapshot of only the given config subtrees in a transaction log file, for rolling back a deployment
+     * which doesn't modify anything outside of them.
+     *
+     * @param filepath File path to the config snapshot
+     * @param subtrees paths of the config subtrees to record
+     * @throws IOException if write fails
+     */
+    public void takeConfigSnapshot(Path filepath, Collection<String[]> subtrees) throws IOException {
+        logger.atInfo().kv(FILE_LOG_KEY, filepath).kv("subtrees", subtrees.size())
+                .log("Persist configuration delta snapshot");
+        kernel.writeEffectiveConfigAsTransactionLog(filepath, subtrees);
+    }
+
     /**
      * Resolve snapshot file path.
      *
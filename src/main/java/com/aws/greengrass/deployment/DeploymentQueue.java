@@ -14,6 +14,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>DeploymentQueue is a thread-safe deployment queue that automatically de-duplicates by deployment id, and
@@ -38,6 +39,8 @@ import java.util.Map;
  * <p>When an offered deployment is a shadow deployment:
  *     - if there is already a shadow deployment in the queue, then replace it and preserve queue order.
  *     - otherwise, enqueue normally.</p>
+ *
+ * <p>A consumer can block in {@link #await(long)} until a deployment is offered, instead of polling the queue.</p>
  */
 public class DeploymentQueue {
 
@@ -56,6 +59,11 @@ public class DeploymentQueue {
      */
     private final Map<String, Deployment> deploymentMap = new LinkedHashMap<>();
 
+    /**
+     * Set when the queue was modified or {@link #signal()} was called, cleared by {@link #await(long)}.
+     */
+    private boolean signalled;
+
     /**
      * <p>If the offered deployment id is unique, then insert the offered deployment at the tail of the queue.</p>
      *
@@ -101,6 +109,7 @@ public class DeploymentQueue {
                                 : deploymentMap.get(offeredDeploymentInternalId).getId())
                         .log("New deployment replacing enqueued deployment");
                 deploymentMap.put(offeredDeploymentInternalId, offeredDeployment);
+                signal();
                 return true;
             }
             logger.atInfo().kv(DEPLOYMENT_ID_LOG_KEY, offeredDeployment.getId())
@@ -110,6 +119,7 @@ public class DeploymentQueue {
 
         // internal queue id is not in use; enqueue deployment normally
         deploymentMap.put(offeredDeploymentInternalId, offeredDeployment);
+        signal();
         return true;
     }
 
@@ -140,6 +150,35 @@ public class DeploymentQueue {
         return null; // queue is empty
     }
 
+    /**
+     * Wake up the consumer waiting in {@link #await(long)}, or make its next call return immediately. Called when
+     * the queue is modified, and by anything else the consumer needs to react to.
+     */
+    public synchronized void signal() {
+        signalled = true;
+        notifyAll();
+    }
+
+    /**
+     * Wait until a deployment is offered or {@link #signal()} is called, unless that already happened since the
+     * previous call. The caller re-checks the queue and its own state on return, whether it was signalled or not.
+     *
+     * @param timeoutMillis maximum time to wait in milliseconds
+     * @return true if signalled, false if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long remainingNanos = deadline - System.nanoTime();
+        while (!signalled && remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            remainingNanos = deadline - System.nanoTime();
+        }
+        boolean wasSignalled = signalled;
+        signalled = false;
+        return wasSignalled;
+    }
+
     /**
      * Return true if the queue contains no elements.
      *
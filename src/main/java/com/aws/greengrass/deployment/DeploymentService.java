@@ -8,8 +8,10 @@ package com.aws.greengrass.deployment;
 
 import com.amazon.aws.iot.greengrass.component.common.ComponentRecipe;
 import com.amazon.aws.iot.greengrass.configuration.common.Configuration;
+import com.aws.greengrass.componentmanager.ArtifactDigestScrubber;
 import com.aws.greengrass.componentmanager.ComponentManager;
 import com.aws.greengrass.componentmanager.ComponentStore;
+import com.aws.greengrass.componentmanager.ComponentStoreSizeReconciler;
 import com.aws.greengrass.componentmanager.DependencyResolver;
 import com.aws.greengrass.componentmanager.KernelConfigResolver;
 import com.aws.greengrass.componentmanager.exceptions.PackageLoadingException;
@@ -196,6 +198,8 @@ public class DeploymentService extends GreengrassService {
         // This is required because both the classes are independent and not Greengrass services
         context.get(IotJobsHelper.class);
         context.get(ShadowDeploymentListener.class);
+        context.get(ArtifactDigestScrubber.class);
+        context.get(ComponentStoreSizeReconciler.class);
         subscribeToPollingFrequencyAndGet();
     }
 
@@ -217,9 +221,6 @@ public class DeploymentService extends GreengrassService {
                     .isDone()) {
                 finishCurrentDeployment();
             }
-            //Cannot wait on queue because need to listen to queue as well as the currentProcessStatus future.
-            //One thread cannot wait on both. If we want to make this completely event driven then we need to put
-            // the waiting on currentProcessStatus in its own thread. I currently choose to not do this.
             if (nextDeployment == null) {
                 nextDeployment = deploymentQueue.poll();
             }
@@ -295,7 +296,9 @@ public class DeploymentService extends GreengrassService {
                     nextDeployment = null;
                 }
             }
-            Thread.sleep(pollingFrequency.get());
+            // Woken up as soon as a deployment is queued or the current one finishes. The polling frequency only
+            // bounds the wait in case a wake-up is missed
+            deploymentQueue.await(pollingFrequency.get());
         }
     }
 
@@ -311,6 +314,7 @@ public class DeploymentService extends GreengrassService {
     @Override
     protected void shutdown() {
         receivedShutdown.set(true);
+        deploymentQueue.signal();
     }
 
     @SuppressWarnings("PMD.NullAssignment")
@@ -330,7 +334,7 @@ public class DeploymentService extends GreengrassService {
             DeploymentResult result = currentDeploymentTaskMetadata.getDeploymentResultFuture().get();
             if (result != null) {
                 DeploymentStatus deploymentStatus = result.getDeploymentStatus();
-                Map<String, Object> statusDetails = new HashMap<>();
+                Map<String, Object> statusDetails = new HashMap<>(result.getStatusDetails());
                 statusDetails.put(DEPLOYMENT_DETAILED_STATUS_KEY, deploymentStatus.name());
                 if (DeploymentStatus.SUCCESSFUL.equals(deploymentStatus)) {
                     //Add the root packages of successful deployment to the configuration
@@ -631,6 +635,7 @@ public class DeploymentService extends GreengrassService {
 
         Future<DeploymentResult> process = executorService.submit(deploymentTask);
         logger.atInfo().kv("deployment", deployment.getId()).log("Started deployment execution");
+        signalWhenDone(process);
 
         currentDeploymentTaskMetadata =
                 new DeploymentTaskMetadata(deployment, deploymentTask, process, new AtomicInteger(1),
@@ -693,6 +698,21 @@ public class DeploymentService extends GreengrassService {
         return deploymentDocument.getTimestamp() < timestamp;
     }
 
+    private void signalWhenDone(Future<DeploymentResult> process) {
+        // The deployment loop can't wait on the queue and the deployment at the same time, so this waits for the
+        // deployment and wakes the loop up
+        executorService.execute(() -> {
+            try {
+                process.get();
+            } catch (InterruptedException e) {
+                return;
+            } catch (ExecutionException | CancellationException ignored) {
+                // Finished all the same, the deployment loop handles the failure
+            }
+            deploymentQueue.signal();
+        });
+    }
+
     private void updateDeploymentResultAsRejected(Deployment deployment, DeploymentTask deploymentTask,
                                                   Throwable rejectionCause) {
 
@@ -118,6 +118,23 @@ public class DeviceConfiguration {
     public static final String IOT_ROLE_ALIAS_TOPIC = "iotRoleAlias";
     public static final String COMPONENT_STORE_MAX_SIZE_BYTES = "componentStoreMaxSizeBytes";
     public static final String DEPLOYMENT_POLLING_FREQUENCY_SECONDS = "deploymentPollingFrequencySeconds";
+    public static final String MAX_CONCURRENT_ARTIFACT_DOWNLOADS = "maxConcurrentArtifactDownloads";
+    public static final String MAX_CONCURRENT_ARTIFACT_DOWNLOADS_PER_HOST = "maxConcurrentArtifactDownloadsPerHost";
+    public static final String ARTIFACT_DOWNLOAD_MAX_BYTES_PER_SECOND = "artifactDownloadMaxBytesPerSecond";
+    public static final String ARTIFACT_DIGEST_SCRUB_INTERVAL_SECONDS = "artifactDigestScrubIntervalSeconds";
+    public static final String ARTIFACT_DIGEST_SCRUB_MAX_BYTES_PER_SECOND = "artifactDigestScrubMaxBytesPerSecond";
+    public static final String COMPONENT_STORE_SIZE_RECONCILE_INTERVAL_SECONDS =
+            "componentStoreSizeReconcileIntervalSeconds";
+    public static final String DEPLOYMENT_CONFIG_SNAPSHOT_MODE = "deploymentConfigSnapshotMode";
+    public static final String DEPLOYMENT_CONFIG_SNAPSHOT_MODE_DELTA = "DELTA";
+    public static final String DEPLOYMENT_CONFIG_SNAPSHOT_MODE_FULL = "FULL";
+    public static final String COMPONENT_LOG_MAX_LINES_PER_SECOND = "componentLogMaxLinesPerSecond";
+    public static final String COMPONENT_LOG_MAX_BYTES_PER_SECOND = "componentLogMaxBytesPerSecond";
+    public static final String PROCESS_LAUNCHER = "processLauncher";
+    public static final String PROCESS_LAUNCHER_DEFAULT = "sudo";
+    public static final String LIFECYCLE_ENGINE = "lifecycleEngine";
+    public static final String LIFECYCLE_ENGINE_THREAD = "THREAD";
+    public static final String LIFECYCLE_ENGINE_EVENT = "EVENT";
     public static final String NUCLEUS_CONFIG_LOGGING_TOPICS = "logging";
     public static final String TELEMETRY_CONFIG_LOGGING_TOPICS = "telemetry";
 
@@ -129,6 +146,10 @@ public class DeviceConfiguration {
     public static final String DEVICE_PARAM_PROXY_PASSWORD = "password";
     public static final long COMPONENT_STORE_MAX_SIZE_DEFAULT_BYTES = 10_000_000_000L;
     public static final long DEPLOYMENT_POLLING_FREQUENCY_DEFAULT_SECONDS = 15L;
+    public static final int MAX_CONCURRENT_ARTIFACT_DOWNLOADS_DEFAULT = 4;
+    public static final int MAX_CONCURRENT_ARTIFACT_DOWNLOADS_PER_HOST_DEFAULT = 2;
+    public static final long ARTIFACT_DIGEST_SCRUB_MAX_BYTES_PER_SECOND_DEFAULT = 1024 * 1024L;
+    public static final long COMPONENT_STORE_SIZE_RECONCILE_INTERVAL_DEFAULT_SECONDS = 3600L;
     public static final String DEVICE_PARAM_GG_DATA_PLANE_PORT = "greengrassDataPlanePort";
     private static final int GG_DATA_PLANE_PORT_DEFAULT = 8443;
 
@@ -674,6 +695,61 @@ public class DeviceConfiguration {
         return getTopic(DEPLOYMENT_POLLING_FREQUENCY_SECONDS);
     }
 
+    public Topic getMaxConcurrentArtifactDownloads() {
+        return getTopic(MAX_CONCURRENT_ARTIFACT_DOWNLOADS).dflt(MAX_CONCURRENT_ARTIFACT_DOWNLOADS_DEFAULT);
+    }
+
+    public Topic getMaxConcurrentArtifactDownloadsPerHost() {
+        return getTopic(MAX_CONCURRENT_ARTIFACT_DOWNLOADS_PER_HOST)
+                .dflt(MAX_CONCURRENT_ARTIFACT_DOWNLOADS_PER_HOST_DEFAULT);
+    }
+
+    // Zero means downloads are not bandwidth limited
+    public Topic getArtifactDownloadMaxBytesPerSecond() {
+        return getTopic(ARTIFACT_DOWNLOAD_MAX_BYTES_PER_SECOND).dflt(0L);
+    }
+
+    // Zero means recorded artifact digests are not re-verified in the background
+    public Topic getArtifactDigestScrubIntervalSeconds() {
+        return getTopic(ARTIFACT_DIGEST_SCRUB_INTERVAL_SECONDS).dflt(0L);
+    }
+
+    public Topic getArtifactDigestScrubMaxBytesPerSecond() {
+        return getTopic(ARTIFACT_DIGEST_SCRUB_MAX_BYTES_PER_SECOND)
+                .dflt(ARTIFACT_DIGEST_SCRUB_MAX_BYTES_PER_SECOND_DEFAULT);
+    }
+
+    // Zero means the accounted component store size is never corrected by scanning the store again
+    public Topic getComponentStoreSizeReconcileIntervalSeconds() {
+        return getTopic(COMPONENT_STORE_SIZE_RECONCILE_INTERVAL_SECONDS)
+                .dflt(COMPONENT_STORE_SIZE_RECONCILE_INTERVAL_DEFAULT_SECONDS);
+    }
+
+    // DELTA records only the config subtrees a deployment modifies for rollback, FULL records the whole config
+    public Topic getDeploymentConfigSnapshotMode() {
+        return getTopic(DEPLOYMENT_CONFIG_SNAPSHOT_MODE).dflt(DEPLOYMENT_CONFIG_SNAPSHOT_MODE_DELTA);
+    }
+
+    // Zero means the output of each component is captured into its log without a line rate limit
+    public Topic getComponentLogMaxLinesPerSecond() {
+        return getTopic(COMPONENT_LOG_MAX_LINES_PER_SECOND).dflt(0L);
+    }
+
+    // Zero means the output of each component is captured into its log without a byte rate limit
+    public Topic getComponentLogMaxBytesPerSecond() {
+        return getTopic(COMPONENT_LOG_MAX_BYTES_PER_SECOND).dflt(0L);
+    }
+
+    // setpriv launches component processes without sudo on Linux when the nucleus runs as root
+    public Topic getProcessLauncher() {
+        return getTopic(PROCESS_LAUNCHER).dflt(PROCESS_LAUNCHER_DEFAULT);
+    }
+
+    // EVENT drives service lifecycles from shared threads instead of a thread per service, read when services start
+    public Topic getLifecycleEngine() {
+        return getTopic(LIFECYCLE_ENGINE).dflt(LIFECYCLE_ENGINE_THREAD);
+    }
+
     /**
      * Subscribe to all device configuration change.
      *
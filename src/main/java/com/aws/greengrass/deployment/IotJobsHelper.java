@@ -42,6 +42,7 @@ import software.amazon.awssdk.iot.iotjobs.model.JobExecutionsChangedSubscription
 import software.amazon.awssdk.iot.iotjobs.model.JobStatus;
 import software.amazon.awssdk.iot.iotjobs.model.RejectedError;
 import software.amazon.awssdk.iot.iotjobs.model.UpdateJobExecutionRequest;
+import software.amazon.awssdk.iot.iotjobs.model.UpdateJobExecutionResponse;
 import software.amazon.awssdk.iot.iotjobs.model.UpdateJobExecutionSubscriptionRequest;
 
 import java.time.Duration;
@@ -54,6 +55,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -94,6 +96,7 @@ public class IotJobsHelper implements InjectionActions {
             "Interrupted while subscribing to Iot jobs event notifications topic";
     private static final String JOB_ID_LOG_KEY_NAME = "JobId";
     private static final String NEXT_JOB_LITERAL = "$next";
+    private static final String ANY_JOB_LITERAL = "+";
     // Sometimes when we are notified that a new job is queued and request the next pending job document immediately,
     // we get an empty response. This unprocessedJobs is to track the number of new queued jobs that we are notified
     // with, and keep retrying the request until we get a non-empty response.
@@ -145,6 +148,13 @@ public class IotJobsHelper implements InjectionActions {
     private IotJobsClientWrapper iotJobsClientWrapper;
 
     private AtomicBoolean isSubscribedToIotJobsTopics = new AtomicBoolean(false);
+    // Job status updates waiting for their response, by client token
+    private final Map<String, PendingStatusUpdate> pendingStatusUpdates = new ConcurrentHashMap<>();
+    private final Object statusUpdateResponsesSubscriptionLock = new Object();
+    // Thing name the job status update responses are subscribed for, null when not subscribed
+    private String statusUpdateResponsesSubscribedFor;
+    private final Consumer<UpdateJobExecutionResponse> statusUpdateAcceptedHandler = this::onStatusUpdateAccepted;
+    private final Consumer<RejectedError> statusUpdateRejectedHandler = this::onStatusUpdateRejected;
     private Future<?> subscriptionFuture;
     private volatile String thingName;
 
@@ -400,8 +410,9 @@ public class IotJobsHelper implements InjectionActions {
     }
 
     /**
-     * Subscribes to the topic which receives confirmation message of Job update for a given JobId.
-     * Updates the status of an Iot Job with given JobId to a given status.
+     * Updates the status of an Iot Job with given JobId to a given status. Responses to job status updates are received
+     * on a subscription which is kept for all jobs, and matched with their request by client token, so several
+     * updates can be in flight at the same time.
      *
      * @param jobId            The jobId to be updated
      * @param status           The {@link JobStatus} to which to update
@@ -413,50 +424,101 @@ public class IotJobsHelper implements InjectionActions {
     @SuppressWarnings("PMD.LooseCoupling")
     public void updateJobStatus(String jobId, JobStatus status, HashMap<String, String> statusDetailsMap)
             throws ExecutionException, InterruptedException, TimeoutException {
-        UpdateJobExecutionSubscriptionRequest subscriptionRequest = new UpdateJobExecutionSubscriptionRequest();
-        subscriptionRequest.thingName = this.thingName;
-        subscriptionRequest.jobId = jobId;
-        CompletableFuture<Void> gotResponse = new CompletableFuture<>();
-        iotJobsClientWrapper.SubscribeToUpdateJobExecutionAccepted(subscriptionRequest, QualityOfService.AT_LEAST_ONCE,
-                (response) -> {
-                    logger.atInfo().kv(JOB_ID_LOG_KEY_NAME, jobId).kv(STATUS_LOG_KEY_NAME, status)
-                            .log(UPDATE_DEPLOYMENT_STATUS_ACCEPTED);
-                    gotResponse.complete(null);
-                });
-
-        iotJobsClientWrapper.SubscribeToUpdateJobExecutionRejected(subscriptionRequest, QualityOfService.AT_LEAST_ONCE,
-                (response) -> {
-                    logger.atWarn().kv(JOB_ID_LOG_KEY_NAME, jobId).kv(STATUS_LOG_KEY_NAME, status)
-                            .log("Job status updated rejected");
-                    gotResponse.completeExceptionally(new Exception(response.message));
-                });
+        subscribeToStatusUpdateResponses();
 
         // Truncate status detail map values longer than the 1024 characters limit
         statusDetailsMap.entrySet().forEach(e -> statusDetailsMap.put(e.getKey(), Utils.truncate(e.getValue(), 1024)));
 
+        String clientToken = UUID.randomUUID().toString();
+        PendingStatusUpdate pending = new PendingStatusUpdate(jobId, status);
+        pendingStatusUpdates.put(clientToken, pending);
+
         UpdateJobExecutionRequest updateJobRequest = new UpdateJobExecutionRequest();
         updateJobRequest.jobId = jobId;
         updateJobRequest.status = status;
         updateJobRequest.statusDetails = statusDetailsMap;
         updateJobRequest.thingName = thingName;
+        updateJobRequest.clientToken = clientToken;
         try {
-            iotJobsClientWrapper.PublishUpdateJobExecution(updateJobRequest, QualityOfService.AT_LEAST_ONCE).get();
-        } catch (ExecutionException e) {
             try {
-                unwrapExecutionException(e);
-            } catch (ExecutionException e1) {
-                gotResponse.completeExceptionally(e1.getCause());
-            } catch (TimeoutException | InterruptedException e1) {
-                gotResponse.completeExceptionally(e1);
+                iotJobsClientWrapper.PublishUpdateJobExecution(updateJobRequest, QualityOfService.AT_LEAST_ONCE)
+                        .get();
+            } catch (ExecutionException e) {
+                try {
+                    unwrapExecutionException(e);
+                } catch (ExecutionException e1) {
+                    pending.response.completeExceptionally(e1.getCause());
+                } catch (TimeoutException | InterruptedException e1) {
+                    pending.response.completeExceptionally(e1);
+                }
             }
+            pending.response.get(mqttClient.getMqttOperationTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            // Either got response, or timed out. A late response is ignored
+            pendingStatusUpdates.remove(clientToken);
         }
+    }
 
-        try {
-            gotResponse.get(mqttClient.getMqttOperationTimeoutMillis(), TimeUnit.MILLISECONDS);
-        } finally {
-            // Either got response, or timed out, so unsubscribe from the job topics now
-            connection.unsubscribe(String.format(JOB_UPDATE_ACCEPTED_TOPIC, thingName, jobId));
-            connection.unsubscribe(String.format(JOB_UPDATE_REJECTED_TOPIC, thingName, jobId));
+    private void onStatusUpdateAccepted(UpdateJobExecutionResponse response) {
+        PendingStatusUpdate pending = response.clientToken == null ? null
+                : pendingStatusUpdates.get(response.clientToken);
+        if (pending == null) {
+            logger.atDebug().kv("clientToken", response.clientToken)
+                    .log("Ignoring response to a job status update which is not waited for");
+            return;
+        }
+        logger.atInfo().kv(JOB_ID_LOG_KEY_NAME, pending.jobId).kv(STATUS_LOG_KEY_NAME, pending.status)
+                .log(UPDATE_DEPLOYMENT_STATUS_ACCEPTED);
+        pending.response.complete(null);
+    }
+
+    private void onStatusUpdateRejected(RejectedError response) {
+        PendingStatusUpdate pending = response.clientToken == null ? null
+                : pendingStatusUpdates.get(response.clientToken);
+        if (pending == null) {
+            logger.atDebug().kv("clientToken", response.clientToken)
+                    .log("Ignoring response to a job status update which is not waited for");
+            return;
+        }
+        logger.atWarn().kv(JOB_ID_LOG_KEY_NAME, pending.jobId).kv(STATUS_LOG_KEY_NAME, pending.status)
+                .log("Job status updated rejected");
+        pending.response.completeExceptionally(new Exception(response.message));
+    }
+
+    /**
+     * Subscribe to the responses to the status updates of all jobs of this thing, unless already subscribed.
+     */
+    private void subscribeToStatusUpdateResponses()
+            throws ExecutionException, InterruptedException, TimeoutException {
+        synchronized (statusUpdateResponsesSubscriptionLock) {
+            String subscribingFor = this.thingName;
+            if (subscribingFor == null || subscribingFor.equals(statusUpdateResponsesSubscribedFor)) {
+                return;
+            }
+            UpdateJobExecutionSubscriptionRequest subscriptionRequest = new UpdateJobExecutionSubscriptionRequest();
+            subscriptionRequest.thingName = subscribingFor;
+            subscriptionRequest.jobId = ANY_JOB_LITERAL;
+            iotJobsClientWrapper.SubscribeToUpdateJobExecutionAccepted(subscriptionRequest,
+                    QualityOfService.AT_LEAST_ONCE, statusUpdateAcceptedHandler)
+                    .get(mqttClient.getMqttOperationTimeoutMillis(), TimeUnit.MILLISECONDS);
+            iotJobsClientWrapper.SubscribeToUpdateJobExecutionRejected(subscriptionRequest,
+                    QualityOfService.AT_LEAST_ONCE, statusUpdateRejectedHandler)
+                    .get(mqttClient.getMqttOperationTimeoutMillis(), TimeUnit.MILLISECONDS);
+            statusUpdateResponsesSubscribedFor = subscribingFor;
+            logger.atDebug().log("Subscribed to job status update responses");
+        }
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private void unsubscribeFromStatusUpdateResponses() {
+        synchronized (statusUpdateResponsesSubscriptionLock) {
+            if (connection != null && statusUpdateResponsesSubscribedFor != null) {
+                connection.unsubscribe(String.format(JOB_UPDATE_ACCEPTED_TOPIC, statusUpdateResponsesSubscribedFor,
+                        ANY_JOB_LITERAL));
+                connection.unsubscribe(String.format(JOB_UPDATE_REJECTED_TOPIC, statusUpdateResponsesSubscribedFor,
+                        ANY_JOB_LITERAL));
+            }
+            statusUpdateResponsesSubscribedFor = null;
         }
     }
 
@@ -498,6 +560,7 @@ public class IotJobsHelper implements InjectionActions {
     public void unsubscribeFromIotJobsTopics() {
         unsubscribeFromEventNotifications();
         unsubscribeFromJobDescription();
+        unsubscribeFromStatusUpdateResponses();
         this.isSubscribedToIotJobsTopics.set(false);
     }
 
@@ -657,6 +720,17 @@ public class IotJobsHelper implements InjectionActions {
         }
     }
 
+    private static class PendingStatusUpdate {
+        private final String jobId;
+        private final JobStatus status;
+        private final CompletableFuture<Void> response = new CompletableFuture<>();
+
+        PendingStatusUpdate(String jobId, JobStatus status) {
+            this.jobId = jobId;
+            this.status = status;
+        }
+    }
+
     public static class WrapperMqttConnectionFactory {
         public WrapperMqttClientConnection getAwsIotMqttConnection(MqttClient mqttClient) {
             return new WrapperMqttClientConnection(mqttClient);
@@ -15,6 +15,7 @@ import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.lifecyclemanager.exceptions.ServiceLoadException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -48,13 +49,19 @@ public class DefaultActivator extends DeploymentActivator {
         }
 
         DeploymentDocument deploymentDocument = deployment.getDeploymentDocumentObj();
-        if (isAutoRollbackRequested(deploymentDocument) && !takeConfigSnapshot(totallyCompleteFuture)) {
-            return;
-        }
-
         DeploymentConfigMerger.AggregateServicesChangeManager servicesChangeManager =
                 new DeploymentConfigMerger.AggregateServicesChangeManager(kernel, serviceConfig);
 
+        Map<String, Object> statusDetails = new HashMap<>();
+        List<String[]> snapshotSubtrees = null;
+        if (isAutoRollbackRequested(deploymentDocument)) {
+            snapshotSubtrees = configSubtreesToSnapshot(deploymentDocument.getTimestamp(), newConfig,
+                    servicesChangeManager.getServicesToRemove());
+            if (!takeConfigSnapshot(totallyCompleteFuture, snapshotSubtrees, statusDetails)) {
+                return;
+            }
+        }
+
         // Get the timestamp before updateMap(). It will be used to check whether services have started.
         long mergeTime = System.currentTimeMillis();
 
@@ -72,7 +79,7 @@ public class DefaultActivator extends DeploymentActivator {
         });
         if (setDesiredStateFailureCause != null) {
             handleFailure(servicesChangeManager, deploymentDocument, totallyCompleteFuture,
-                    setDesiredStateFailureCause);
+                    setDesiredStateFailureCause, snapshotSubtrees, statusDetails);
             return;
         }
 
@@ -86,7 +93,8 @@ public class DefaultActivator extends DeploymentActivator {
             servicesChangeManager.removeObsoleteServices();
             logger.atInfo(MERGE_CONFIG_EVENT_KEY).kv(DEPLOYMENT_ID_LOG_KEY, deploymentDocument.getDeploymentId())
                     .log("All services updated");
-            totallyCompleteFuture.complete(new DeploymentResult(DeploymentResult.DeploymentStatus.SUCCESSFUL, null));
+            totallyCompleteFuture.complete(
+                    new DeploymentResult(DeploymentResult.DeploymentStatus.SUCCESSFUL, null, statusDetails));
         } catch (InterruptedException e) {
             // Treat interrupts distinctly: we don't want to start a rollback while the kernel is shutting down.
             // This applies even when our failure handling policy is configured to rollback.
@@ -94,33 +102,36 @@ public class DefaultActivator extends DeploymentActivator {
                     .setCause(e).log("Deployment interrupted: will not attempt rollback, regardless of policy");
             totallyCompleteFuture.complete(null);
         } catch (ServiceUpdateException | ServiceLoadException e) {
-            handleFailure(servicesChangeManager, deploymentDocument, totallyCompleteFuture, e);
+            handleFailure(servicesChangeManager, deploymentDocument, totallyCompleteFuture, e, snapshotSubtrees,
+                    statusDetails);
         }
     }
 
     private void handleFailure(DeploymentConfigMerger.AggregateServicesChangeManager servicesChangeManager,
                                DeploymentDocument deploymentDocument, CompletableFuture totallyCompleteFuture,
-                               Throwable failureCause) {
+                               Throwable failureCause, List<String[]> snapshotSubtrees,
+                               Map<String, Object> statusDetails) {
         logger.atError(MERGE_CONFIG_EVENT_KEY).kv(DEPLOYMENT_ID_LOG_KEY, deploymentDocument.getDeploymentId())
                 .setCause(failureCause).log("Deployment failed");
         if (isAutoRollbackRequested(deploymentDocument)) {
             rollback(deploymentDocument, totallyCompleteFuture, failureCause,
-                    servicesChangeManager.createRollbackManager());
+                    servicesChangeManager.createRollbackManager(), snapshotSubtrees, statusDetails);
         } else {
             totallyCompleteFuture.complete(
                     new DeploymentResult(DeploymentResult.DeploymentStatus.FAILED_ROLLBACK_NOT_REQUESTED,
-                            failureCause));
+                            failureCause, statusDetails));
         }
     }
 
     void rollback(DeploymentDocument deploymentDocument, CompletableFuture<DeploymentResult> totallyCompleteFuture,
-                  Throwable failureCause, DeploymentConfigMerger.AggregateServicesChangeManager rollbackManager) {
+                  Throwable failureCause, DeploymentConfigMerger.AggregateServicesChangeManager rollbackManager,
+                  List<String[]> snapshotSubtrees, Map<String, Object> statusDetails) {
         String deploymentId = deploymentDocument.getDeploymentId();
         logger.atInfo(MERGE_CONFIG_EVENT_KEY).kv(DEPLOYMENT_ID_LOG_KEY, deploymentId)
                 .log("Rolling back failed deployment");
 
         // Get the timestamp before merging snapshot. It will be used to check whether services have started.
-        long mergeTime = rollbackConfig(totallyCompleteFuture, failureCause);
+        long mergeTime = rollbackConfig(totallyCompleteFuture, failureCause, snapshotSubtrees, statusDetails);
         if (mergeTime == -1) {
             return;
         }
@@ -131,7 +142,7 @@ public class DefaultActivator extends DeploymentActivator {
                 rollbackManager.reinstallBrokenServices();
         });
         if (setDesiredStateFailureCause != null) {
-            handleFailureRollback(totallyCompleteFuture, failureCause, setDesiredStateFailureCause);
+            handleFailureRollback(totallyCompleteFuture, failureCause, setDesiredStateFailureCause, statusDetails);
             return;
         }
 
@@ -153,19 +164,20 @@ public class DefaultActivator extends DeploymentActivator {
                     .log("All services rolled back");
 
             totallyCompleteFuture.complete(
-                    new DeploymentResult(DeploymentResult.DeploymentStatus.FAILED_ROLLBACK_COMPLETE, failureCause));
+                    new DeploymentResult(DeploymentResult.DeploymentStatus.FAILED_ROLLBACK_COMPLETE, failureCause,
+                            statusDetails));
         } catch (InterruptedException | ServiceUpdateException | ServiceLoadException e) {
-            handleFailureRollback(totallyCompleteFuture, failureCause, e);
+            handleFailureRollback(totallyCompleteFuture, failureCause, e, statusDetails);
         }
     }
 
     private void handleFailureRollback(CompletableFuture totallyCompleteFuture, Throwable deploymentFailureCause,
-                                       Throwable rollbackFailureCause) {
+                                       Throwable rollbackFailureCause, Map<String, Object> statusDetails) {
         // Rollback execution failed
         logger.atError().setEventType(MERGE_ERROR_LOG_EVENT_KEY).setCause(rollbackFailureCause)
                 .log("Failed to rollback deployment");
         totallyCompleteFuture.complete(new DeploymentResult(DeploymentResult.DeploymentStatus.FAILED_UNABLE_TO_ROLLBACK,
-                deploymentFailureCause));
+                deploymentFailureCause, statusDetails));
     }
 
 }
@@ -8,6 +8,7 @@ package com.aws.greengrass.deployment.activator;
 import com.aws.greengrass.config.ConfigurationReader;
 import com.aws.greengrass.config.UpdateBehaviorTree;
 import com.aws.greengrass.deployment.DeploymentDirectoryManager;
+import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.deployment.errorcode.DeploymentErrorCode;
 import com.aws.greengrass.deployment.exceptions.DeploymentException;
 import com.aws.greengrass.deployment.model.Deployment;
@@ -19,18 +20,29 @@ import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.lifecyclemanager.KernelLifecycle;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.Coerce;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURATION_CONFIG_KEY;
 import static com.aws.greengrass.deployment.DeploymentConfigMerger.MERGE_ERROR_LOG_EVENT_KEY;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEPLOYMENT_CONFIG_SNAPSHOT_MODE_DELTA;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEPLOYMENT_CONFIG_SNAPSHOT_MODE_FULL;
 import static com.aws.greengrass.ipc.AuthenticationHandler.AUTHENTICATION_TOKEN_LOOKUP_KEY;
 import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
 
 public abstract class DeploymentActivator {
+    public static final String CONFIG_SNAPSHOT_MODE_KEY = "config-snapshot-mode";
+    public static final String CONFIG_SNAPSHOT_MILLIS_KEY = "config-snapshot-millis";
+    public static final String CONFIG_ROLLBACK_MILLIS_KEY = "config-rollback-millis";
+
     protected final Kernel kernel;
     protected final DeploymentDirectoryManager deploymentDirectoryManager;
     protected static final Logger logger = LogManager.getLogger(DeploymentActivator.class);
@@ -44,8 +56,30 @@ public abstract class DeploymentActivator {
                                   CompletableFuture<DeploymentResult> totallyCompleteFuture);
 
     protected boolean takeConfigSnapshot(CompletableFuture<DeploymentResult> totallyCompleteFuture) {
+        return takeConfigSnapshot(totallyCompleteFuture, null, new HashMap<>());
+    }
+
+    /**
+     * Take a snapshot of the config for rolling back the deployment.
+     *
+     * @param totallyCompleteFuture future to complete if the snapshot fails
+     * @param subtrees              config subtrees the deployment modifies, or null to snapshot the whole config
+     * @param statusDetails         status details the snapshot mode and time are reported in
+     * @return true if the snapshot was taken
+     */
+    protected boolean takeConfigSnapshot(CompletableFuture<DeploymentResult> totallyCompleteFuture,
+                                         Collection<String[]> subtrees, Map<String, Object> statusDetails) {
+        long startedAt = System.currentTimeMillis();
         try {
-            deploymentDirectoryManager.takeConfigSnapshot(deploymentDirectoryManager.getSnapshotFilePath());
+            if (subtrees == null) {
+                deploymentDirectoryManager.takeConfigSnapshot(deploymentDirectoryManager.getSnapshotFilePath());
+                statusDetails.put(CONFIG_SNAPSHOT_MODE_KEY, DEPLOYMENT_CONFIG_SNAPSHOT_MODE_FULL);
+            } else {
+                deploymentDirectoryManager.takeConfigSnapshot(deploymentDirectoryManager.getSnapshotFilePath(),
+                        subtrees);
+                statusDetails.put(CONFIG_SNAPSHOT_MODE_KEY, DEPLOYMENT_CONFIG_SNAPSHOT_MODE_DELTA);
+            }
+            statusDetails.put(CONFIG_SNAPSHOT_MILLIS_KEY, String.valueOf(System.currentTimeMillis() - startedAt));
             return true;
         } catch (IOException e) {
             // Failed to record snapshot hence did not execute merge, no rollback needed
@@ -59,18 +93,63 @@ public abstract class DeploymentActivator {
         }
     }
 
-    protected long rollbackConfig(CompletableFuture<DeploymentResult> totallyCompleteFuture, Throwable failureCause) {
+    /**
+     * Get the config subtrees which are modified by merging in the new config of a deployment, or null when the
+     * device is configured to snapshot the whole config for rollback. Subtrees whose content is the same as in the
+     * new config are not modified, so they are left out.
+     *
+     * @param deploymentTimestamp timestamp of the deployment
+     * @param newConfig           new config of the deployment
+     * @param servicesToRemove    services the deployment removes
+     * @return paths of the subtrees to snapshot, or null for the whole config
+     */
+    protected List<String[]> configSubtreesToSnapshot(long deploymentTimestamp, Map<String, Object> newConfig,
+                                                      Set<String> servicesToRemove) {
+        DeviceConfiguration deviceConfiguration = kernel.getContext().get(DeviceConfiguration.class);
+        if (DEPLOYMENT_CONFIG_SNAPSHOT_MODE_FULL.equalsIgnoreCase(
+                Coerce.toString(deviceConfiguration.getDeploymentConfigSnapshotMode()))) {
+            return null;
+        }
+        List<String[]> subtrees = createDeploymentMergeBehavior(deploymentTimestamp, newConfig)
+                .subtreesModifiedBy(kernel.getConfig().getRoot(), newConfig);
+        // Config of removed services is dropped once the deployment succeeds
+        for (String serviceName : servicesToRemove) {
+            subtrees.add(new String[]{SERVICES_NAMESPACE_TOPIC, serviceName});
+        }
+        return subtrees;
+    }
+
+    /**
+     * Roll back the config to the snapshot taken before the deployment.
+     *
+     * @param totallyCompleteFuture future to complete if the rollback fails
+     * @param failureCause          cause of the deployment failure
+     * @param subtrees              config subtrees in the snapshot, or null if it has the whole config
+     * @param statusDetails         status details the rollback time is reported in
+     * @return time the rollback was merged, or -1 if it failed
+     */
+    protected long rollbackConfig(CompletableFuture<DeploymentResult> totallyCompleteFuture, Throwable failureCause,
+                                  Collection<String[]> subtrees, Map<String, Object> statusDetails) {
         AtomicLong mergeTime = new AtomicLong(-1);
         // Run on publish thread to ensure lifecycle listeners only run once all config changes go through
         kernel.getContext().runOnPublishQueueAndWait(() -> {
             try {
                 mergeTime.set(System.currentTimeMillis());
-                ConfigurationReader.updateFromTLog(kernel.getConfig(), deploymentDirectoryManager.getSnapshotFilePath(),
-                        true, null, createRollbackMergeBehavior());
+                if (subtrees == null) {
+                    ConfigurationReader.updateFromTLog(kernel.getConfig(),
+                            deploymentDirectoryManager.getSnapshotFilePath(), true, null,
+                            createRollbackMergeBehavior());
+                } else {
+                    ConfigurationReader.updateFromTLog(kernel.getConfig(),
+                            deploymentDirectoryManager.getSnapshotFilePath(), true, null,
+                            createRollbackMergeBehavior(), subtrees);
+                }
                 // Immediately truncate the tlog such that the config.tlog file only contains the correct rolled back
                 // information. Without this step, a nucleus reboot could cause the configuration to contain "newer"
                 // values even though we wanted those values to be rolled back.
                 kernel.getContext().get(KernelLifecycle.class).getTlog().truncateNow();
+                statusDetails.put(CONFIG_ROLLBACK_MILLIS_KEY,
+                        String.valueOf(System.currentTimeMillis() - mergeTime.get()));
             } catch (IOException e) {
                 mergeTime.set(-1);
                 // Could not merge old snapshot transaction log, rollback failed
@@ -78,7 +157,7 @@ public abstract class DeploymentActivator {
                         .log("Failed to rollback deployment");
                 totallyCompleteFuture.complete(
                         new DeploymentResult(DeploymentResult.DeploymentStatus.FAILED_UNABLE_TO_ROLLBACK,
-                                failureCause));
+                                failureCause, statusDetails));
             }
         });
         return mergeTime.get();
@@ -10,6 +10,9 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.Collections;
+import java.util.Map;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -18,6 +21,13 @@ public class DeploymentResult {
 
     DeploymentStatus deploymentStatus;
     Throwable failureCause;
+    // Additional details on how the deployment was carried out, reported with the deployment status
+    @EqualsAndHashCode.Exclude
+    Map<String, Object> statusDetails = Collections.emptyMap();
+
+    public DeploymentResult(DeploymentStatus deploymentStatus, Throwable failureCause) {
+        this(deploymentStatus, failureCause, Collections.emptyMap());
+    }
 
     public enum DeploymentStatus {
         SUCCESSFUL,
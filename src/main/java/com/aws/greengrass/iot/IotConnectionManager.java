@@ -5,10 +5,9 @@
 
 package com.aws.greengrass.iot;
 
-import com.aws.greengrass.componentmanager.ClientConfigurationUtils;
-import com.aws.greengrass.config.WhatHappened;
 import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.deployment.exceptions.DeviceConfigurationException;
+import com.aws.greengrass.network.SharedMtlsHttpClient;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.Utils;
 import software.amazon.awssdk.http.SdkHttpClient;
@@ -17,24 +16,37 @@ import java.io.Closeable;
 import java.net.URI;
 import javax.inject.Inject;
 
-import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_CERTIFICATE_FILE_PATH;
-import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_PRIVATE_KEY_PATH;
-import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_ROOT_CA_PATH;
-
 public class IotConnectionManager implements Closeable {
     private final DeviceConfiguration deviceConfiguration;
-    private SdkHttpClient client;
+    private final SharedMtlsHttpClient sharedMtlsHttpClient;
+    private final boolean ownsClient;
 
     /**
-     * Constructor.
+     * Constructor for a connection manager with its own connection pool.
      *
      * @param deviceConfiguration Device configuration helper getting cert and keys for mTLS
      */
-    @Inject
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public IotConnectionManager(final DeviceConfiguration deviceConfiguration) {
+        this(deviceConfiguration, new SharedMtlsHttpClient(deviceConfiguration), true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param deviceConfiguration  Device configuration helper getting cert and keys for mTLS
+     * @param sharedMtlsHttpClient connection pool shared by all mTLS clients of the nucleus
+     */
+    @Inject
+    public IotConnectionManager(final DeviceConfiguration deviceConfiguration,
+                                final SharedMtlsHttpClient sharedMtlsHttpClient) {
+        this(deviceConfiguration, sharedMtlsHttpClient, false);
+    }
+
+    private IotConnectionManager(DeviceConfiguration deviceConfiguration, SharedMtlsHttpClient sharedMtlsHttpClient,
+                                 boolean ownsClient) {
         this.deviceConfiguration = deviceConfiguration;
-        reconfigureOnConfigChange();
+        this.sharedMtlsHttpClient = sharedMtlsHttpClient;
+        this.ownsClient = ownsClient;
     }
 
     /**
@@ -50,43 +62,21 @@ public class IotConnectionManager implements Closeable {
     }
 
     /**
-     * Initializes and returns the SdkHttpClient.
+     * Returns the SdkHttpClient. Connections are pooled and the client is reconfigured when the device identity
+     * changes.
      *
      */
-    public synchronized SdkHttpClient getClient() {
-        if (this.client == null) {
-            this.client = initConnectionManager();
-        }
-        return this.client;
+    public SdkHttpClient getClient() {
+        return sharedMtlsHttpClient.getClient();
     }
 
-    @SuppressWarnings("PMD.NullAssignment")
-    private void reconfigureOnConfigChange() {
-        deviceConfiguration.onAnyChange((what, node) -> {
-            if (WhatHappened.childChanged.equals(what) && node != null && (node.childOf(DEVICE_PARAM_PRIVATE_KEY_PATH)
-                    || node.childOf(DEVICE_PARAM_CERTIFICATE_FILE_PATH) || node.childOf(DEVICE_PARAM_ROOT_CA_PATH))) {
-                synchronized (this) {
-                    if (this.client != null) {
-                        this.client.close();
-                        this.client = null;
-                    }
-                }
-            }
-        });
-    }
-
-    private SdkHttpClient initConnectionManager() {
-        return ClientConfigurationUtils.getConfiguredClientBuilder(deviceConfiguration).build();
-    }
-
-
     /**
      * Clean up underlying connections and close gracefully.
      */
     @Override
-    public synchronized void close() {
-        if (this.client != null) {
-            this.client.close();
+    public void close() {
+        if (ownsClient) {
+            sharedMtlsHttpClient.close();
         }
     }
 }
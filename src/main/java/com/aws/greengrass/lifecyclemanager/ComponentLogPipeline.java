@@ -0,0 +1,501 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.aws.greengrass.config.PlatformResolver;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.logging.impl.config.LogConfig;
+import com.aws.greengrass.logging.impl.config.LogFormat;
+import com.aws.greengrass.logging.impl.config.LogStore;
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.util.Coerce;
+import lombok.Value;
+import org.slf4j.event.Level;
+import vendored.com.google.common.util.concurrent.RateLimiter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+
+/**
+ * Captures the stdout and stderr lines of component processes into the component logs. Each component has its own
+ * bounded queue of lines, which a single writer thread drains in turns of at most one batch per component, so a
+ * component which prints a lot can't hold up the output of the others. When the queue of a component is full, the
+ * thread reading its output waits for the writer, which holds up that component only. Lines are only dropped when a
+ * rate limit is configured, either because they exceed the limit or because the queue is full.
+ *
+ * <p>For components logging to a file in text format, each batch is written raw to the component log file through a
+ * buffered writer, in the same layout as a log event, and the file is reopened after the logger rotates it. Otherwise
+ * lines are logged through the component logger one by one. Captured and dropped lines, the capture lag and the queue
+ * depth are emitted as metrics.
+ */
+public class ComponentLogPipeline implements Closeable {
+    static final String SCRIPT_NAME_KEY = "scriptName";
+    static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_BATCH_LINES = 1000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long IDLE_POLL_MILLIS = 1000;
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final long DROP_REPORT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final long METRICS_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+    public static final String NAMESPACE = "ComponentLogs";
+    private static final Logger logger = LogManager.getLogger(ComponentLogPipeline.class);
+
+    private final Map<String, ComponentCapture> captures = new ConcurrentHashMap<>();
+    // Components with queued lines, in the order the writer takes its turns on them
+    private final BlockingQueue<ComponentCapture> ready = new LinkedBlockingQueue<>();
+    private final Thread writer = new Thread(this::writeLines, "ComponentLogWriter");
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
+    private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long maxLinesPerSecond;
+    private volatile long maxBytesPerSecond;
+    private volatile long captureLagMillis;
+    // Only used by the writer thread
+    private long maxCaptureLagMillis;
+    private long emittedCapturedLines;
+    private long emittedDroppedLines;
+    private long lastMetricsEmission = System.currentTimeMillis();
+
+    /**
+     * Constructor.
+     *
+     * @param deviceConfiguration        device configuration with the rate limits
+     * @param streamingMetricsAggregator aggregator the capture metrics are recorded in
+     */
+    @Inject
+    public ComponentLogPipeline(DeviceConfiguration deviceConfiguration,
+                                StreamingMetricsAggregator streamingMetricsAggregator) {
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
+        deviceConfiguration.getComponentLogMaxLinesPerSecond()
+                .subscribe((what, topic) -> maxLinesPerSecond = Coerce.toLong(topic));
+        deviceConfiguration.getComponentLogMaxBytesPerSecond()
+                .subscribe((what, topic) -> maxBytesPerSecond = Coerce.toLong(topic));
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Get a consumer which captures output lines of a component process into the component log.
+     *
+     * @param service         component the process runs for
+     * @param componentLogger logger of the component
+     * @param note            name of the lifecycle script which runs the process
+     * @param stderr          true to capture stderr lines, which are logged at WARN instead of INFO
+     * @return consumer of output lines
+     */
+    public Consumer<CharSequence> capture(GreengrassService service, Logger componentLogger, String note,
+                                          boolean stderr) {
+        ComponentCapture capture =
+                captures.computeIfAbsent(service.getServiceName(), ComponentCapture::new);
+        capture.bind(service, componentLogger);
+        return new LineCapture(capture, note, stderr);
+    }
+
+    /**
+     * Get how long the lines of the last written batch were queued before they were written.
+     *
+     * @return capture lag in milliseconds
+     */
+    public long getCaptureLagMillis() {
+        return captureLagMillis;
+    }
+
+    /**
+     * Get the number of lines queued for all components.
+     *
+     * @return queued lines
+     */
+    public int getQueuedLines() {
+        int queued = 0;
+        for (ComponentCapture capture : captures.values()) {
+            queued += capture.queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Get the number of captured and dropped lines of each component.
+     *
+     * @return capture statistics by component name
+     */
+    public Map<String, CaptureStats> getCaptureStats() {
+        Map<String, CaptureStats> stats = new HashMap<>();
+        captures.forEach((name, capture) -> stats.put(name, new CaptureStats(capture.capturedLines.get(),
+                capture.rateLimitedLines.get(), capture.overflowedLines.get())));
+        return stats;
+    }
+
+    /**
+     * Write out the lines which are still queued and close the component log files. Called on kernel shutdown once
+     * the component processes are stopped.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.isAlive()) {
+            // What was captured since the last emission
+            emitMetrics(System.currentTimeMillis());
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void writeLines() {
+        List<CapturedLine> batch = new ArrayList<>(MAX_BATCH_LINES);
+        try {
+            while (!closed.get() || !ready.isEmpty()) {
+                ComponentCapture capture = null;
+                try {
+                    capture = ready.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (capture != null) {
+                        capture.queue.drainTo(batch, MAX_BATCH_LINES);
+                        if (!batch.isEmpty()) {
+                            captureLagMillis = System.currentTimeMillis() - batch.get(0).capturedAt;
+                            maxCaptureLagMillis = Math.max(maxCaptureLagMillis, captureLagMillis);
+                            capture.write(batch);
+                        }
+                    }
+                    captures.values().forEach(ComponentCapture::reportDrops);
+                    long now = System.currentTimeMillis();
+                    if (now - lastMetricsEmission >= METRICS_INTERVAL_MILLIS) {
+                        emitMetrics(now);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } catch (RuntimeException e) {
+                    logger.atError().setCause(e).log("Error while writing component output to the component log");
+                } finally {
+                    batch.clear();
+                    if (capture != null) {
+                        // Lines left over wait for the turns of the other components
+                        capture.finishTurn();
+                    }
+                }
+            }
+        } finally {
+            captures.values().forEach(ComponentCapture::closeLogFile);
+        }
+    }
+
+    private void emitMetrics(long now) {
+        long capturedLines = 0;
+        long droppedLines = 0;
+        for (ComponentCapture capture : captures.values()) {
+            capturedLines += capture.capturedLines.get();
+            droppedLines += capture.rateLimitedLines.get() + capture.overflowedLines.get();
+        }
+        List<Metric> metrics = new ArrayList<>();
+        metrics.add(metric("CapturedLines", TelemetryUnit.Count, TelemetryAggregation.Sum,
+                capturedLines - emittedCapturedLines, now));
+        metrics.add(metric("DroppedLines", TelemetryUnit.Count, TelemetryAggregation.Sum,
+                droppedLines - emittedDroppedLines, now));
+        metrics.add(metric("CaptureLag", TelemetryUnit.Milliseconds, TelemetryAggregation.Maximum,
+                maxCaptureLagMillis, now));
+        metrics.add(metric("QueuedLines", TelemetryUnit.Count, TelemetryAggregation.Maximum, getQueuedLines(),
+                now));
+        for (Metric metric : metrics) {
+            mf.putMetricData(metric);
+            streamingMetricsAggregator.record(metric);
+        }
+        emittedCapturedLines = capturedLines;
+        emittedDroppedLines = droppedLines;
+        maxCaptureLagMillis = 0;
+        lastMetricsEmission = now;
+    }
+
+    private static Metric metric(String name, TelemetryUnit unit, TelemetryAggregation aggregation, long value,
+                                 long timestamp) {
+        return Metric.builder()
+                .namespace(NAMESPACE)
+                .name(name)
+                .unit(unit)
+                .aggregation(aggregation)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    /**
+     * Number of captured and dropped output lines of a component.
+     */
+    @Value
+    public static class CaptureStats {
+        long capturedLines;
+        long rateLimitedLines;
+        long overflowedLines;
+    }
+
+    @Value
+    private static class CapturedLine {
+        String note;
+        boolean stderr;
+        String text;
+        String threadName;
+        long capturedAt;
+    }
+
+    /**
+     * Captures the lines of one output stream, which are all read on the same thread.
+     */
+    private final class LineCapture implements Consumer<CharSequence> {
+        private final ComponentCapture capture;
+        private final String note;
+        private final boolean stderr;
+
+        private LineCapture(ComponentCapture capture, String note, boolean stderr) {
+            this.capture = capture;
+            this.note = note;
+            this.stderr = stderr;
+        }
+
+        @Override
+        public void accept(CharSequence line) {
+            String text = line.toString().trim();
+            // Characters are counted as bytes, which they are for ASCII output
+            if (!capture.allow(text.length())) {
+                capture.rateLimitedLines.incrementAndGet();
+                return;
+            }
+            CapturedLine capturedLine = new CapturedLine(note, stderr, text, Thread.currentThread().getName(),
+                    System.currentTimeMillis());
+            if (maxLinesPerSecond > 0 || maxBytesPerSecond > 0) {
+                // Output is allowed to be lost once it is rate limited, don't hold up the process then
+                if (capture.queue.offer(capturedLine)) {
+                    capture.capturedLines.incrementAndGet();
+                    capture.schedule();
+                } else {
+                    capture.overflowedLines.incrementAndGet();
+                }
+                return;
+            }
+            try {
+                // Only a full queue of this component waits for the writer
+                capture.queue.put(capturedLine);
+                capture.capturedLines.incrementAndGet();
+                capture.schedule();
+            } catch (InterruptedException e) {
+                capture.overflowedLines.incrementAndGet();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queues, rate limits and writes the output of one component. Only the writer thread writes, touches the log file
+     * and reports drops.
+     */
+    private final class ComponentCapture {
+        private final String name;
+        private final BlockingQueue<CapturedLine> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong capturedLines = new AtomicLong();
+        private final AtomicLong rateLimitedLines = new AtomicLong();
+        private final AtomicLong overflowedLines = new AtomicLong();
+        private volatile GreengrassService service;
+        private volatile Logger componentLogger;
+        private RateLimiter lineLimiter;
+        private RateLimiter byteLimiter;
+        private Writer logWriter;
+        private Path logWriterFile;
+        private Object logWriterFileKey;
+        private long reportedDrops;
+        private long lastDropReport;
+
+        private ComponentCapture(String name) {
+            this.name = name;
+        }
+
+        void bind(GreengrassService service, Logger componentLogger) {
+            this.service = service;
+            this.componentLogger = componentLogger;
+        }
+
+        /**
+         * Give the component a turn of the writer, unless it is waiting for one already.
+         */
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                ready.add(this);
+            }
+        }
+
+        void finishTurn() {
+            scheduled.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        synchronized boolean allow(int bytes) {
+            long maxLines = maxLinesPerSecond;
+            if (maxLines > 0) {
+                lineLimiter = limiter(lineLimiter, maxLines);
+                if (!lineLimiter.tryAcquire()) {
+                    return false;
+                }
+            }
+            long maxBytes = maxBytesPerSecond;
+            if (maxBytes > 0) {
+                byteLimiter = limiter(byteLimiter, maxBytes);
+                return byteLimiter.tryAcquire(Math.max(1, bytes));
+            }
+            return true;
+        }
+
+        private RateLimiter limiter(RateLimiter limiter, long permitsPerSecond) {
+            if (limiter == null) {
+                return RateLimiter.create(permitsPerSecond);
+            }
+            if (limiter.getRate() != permitsPerSecond) {
+                limiter.setRate(permitsPerSecond);
+            }
+            return limiter;
+        }
+
+        void write(List<CapturedLine> batch) {
+            LogConfig config = LogManager.getLogConfigurations().get(name);
+            // Open log files block rotation on Windows, so the logger has to write there
+            if (config == null || PlatformResolver.isWindows || !LogStore.FILE.equals(config.getStore())
+                    || !LogFormat.TEXT.equals(config.getFormat())) {
+                closeLogFile();
+                for (CapturedLine line : batch) {
+                    (line.stderr ? componentLogger.atWarn() : componentLogger.atInfo())
+                            .setEventType(line.stderr ? "stderr" : "stdout").kv(SCRIPT_NAME_KEY, line.note)
+                            .log(line.text);
+                }
+                return;
+            }
+            Path file = Paths.get(config.getStoreName());
+            try {
+                Writer out = logWriter(file);
+                for (CapturedLine line : batch) {
+                    Level level = line.stderr ? Level.WARN : Level.INFO;
+                    if (config.getLevel() == null || level.toInt() >= config.getLevel().toInt()) {
+                        writeLine(out, level, line);
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                logger.atWarn().kv("componentName", name).kv("logFile", file).setCause(e)
+                        .log("Unable to write component output to the component log");
+                closeLogFile();
+            }
+        }
+
+        // Same layout as the text format of the logger
+        private void writeLine(Writer out, Level level, CapturedLine line) throws IOException {
+            out.write(TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(line.capturedAt)));
+            out.write(" [");
+            out.write(level.toString());
+            out.write("] (");
+            out.write(line.threadName);
+            out.write(") ");
+            out.write(name);
+            out.write(": ");
+            out.write(line.stderr ? "stderr" : "stdout");
+            out.write(". ");
+            out.write(line.text);
+            out.write(". {");
+            out.write(SCRIPT_NAME_KEY);
+            out.write('=');
+            out.write(line.note);
+            out.write(", serviceName=");
+            out.write(name);
+            out.write(", currentState=");
+            out.write(String.valueOf(service.getState()));
+            out.write("}\n");
+        }
+
+        void reportDrops() {
+            long drops = rateLimitedLines.get() + overflowedLines.get();
+            long now = System.currentTimeMillis();
+            if (drops > reportedDrops && now - lastDropReport >= DROP_REPORT_INTERVAL_MILLIS
+                    && componentLogger != null) {
+                componentLogger.atWarn("component-log-lines-dropped").kv("droppedLines", drops - reportedDrops)
+                        .kv("rateLimitedLines", rateLimitedLines.get()).kv("overflowedLines", overflowedLines.get())
+                        .log("Dropped component output lines over the capture limits");
+                reportedDrops = drops;
+                lastDropReport = now;
+            }
+        }
+
+        private Writer logWriter(Path file) throws IOException {
+            if (logWriter == null || !file.equals(logWriterFile) || rotated(file)) {
+                closeLogFile();
+                logWriter = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                        StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+                logWriterFile = file;
+                logWriterFileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+            }
+            return logWriter;
+        }
+
+        // The logger rotates the log file by renaming it, after which writes have to go to a new file
+        private boolean rotated(Path file) throws IOException {
+            try {
+                return !Objects.equals(logWriterFileKey, Files.readAttributes(file, BasicFileAttributes.class)
+                        .fileKey());
+            } catch (NoSuchFileException e) {
+                return true;
+            }
+        }
+
+        @SuppressWarnings("PMD.NullAssignment")
+        void closeLogFile() {
+            if (logWriter != null) {
+                try {
+                    logWriter.close();
+                } catch (IOException e) {
+                    logger.atWarn().kv("componentName", name).setCause(e)
+                            .log("Unable to close the component log");
+                }
+                logWriter = null;
+            }
+        }
+    }
+}
@@ -829,6 +829,9 @@ public class GenericExternalService extends GreengrassService {
     }
 
     protected Exec addUserGroup(Exec exec, String user, String group) {
+        if (deviceConfiguration != null && (Utils.isNotEmpty(user) || Utils.isNotEmpty(group))) {
+            exec = exec.withLauncher(Coerce.toString(deviceConfiguration.getProcessLauncher()));
+        }
         if (Utils.isNotEmpty(user)) {
             exec = exec.withUser(user);
         }
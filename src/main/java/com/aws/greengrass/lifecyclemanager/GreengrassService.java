@@ -87,6 +87,9 @@ public class GreengrassService implements InjectionActions {
     // Services that this service depends on.
     // Includes both explicit declared dependencies and implicit ones added through 'autoStart' and @Inject annotation.
     protected final ConcurrentHashMap<GreengrassService, DependencyInfo> dependencies = new ConcurrentHashMap<>();
+    // Reverse index of dependencies: services which have this service in their dependencies.
+    // Entries are added with the dependency, and may be stale until read through getDependers.
+    private final Set<GreengrassService> dependers = ConcurrentHashMap.newKeySet();
     // Service logger instance
     protected final Logger logger;
 
@@ -456,6 +459,8 @@ public class GreengrassService implements InjectionActions {
                 if (fut != null) {
                     fut.get();
                 }
+                // a closed service can't start again, so it is no longer a depender of anything
+                dependencies.keySet().forEach(dependency -> dependency.dependers.remove(this));
                 closeFuture.complete(null);
             } catch (Exception e) {
                 closeFuture.completeExceptionally(e);
@@ -488,6 +493,7 @@ public class GreengrassService implements InjectionActions {
                 }
                 GlobalStateChangeListener listener = createDependencyListener(dependencyService, dependencyType);
                 getContext().addGlobalStateChangeListener(listener);
+                dependencyService.dependers.add(this);
                 context.get(Kernel.class).clearODcache();
                 return new DependencyInfo(dependencyType, isDefault, listener);
             });
@@ -508,20 +514,28 @@ public class GreengrassService implements InjectionActions {
                     dependencyReadyLock.notifyAll();
                 }
             }
+            lifecycle.dependencyStateChanged();
         };
     }
 
     private List<GreengrassService> getHardDependers() {
-        List<GreengrassService> dependers = new ArrayList<>();
-        Kernel kernel = context.get(Kernel.class);
-        for (GreengrassService greengrassService : kernel.orderedDependencies()) {
-            for (Map.Entry<GreengrassService, DependencyInfo> entry : greengrassService.dependencies.entrySet()) {
-                if (entry.getKey().equals(this) && DependencyType.HARD.equals(entry.getValue().dependencyType)) {
-                    dependers.add(greengrassService);
-                }
-            }
-        }
-        return dependers;
+        // only wait for dependers which the kernel still runs
+        Collection<GreengrassService> runningServices = context.get(Kernel.class).orderedDependencies();
+        return getDependers(DependencyType.HARD).stream().filter(runningServices::contains)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the services which depend on this service with the given dependency type.
+     *
+     * @param dependencyType type of the dependency
+     * @return dependers of this service
+     */
+    Set<GreengrassService> getDependers(DependencyType dependencyType) {
+        return dependers.stream().filter(depender -> {
+            DependencyInfo dependencyInfo = depender.dependencies.get(this);
+            return dependencyInfo != null && dependencyType.equals(dependencyInfo.dependencyType);
+        }).collect(Collectors.toSet());
     }
 
     private void waitForDependersToExit() throws InterruptedException {
@@ -694,6 +708,7 @@ public class GreengrassService implements InjectionActions {
                 removedDependencies.forEach(dependency -> {
                     DependencyInfo dependencyInfo = dependencies.remove(dependency);
                     getContext().removeGlobalStateChangeListener(dependencyInfo.stateListener);
+                    dependency.dependers.remove(this);
                 });
                 context.get(Kernel.class).clearODcache();
             }
@@ -10,6 +10,7 @@ import com.amazon.aws.iot.greengrass.configuration.common.DeploymentCapability;
 import com.aws.greengrass.componentmanager.ComponentStore;
 import com.aws.greengrass.componentmanager.exceptions.PackageLoadingException;
 import com.aws.greengrass.componentmanager.models.ComponentIdentifier;
+import com.aws.greengrass.config.ConfigSnapshot;
 import com.aws.greengrass.config.Configuration;
 import com.aws.greengrass.config.ConfigurationWriter;
 import com.aws.greengrass.config.Node;
@@ -344,16 +345,30 @@ public class Kernel {
         ConfigurationWriter.dump(config, transactionLogPath);
     }
 
+    /**
+     * Write the given subtrees of the effective config in the transaction log format.
+     *
+     * @param transactionLogPath path to write the file into
+     * @param subtrees           paths of the subtrees to write
+     * @throws IOException if writing fails
+     */
+    public void writeEffectiveConfigAsTransactionLog(Path transactionLogPath, Collection<String[]> subtrees)
+            throws IOException {
+        ConfigurationWriter.dump(config, transactionLogPath, subtrees);
+    }
+
     /**
      * Write the effective config into a {@link Writer}.
      *
      * @param w Writer to write config into
      */
     public void writeConfig(Writer w) {
+        // Both namespaces come from one snapshot, so they are written as of one version without blocking writers
+        ConfigSnapshot snapshot = config.snapshot();
         Map<String, Object> configMap = new HashMap<>();
-        configMap.put(SERVICES_NAMESPACE_TOPIC, config.lookupTopics(SERVICES_NAMESPACE_TOPIC).toPOJO());
+        configMap.put(SERVICES_NAMESPACE_TOPIC, toPOJO(snapshot.find(SERVICES_NAMESPACE_TOPIC)));
         configMap.put(DeviceConfiguration.SYSTEM_NAMESPACE_KEY,
-                config.lookupTopics(DeviceConfiguration.SYSTEM_NAMESPACE_KEY).toPOJO());
+                toPOJO(snapshot.find(DeviceConfiguration.SYSTEM_NAMESPACE_KEY)));
         try {
             CONFIG_YAML_WRITER.writeValue(w, configMap);
         } catch (IOException ex) {
@@ -361,6 +376,10 @@ public class Kernel {
         }
     }
 
+    private static Map<String, Object> toPOJO(ConfigSnapshot snapshot) {
+        return snapshot == null ? Collections.emptyMap() : snapshot.toPOJO();
+    }
+
     @Nullable
     public Topics findServiceTopic(String serviceName) {
         return config.findTopics(SERVICES_NAMESPACE_TOPIC, serviceName);
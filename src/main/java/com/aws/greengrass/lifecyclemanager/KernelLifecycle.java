@@ -61,7 +61,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -72,7 +71,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURATION_CONFIG_KEY;
 import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
@@ -458,29 +456,25 @@ public class KernelLifecycle {
      *
      * @param timeoutSeconds timeout seconds for waiting all services to shutdown. Use -1 to wait infinitely.
      */
-    @SuppressWarnings("PMD.AvoidCatchingThrowable")
     public void stopAllServices(int timeoutSeconds) {
-        GreengrassService[] d = kernel.orderedDependencies().toArray(new GreengrassService[0]);
-
-        CompletableFuture<?>[] arr = new CompletableFuture[d.length];
-        for (int i = d.length - 1; i >= 0; --i) { // shutdown in reverse order
-            String serviceName = d[i].getName();
-            try {
-                arr[i] = d[i].close();
-                arr[i].whenComplete((v, t) -> {
-                    if (t != null) {
-                        logger.atError("service-shutdown-error", t).kv(GreengrassService.SERVICE_NAME_KEY, serviceName)
-                                .log();
-                    }
-                });
-            } catch (Throwable t) {
-                logger.atError("service-shutdown-error", t).kv(GreengrassService.SERVICE_NAME_KEY, serviceName).log();
-                arr[i] = CompletableFuture.completedFuture(Optional.empty());
-            }
-        }
+        List<GreengrassService> d = new ArrayList<>(kernel.orderedDependencies());
+        Collections.reverse(d); // shutdown in reverse order
+
+        // each service is closed once its dependers have closed, independent services are closed in parallel
+        Map<GreengrassService, CompletableFuture<Void>> closeFutures = ShutdownScheduler.closeInDependerOrder(d);
+        closeFutures.forEach((service, closeFuture) -> {
+            String serviceName = service.getName();
+            closeFuture.whenComplete((v, t) -> {
+                if (t != null) {
+                    logger.atError("service-shutdown-error", t).kv(GreengrassService.SERVICE_NAME_KEY, serviceName)
+                            .log();
+                }
+            });
+        });
 
         try {
-            CompletableFuture<Void> combinedFuture = CompletableFuture.allOf(arr);
+            CompletableFuture<Void> combinedFuture =
+                    CompletableFuture.allOf(closeFutures.values().toArray(new CompletableFuture[0]));
             logger.atInfo().log("Waiting for services to shutdown");
             if (timeoutSeconds == -1) {
                 combinedFuture.get();
@@ -488,9 +482,9 @@ public class KernelLifecycle {
             }
             combinedFuture.get(timeoutSeconds, TimeUnit.SECONDS);
         } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            List<String> unclosedServices =
-                    IntStream.range(0, arr.length).filter((i) -> !arr[i].isDone() || arr[i].isCompletedExceptionally())
-                            .mapToObj((i) -> d[i].getName()).collect(Collectors.toList());
+            List<String> unclosedServices = closeFutures.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isDone() || entry.getValue().isCompletedExceptionally())
+                    .map(entry -> entry.getKey().getName()).collect(Collectors.toList());
             logger.atError("services-shutdown-errored", e).kv("unclosedServices", unclosedServices).log();
         }
     }
@@ -541,6 +535,12 @@ public class KernelLifecycle {
         try {
             logger.atInfo().setEventType(SYSTEM_SHUTDOWN_EVENT).addKeyValue("main", getMain()).log();
             softShutdown(timeoutSeconds);
+            // Component processes are stopped, write out what they printed before the loggers are closed
+            ComponentLogPipeline componentLogPipeline =
+                    kernel.getContext().getIfExists(ComponentLogPipeline.class, null);
+            if (componentLogPipeline != null) {
+                componentLogPipeline.close();
+            }
 
             // Do not wait for tasks in the executor to end.
             ScheduledExecutorService scheduledExecutorService = kernel.getContext().get(ScheduledExecutorService.class);
@@ -9,6 +9,7 @@ import com.aws.greengrass.dependency.State;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.telemetry.PeriodicMetricsEmitter;
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
 import com.aws.greengrass.telemetry.impl.Metric;
 import com.aws.greengrass.telemetry.impl.MetricFactory;
 import com.aws.greengrass.telemetry.models.TelemetryAggregation;
@@ -27,16 +28,19 @@ public class KernelMetricsEmitter extends PeriodicMetricsEmitter {
     public static final String NAMESPACE = "GreengrassComponents";
     private final Kernel kernel;
     private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
 
     /**
      * Constructor for kernel metrics emitter.
      *
-     * @param kernel {@link Kernel}
+     * @param kernel                     {@link Kernel}
+     * @param streamingMetricsAggregator {@link StreamingMetricsAggregator}
      */
     @Inject
-    public KernelMetricsEmitter(Kernel kernel) {
+    public KernelMetricsEmitter(Kernel kernel, StreamingMetricsAggregator streamingMetricsAggregator) {
         super();
         this.kernel = kernel;
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
     }
 
     /**
@@ -47,6 +51,7 @@ public class KernelMetricsEmitter extends PeriodicMetricsEmitter {
         List<Metric> retrievedMetrics = getMetrics();
         for (Metric retrievedMetric : retrievedMetrics) {
             mf.putMetricData(retrievedMetric);
+            streamingMetricsAggregator.record(retrievedMetric);
         }
     }
 
@@ -10,6 +10,7 @@ import com.aws.greengrass.config.Topic;
 import com.aws.greengrass.config.Topics;
 import com.aws.greengrass.dependency.ComponentStatusCode;
 import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.status.model.ComponentStatusDetails;
 import com.aws.greengrass.util.Coerce;
@@ -75,6 +76,7 @@ public class Lifecycle {
     // The maximum number of ERRORED before transitioning the service state to BROKEN.
     private static final int MAXIMUM_CONTINUAL_ERROR = 3;
     private static final long DEFAULT_ERROR_RESET_TIME_IN_SEC = Duration.ofHours(1).getSeconds();
+    private static final Predicate<Object> ANY_EVENT = stateEvent -> true;
 
     /*
      * State generation is a value representing how many times the service has been in the NEW/STARTING state.
@@ -111,6 +113,15 @@ public class Lifecycle {
     // ReInstall a service will set DesiredStateList to <FINISHED->NEW->RUNNING>
     private final List<State> desiredStateList = new CopyOnWriteArrayList<>();
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
+    // An event driven lifecycle has no thread of its own, its transition loop runs on the kernel executor
+    // whenever there are state events to process, and at most one run is scheduled at a time.
+    private volatile boolean eventDriven;
+    private final AtomicBoolean transitionScheduled = new AtomicBoolean(false);
+    private CompletableFuture<Void> eventLoopDone;
+    // Transition loop state, only used by the lifecycle thread or the current run of the event driven loop
+    private final AtomicReference<Predicate<Object>> asyncFinishAction = new AtomicReference<>(ANY_EVENT);
+    private State prevState;
+    private State handledState;
 
     private static final Map<State, Collection<State>> ALLOWED_STATE_TRANSITION_FOR_REPORTING =
             new EnumMap<>(State.class);
@@ -331,90 +342,140 @@ public class Lifecycle {
         if (!stateEventQueue.offer(event)) {
             logger.atError().kv("event", event).log("couldn't put the new event to stateEventQueue");
         }
+        scheduleStateTransition();
     }
 
     private void startStateTransition() throws InterruptedException {
-        AtomicReference<Predicate<Object>> asyncFinishAction = new AtomicReference<>((stateEvent) -> true);
-        State prevState = getState();
-        while (!(isClosed.get() && getState().isClosable())) {
-            Optional<State> desiredState;
-            State current = getState();
-            logger.atDebug("service-state-transition-start").log();
-
-            Configuration kernelConfig = greengrassService.getContext().get(Configuration.class);
-            // postpone start/install when configuration is under update.
-            if (current == State.NEW || current == State.INSTALLED) {
-                kernelConfig.waitConfigUpdateComplete();
+        resetStateTransition();
+        while (!isLifecycleDone()) {
+            State current = handleCurrentState();
+            boolean canFinish = false;
+            while (!canFinish) {
+                canFinish = processStateEvent(current, nextStateEvent(true));
             }
+            asyncFinishAction.set(ANY_EVENT);
+        }
+    }
 
-            // if already in desired state, remove the head of desired state list.
-            desiredState = peekOrRemoveFirstDesiredState(current);
-            while (desiredState.isPresent() && desiredState.get().equals(current)) {
-                desiredState = peekOrRemoveFirstDesiredState(current);
+    /**
+     * Run the state transition loop of an event driven lifecycle until it has to wait for a state event.
+     *
+     * @return true if the lifecycle is done and won't process any more events
+     * @throws InterruptedException if interrupted while handling a state
+     */
+    @SuppressWarnings("PMD.AssignmentInOperand")
+    private boolean runStateTransitionUntilIdle() throws InterruptedException {
+        while (!isLifecycleDone()) {
+            if (handledState == null) {
+                handledState = handleCurrentState();
             }
-
-            switch (current) {
-                case BROKEN:
-                    handleCurrentStateBroken(desiredState, prevState);
-                    break;
-                case NEW:
-                    handleCurrentStateNew(desiredState);
-                    break;
-                case INSTALLED:
-                    handleCurrentStateInstalledAsync(desiredState, asyncFinishAction);
-                    break;
-                case STARTING:
-                    handleCurrentStateStartingAsync(desiredState, asyncFinishAction);
-                    break;
-                case RUNNING:
-                    handleCurrentStateRunning(desiredState);
-                    break;
-                case STOPPING:
-                    handleCurrentStateStopping();
-                    break;
-                case FINISHED:
-                    handleCurrentStateFinished(desiredState);
-                    break;
-                case ERRORED:
-                    handleCurrentStateErrored(desiredState, prevState);
-                    break;
-                default:
-                    logger.atError(INVALID_STATE_ERROR_EVENT).log("Unrecognized current state");
+            StateEvent stateEvent;
+            while ((stateEvent = nextStateEvent(false)) != null) {
+                if (processStateEvent(handledState, stateEvent)) {
+                    handledState = null;
+                    asyncFinishAction.set(ANY_EVENT);
                     break;
+                }
+            }
+            if (handledState != null) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            boolean canFinish = false;
-            while (!canFinish) {
-                // A state event can either be a report state transition event or a desired state updated event.
-                StateEvent stateEvent = stateEventQueue.poll();
+    private void resetStateTransition() {
+        prevState = getState();
+        handledState = null;
+        asyncFinishAction.set(ANY_EVENT);
+    }
 
-                // If there are accumulated DesiredStateUpdatedEvent in the queue,
-                // drain them until a StateTransitionEvent event is encountered.
-                while (!(stateEvent instanceof StateTransitionEvent) && !stateEventQueue.isEmpty()) {
-                    stateEvent = stateEventQueue.poll();
-                }
+    private boolean isLifecycleDone() {
+        return isClosed.get() && getState().isClosable();
+    }
 
-                // if there are no events in the queue, block until one is available.
-                if (stateEvent == null) {
-                    stateEvent = stateEventQueue.take();
-                }
+    private State handleCurrentState() throws InterruptedException {
+        Optional<State> desiredState;
+        State current = getState();
+        logger.atDebug("service-state-transition-start").log();
 
-                if (stateEvent instanceof StateTransitionEvent) {
-                    State newState = ((StateTransitionEvent) stateEvent).getNewState();
-                    if (newState == current) {
-                        continue;
-                    }
+        Configuration kernelConfig = greengrassService.getContext().get(Configuration.class);
+        // postpone start/install when configuration is under update.
+        if (current == State.NEW || current == State.INSTALLED) {
+            kernelConfig.waitConfigUpdateComplete();
+        }
 
-                    canFinish = true;
-                    setState(current, (StateTransitionEvent) stateEvent);
-                    prevState = current;
-                }
-                if (asyncFinishAction.get().test(stateEvent)) {
-                    canFinish = true;
-                }
+        // if already in desired state, remove the head of desired state list.
+        desiredState = peekOrRemoveFirstDesiredState(current);
+        while (desiredState.isPresent() && desiredState.get().equals(current)) {
+            desiredState = peekOrRemoveFirstDesiredState(current);
+        }
+
+        switch (current) {
+            case BROKEN:
+                handleCurrentStateBroken(desiredState, prevState);
+                break;
+            case NEW:
+                handleCurrentStateNew(desiredState);
+                break;
+            case INSTALLED:
+                handleCurrentStateInstalledAsync(desiredState, asyncFinishAction);
+                break;
+            case STARTING:
+                handleCurrentStateStartingAsync(desiredState, asyncFinishAction);
+                break;
+            case RUNNING:
+                handleCurrentStateRunning(desiredState);
+                break;
+            case STOPPING:
+                handleCurrentStateStopping();
+                break;
+            case FINISHED:
+                handleCurrentStateFinished(desiredState);
+                break;
+            case ERRORED:
+                handleCurrentStateErrored(desiredState, prevState);
+                break;
+            default:
+                logger.atError(INVALID_STATE_ERROR_EVENT).log("Unrecognized current state");
+                break;
+        }
+        return current;
+    }
+
+    private StateEvent nextStateEvent(boolean block) throws InterruptedException {
+        // A state event can either be a report state transition event or a desired state updated event.
+        StateEvent stateEvent = stateEventQueue.poll();
+
+        // If there are accumulated DesiredStateUpdatedEvent in the queue,
+        // drain them until a StateTransitionEvent event is encountered.
+        while (!(stateEvent instanceof StateTransitionEvent) && !stateEventQueue.isEmpty()) {
+            stateEvent = stateEventQueue.poll();
+        }
+
+        // if there are no events in the queue, block until one is available.
+        if (stateEvent == null && block) {
+            stateEvent = stateEventQueue.take();
+        }
+        return stateEvent;
+    }
+
+    private boolean processStateEvent(State current, StateEvent stateEvent) {
+        boolean canFinish = false;
+        if (stateEvent instanceof StateTransitionEvent) {
+            State newState = ((StateTransitionEvent) stateEvent).getNewState();
+            if (newState == current) {
+                return false;
             }
-            asyncFinishAction.set((stateEvent) -> true);
+
+            canFinish = true;
+            setState(current, (StateTransitionEvent) stateEvent);
+            prevState = current;
         }
+        if (asyncFinishAction.get().test(stateEvent)) {
+            canFinish = true;
+        }
+        return canFinish;
     }
 
     /**
@@ -536,6 +597,17 @@ public class Lifecycle {
             return;
         }
 
+        if (eventDriven) {
+            // Don't park a thread until the dependencies are ready. Any event, including the one sent when the
+            // dependencies become ready, makes the loop handle INSTALLED again.
+            if (greengrassService.dependencyReady()) {
+                internalReportState(State.STARTING);
+            } else {
+                logger.atDebug("service-awaiting-start").log("waiting for dependencies to start");
+            }
+            return;
+        }
+
         replaceBackingTask(() -> {
             try {
                 logger.atDebug("service-awaiting-start").log("waiting for dependencies to start");
@@ -759,6 +831,17 @@ public class Lifecycle {
         if (lifecycleThread != null) {
             return;
         }
+        DeviceConfiguration deviceConfiguration =
+                greengrassService.getContext().getIfExists(DeviceConfiguration.class, null);
+        if (deviceConfiguration != null && DeviceConfiguration.LIFECYCLE_ENGINE_EVENT
+                .equalsIgnoreCase(Coerce.toString(deviceConfiguration.getLifecycleEngine()))) {
+            eventLoopDone = new CompletableFuture<>();
+            lifecycleThread = eventLoopDone;
+            eventDriven = true;
+            resetStateTransition();
+            scheduleStateTransition();
+            return;
+        }
         lifecycleThread = greengrassService.getContext().get(ExecutorService.class).submit(() -> {
             String threadName = Thread.currentThread().getName();
             try {
@@ -788,12 +871,82 @@ public class Lifecycle {
         });
     }
 
+    /**
+     * Schedule a run of the event driven transition loop, unless one is already scheduled. A run which is in progress
+     * checks the queue again after it released the schedule, so an event is never left unprocessed.
+     */
+    private void scheduleStateTransition() {
+        if (!eventDriven || eventLoopDone.isDone() || !transitionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            greengrassService.getContext().get(ExecutorService.class).execute(this::runScheduledStateTransition);
+        } catch (RejectedExecutionException e) {
+            logger.atWarn("service-state-transition-error", e)
+                    .log("Service lifecycle had RejectedExecutionException. Since no more tasks can be run, "
+                            + "the lifecycle will stop now");
+            eventLoopDone.complete(null);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void runScheduledStateTransition() {
+        String threadName = Thread.currentThread().getName();
+        boolean done = false;
+        try {
+            Thread.currentThread().setName(greengrassService.getName() + "-lifecycle");
+            done = runStateTransitionUntilIdle();
+        } catch (RejectedExecutionException e) {
+            logger.atWarn("service-state-transition-error", e)
+                    .log("Service lifecycle had RejectedExecutionException. Since no more tasks can be run, "
+                            + "the lifecycle will stop now");
+            done = true;
+        } catch (InterruptedException i) {
+            logger.atWarn("service-state-transition-interrupted")
+                    .log("Service lifecycle interrupted. The lifecycle will stop now");
+            done = true;
+        } catch (Throwable e) {
+            logger.atError("service-state-transition-error").setCause(e).log();
+            if (isClosed.get()) {
+                // like the lifecycle thread, a closed lifecycle stops instead of retrying
+                done = true;
+            } else {
+                logger.atInfo("service-state-transition-retry").log();
+                resetStateTransition();
+                // run the loop again from the current state
+                stateEventQueue.offer(new DesiredStateUpdatedEvent());
+            }
+        } finally {
+            Thread.currentThread().setName(threadName);
+        }
+        if (done) {
+            eventLoopDone.complete(null);
+            return;
+        }
+        transitionScheduled.set(false);
+        if (!stateEventQueue.isEmpty() || isLifecycleDone()) {
+            scheduleStateTransition();
+        }
+    }
+
+    /**
+     * Notify the lifecycle that the state of one of the dependencies changed. An event driven lifecycle which is
+     * waiting in INSTALLED gets an event once all its dependencies are ready.
+     */
+    void dependencyStateChanged() {
+        if (eventDriven && State.INSTALLED.equals(getState()) && greengrassService.dependencyReady()) {
+            enqueueStateEvent(new DependencyReadyEvent());
+        }
+    }
+
     public synchronized Future<?> getLifecycleThread() {
         return lifecycleThread;
     }
 
     void setClosed(boolean b) {
         isClosed.set(b);
+        // let an idle event driven lifecycle see that it may be done
+        scheduleStateTransition();
     }
 
     /**
@@ -898,6 +1051,9 @@ public class Lifecycle {
     static class DesiredStateUpdatedEvent extends Lifecycle.StateEvent {
     }
 
+    static class DependencyReadyEvent extends Lifecycle.StateEvent {
+    }
+
     @AllArgsConstructor
     @Builder
     @Data
@@ -39,6 +39,9 @@ public interface ShellRunner {
         @Inject
         DeviceConfiguration deviceConfiguration;
 
+        @Inject
+        ComponentLogPipeline componentLogPipeline;
+
         @Override
         public synchronized Exec setup(String note, String command, GreengrassService onBehalfOf) throws IOException {
             if (!isEmpty(command) && onBehalfOf != null) {
@@ -50,14 +53,9 @@ public interface ShellRunner {
                 }
                 Exec exec = Platform.getInstance().createNewProcessRunner()
                         .withShell(command)
-                        .withOut(s -> {
-                            String ss = s.toString().trim();
-                            logger.atInfo().setEventType("stdout").kv(SCRIPT_NAME_KEY, note).log(ss);
-                        })
-                        .withErr(s -> {
-                            String ss = s.toString().trim();
-                            logger.atWarn().setEventType("stderr").kv(SCRIPT_NAME_KEY, note).log(ss);
-                        })
+                        .withComponentName(onBehalfOf.getServiceName())
+                        .withOut(componentLogPipeline.capture(onBehalfOf, logger, note, false))
+                        .withErr(componentLogPipeline.capture(onBehalfOf, logger, note, true))
                         .setenv("SVCUID",
                                 String.valueOf(onBehalfOf.getPrivateConfig().findLeafChild(SERVICE_UNIQUE_ID_KEY)
                                         .getOnce()))
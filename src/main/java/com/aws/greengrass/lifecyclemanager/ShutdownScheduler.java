@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.amazon.aws.iot.greengrass.component.common.DependencyType;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Closes a set of services in dependency order. Each service is closed as soon as all of its hard dependers within the
+ * set have closed, so independent branches of the dependency graph close at the same time and the whole set closes in
+ * the time of its longest dependency chain.
+ */
+public final class ShutdownScheduler {
+    private static final Logger logger = LogManager.getLogger(ShutdownScheduler.class);
+
+    private final Map<GreengrassService, CompletableFuture<Void>> closeFutures = new LinkedHashMap<>();
+    // number of dependers of each service which haven't closed yet
+    private final Map<GreengrassService, AtomicInteger> openDependers = new HashMap<>();
+    // hard dependencies of each service within the set, which may close once it has closed
+    private final Map<GreengrassService, List<GreengrassService>> dependencies = new HashMap<>();
+    private final Set<GreengrassService> started = ConcurrentHashMap.newKeySet();
+    // services whose dependencies on each other were dropped to break a cycle
+    private final Set<GreengrassService> cyclic = new HashSet<>();
+
+    private ShutdownScheduler(List<GreengrassService> services) {
+        services.forEach(service -> {
+            closeFutures.put(service, new CompletableFuture<>());
+            openDependers.put(service, new AtomicInteger());
+        });
+        for (GreengrassService service : services) {
+            for (GreengrassService depender : service.getDependers(DependencyType.HARD)) {
+                if (!depender.equals(service) && closeFutures.containsKey(depender)) {
+                    openDependers.get(service).incrementAndGet();
+                    dependencies.computeIfAbsent(depender, k -> new ArrayList<>()).add(service);
+                }
+            }
+        }
+        breakCycles(services);
+    }
+
+    /**
+     * Close the services, each one after its hard dependers among the given services. Services which can be closed at
+     * the same time are closed in the given order.
+     *
+     * @param services services to close
+     * @return the close future of each service, in the given order
+     */
+    public static Map<GreengrassService, CompletableFuture<Void>> closeInDependerOrder(
+            List<GreengrassService> services) {
+        ShutdownScheduler scheduler = new ShutdownScheduler(services);
+        for (GreengrassService service : services) {
+            if (scheduler.openDependers.get(service).get() == 0) {
+                scheduler.close(service);
+            }
+        }
+        return Collections.unmodifiableMap(scheduler.closeFutures);
+    }
+
+    /**
+     * Services which depend on each other would never close, so the dependencies between the services of a cycle are
+     * dropped. The services of a cycle still wait for their dependers outside of the cycle, and services which the
+     * cycle depends on still wait for all of its services. The services of a cycle are closed without waiting for
+     * their dependers to exit, as the other services of the cycle are among them.
+     */
+    private void breakCycles(List<GreengrassService> services) {
+        Map<GreengrassService, Integer> components = new ComponentFinder().find(services);
+        dependencies.forEach((depender, dependenciesOfDepender) -> dependenciesOfDepender.removeIf(dependency -> {
+            if (!components.get(dependency).equals(components.get(depender))) {
+                return false;
+            }
+            openDependers.get(dependency).decrementAndGet();
+            cyclic.add(dependency);
+            return true;
+        }));
+        if (!cyclic.isEmpty()) {
+            logger.atWarn().kv("services", services.stream().filter(cyclic::contains).map(GreengrassService::getName)
+                    .collect(Collectors.toList()))
+                    .log("Services have circular dependencies, closing them without waiting for each other");
+        }
+    }
+
+    /**
+     * Finds the strongly connected components of the dependency graph with Tarjan's algorithm. Services in the same
+     * component depend on each other, directly or through other services of the component.
+     */
+    private final class ComponentFinder {
+        private final Map<GreengrassService, Integer> index = new HashMap<>();
+        private final Map<GreengrassService, Integer> lowLink = new HashMap<>();
+        private final Deque<GreengrassService> stack = new ArrayDeque<>();
+        private final Set<GreengrassService> onStack = new HashSet<>();
+        private final Map<GreengrassService, Integer> components = new HashMap<>();
+        private int componentCount;
+
+        Map<GreengrassService, Integer> find(List<GreengrassService> services) {
+            for (GreengrassService service : services) {
+                if (!index.containsKey(service)) {
+                    visit(service);
+                }
+            }
+            return components;
+        }
+
+        private void visit(GreengrassService service) {
+            int serviceIndex = index.size();
+            index.put(service, serviceIndex);
+            lowLink.put(service, serviceIndex);
+            stack.push(service);
+            onStack.add(service);
+            for (GreengrassService dependency : dependencies.getOrDefault(service, Collections.emptyList())) {
+                if (!index.containsKey(dependency)) {
+                    visit(dependency);
+                    lowLink.merge(service, lowLink.get(dependency), Math::min);
+                } else if (onStack.contains(dependency)) {
+                    lowLink.merge(service, index.get(dependency), Math::min);
+                }
+            }
+            if (lowLink.get(service) == serviceIndex) {
+                GreengrassService member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    components.put(member, componentCount);
+                } while (!member.equals(service));
+                componentCount++;
+            }
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void close(GreengrassService service) {
+        if (!started.add(service)) {
+            return;
+        }
+        CompletableFuture<Void> closing;
+        try {
+            closing = cyclic.contains(service) ? service.close(false) : service.close();
+        } catch (Throwable t) {
+            closing = new CompletableFuture<>();
+            closing.completeExceptionally(t);
+        }
+        CompletableFuture<Void> closeFuture = closeFutures.get(service);
+        closing.whenComplete((v, t) -> {
+            // dependencies are closed even if this service failed to close, they would wait for it otherwise
+            for (GreengrassService dependency : dependencies.getOrDefault(service, Collections.emptyList())) {
+                if (openDependers.get(dependency).decrementAndGet() == 0) {
+                    close(dependency);
+                }
+            }
+            if (t == null) {
+                closeFuture.complete(null);
+            } else {
+                closeFuture.completeExceptionally(t);
+            }
+        });
+    }
+}
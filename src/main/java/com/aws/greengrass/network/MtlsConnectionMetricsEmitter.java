@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.network;
+
+import com.aws.greengrass.telemetry.PeriodicMetricsEmitter;
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+
+/**
+ * Emits how many requests went through the shared mTLS connection pool, how many TLS handshakes they took and how
+ * many of those resumed a cached session.
+ */
+public class MtlsConnectionMetricsEmitter extends PeriodicMetricsEmitter {
+    public static final String NAMESPACE = "MtlsConnections";
+    private static final int PERCENTAGE_CONVERTER = 100;
+    private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
+    private final SharedMtlsHttpClient sharedMtlsHttpClient;
+    private long previousRequests;
+    private long previousHandshakes;
+    private long previousResumedHandshakes;
+
+    /**
+     * Constructor for mTLS connection metrics emitter.
+     *
+     * @param streamingMetricsAggregator {@link StreamingMetricsAggregator}
+     * @param sharedMtlsHttpClient       {@link SharedMtlsHttpClient}
+     */
+    @Inject
+    public MtlsConnectionMetricsEmitter(StreamingMetricsAggregator streamingMetricsAggregator,
+                                        SharedMtlsHttpClient sharedMtlsHttpClient) {
+        super();
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
+        this.sharedMtlsHttpClient = sharedMtlsHttpClient;
+    }
+
+    /**
+     * Emit mTLS connection metrics.
+     */
+    @Override
+    public void emitMetrics() {
+        for (Metric metric : getMetrics()) {
+            mf.putMetricData(metric);
+            streamingMetricsAggregator.record(metric);
+        }
+    }
+
+    /**
+     * Retrieve mTLS connection metrics. Counts are what happened since the previous call.
+     *
+     * @return a list of {@link Metric}
+     */
+    @Override
+    public synchronized List<Metric> getMetrics() {
+        List<Metric> metricsList = new ArrayList<>();
+        long timestamp = Instant.now().toEpochMilli();
+        // Counted since the nucleus started, each emission reports what happened since the previous one
+        long requests = sharedMtlsHttpClient.getRequestCount();
+        long handshakes = sharedMtlsHttpClient.getHandshakeCount();
+        long resumedHandshakes = sharedMtlsHttpClient.getResumedHandshakeCount();
+        metricsList.add(countMetric("Requests", requests - previousRequests, timestamp));
+        metricsList.add(countMetric("Handshakes", handshakes - previousHandshakes, timestamp));
+        metricsList.add(countMetric("ResumedHandshakes", resumedHandshakes - previousResumedHandshakes, timestamp));
+        previousRequests = requests;
+        previousHandshakes = handshakes;
+        previousResumedHandshakes = resumedHandshakes;
+
+        metricsList.add(Metric.builder()
+                .namespace(NAMESPACE)
+                .name("ConnectionReuseRate")
+                .unit(TelemetryUnit.Percent)
+                .aggregation(TelemetryAggregation.Average)
+                .value(sharedMtlsHttpClient.getConnectionReuseRate() * PERCENTAGE_CONVERTER)
+                .timestamp(timestamp)
+                .build());
+        return metricsList;
+    }
+
+    private static Metric countMetric(String name, long value, long timestamp) {
+        return Metric.builder()
+                .namespace(NAMESPACE)
+                .name(name)
+                .unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.network;
+
+import com.aws.greengrass.componentmanager.ClientConfigurationUtils;
+import com.aws.greengrass.config.WhatHappened;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.exceptions.TLSAuthException;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_CERTIFICATE_FILE_PATH;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_PRIVATE_KEY_PATH;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_ROOT_CA_PATH;
+
+/**
+ * Connection-pooled HTTP client authenticated with the device identity, shared by every client of the nucleus which
+ * talks to AWS IoT or Greengrass over mutual TLS. Sharing one pool and one SSL context lets requests reuse connections
+ * and resume TLS sessions instead of each client paying for its own handshakes. The underlying client is rebuilt when
+ * the private key, certificate or root CA path changes.
+ */
+public class SharedMtlsHttpClient implements Closeable {
+    private static final Logger logger = LogManager.getLogger(SharedMtlsHttpClient.class);
+
+    private final DeviceConfiguration deviceConfiguration;
+    private final SdkHttpClient sharedClient = new SharedClient();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong resumedHandshakes = new AtomicLong();
+    private SdkHttpClient client;
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param deviceConfiguration device configuration with the device identity and root CA
+     */
+    @Inject
+    public SharedMtlsHttpClient(DeviceConfiguration deviceConfiguration) {
+        this.deviceConfiguration = deviceConfiguration;
+        deviceConfiguration.onAnyChange((what, node) -> {
+            if (WhatHappened.childChanged.equals(what) && node != null && (node.childOf(DEVICE_PARAM_PRIVATE_KEY_PATH)
+                    || node.childOf(DEVICE_PARAM_CERTIFICATE_FILE_PATH) || node.childOf(DEVICE_PARAM_ROOT_CA_PATH))) {
+                logger.atInfo().kv("node", node.getFullName())
+                        .log("Closing shared mTLS http client due to device config change");
+                closeClient();
+            }
+        });
+    }
+
+    /**
+     * Get the shared client. It stays usable across device identity changes and closing it has no effect, it is
+     * closed along with the nucleus.
+     *
+     * @return shared http client
+     */
+    public SdkHttpClient getClient() {
+        return sharedClient;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getHandshakeCount() {
+        return handshakes.get();
+    }
+
+    public long getResumedHandshakeCount() {
+        return resumedHandshakes.get();
+    }
+
+    /**
+     * Get the share of requests which were sent over a pooled connection instead of a new one.
+     *
+     * @return connection reuse rate between 0 and 1
+     */
+    public double getConnectionReuseRate() {
+        long requestCount = requests.get();
+        if (requestCount == 0) {
+            return 0;
+        }
+        return Math.max(0, 1 - (double) connections.get() / requestCount);
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        closeClient();
+    }
+
+    synchronized SdkHttpClient currentClient() {
+        if (closed) {
+            throw new IllegalStateException("Shared mTLS http client is closed");
+        }
+        if (client == null) {
+            client = buildClient();
+        }
+        return client;
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private synchronized void closeClient() {
+        if (client != null) {
+            logger.atDebug().kv("requests", getRequestCount()).kv("connections", getConnectionCount())
+                    .kv("handshakes", getHandshakeCount()).kv("resumedHandshakes", getResumedHandshakeCount())
+                    .log("Closing shared mTLS http client");
+            client.close();
+            client = null;
+        }
+    }
+
+    private SdkHttpClient buildClient() {
+        logger.atDebug().log("Configuring shared mTLS http client");
+        ApacheHttpClient.Builder builder = ClientConfigurationUtils.getConfiguredClientBuilder(deviceConfiguration);
+        try {
+            SSLContext sslContext = ClientConfigurationUtils.createMutualTLSContext(deviceConfiguration);
+            if (sslContext != null) {
+                builder.socketFactory(new CountingSocketFactory(sslContext));
+            }
+        } catch (TLSAuthException e) {
+            // Handshakes are not counted, the client still authenticates with what the builder was configured with
+            logger.atWarn().setCause(e).log("Unable to create SSL context for the shared mTLS http client");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Counts the TLS connections opened for the pool, and how many of their handshakes resumed a cached session.
+     */
+    private class CountingSocketFactory extends SSLConnectionSocketFactory {
+        CountingSocketFactory(SSLContext sslContext) {
+            super(sslContext, SSLConnectionSocketFactory.getDefaultHostnameVerifier());
+        }
+
+        @Override
+        protected void prepareSocket(SSLSocket socket) throws IOException {
+            super.prepareSocket(socket);
+            connections.incrementAndGet();
+            long startedAt = System.currentTimeMillis();
+            socket.addHandshakeCompletedListener(event -> {
+                handshakes.incrementAndGet();
+                // A resumed session was created by an earlier handshake
+                if (event.getSession().getCreationTime() < startedAt) {
+                    resumedHandshakes.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * View of the current client which is handed out to users of the pool.
+     */
+    private class SharedClient implements SdkHttpClient {
+        @Override
+        public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+            requests.incrementAndGet();
+            return currentClient().prepareRequest(request);
+        }
+
+        @Override
+        public String clientName() {
+            return currentClient().clientName();
+        }
+
+        @Override
+        public void close() {
+            // Shared by all users, closed by SharedMtlsHttpClient
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package com.aws.greengrass.security;
 
 import com.aws.greengrass.config.CaseInsensitiveString;
+import com.aws.greengrass.config.WhatHappened;
 import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
@@ -20,6 +21,7 @@ import com.aws.greengrass.util.Utils;
 import com.aws.greengrass.util.exceptions.TLSAuthException;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Value;
 import software.amazon.awssdk.iot.AwsIotMqttConnectionBuilder;
 
 import java.io.IOException;
@@ -28,6 +30,7 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.KeyStore;
@@ -39,10 +42,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_CERTIFICATE_FILE_PATH;
+import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_PRIVATE_KEY_PATH;
+
 public final class SecurityService {
     private static final Logger logger = LogManager.getLogger(SecurityService.class);
     private static final String KEY_TYPE = "keyType";
@@ -67,6 +74,7 @@ public final class SecurityService {
     private final ConcurrentMap<CaseInsensitiveString, MqttConnectionSpi> mqttConnectionProviderMap =
             new ConcurrentHashMap<>();
     private final DeviceConfiguration deviceConfiguration;
+    private final DefaultCryptoKeyProvider defaultProvider = new DefaultCryptoKeyProvider();
 
     /**
      * Constructor of security service.
@@ -74,8 +82,7 @@ public final class SecurityService {
      */
     @Inject
     public SecurityService(DeviceConfiguration deviceConfiguration) {
-        // instantiate and register the default file based provider
-        DefaultCryptoKeyProvider defaultProvider = new DefaultCryptoKeyProvider();
+        // register the default file based provider
         try {
             this.registerCryptoKeyProvider(defaultProvider);
             this.registerMqttConnectionProvider(defaultProvider);
@@ -84,6 +91,13 @@ public final class SecurityService {
             throw new RuntimeException("Default provider has been registered", e);
         }
         this.deviceConfiguration = deviceConfiguration;
+        // Key material loaded for the previous identity is never asked for again
+        deviceConfiguration.onAnyChange((what, node) -> {
+            if (WhatHappened.childChanged.equals(what) && node != null && (node.childOf(DEVICE_PARAM_PRIVATE_KEY_PATH)
+                    || node.childOf(DEVICE_PARAM_CERTIFICATE_FILE_PATH))) {
+                defaultProvider.invalidateKeyManagers();
+            }
+        });
     }
 
     /**
@@ -294,11 +308,22 @@ public final class SecurityService {
 
     static class DefaultCryptoKeyProvider implements CryptoKeySpi, MqttConnectionSpi {
         private static final String SUPPORT_KEY_TYPE = "file";
+        // Key managers are built from a PKCS12 key store holding the key and the certificate chain read from disk.
+        // They are reused for as long as both files are unchanged, so that every new TLS client doesn't pay for it.
+        private final ConcurrentMap<KeyMaterialSource, CachedKeyManagers> keyManagersCache =
+                new ConcurrentHashMap<>();
 
         @SuppressWarnings("PMD.PrematureDeclaration")
         @Override
         public KeyManager[] getKeyManagers(URI privateKeyUri, URI certificateUri)
                 throws KeyLoadingException {
+            KeyMaterialSource source = new KeyMaterialSource(privateKeyUri, certificateUri);
+            KeyMaterialState state = KeyMaterialState.of(privateKeyUri, certificateUri);
+            CachedKeyManagers cached = keyManagersCache.get(source);
+            if (state != null && cached != null && state.equals(cached.getState())) {
+                return cached.getKeyManagers().clone();
+            }
+
             KeyPair keyPair = getKeyPair(privateKeyUri, certificateUri);
 
             if (!isUriSupportedKeyType(certificateUri)) {
@@ -317,12 +342,22 @@ public final class SecurityService {
                 KeyManagerFactory keyManagerFactory =
                         KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
                 keyManagerFactory.init(keyStore, null);
-                return keyManagerFactory.getKeyManagers();
+                KeyManager[] keyManagers = keyManagerFactory.getKeyManagers();
+                if (state == null) {
+                    keyManagersCache.remove(source);
+                } else {
+                    keyManagersCache.put(source, new CachedKeyManagers(state, keyManagers));
+                }
+                return keyManagers.clone();
             } catch (GeneralSecurityException | IOException e) {
                 throw new KeyLoadingException("Failed to get key manager", e);
             }
         }
 
+        void invalidateKeyManagers() {
+            keyManagersCache.clear();
+        }
+
         @Override
         public KeyPair getKeyPair(URI privateKeyUri, URI certificateUri)
                 throws KeyLoadingException {
@@ -359,5 +394,49 @@ public final class SecurityService {
         private boolean isUriSupportedKeyType(URI uri) {
             return new CaseInsensitiveString(supportedKeyType()).equals(new CaseInsensitiveString(uri.getScheme()));
         }
+
+        @Value
+        private static class KeyMaterialSource {
+            URI privateKeyUri;
+            URI certificateUri;
+        }
+
+        @Value
+        private static class CachedKeyManagers {
+            KeyMaterialState state;
+            KeyManager[] keyManagers;
+        }
+
+        /**
+         * Size, modification time and file key of the private key and certificate files, read when the key managers
+         * were built. A file replaced in place, as when the certificate is rotated, changes at least one of them.
+         */
+        @Value
+        private static class KeyMaterialState {
+            long privateKeySize;
+            long privateKeyModifiedNanos;
+            Object privateKeyFileKey;
+            long certificateSize;
+            long certificateModifiedNanos;
+            Object certificateFileKey;
+
+            static KeyMaterialState of(URI privateKeyUri, URI certificateUri) {
+                if (!"file".equalsIgnoreCase(privateKeyUri.getScheme())
+                        || !"file".equalsIgnoreCase(certificateUri.getScheme())) {
+                    return null;
+                }
+                try {
+                    BasicFileAttributes key = Files.readAttributes(Paths.get(privateKeyUri), BasicFileAttributes.class);
+                    BasicFileAttributes cert =
+                            Files.readAttributes(Paths.get(certificateUri), BasicFileAttributes.class);
+                    return new KeyMaterialState(key.size(), key.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                            key.fileKey(), cert.size(), cert.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                            cert.fileKey());
+                } catch (IOException | IllegalArgumentException e) {
+                    // Not cached, loading the key material reports the problem
+                    return null;
+                }
+            }
+        }
     }
 }
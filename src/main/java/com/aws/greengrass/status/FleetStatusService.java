@@ -6,6 +6,7 @@
 package com.aws.greengrass.status;
 
 import com.aws.greengrass.componentmanager.KernelConfigResolver;
+import com.aws.greengrass.config.ConfigSnapshot;
 import com.aws.greengrass.config.PlatformResolver;
 import com.aws.greengrass.config.Subscriber;
 import com.aws.greengrass.config.Topic;
@@ -481,7 +482,7 @@ public class FleetStatusService extends GreengrassService {
             }
         });
 
-        Topics componentsToGroupsTopics = null;
+        ConfigSnapshot componentsToGroups = null;
         HashSet<String> allGroups = new HashSet<>();
         DeploymentService deploymentService = null;
         try {
@@ -489,14 +490,15 @@ public class FleetStatusService extends GreengrassService {
                     .locate(DeploymentService.DEPLOYMENT_SERVICE_TOPICS);
             if (deploymentServiceLocateResult instanceof DeploymentService) {
                 deploymentService = (DeploymentService) deploymentServiceLocateResult;
-                componentsToGroupsTopics = deploymentService.getConfig().lookupTopics(COMPONENTS_TO_GROUPS_TOPICS);
+                componentsToGroups =
+                        deploymentService.getConfig().lookupTopics(COMPONENTS_TO_GROUPS_TOPICS).snapshot();
             }
         } catch (ServiceLoadException e) {
             logger.atError().cause(e).log("Unable to locate {} service while uploading FSS data",
                     DeploymentService.DEPLOYMENT_SERVICE_TOPICS);
         }
 
-        Topics finalComponentsToGroupsTopics = componentsToGroupsTopics;
+        ConfigSnapshot finalComponentsToGroups = componentsToGroups;
 
         DeploymentService finalDeploymentService = deploymentService;
         filteredServices.forEach(service -> {
@@ -504,10 +506,10 @@ public class FleetStatusService extends GreengrassService {
                 return;
             }
             List<String> componentGroups = new ArrayList<>();
-            if (finalComponentsToGroupsTopics != null) {
-                Topics groupsTopics = finalComponentsToGroupsTopics.findTopics(service.getName());
-                if (groupsTopics != null) {
-                    groupsTopics.children.values().stream().map(n -> (Topic) n).map(Topic::getName)
+            if (finalComponentsToGroups != null) {
+                ConfigSnapshot groups = finalComponentsToGroups.getChild(service.getName());
+                if (groups != null && !groups.isLeaf()) {
+                    groups.getChildren().stream().map(ConfigSnapshot::getName)
                             .forEach(groupName -> {
                                 componentGroups.add(groupName);
                                 // Get all the group names from the user components.
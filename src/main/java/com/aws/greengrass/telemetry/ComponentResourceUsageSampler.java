@@ -0,0 +1,203 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.config.Node;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.lifecyclemanager.GenericExternalService;
+import com.aws.greengrass.lifecyclemanager.GreengrassService;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.util.platforms.Platform;
+import com.aws.greengrass.util.platforms.ResourceUsage;
+import com.aws.greengrass.util.platforms.SystemResourceController;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.RUNTIME_STORE_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+import static com.aws.greengrass.telemetry.TelemetryAgent.TELEMETRY_AGENT_SERVICE_TOPICS;
+
+/**
+ * Samples the resource usage of every generic external component from the accounting of its resource controller
+ * (cgroups on Linux), which costs a few file reads per component. Samples are emitted as telemetry metrics and the
+ * latest sample of each component is published to the runtime config of the telemetry agent, under
+ * {@code services.TelemetryAgent.runtime.resourceUsage.<component>}.
+ */
+public class ComponentResourceUsageSampler extends PeriodicMetricsEmitter {
+    private static final Logger logger = LogManager.getLogger(ComponentResourceUsageSampler.class);
+    public static final String NAMESPACE = "ComponentResourceUsage";
+    public static final String RESOURCE_USAGE_TOPIC = "resourceUsage";
+    public static final String CPU_USAGE_KEY = "CpuUsage";
+    public static final String CPU_TIME_NANOS_KEY = "CpuTimeNanos";
+    public static final String MEMORY_USAGE_BYTES_KEY = "MemoryUsageBytes";
+    public static final String MEMORY_MAX_USAGE_BYTES_KEY = "MemoryMaxUsageBytes";
+    public static final String TIMESTAMP_KEY = "Timestamp";
+    private static final double MB_CONVERTER = 1024 * 1024;
+    private static final int PERCENTAGE_CONVERTER = 100;
+
+    private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final Kernel kernel;
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
+    private final SystemResourceController systemResourceController;
+    // component name -> cpu time and monotonic wall time of the previous sample, used to compute the cpu usage
+    private final Map<String, long[]> previousCpuSamples = new HashMap<>();
+    // component name -> latest sample
+    private final Map<String, Map<String, Object>> latestUsage = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for component resource usage sampler.
+     *
+     * @param kernel                     {@link Kernel}
+     * @param streamingMetricsAggregator {@link StreamingMetricsAggregator}
+     */
+    @Inject
+    public ComponentResourceUsageSampler(Kernel kernel, StreamingMetricsAggregator streamingMetricsAggregator) {
+        this(kernel, streamingMetricsAggregator, Platform.getInstance().getSystemResourceController());
+    }
+
+    ComponentResourceUsageSampler(Kernel kernel, StreamingMetricsAggregator streamingMetricsAggregator,
+                                  SystemResourceController systemResourceController) {
+        super();
+        this.kernel = kernel;
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
+        this.systemResourceController = systemResourceController;
+    }
+
+    /**
+     * Sample and emit component resource usage metrics.
+     */
+    @Override
+    public void emitMetrics() {
+        List<Metric> retrievedMetrics = getMetrics();
+        for (Metric retrievedMetric : retrievedMetrics) {
+            mf.putMetricData(retrievedMetric);
+            streamingMetricsAggregator.record(retrievedMetric);
+        }
+    }
+
+    /**
+     * Sample component resource usage metrics.
+     *
+     * @return a list of {@link Metric}
+     */
+    @Override
+    public synchronized List<Metric> getMetrics() {
+        List<Metric> metricsList = new ArrayList<>();
+        long timestamp = Instant.now().toEpochMilli();
+        Set<String> sampledComponents = new HashSet<>();
+        for (GreengrassService service : kernel.orderedDependencies()) {
+            if (!(service instanceof GenericExternalService)) {
+                continue;
+            }
+            String componentName = service.getServiceName();
+            ResourceUsage usage;
+            try {
+                usage = systemResourceController.getResourceUsage(service);
+            } catch (IOException | NumberFormatException e) {
+                logger.atDebug().cause(e).kv("componentName", componentName)
+                        .log("Unable to read the component resource usage");
+                continue;
+            }
+            if (usage == null) {
+                continue;
+            }
+            sampledComponents.add(componentName);
+
+            Map<String, Object> sample = new HashMap<>();
+            sample.put(TIMESTAMP_KEY, timestamp);
+            if (usage.getCpuTimeNanos() != null) {
+                sample.put(CPU_TIME_NANOS_KEY, usage.getCpuTimeNanos());
+                long now = System.nanoTime();
+                long[] previous = previousCpuSamples.put(componentName, new long[]{usage.getCpuTimeNanos(), now});
+                // CPU usage is a rate, so the first sample of a component only sets the baseline
+                if (previous != null && now > previous[1] && usage.getCpuTimeNanos() >= previous[0]) {
+                    // Percentage of one CPU, so it exceeds 100 for a component using several cores
+                    double cpuUsage = (double) (usage.getCpuTimeNanos() - previous[0]) / (now - previous[1])
+                            * PERCENTAGE_CONVERTER;
+                    sample.put(CPU_USAGE_KEY, cpuUsage);
+                    metricsList.add(buildMetric(componentName, CPU_USAGE_KEY, TelemetryUnit.Percent,
+                            TelemetryAggregation.Average, cpuUsage, timestamp));
+                }
+            }
+            if (usage.getMemoryUsageBytes() != null) {
+                sample.put(MEMORY_USAGE_BYTES_KEY, usage.getMemoryUsageBytes());
+                metricsList.add(buildMetric(componentName, "MemoryUsage", TelemetryUnit.Megabytes,
+                        TelemetryAggregation.Average, usage.getMemoryUsageBytes() / MB_CONVERTER, timestamp));
+            }
+            if (usage.getMemoryMaxUsageBytes() != null) {
+                sample.put(MEMORY_MAX_USAGE_BYTES_KEY, usage.getMemoryMaxUsageBytes());
+                metricsList.add(buildMetric(componentName, "MemoryMaxUsage", TelemetryUnit.Megabytes,
+                        TelemetryAggregation.Maximum, usage.getMemoryMaxUsageBytes() / MB_CONVERTER, timestamp));
+            }
+            latestUsage.put(componentName, Collections.unmodifiableMap(sample));
+        }
+        // Forget components which were removed or are no longer resource controlled
+        previousCpuSamples.keySet().retainAll(sampledComponents);
+        latestUsage.keySet().retainAll(sampledComponents);
+        publishLatestUsage();
+        return metricsList;
+    }
+
+    private void publishLatestUsage() {
+        Topics usageTopics = kernel.getConfig().lookupTopics(SERVICES_NAMESPACE_TOPIC,
+                TELEMETRY_AGENT_SERVICE_TOPICS, RUNTIME_STORE_NAMESPACE_TOPIC, RESOURCE_USAGE_TOPIC);
+        // Samples change on every interval, watchers of the whole config like the transaction log don't need to know
+        usageTopics.withParentNeedsToKnow(false);
+        latestUsage.forEach((componentName, sample) -> {
+            Topics componentTopics = usageTopics.lookupTopics(componentName);
+            sample.forEach((key, value) -> componentTopics.lookup(key).withValue(value));
+            removeChildrenExcept(componentTopics, sample.keySet());
+        });
+        removeChildrenExcept(usageTopics, latestUsage.keySet());
+    }
+
+    private static void removeChildrenExcept(Topics topics, Set<String> names) {
+        List<Node> stale = new ArrayList<>();
+        for (Node child : topics) {
+            if (!names.contains(child.getName())) {
+                stale.add(child);
+            }
+        }
+        stale.forEach(Node::remove);
+    }
+
+    /**
+     * Get the latest resource usage sample of every component.
+     *
+     * @return component name -> latest sample
+     */
+    public Map<String, Map<String, Object>> getLatestUsage() {
+        return new HashMap<>(latestUsage);
+    }
+
+    private static Metric buildMetric(String componentName, String name, TelemetryUnit unit,
+                                      TelemetryAggregation aggregation, double value, long timestamp) {
+        return Metric.builder()
+                .namespace(NAMESPACE)
+                .name(componentName + "." + name)
+                .unit(unit)
+                .aggregation(aggregation)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+}
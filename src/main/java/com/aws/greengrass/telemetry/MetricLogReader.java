@@ -0,0 +1,208 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import com.aws.greengrass.util.CommitableFile;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Reads metric log files incrementally. A cursor is kept for every file so that each read only parses the bytes
+ * appended since the previous read. Cursors are persisted in the telemetry directory so that they survive a restart.
+ *
+ * <p>Files are identified by their file key (device and inode on Unix) when the platform provides one, so a log file
+ * which is rotated by renaming keeps its cursor. A cursor also records the size of the file and a checksum of its first
+ * bytes. A file which shrank, or whose first bytes changed, was truncated, rewritten or replaced by a new file reusing
+ * the inode, and is read again from the start.</p>
+ */
+public class MetricLogReader {
+    private static final Logger logger = LogManager.getLogger(MetricLogReader.class);
+    static final String CURSORS_FILE = "MetricLogCursors.checkpoint";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    static final int BUFFER_SIZE = 64 * 1024;
+    // Number of bytes at the start of a file which identify it together with its file key
+    static final int HEAD_SIZE = 256;
+
+    // file key -> cursor
+    private final Map<String, Cursor> cursors = new HashMap<>();
+    private boolean loaded;
+
+    /**
+     * Pass every complete line appended to the file since the last read to the consumer. Reading stops at the first
+     * line for which the consumer returns false, and that line will be passed again on the next read.
+     *
+     * @param path         log file to read
+     * @param lineConsumer consumer of each line, returns false if the line should not be consumed yet. Lines are
+     *                     skipped without being decoded if it is null
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized void readNewLines(Path path, Predicate<String> lineConsumer) throws IOException {
+        loadIfNeeded();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        String fileKey = getFileKey(path, attributes);
+        Cursor cursor = cursors.get(fileKey);
+        long size = attributes.size();
+        long offset = 0;
+        int headLength = (int) Math.min(HEAD_SIZE, size);
+        long headChecksum;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (cursor != null && cursor.getSize() <= size && cursor.getOffset() <= size
+                    && cursor.getHeadChecksum() == headChecksum(channel, cursor.getHeadLength())) {
+                offset = cursor.getOffset();
+            }
+            headChecksum = headChecksum(channel, headLength);
+            if (offset < size) {
+                offset = readLines(channel, offset, lineConsumer);
+            }
+        }
+        cursors.put(fileKey, new Cursor(path.toAbsolutePath().toString(), size, offset, headLength, headChecksum));
+    }
+
+    /**
+     * Move the cursor of the file past every complete line appended since the last read, without parsing them.
+     *
+     * @param path log file to skip
+     * @throws IOException if the file cannot be read
+     */
+    public void skipNewLines(Path path) throws IOException {
+        readNewLines(path, null);
+    }
+
+    private static long headChecksum(FileChannel channel, int length) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(length);
+        int read = 0;
+        while (head.hasRemaining() && read >= 0) {
+            read = channel.read(head, head.position());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(head.array(), 0, head.position());
+        return crc.getValue();
+    }
+
+    /**
+     * Read the file in blocks and pass every complete line to the consumer, decoding only the lines which are passed.
+     * Only a line which spans blocks is copied, a trailing line without a line separator is still being written and is
+     * left for the next read.
+     *
+     * @return offset after the last consumed line
+     */
+    private long readLines(FileChannel channel, long startOffset, Predicate<String> lineConsumer)
+            throws IOException {
+        long offset = startOffset;
+        long position = startOffset;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] block = buffer.array();
+        ByteArrayOutputStream spanningLine = new ByteArrayOutputStream();
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (block[i] != '\n') {
+                    continue;
+                }
+                if (lineConsumer != null) {
+                    String line;
+                    if (spanningLine.size() == 0) {
+                        line = decodeLine(block, lineStart, i);
+                    } else {
+                        spanningLine.write(block, lineStart, i - lineStart);
+                        line = decodeLine(spanningLine.toByteArray(), 0, spanningLine.size());
+                        spanningLine.reset();
+                    }
+                    if (!lineConsumer.test(line)) {
+                        return offset;
+                    }
+                }
+                offset = position + i + 1;
+                lineStart = i + 1;
+            }
+            if (lineConsumer != null) {
+                spanningLine.write(block, lineStart, read - lineStart);
+            }
+            position += read;
+            buffer.clear();
+        }
+        return offset;
+    }
+
+    private static String decodeLine(byte[] bytes, int from, int to) {
+        int end = to > from && bytes[to - 1] == '\r' ? to - 1 : to;
+        return new String(bytes, from, end - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Persist the cursors, dropping those of files which no longer exist.
+     */
+    public synchronized void save() {
+        loadIfNeeded();
+        cursors.values().removeIf(cursor -> !Files.exists(Paths.get(cursor.getPath())));
+        try (CommitableFile out = CommitableFile.commitOnClose(getCursorsPath())) {
+            out.write(objectMapper.writeValueAsBytes(cursors));
+        } catch (IOException e) {
+            logger.atWarn().cause(e).log("Unable to save the metric log cursors");
+        }
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Path path = getCursorsPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            cursors.putAll(objectMapper.readValue(path.toFile(), new TypeReference<Map<String, Cursor>>() {}));
+        } catch (IOException e) {
+            logger.atWarn().cause(e).kv("path", path).log("Unable to load the metric log cursors, reading all logs");
+        }
+    }
+
+    private static String getFileKey(Path path, BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        if (fileKey == null) {
+            return path.toAbsolutePath().toString();
+        }
+        return fileKey.toString();
+    }
+
+    private Path getCursorsPath() {
+        return TelemetryConfig.getTelemetryDirectory().resolve(CURSORS_FILE);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Cursor {
+        private String path;
+        private long size;
+        private long offset;
+        private int headLength;
+        private long headChecksum;
+    }
+}
@@ -27,12 +27,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
+import javax.inject.Inject;
 
 public class MetricsAggregator {
     public static final Logger logger = LogManager.getLogger(MetricsAggregator.class);
     protected static final String AGGREGATE_METRICS_FILE = "AggregateMetrics";
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private final MetricFactory metricFactory = new MetricFactory(AGGREGATE_METRICS_FILE);
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
+    private final MetricLogReader metricLogReader;
+
+    /**
+     * Constructor for the class.
+     *
+     * @param streamingMetricsAggregator {@link StreamingMetricsAggregator}
+     * @param metricLogReader            {@link MetricLogReader}
+     */
+    @Inject
+    public MetricsAggregator(StreamingMetricsAggregator streamingMetricsAggregator,
+                             MetricLogReader metricLogReader) {
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
+        this.metricLogReader = metricLogReader;
+    }
+
+    /**
+     * Checkpoint the metrics aggregated in memory since the last aggregation, so they survive a restart.
+     */
+    public void checkpoint() {
+        streamingMetricsAggregator.checkpoint();
+    }
 
     /**
      * Read namespaces from files.
@@ -44,7 +67,8 @@ public class MetricsAggregator {
         Set<String> namespaces = new HashSet<>();
         try (Stream<Path> paths = Files
                 .walk(TelemetryConfig.getTelemetryDirectory())
-                .filter(Files::isRegularFile)) {
+                .filter(Files::isRegularFile)
+                .filter((path) -> Coerce.toString(path.getFileName()).endsWith(".log"))) {
             paths.forEach((p) -> {
                 String fileName = Coerce.toString(p.getFileName()).split(".log")[0];
                 if (fileName.contains("_")) {
@@ -67,12 +91,23 @@ public class MetricsAggregator {
      * @param currTimestamp timestamp at which the current aggregation is initiated.
      */
     protected void aggregateMetrics(long lastAgg, long currTimestamp) {
+        // Namespaces emitted from within the nucleus are aggregated in memory as they are emitted
+        streamingMetricsAggregator.drain().forEach((namespace, aggregatedMetrics) -> {
+            AggregatedNamespaceData aggMetrics = new AggregatedNamespaceData();
+            aggMetrics.setNamespace(namespace);
+            aggMetrics.setTimestamp(currTimestamp);
+            aggMetrics.setMetrics(aggregatedMetrics);
+            metricFactory.logMetrics(new TelemetryLoggerMessage(aggMetrics));
+        });
+        streamingMetricsAggregator.checkpoint();
+
         for (String namespace : getNamespaceSet()) {
+            // Streamed namespaces were aggregated as they were emitted, their logs are only skipped so they aren't
+            // counted again once the namespace is no longer streamed
+            boolean streamed = streamingMetricsAggregator.isStreamed(namespace);
             AggregatedNamespaceData aggMetrics = new AggregatedNamespaceData();
             HashMap<String, List<Metric>> metrics = new HashMap<>();
-            // Read from the Telemetry/namespace*.log file.
-            // TODO: [P41214521] Read only those files that are modified after the last aggregation.
-            // file.lastModified() behavior is platform dependent.
+            // Read from the Telemetry/namespace*.log file, only parsing what was appended since the last read.
             // filter only files with given namespace that end in ".log"
             try (Stream<Path> paths = Files
                     .walk(TelemetryConfig.getTelemetryDirectory())
@@ -81,8 +116,12 @@ public class MetricsAggregator {
                             && Coerce.toString(path.getFileName()).endsWith(".log"))
             ) {
                 paths.forEach(path -> {
-                    try (Stream<String> logs = Files.lines(path)) {
-                        logs.forEach((log) -> {
+                    try {
+                        if (streamed) {
+                            metricLogReader.skipNewLines(path);
+                            return;
+                        }
+                        metricLogReader.readNewLines(path, (log) -> {
                             try {
                                 /* {"thread":"pool-3-thread-4","level":"TRACE","eventType":null,"message":"{\"NS\":
 
@@ -94,15 +133,18 @@ public class MetricsAggregator {
                                 GreengrassLogMessage egLog = objectMapper.readValue(log,
                                         GreengrassLogMessage.class);
                                 Metric mdp = objectMapper.readValue(egLog.getMessage(), Metric.class);
-                                // Avoid the metrics that are emitted at/after the currTimestamp and before the
-                                // aggregation interval
-                                if (mdp != null && currTimestamp > mdp.getTimestamp() && mdp.getTimestamp()
-                                        >= lastAgg) {
+                                // Leave the metrics that are emitted at/after the currTimestamp for the next
+                                // aggregation, and avoid those emitted before the aggregation interval
+                                if (mdp != null && mdp.getTimestamp() >= currTimestamp) {
+                                    return false;
+                                }
+                                if (mdp != null && mdp.getTimestamp() >= lastAgg) {
                                     metrics.computeIfAbsent(mdp.getName(), k -> new ArrayList<>()).add(mdp);
                                 }
                             } catch (IOException e) {
                                 logger.atError().cause(e).log("Unable to parse the metric log.");
                             }
+                            return true;
                         });
                     } catch (IOException e) {
                         logger.atError().cause(e).log("Unable to parse the emitted metric log file.");
@@ -120,6 +162,7 @@ public class MetricsAggregator {
                 metricFactory.logMetrics(new TelemetryLoggerMessage(aggMetrics));
             }
         }
+        metricLogReader.save();
     }
 
     /**
@@ -173,15 +216,14 @@ public class MetricsAggregator {
     protected Map<Long, List<AggregatedNamespaceData>> getMetricsToPublish(long lastPublish, long currTimestamp) {
         // TODO: We do not need this map. This needs to be converted into a list.
         Map<Long, List<AggregatedNamespaceData>> aggUploadMetrics = new HashMap<>();
-        // Read from the Telemetry/AggregatedMetrics.log file.
-        // TODO: [P41214521] Read only those files that are modified after the last publish.
+        // Read from the Telemetry/AggregatedMetrics.log file, only parsing what was appended since the last read.
         try (Stream<Path> paths = Files
                 .walk(TelemetryConfig.getTelemetryDirectory())
                 .filter(Files::isRegularFile)
                 .filter((path) -> Coerce.toString(path.getFileName()).startsWith(AGGREGATE_METRICS_FILE))) {
             paths.forEach(path -> {
-                try (Stream<String> logs = Files.lines(path)) {
-                    logs.forEach(log -> {
+                try {
+                    metricLogReader.readNewLines(path, log -> {
                         try {
                             /* {"thread":"main","level":"TRACE","eventType":null,
 
@@ -196,14 +238,18 @@ public class MetricsAggregator {
                                     GreengrassLogMessage.class);
                             AggregatedNamespaceData am = objectMapper.readValue(egLog.getMessage(),
                                     AggregatedNamespaceData.class);
-                            // Avoid the metrics that are aggregated at/after the currTimestamp and before the
-                            // upload interval
-                            if (am != null && currTimestamp > am.getTimestamp() && am.getTimestamp() >= lastPublish) {
+                            // Leave the metrics that are aggregated at/after the currTimestamp for the next publish,
+                            // and avoid those aggregated before the upload interval
+                            if (am != null && am.getTimestamp() >= currTimestamp) {
+                                return false;
+                            }
+                            if (am != null && am.getTimestamp() >= lastPublish) {
                                 aggUploadMetrics.computeIfAbsent(currTimestamp, k -> new ArrayList<>()).add(am);
                             }
                         } catch (JsonProcessingException e) {
                             logger.atError().cause(e).log("Unable to parse the aggregated metric log.");
                         }
+                        return true;
                     });
                 } catch (IOException e) {
                     logger.atError().cause(e).log("Unable to parse the aggregated metric log file.");
@@ -212,6 +258,7 @@ public class MetricsAggregator {
         } catch (IOException e) {
             logger.atError().cause(e).log("Unable to read the aggregated metric files from the directory");
         }
+        metricLogReader.save();
 
         // If there are no metrics to be published, then we should return and not publish any telemetry messages.
         if (aggUploadMetrics.isEmpty()) {
@@ -0,0 +1,209 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.util.Coerce;
+import com.aws.greengrass.util.CommitableFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregates metrics in memory as they are emitted, so that {@link MetricsAggregator} does not need to re-read and
+ * re-parse the metric log files of the namespaces emitted from within the nucleus.
+ *
+ * <p>For each namespace and metric name only a running sum, minimum, maximum and count are kept. These compact
+ * aggregates are checkpointed to the telemetry directory on every aggregation interval and on shutdown, so that an
+ * aggregation interval survives a restart.</p>
+ */
+public class StreamingMetricsAggregator {
+    private static final Logger logger = LogManager.getLogger(StreamingMetricsAggregator.class);
+    static final String CHECKPOINT_FILE = "StreamingMetricsAggregates.checkpoint";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // Namespaces without data points for this many aggregation intervals are no longer treated as streamed, so
+    // namespaces of removed components don't pile up
+    static final int MAX_IDLE_INTERVALS = 3;
+
+    // namespace -> metric name -> running aggregate for the current aggregation interval
+    private final Map<String, Map<String, RunningAggregate>> aggregates = new HashMap<>();
+    // namespaces which have been fed to this aggregator -> number of aggregation intervals since their last data point.
+    // Their log files do not need to be parsed.
+    private final Map<String, Integer> streamedNamespaces = new HashMap<>();
+    private boolean restored;
+
+    /**
+     * Add a metric data point to the running aggregate of its namespace and name.
+     *
+     * @param metric emitted metric data point
+     */
+    public synchronized void record(Metric metric) {
+        if (metric == null || metric.getNamespace() == null || metric.getName() == null) {
+            return;
+        }
+        restoreIfNeeded();
+        streamedNamespaces.put(metric.getNamespace(), 0);
+        aggregates.computeIfAbsent(metric.getNamespace(), k -> new HashMap<>())
+                .computeIfAbsent(metric.getName(), k -> new RunningAggregate(metric.getUnit(),
+                        metric.getAggregation()))
+                .add(Coerce.toDouble(metric.getValue()));
+    }
+
+    /**
+     * Check if metrics of the given namespace are aggregated in memory.
+     *
+     * @param namespace metric namespace
+     * @return true if the namespace has been fed to this aggregator
+     */
+    public synchronized boolean isStreamed(String namespace) {
+        restoreIfNeeded();
+        return streamedNamespaces.containsKey(namespace);
+    }
+
+    /**
+     * Get the aggregated metrics of every namespace since the last call and reset the running aggregates. Namespaces
+     * which had no data points for {@value #MAX_IDLE_INTERVALS} calls in a row are forgotten.
+     *
+     * @return namespace -> aggregated metrics. Namespaces without data points are not included.
+     */
+    public synchronized Map<String, List<AggregatedMetric>> drain() {
+        restoreIfNeeded();
+        Map<String, List<AggregatedMetric>> result = new HashMap<>();
+        aggregates.forEach((namespace, metrics) -> {
+            List<AggregatedMetric> aggregatedMetrics = new ArrayList<>();
+            metrics.forEach((name, aggregate) -> aggregatedMetrics.add(aggregate.toAggregatedMetric(name)));
+            if (!aggregatedMetrics.isEmpty()) {
+                result.put(namespace, aggregatedMetrics);
+            }
+        });
+        streamedNamespaces.replaceAll((namespace, idle) -> aggregates.containsKey(namespace) ? 0 : idle + 1);
+        streamedNamespaces.values().removeIf(idle -> idle >= MAX_IDLE_INTERVALS);
+        aggregates.clear();
+        return result;
+    }
+
+    /**
+     * Write the running aggregates to the telemetry directory so that they can be restored after a restart. This
+     * syncs a file, so it is called once per aggregation interval and on shutdown rather than per data point.
+     */
+    public synchronized void checkpoint() {
+        restoreIfNeeded();
+        if (streamedNamespaces.isEmpty()) {
+            try {
+                Files.deleteIfExists(getCheckpointPath());
+            } catch (IOException e) {
+                logger.atWarn().cause(e).log("Unable to delete the streaming metric aggregates checkpoint");
+            }
+            return;
+        }
+        Checkpoint checkpoint = new Checkpoint();
+        checkpoint.setNamespaces(new HashSet<>(streamedNamespaces.keySet()));
+        checkpoint.setAggregates(aggregates);
+        try (CommitableFile out = CommitableFile.commitOnClose(getCheckpointPath())) {
+            out.write(objectMapper.writeValueAsBytes(checkpoint));
+        } catch (IOException e) {
+            logger.atWarn().cause(e).log("Unable to checkpoint the streaming metric aggregates");
+        }
+    }
+
+    private void restoreIfNeeded() {
+        if (restored) {
+            return;
+        }
+        restored = true;
+        Path path = getCheckpointPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Checkpoint checkpoint = objectMapper.readValue(path.toFile(), Checkpoint.class);
+            if (checkpoint.getNamespaces() != null) {
+                checkpoint.getNamespaces().forEach(namespace -> streamedNamespaces.put(namespace, 0));
+            }
+            if (checkpoint.getAggregates() != null) {
+                aggregates.putAll(checkpoint.getAggregates());
+            }
+        } catch (IOException e) {
+            logger.atWarn().cause(e).kv("path", path).log("Unable to restore the streaming metric aggregates");
+        }
+    }
+
+    private Path getCheckpointPath() {
+        return TelemetryConfig.getTelemetryDirectory().resolve(CHECKPOINT_FILE);
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class Checkpoint {
+        private Set<String> namespaces;
+        private Map<String, Map<String, RunningAggregate>> aggregates;
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class RunningAggregate {
+        private TelemetryUnit unit;
+        private TelemetryAggregation aggregation;
+        private double sum;
+        private double min = Double.MAX_VALUE;
+        private double max = -Double.MAX_VALUE;
+        private long count;
+
+        RunningAggregate(TelemetryUnit unit, TelemetryAggregation aggregation) {
+            this.unit = unit;
+            this.aggregation = aggregation;
+        }
+
+        void add(double value) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            count++;
+        }
+
+        AggregatedMetric toAggregatedMetric(String name) {
+            String aggregationType = Coerce.toString(aggregation);
+            double value = 0;
+            if (count > 0 && aggregation != null) {
+                switch (aggregation) {
+                    case Average:
+                        value = sum / count;
+                        break;
+                    case Sum:
+                        value = sum;
+                        break;
+                    case Maximum:
+                        value = max;
+                        break;
+                    case Minimum:
+                        value = min;
+                        break;
+                    default:
+                        logger.atError().log("Unknown aggregation type: {}", aggregationType);
+                        break;
+                }
+            }
+            Map<String, Object> valueMap = new HashMap<>();
+            valueMap.put(aggregationType, value);
+            return AggregatedMetric.builder().name(name).unit(unit).value(valueMap).build();
+        }
+    }
+}
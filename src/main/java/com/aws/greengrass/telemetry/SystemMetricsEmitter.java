@@ -18,6 +18,7 @@ import oshi.hardware.GlobalMemory;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import javax.inject.Inject;
 
 public class SystemMetricsEmitter extends PeriodicMetricsEmitter {
     public static final Logger logger = LogManager.getLogger(SystemMetricsEmitter.class);
@@ -27,8 +28,20 @@ public class SystemMetricsEmitter extends PeriodicMetricsEmitter {
     private static final SystemInfo systemInfo = new SystemInfo();
     private static final CentralProcessor cpu = systemInfo.getHardware().getProcessor();
     private final MetricFactory mf = new MetricFactory(NAMESPACE);
+    private final StreamingMetricsAggregator streamingMetricsAggregator;
     private long[] previousTicks = new long[CentralProcessor.TickType.values().length];
 
+    /**
+     * Constructor for system metrics emitter.
+     *
+     * @param streamingMetricsAggregator {@link StreamingMetricsAggregator}
+     */
+    @Inject
+    public SystemMetricsEmitter(StreamingMetricsAggregator streamingMetricsAggregator) {
+        super();
+        this.streamingMetricsAggregator = streamingMetricsAggregator;
+    }
+
     /**
      * Emit kernel component state metrics.
      */
@@ -37,6 +50,7 @@ public class SystemMetricsEmitter extends PeriodicMetricsEmitter {
         List<Metric> retrievedMetrics = getMetrics();
         for (Metric retrievedMetric : retrievedMetrics) {
             mf.putMetricData(retrievedMetric);
+            streamingMetricsAggregator.record(retrievedMetric);
         }
     }
 
@@ -12,6 +12,7 @@ import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.lifecyclemanager.GreengrassService;
 import com.aws.greengrass.lifecyclemanager.KernelMetricsEmitter;
 import com.aws.greengrass.mqttclient.MqttClient;
+import com.aws.greengrass.network.MtlsConnectionMetricsEmitter;
 import com.aws.greengrass.testing.TestFeatureParameters;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.MqttChunkedPayloadPublisher;
@@ -46,9 +47,12 @@ public class TelemetryAgent extends GreengrassService {
     public static final String TELEMETRY_LAST_PERIODIC_AGGREGATION_TIME_TOPIC = "lastPeriodicAggregationMetricsTime";
     public static final int DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC = 3_600;
     public static final int DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC = 86_400;
+    // Component resource usage is published to the cloud, so sampling it is opt-in
+    public static final int DEFAULT_COMPONENT_RESOURCE_USAGE_SAMPLE_INTERVAL_SEC = 0;
     private static final int MAX_PAYLOAD_LENGTH_BYTES = 128_000;
     private final MqttClient mqttClient;
     private final MetricsAggregator metricsAggregator;
+    private final ComponentResourceUsageSampler componentResourceUsageSampler;
     private final AtomicBoolean isConnected = new AtomicBoolean(true);
     private final Object periodicPublishMetricsInProgressLock = new Object();
     private final Object periodicAggregateMetricsInProgressLock = new Object();
@@ -90,14 +94,17 @@ public class TelemetryAgent extends GreengrassService {
      * @param ma                  {@link MetricsAggregator}
      * @param sme                 {@link SystemMetricsEmitter}
      * @param kme                 {@link KernelMetricsEmitter}
+     * @param mcme                {@link MtlsConnectionMetricsEmitter}
+     * @param crus                {@link ComponentResourceUsageSampler}
      * @param ses                 {@link ScheduledExecutorService}
      * @param executorService     {@link ExecutorService}
      */
     @Inject
     public TelemetryAgent(Topics topics, MqttClient mqttClient, DeviceConfiguration deviceConfiguration,
                           MetricsAggregator ma, SystemMetricsEmitter sme, KernelMetricsEmitter kme,
+                          MtlsConnectionMetricsEmitter mcme, ComponentResourceUsageSampler crus,
                           ScheduledExecutorService ses, ExecutorService executorService) {
-        this(topics, mqttClient, deviceConfiguration, ma, sme, kme, ses, executorService,
+        this(topics, mqttClient, deviceConfiguration, ma, sme, kme, mcme, crus, ses, executorService,
                 DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC, DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC);
     }
 
@@ -110,6 +117,8 @@ public class TelemetryAgent extends GreengrassService {
      * @param ma                                  {@link MetricsAggregator}
      * @param sme                                 {@link SystemMetricsEmitter}
      * @param kme                                 {@link KernelMetricsEmitter}
+     * @param mcme                                {@link MtlsConnectionMetricsEmitter}
+     * @param crus                                {@link ComponentResourceUsageSampler}
      * @param ses                                 {@link ScheduledExecutorService}
      * @param executorService                     {@link ExecutorService}
      * @param periodicPublishMetricsIntervalSec   interval for cadence based telemetry publish.
@@ -118,8 +127,8 @@ public class TelemetryAgent extends GreengrassService {
     @SuppressWarnings("PMD.ExcessiveParameterList")
     TelemetryAgent(Topics topics, MqttClient mqttClient, DeviceConfiguration deviceConfiguration,
                    MetricsAggregator ma, SystemMetricsEmitter sme, KernelMetricsEmitter kme,
-                   ScheduledExecutorService ses, ExecutorService executorService, int periodicPublishMetricsIntervalSec,
-                   int periodicAggregateMetricsIntervalSec) {
+                   MtlsConnectionMetricsEmitter mcme, ComponentResourceUsageSampler crus,
+                   ScheduledExecutorService ses, ExecutorService executorService, int periodicPublishMetricsIntervalSec, int periodicAggregateMetricsIntervalSec) {
         super(topics);
         this.mqttClient = mqttClient;
         this.publisher = new MqttChunkedPayloadPublisher<>(this.mqttClient);
@@ -127,6 +136,7 @@ public class TelemetryAgent extends GreengrassService {
         this.ses = ses;
         this.executorService = executorService;
         this.metricsAggregator = ma;
+        this.componentResourceUsageSampler = crus;
         this.deviceConfiguration = deviceConfiguration;
         this.thingName = Coerce.toString(deviceConfiguration.getThingName());
         int finalPeriodicAggregateMetricsIntervalSec = TestFeatureParameters.retrieveWithDefault(Double.class,
@@ -139,9 +149,11 @@ public class TelemetryAgent extends GreengrassService {
                 .build());
         periodicMetricsEmitters.add(sme);
         periodicMetricsEmitters.add(kme);
+        periodicMetricsEmitters.add(mcme);
         getPeriodicAggregateTimeTopic();
         getPeriodicPublishTimeTopic();
         schedulePeriodicAggregateMetrics(false);
+        scheduleComponentResourceUsageSampling();
         // Subscribe to thing name changes.
         deviceConfiguration.getThingName()
                 .subscribe((why, node) -> updateThingNameAndPublishTopic(Coerce.toString(node)));
@@ -199,6 +211,23 @@ public class TelemetryAgent extends GreengrassService {
         }
     }
 
+    /**
+     * Schedules the sampling of component resource usage based on the configured sampling interval.
+     */
+    void scheduleComponentResourceUsageSampling() {
+        cancelJob(componentResourceUsageSampler.future, periodicAggregateMetricsInProgressLock, false);
+        TelemetryConfiguration configuration = currentConfiguration.get();
+        int sampleIntervalSec = configuration.getComponentResourceUsageSampleIntervalSeconds();
+        if (!configuration.isEnabled() || sampleIntervalSec <= 0) {
+            return;
+        }
+        synchronized (periodicAggregateMetricsInProgressLock) {
+            // Sampled metrics are aggregated in memory, so they can be sampled more often than they are aggregated
+            componentResourceUsageSampler.future = ses.scheduleWithFixedDelay(
+                    componentResourceUsageSampler::emitMetrics, 0, sampleIntervalSec, TimeUnit.SECONDS);
+        }
+    }
+
     /**
      * Schedules the publishing of metrics based on the configured publish interval or the mqtt connection status.
      *
@@ -310,10 +339,11 @@ public class TelemetryAgent extends GreengrassService {
 
     private void handleTelemetryConfiguration(Topics configurationTopics) {
         TelemetryConfiguration newTelemetryConfiguration =
-                TelemetryConfiguration.fromPojo(configurationTopics.toPOJO());
+                TelemetryConfiguration.fromPojo(configurationTopics.snapshot().toPOJO());
         TelemetryConfiguration configuration = currentConfiguration.get();
         boolean aggregateMetricsIntervalSecChanged = false;
         boolean publishMetricsIntervalSecChanged = false;
+        boolean sampleIntervalSecChanged = false;
         if (newTelemetryConfiguration.isEnabled()) {
             // If the current aggregation interval is different from the new interval, then reschedule
             // the periodic aggregation task
@@ -323,6 +353,8 @@ public class TelemetryAgent extends GreengrassService {
             // the publish aggregation task
             publishMetricsIntervalSecChanged = configuration.getPeriodicPublishMetricsIntervalSeconds()
                     != newTelemetryConfiguration.getPeriodicPublishMetricsIntervalSeconds();
+            sampleIntervalSecChanged = configuration.getComponentResourceUsageSampleIntervalSeconds()
+                    != newTelemetryConfiguration.getComponentResourceUsageSampleIntervalSeconds();
         } else {
             // If telemetry is not enabled, then cancel the futures.
             cancelAllJobs();
@@ -334,6 +366,9 @@ public class TelemetryAgent extends GreengrassService {
         if (publishMetricsIntervalSecChanged) {
             schedulePeriodicPublishMetrics(true);
         }
+        if (sampleIntervalSecChanged) {
+            scheduleComponentResourceUsageSampling();
+        }
     }
 
     @SuppressWarnings("PMD.UnusedFormalParameter")
@@ -351,6 +386,8 @@ public class TelemetryAgent extends GreengrassService {
                         .intValue())
                 .periodicAggregateMetricsIntervalSeconds(telemetryConfiguration
                         .getPeriodicAggregateMetricsIntervalSeconds())
+                .componentResourceUsageSampleIntervalSeconds(telemetryConfiguration
+                        .getComponentResourceUsageSampleIntervalSeconds())
                 .enabled(telemetryConfiguration.isEnabled())
                 .build());
         synchronized (periodicPublishMetricsInProgressLock) {
@@ -368,6 +405,8 @@ public class TelemetryAgent extends GreengrassService {
                         .intValue())
                 .periodicPublishMetricsIntervalSeconds(telemetryConfiguration
                         .getPeriodicPublishMetricsIntervalSeconds())
+                .componentResourceUsageSampleIntervalSeconds(telemetryConfiguration
+                        .getComponentResourceUsageSampleIntervalSeconds())
                 .enabled(telemetryConfiguration.isEnabled())
                 .build());
 
@@ -381,6 +420,7 @@ public class TelemetryAgent extends GreengrassService {
     @Override
     public void shutdown() {
         cancelAllJobs();
+        metricsAggregator.checkpoint();
         TestFeatureParameters.unRegisterHandlerCallback(this.getName());
     }
 
@@ -389,6 +429,7 @@ public class TelemetryAgent extends GreengrassService {
         for (PeriodicMetricsEmitter emitter : periodicMetricsEmitters) {
             cancelJob(emitter.future, periodicAggregateMetricsInProgressLock, true);
         }
+        cancelJob(componentResourceUsageSampler.future, periodicAggregateMetricsInProgressLock, true);
         cancelJob(periodicAggregateMetricsFuture, periodicAggregateMetricsInProgressLock, true);
         cancelJob(periodicPublishMetricsFuture, periodicPublishMetricsInProgressLock, true);
     }
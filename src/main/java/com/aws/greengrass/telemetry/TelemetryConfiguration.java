@@ -12,6 +12,7 @@ import lombok.Value;
 
 import java.util.Map;
 
+import static com.aws.greengrass.telemetry.TelemetryAgent.DEFAULT_COMPONENT_RESOURCE_USAGE_SAMPLE_INTERVAL_SEC;
 import static com.aws.greengrass.telemetry.TelemetryAgent.DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC;
 import static com.aws.greengrass.telemetry.TelemetryAgent.DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC;
 import static com.aws.greengrass.telemetry.TelemetryAgent.TELEMETRY_TEST_PERIODIC_AGGREGATE_INTERVAL_SEC;
@@ -27,6 +28,9 @@ public class TelemetryConfiguration {
     int periodicAggregateMetricsIntervalSeconds = DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC;
     @Builder.Default
     int periodicPublishMetricsIntervalSeconds = DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC;
+    // Sampling of component resource usage is disabled if the interval is not positive
+    @Builder.Default
+    int componentResourceUsageSampleIntervalSeconds = DEFAULT_COMPONENT_RESOURCE_USAGE_SAMPLE_INTERVAL_SEC;
 
     /**
      * Get the telemetry configuration from the POJO map.
@@ -36,6 +40,7 @@ public class TelemetryConfiguration {
     public static TelemetryConfiguration fromPojo(Map<String, Object> pojo) {
         int periodicAggregateMetricsIntervalSec = DEFAULT_PERIODIC_AGGREGATE_INTERVAL_SEC;
         int periodicPublishMetricsIntervalSec = DEFAULT_PERIODIC_PUBLISH_INTERVAL_SEC;
+        int componentResourceUsageSampleIntervalSec = DEFAULT_COMPONENT_RESOURCE_USAGE_SAMPLE_INTERVAL_SEC;
         boolean isEnabled = true;
         for (Map.Entry<String, Object> entry : pojo.entrySet()) {
             switch (entry.getKey()) {
@@ -60,6 +65,9 @@ public class TelemetryConfiguration {
                     }
                     periodicPublishMetricsIntervalSec = newPeriodicPublishMetricsIntervalSec;
                     break;
+                case "componentResourceUsageSampleIntervalSec":
+                    componentResourceUsageSampleIntervalSec = Coerce.toInt(entry.getValue());
+                    break;
                 default:
                     break;
             }
@@ -74,6 +82,7 @@ public class TelemetryConfiguration {
                 .enabled(isEnabled)
                 .periodicAggregateMetricsIntervalSeconds(periodicAggregateMetricsIntervalSec)
                 .periodicPublishMetricsIntervalSeconds(periodicPublishMetricsIntervalSec)
+                .componentResourceUsageSampleIntervalSeconds(componentResourceUsageSampleIntervalSec)
                 .build();
     }
 }
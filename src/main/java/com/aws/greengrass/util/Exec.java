@@ -86,8 +86,9 @@ public abstract class Exec implements Closeable {
     protected File dir = userdir;
     private long timeout = -1;
     private TimeUnit timeunit = TimeUnit.SECONDS;
-    private Copier stderrc;
-    private Copier stdoutc;
+    private ProcessOutput stderrc;
+    private ProcessOutput stdoutc;
+    protected String componentName;
     protected Duration gracefulShutdownTimeout = Duration.ofSeconds(5);
 
     public static void setDefaultEnv(String key, String value) {
@@ -104,6 +105,17 @@ public abstract class Exec implements Closeable {
         return this;
     }
 
+    /**
+     * Set the name of the component the command runs for, which its output is accounted to.
+     *
+     * @param name component name.
+     * @return this.
+     */
+    public Exec withComponentName(String name) {
+        componentName = name;
+        return this;
+    }
+
     // TODO Cleanup convenient methods. These are more than necessary
     public String cmd(String... command) throws InterruptedException, IOException {
         return withExec(command).execAndGetStringOutput();
@@ -250,6 +262,21 @@ public abstract class Exec implements Closeable {
         return this;
     }
 
+    /**
+     * Launch the command as another user with the given launcher instead of the platform default one.
+     *
+     * @param launcher name of the launcher, null for the platform default.
+     * @return this.
+     */
+    public Exec withLauncher(String launcher) {
+        UserDecorator decorator = Platform.getInstance().getUserDecorator(launcher);
+        if (userDecorator != null) {
+            decorator.withUser(userDecorator.getUser()).withGroup(userDecorator.getGroup());
+        }
+        userDecorator = decorator;
+        return this;
+    }
+
     /**
      * Execute the command with the specified group.
      *
@@ -316,10 +343,18 @@ public abstract class Exec implements Closeable {
         process = createProcess();
         logger.debug("Created process with pid {}", getPid());
 
-        stderrc = new Copier(process.getErrorStream(), stderr);
-        stdoutc = new Copier(process.getInputStream(), stdout);
-        stderrc.start();
-        stdoutc.start();
+        Pair<ProcessOutput, ProcessOutput> pumped = pumpOutput(stdout, stderr, this::outputClosed);
+        if (pumped == null) {
+            Copier stderrCopier = new Copier(process.getErrorStream(), stderr);
+            Copier stdoutCopier = new Copier(process.getInputStream(), stdout);
+            stderrCopier.start();
+            stdoutCopier.start();
+            stderrc = stderrCopier;
+            stdoutc = stdoutCopier;
+        } else {
+            stdoutc = pumped.getLeft();
+            stderrc = pumped.getRight();
+        }
         if (whenDone == null) {
             try {
                 if (timeout < 0) {
@@ -354,6 +389,32 @@ public abstract class Exec implements Closeable {
      */
     protected abstract Process createProcess() throws IOException;
 
+    /**
+     * Start reading the output of the child process with a shared output pump, instead of a copier thread per
+     * output stream. Only possible for platforms which created the process with pumped output.
+     *
+     * @param out      consumer of stdout lines
+     * @param err      consumer of stderr lines
+     * @param onClosed run once both output streams are closed, on a thread which may block
+     * @return stdout and stderr of the process, or null if they have to be read by copier threads
+     */
+    @Nullable
+    protected Pair<ProcessOutput, ProcessOutput> pumpOutput(Consumer<CharSequence> out, Consumer<CharSequence> err,
+                                                           Runnable onClosed) {
+        return null;
+    }
+
+    private void outputClosed() {
+        if (whenDone != null) {
+            try {
+                process.waitFor();
+                setClosed();
+            } catch (InterruptedException ignore) {
+                // Ignore as the waiting thread is done anyway
+            }
+        }
+    }
+
     /**
      * Get the stdout and stderr output as a string.
      *
@@ -413,11 +474,31 @@ public abstract class Exec implements Closeable {
         return Utils.deepToString(cmds, 90).toString();
     }
 
+    /**
+     * Output stream of a child process which is sent to a consumer line by line in the background.
+     */
+    public interface ProcessOutput {
+        /**
+         * Get the number of lines sent so far.
+         *
+         * @return number of lines.
+         */
+        int getNlines();
+
+        /**
+         * Wait until the stream is closed and all of its lines are sent.
+         *
+         * @param millis maximum time to wait.
+         * @throws InterruptedException if interrupted while waiting.
+         */
+        void join(long millis) throws InterruptedException;
+    }
+
     /**
      * Sends the lines of an InputStream to a consumer in the background.
      */
     @SuppressWarnings("PMD.AvoidCatchingThrowable")
-    private class Copier extends Thread {
+    private class Copier extends Thread implements ProcessOutput {
         private final Consumer<CharSequence> out;
         private final InputStream in;
         @Getter
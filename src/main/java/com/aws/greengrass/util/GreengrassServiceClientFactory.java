@@ -12,17 +12,17 @@ import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.deployment.exceptions.DeviceConfigurationException;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.network.SharedMtlsHttpClient;
 import lombok.AccessLevel;
 import lombok.Getter;
 import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.retry.RetryMode;
-import software.amazon.awssdk.http.SdkHttpClient;
-import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.greengrassv2data.GreengrassV2DataClient;
 import software.amazon.awssdk.services.greengrassv2data.GreengrassV2DataClientBuilder;
 
+import java.io.Closeable;
 import java.net.URI;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.inject.Inject;
@@ -37,36 +37,54 @@ import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_ROO
 
 @Getter
 @SuppressWarnings("PMD.ConfusingTernary")
-public class GreengrassServiceClientFactory {
+public class GreengrassServiceClientFactory implements Closeable {
 
     public static final String CONFIGURING_GGV2_INFO_MESSAGE = "Configuring GGV2 client";
     private static final Logger logger = LogManager.getLogger(GreengrassServiceClientFactory.class);
     private final DeviceConfiguration deviceConfiguration;
     @Getter(AccessLevel.NONE)
-    private SdkHttpClient cachedHttpClient;
+    private final SharedMtlsHttpClient sharedMtlsHttpClient;
+    // Created by this factory instead of shared with the rest of the nucleus, so closed along with it
+    @Getter(AccessLevel.NONE)
+    private final boolean ownsSharedMtlsHttpClient;
     private GreengrassV2DataClient greengrassV2DataClient;
     // stores the result of last validation; null <=> successful
     private volatile String configValidationError;
     private final AtomicBoolean deviceConfigChanged = new AtomicBoolean(true);
 
+    /**
+     * Constructor with custom endpoint/region configuration, for a client with its own connection pool. The pool is
+     * closed when the factory is closed.
+     *
+     * @param deviceConfiguration       Device configuration
+     */
+    public GreengrassServiceClientFactory(DeviceConfiguration deviceConfiguration) {
+        this(deviceConfiguration, new SharedMtlsHttpClient(deviceConfiguration), true);
+    }
+
     /**
      * Constructor with custom endpoint/region configuration.
      *
      * @param deviceConfiguration       Device configuration
+     * @param sharedMtlsHttpClient      connection pool shared by all mTLS clients of the nucleus
      */
     @Inject
-    public GreengrassServiceClientFactory(DeviceConfiguration deviceConfiguration) {
+    public GreengrassServiceClientFactory(DeviceConfiguration deviceConfiguration,
+                                          SharedMtlsHttpClient sharedMtlsHttpClient) {
+        this(deviceConfiguration, sharedMtlsHttpClient, false);
+    }
+
+    private GreengrassServiceClientFactory(DeviceConfiguration deviceConfiguration,
+                                           SharedMtlsHttpClient sharedMtlsHttpClient,
+                                           boolean ownsSharedMtlsHttpClient) {
         this.deviceConfiguration = deviceConfiguration;
+        this.sharedMtlsHttpClient = sharedMtlsHttpClient;
+        this.ownsSharedMtlsHttpClient = ownsSharedMtlsHttpClient;
         deviceConfiguration.onAnyChange((what, node) -> {
             if (WhatHappened.interiorAdded.equals(what) || WhatHappened.timestampUpdated.equals(what)) {
                 return;
             }
-            if (validString(node, DEVICE_PARAM_ROOT_CA_PATH) || validString(node, DEVICE_PARAM_CERTIFICATE_FILE_PATH)
-                    || validString(node, DEVICE_PARAM_PRIVATE_KEY_PATH)) {
-                logger.atInfo().kv("node", node.getFullName()).log("Closing cached http client for Greengrass v2 "
-                        + "data client due to device config change");
-                cleanHttpClient();
-            }
+            // The shared http client reconfigures itself when the root CA, certificate or private key changes
             if (validString(node, DEVICE_PARAM_AWS_REGION) || validString(node, DEVICE_PARAM_ROOT_CA_PATH)
                     || validString(node, DEVICE_PARAM_CERTIFICATE_FILE_PATH) || validString(node,
                     DEVICE_PARAM_PRIVATE_KEY_PATH) || validString(node, DEVICE_PARAM_GG_DATA_PLANE_PORT)
@@ -101,13 +119,15 @@ public class GreengrassServiceClientFactory {
         }
     }
 
-    @SuppressWarnings("PMD.NullAssignment")
-    private void cleanHttpClient() {
-        synchronized (this) {
-            if (this.cachedHttpClient != null) {
-                this.cachedHttpClient.close();
-                this.cachedHttpClient = null;
-            }
+    /**
+     * Close the Greengrass v2 data client, and the connection pool if this factory created it. A pool shared with
+     * the rest of the nucleus stays open.
+     */
+    @Override
+    public void close() {
+        cleanClient();
+        if (ownsSharedMtlsHttpClient) {
+            sharedMtlsHttpClient.close();
         }
     }
 
@@ -163,24 +183,13 @@ public class GreengrassServiceClientFactory {
         return greengrassV2DataClient;
     }
 
-    // Caching a http client since it only needs to be recreated if the cert/keys change
-    private void configureHttpClient(DeviceConfiguration deviceConfiguration) {
-        logger.atDebug().log("Configuring http client for greengrass v2 data client");
-        ApacheHttpClient.Builder httpClientBuilder =
-                ClientConfigurationUtils.getConfiguredClientBuilder(deviceConfiguration);
-        cachedHttpClient = httpClientBuilder.build();
-    }
-
     private void configureClient(DeviceConfiguration deviceConfiguration) {
-        if (cachedHttpClient == null) {
-            configureHttpClient(deviceConfiguration);
-        }
         logger.atDebug().log(CONFIGURING_GGV2_INFO_MESSAGE);
         GreengrassV2DataClientBuilder clientBuilder = GreengrassV2DataClient.builder()
                 // Use an empty credential provider because our requests don't need SigV4
                 // signing, as they are going through IoT Core instead
                 .credentialsProvider(AnonymousCredentialsProvider.create())
-                .httpClient(cachedHttpClient)
+                .httpClient(sharedMtlsHttpClient.getClient())
                 .overrideConfiguration(ClientOverrideConfiguration.builder().retryPolicy(RetryMode.STANDARD).build());
 
         String region = Coerce.toString(deviceConfiguration.getAWSRegion());
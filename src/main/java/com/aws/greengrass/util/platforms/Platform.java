@@ -82,6 +82,17 @@ public abstract class Platform implements UserPlatform {
 
     public abstract UserDecorator getUserDecorator();
 
+    /**
+     * Get a decorator which runs commands as another user with the given launcher. Platforms which don't support the
+     * launcher return their default decorator.
+     *
+     * @param launcher name of the launcher, null for the default one
+     * @return user decorator
+     */
+    public UserDecorator getUserDecorator(String launcher) {
+        return getUserDecorator();
+    }
+
     public abstract String getPrivilegedGroup();
 
     public abstract String getPrivilegedUser();
@@ -0,0 +1,22 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Cumulative resource usage accounted to the processes of a component. Values which the platform does not account
+ * are null.
+ */
+@Value
+@Builder
+public class ResourceUsage {
+    // Total CPU time consumed since the component's resource controller was created
+    Long cpuTimeNanos;
+    Long memoryUsageBytes;
+    Long memoryMaxUsageBytes;
+}
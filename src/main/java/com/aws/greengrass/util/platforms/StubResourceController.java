@@ -47,4 +47,9 @@ public class StubResourceController implements SystemResourceController {
     public void resumeComponentProcesses(GreengrassService component) throws IOException {
         // no op
     }
+
+    @Override
+    public ResourceUsage getResourceUsage(GreengrassService component) throws IOException {
+        return null;
+    }
 }
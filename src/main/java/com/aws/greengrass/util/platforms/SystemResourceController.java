@@ -59,4 +59,13 @@ public interface SystemResourceController {
      * @throws IOException on failure to resume
      */
     void resumeComponentProcesses(GreengrassService component) throws IOException;
+
+    /**
+     * Read the cumulative resource usage accounted to the processes of a generic external service.
+     *
+     * @param component a greengrass service instance
+     * @return resource usage, or null if the resource usage of the component is not accounted
+     * @throws IOException on failure to read the resource usage
+     */
+    ResourceUsage getResourceUsage(GreengrassService component) throws IOException;
 }
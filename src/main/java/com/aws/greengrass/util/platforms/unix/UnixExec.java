@@ -7,7 +7,6 @@ package com.aws.greengrass.util.platforms.unix;
 
 import com.aws.greengrass.util.Exec;
 import com.aws.greengrass.util.platforms.Platform;
-import org.zeroturnaround.process.PidProcess;
 import org.zeroturnaround.process.Processes;
 
 import java.io.IOException;
@@ -16,10 +15,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 @SuppressWarnings("PMD.AvoidCatchingThrowable")
@@ -32,7 +31,7 @@ public class UnixExec extends Exec {
         computeDefaultPathString();
     }
 
-    UnixExec() {
+    protected UnixExec() {
         super();
         environment = new HashMap<>(defaultEnvironment);
     }
@@ -69,11 +68,22 @@ public class UnixExec extends Exec {
         logger.atTrace().kv("decorated command", String.join(" ", command)).log();
         ProcessBuilder pb = new ProcessBuilder();
         pb.environment().putAll(environment);
-        process = pb.directory(dir).command(command).start();
+        process = startProcess(pb.directory(dir).command(command));
         pid = Processes.newPidProcess(process).getPid();
         return process;
     }
 
+    /**
+     * Start the child process.
+     *
+     * @param pb process builder which is set up to run the command
+     * @return child process
+     * @throws IOException if IO error occurs
+     */
+    protected Process startProcess(ProcessBuilder pb) throws IOException {
+        return pb.start();
+    }
+
     @Override
     public int getPid() {
         return pid;
@@ -101,7 +111,7 @@ public class UnixExec extends Exec {
             return;
         }
 
-        Platform platformInstance = Platform.getInstance();
+        UnixPlatform platformInstance = (UnixPlatform) Platform.getInstance();
 
         Set<Integer> pids = Collections.emptySet();
         try {
@@ -111,20 +121,8 @@ public class UnixExec extends Exec {
             // children anyway. This way, any misbehaving children or grandchildren will be killed
             // whether or not the parent behaved appropriately.
 
-            // Wait up to 5 seconds for each child process to stop
-            List<PidProcess> pidProcesses = pids.stream().map(Processes::newPidProcess).collect(Collectors.toList());
-            for (PidProcess pp : pidProcesses) {
-                pp.waitFor(gracefulShutdownTimeout.getSeconds(), TimeUnit.SECONDS);
-            }
-            if (pidProcesses.stream().anyMatch(pidProcess -> {
-                try {
-                    return pidProcess.isAlive();
-                } catch (IOException ignored) {
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                return false;
-            })) {
+            // Wait up to 5 seconds for the child processes to stop
+            if (!waitForExit(platformInstance, pids)) {
                 logger.atWarn()
                         .log("Command {} did not respond to interruption within timeout. Going to kill it now", this);
             }
@@ -140,4 +138,28 @@ public class UnixExec extends Exec {
             }
         }
     }
+
+    private boolean waitForExit(UnixPlatform platform, Set<Integer> pids) throws InterruptedException {
+        long deadline = System.nanoTime() + gracefulShutdownTimeout.toNanos();
+        long pollMillis = 5;
+        Set<Integer> running = new HashSet<>(pids);
+        while (true) {
+            for (Iterator<Integer> it = running.iterator(); it.hasNext(); ) {
+                try {
+                    if (!platform.isProcessAlive(it.next())) {
+                        it.remove();
+                    }
+                } catch (IOException ignored) {
+                    // treat the process as stopped if we can't tell, like the force kill does
+                    it.remove();
+                }
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (running.isEmpty() || remainingMillis <= 0) {
+                return running.isEmpty();
+            }
+            Thread.sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(pollMillis * 2, 100);
+        }
+    }
 }
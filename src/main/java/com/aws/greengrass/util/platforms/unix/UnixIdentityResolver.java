@@ -0,0 +1,383 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix;
+
+import com.aws.greengrass.config.PlatformResolver;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.CrashableSupplier;
+import com.sun.jna.Library;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import com.sun.jna.Structure;
+import com.sun.jna.ptr.PointerByReference;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.aws.greengrass.config.PlatformResolver.OS_LINUX;
+
+/**
+ * Resolves users and groups with the reentrant passwd and group functions of the C library, which go through NSS like
+ * the id command does without starting a process. Results are cached for a while, and the whole cache is dropped when
+ * /etc/passwd or /etc/group is modified. Only the Linux layouts of the passwd and group structs are mapped, other
+ * platforms keep using the command based lookups.
+ */
+public final class UnixIdentityResolver {
+    static final long CACHE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long STATS_REPORT_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final Logger logger = LogManager.getLogger(UnixIdentityResolver.class);
+    private static final Path PASSWD_FILE = Paths.get("/etc/passwd");
+    private static final Path GROUP_FILE = Paths.get("/etc/group");
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MAX_BUFFER_SIZE = 1024 * 1024;
+    private static final int ERANGE = 34;
+    // uid_t and gid_t are unsigned 32 bit integers
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+    private static final UnixIdentityResolver INSTANCE = new UnixIdentityResolver();
+
+    private final IdentityLibC libC;
+    private final Map<String, Cached<UserEntry>> users = new ConcurrentHashMap<>();
+    private final Map<String, Cached<GroupEntry>> groups = new ConcurrentHashMap<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong nativeLookups = new AtomicLong();
+    private final AtomicLong nativeLookupNanos = new AtomicLong();
+    private final AtomicLong commandLookups = new AtomicLong();
+    private final AtomicLong commandLookupNanos = new AtomicLong();
+    private final AtomicLong lastStatsReport = new AtomicLong(System.currentTimeMillis());
+    private volatile FileTime passwdModified;
+    private volatile FileTime groupModified;
+
+    private UnixIdentityResolver() {
+        this.libC = loadLibC();
+    }
+
+    public static UnixIdentityResolver getInstance() {
+        return INSTANCE;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static IdentityLibC loadLibC() {
+        if (!OS_LINUX.equals(PlatformResolver.getOSInfo())) {
+            return null;
+        }
+        try {
+            return Native.load("c", IdentityLibC.class);
+        } catch (Throwable e) {
+            logger.atWarn().setCause(e).log("Unable to load the C library, users and groups are looked up with id");
+            return null;
+        }
+    }
+
+    /**
+     * Check whether users and groups can be resolved natively.
+     *
+     * @return false if the command based lookups have to be used
+     */
+    public boolean isAvailable() {
+        return libC != null;
+    }
+
+    /**
+     * Look up a user by name or numeric id.
+     *
+     * @param identifier user name or uid
+     * @return the user, or empty if there is no such user
+     * @throws IOException if the lookup fails
+     */
+    public Optional<UserEntry> lookupUser(String identifier) throws IOException {
+        if (!isAvailable()) {
+            throw new IOException("Native user lookup is not available");
+        }
+        invalidateIfModified();
+        Cached<UserEntry> cached = users.get(identifier);
+        if (cached != null && !cached.isExpired()) {
+            cacheHits.incrementAndGet();
+            return Optional.of(cached.getValue());
+        }
+        long start = System.nanoTime();
+        try {
+            Optional<UserEntry> user = isNumeric(identifier) ? getpw(identifier, true) : getpw(identifier, false);
+            user.ifPresent(u -> users.put(identifier, new Cached<>(u, System.currentTimeMillis())));
+            return user;
+        } finally {
+            nativeLookups.incrementAndGet();
+            nativeLookupNanos.addAndGet(System.nanoTime() - start);
+            reportStatsIfDue();
+        }
+    }
+
+    /**
+     * Look up a group by name or numeric id.
+     *
+     * @param identifier group name or gid
+     * @return the group, or empty if there is no such group
+     * @throws IOException if the lookup fails
+     */
+    public Optional<GroupEntry> lookupGroup(String identifier) throws IOException {
+        if (!isAvailable()) {
+            throw new IOException("Native group lookup is not available");
+        }
+        invalidateIfModified();
+        Cached<GroupEntry> cached = groups.get(identifier);
+        if (cached != null && !cached.isExpired()) {
+            cacheHits.incrementAndGet();
+            return Optional.of(cached.getValue());
+        }
+        long start = System.nanoTime();
+        try {
+            Optional<GroupEntry> group = isNumeric(identifier) ? getgr(identifier, true) : getgr(identifier, false);
+            group.ifPresent(g -> groups.put(identifier, new Cached<>(g, System.currentTimeMillis())));
+            return group;
+        } finally {
+            nativeLookups.incrementAndGet();
+            nativeLookupNanos.addAndGet(System.nanoTime() - start);
+            reportStatsIfDue();
+        }
+    }
+
+    /**
+     * Run a command based lookup, which is counted in the lookup statistics.
+     *
+     * @param lookup lookup to run
+     * @param <T>    lookup result
+     * @return result of the lookup
+     * @throws IOException if the lookup fails
+     */
+    <T> T timeCommandLookup(CrashableSupplier<T, IOException> lookup) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return lookup.apply();
+        } finally {
+            commandLookups.incrementAndGet();
+            commandLookupNanos.addAndGet(System.nanoTime() - start);
+            reportStatsIfDue();
+        }
+    }
+
+    /**
+     * Get the number of lookups and their latency since the nucleus started.
+     *
+     * @return lookup statistics
+     */
+    public LookupStats getLookupStats() {
+        return new LookupStats(cacheHits.get(), nativeLookups.get(), average(nativeLookupNanos, nativeLookups),
+                commandLookups.get(), average(commandLookupNanos, commandLookups));
+    }
+
+    /**
+     * Log the lookup statistics every few minutes, when lookups are being made. Cache hits alone don't need a report.
+     */
+    private void reportStatsIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastStatsReport.get();
+        if (now - last < STATS_REPORT_INTERVAL_MILLIS || !lastStatsReport.compareAndSet(last, now)) {
+            return;
+        }
+        LookupStats stats = getLookupStats();
+        logger.atInfo("identity-lookup-stats").kv("cacheHits", stats.getCacheHits())
+                .kv("nativeLookups", stats.getNativeLookups())
+                .kv("nativeLookupAverageMillis", stats.getNativeLookupAverageMillis())
+                .kv("commandLookups", stats.getCommandLookups())
+                .kv("commandLookupAverageMillis", stats.getCommandLookupAverageMillis())
+                .log("User and group lookups since the nucleus started");
+    }
+
+    private static double average(AtomicLong nanos, AtomicLong count) {
+        long n = count.get();
+        return n == 0 ? 0 : nanos.get() / (double) n / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static boolean isNumeric(String identifier) {
+        return !identifier.isEmpty() && identifier.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * Parse a numeric user or group id.
+     *
+     * @param identifier numeric identifier
+     * @return the id as the int passed to the C library, or null if it isn't a valid uid_t or gid_t
+     */
+    private static Integer parseId(String identifier) {
+        try {
+            long id = Long.parseLong(identifier);
+            return id >= 0 && id <= MAX_ID ? (int) id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void invalidateIfModified() {
+        FileTime passwd = lastModified(PASSWD_FILE);
+        FileTime group = lastModified(GROUP_FILE);
+        if (!Objects.equals(passwd, passwdModified) || !Objects.equals(group, groupModified)) {
+            users.clear();
+            groups.clear();
+            passwdModified = passwd;
+            groupModified = group;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Optional<UserEntry> getpw(String identifier, boolean byId) throws IOException {
+        Integer uid = byId ? parseId(identifier) : null;
+        if (byId && uid == null) {
+            // Nothing can have an id outside of the uid_t range, so don't wrap it into somebody else's id
+            return Optional.empty();
+        }
+        for (int size = INITIAL_BUFFER_SIZE; size <= MAX_BUFFER_SIZE; size *= 2) {
+            Passwd passwd = new Passwd();
+            Memory buffer = new Memory(size);
+            PointerByReference result = new PointerByReference();
+            int err = byId
+                    ? libC.getpwuid_r(uid, passwd, buffer, new NativeLong(size), result)
+                    : libC.getpwnam_r(identifier, passwd, buffer, new NativeLong(size), result);
+            if (err == ERANGE) {
+                continue;
+            }
+            if (err != 0) {
+                throw new IOException("Error while looking up user " + identifier + ", errno " + err);
+            }
+            if (result.getValue() == null) {
+                return Optional.empty();
+            }
+            passwd.read();
+            return Optional.of(new UserEntry(passwd.pw_name, Integer.toUnsignedLong(passwd.pw_uid),
+                    Integer.toUnsignedLong(passwd.pw_gid), passwd.pw_dir));
+        }
+        throw new IOException("Passwd entry of user " + identifier + " is too large");
+    }
+
+    private Optional<GroupEntry> getgr(String identifier, boolean byId) throws IOException {
+        Integer gid = byId ? parseId(identifier) : null;
+        if (byId && gid == null) {
+            return Optional.empty();
+        }
+        for (int size = INITIAL_BUFFER_SIZE; size <= MAX_BUFFER_SIZE; size *= 2) {
+            Group group = new Group();
+            Memory buffer = new Memory(size);
+            PointerByReference result = new PointerByReference();
+            int err = byId
+                    ? libC.getgrgid_r(gid, group, buffer, new NativeLong(size), result)
+                    : libC.getgrnam_r(identifier, group, buffer, new NativeLong(size), result);
+            if (err == ERANGE) {
+                continue;
+            }
+            if (err != 0) {
+                throw new IOException("Error while looking up group " + identifier + ", errno " + err);
+            }
+            if (result.getValue() == null) {
+                return Optional.empty();
+            }
+            group.read();
+            return Optional.of(new GroupEntry(group.gr_name, Integer.toUnsignedLong(group.gr_gid)));
+        }
+        throw new IOException("Group entry of group " + identifier + " is too large");
+    }
+
+    /**
+     * User from the passwd database.
+     */
+    @Value
+    public static class UserEntry {
+        String name;
+        long uid;
+        long gid;
+        String home;
+    }
+
+    /**
+     * Group from the group database.
+     */
+    @Value
+    public static class GroupEntry {
+        String name;
+        long gid;
+    }
+
+    /**
+     * Number of user and group lookups and their average latency in milliseconds.
+     */
+    @Value
+    public static class LookupStats {
+        long cacheHits;
+        long nativeLookups;
+        double nativeLookupAverageMillis;
+        long commandLookups;
+        double commandLookupAverageMillis;
+    }
+
+    @Value
+    private static class Cached<T> {
+        T value;
+        long cachedAt;
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - cachedAt > CACHE_TTL_MILLIS;
+        }
+    }
+
+    @SuppressWarnings("PMD")
+    @SuppressFBWarnings
+    interface IdentityLibC extends Library {
+        int getpwnam_r(String name, Passwd pwd, Pointer buf, NativeLong buflen, PointerByReference result);
+
+        int getpwuid_r(int uid, Passwd pwd, Pointer buf, NativeLong buflen, PointerByReference result);
+
+        int getgrnam_r(String name, Group grp, Pointer buf, NativeLong buflen, PointerByReference result);
+
+        int getgrgid_r(int gid, Group grp, Pointer buf, NativeLong buflen, PointerByReference result);
+    }
+
+    /**
+     * struct passwd from pwd.h on Linux.
+     */
+    @SuppressWarnings("PMD")
+    @SuppressFBWarnings
+    @Structure.FieldOrder({"pw_name", "pw_passwd", "pw_uid", "pw_gid", "pw_gecos", "pw_dir", "pw_shell"})
+    public static class Passwd extends Structure {
+        public String pw_name;
+        public String pw_passwd;
+        public int pw_uid;
+        public int pw_gid;
+        public String pw_gecos;
+        public String pw_dir;
+        public String pw_shell;
+    }
+
+    /**
+     * struct group from grp.h on Linux.
+     */
+    @SuppressWarnings("PMD")
+    @SuppressFBWarnings
+    @Structure.FieldOrder({"gr_name", "gr_passwd", "gr_gid", "gr_mem"})
+    public static class Group extends Structure {
+        public String gr_name;
+        public String gr_passwd;
+        public int gr_gid;
+        public Pointer gr_mem;
+    }
+}
@@ -178,6 +178,31 @@ public class UnixPlatform extends Platform {
             throw new IOException("No user to lookup");
         }
         boolean isNumeric = user.chars().allMatch(Character::isDigit);
+        UnixIdentityResolver resolver = UnixIdentityResolver.getInstance();
+        if (resolver.isAvailable()) {
+            Optional<UnixIdentityResolver.UserEntry> entry;
+            try {
+                entry = resolver.lookupUser(user);
+            } catch (IOException e) {
+                logger.atDebug().setEventType("id-lookup").kv("user", user).setCause(e)
+                        .log("Native user lookup failed, looking up with id");
+                return resolver.timeCommandLookup(() -> lookupUserWithId(user, isNumeric));
+            }
+            if (entry.isPresent()) {
+                return UnixUserAttributes.builder().principalName(entry.get().getName())
+                        .principalIdentifier(String.valueOf(entry.get().getUid()))
+                        .primaryGid(entry.get().getGid()).build();
+            }
+            // if customer put in an ID it does not need to exist on the system
+            if (isNumeric) {
+                return UnixUserAttributes.builder().principalName(user).principalIdentifier(user).build();
+            }
+            throw new IOException("Unrecognized user: " + user);
+        }
+        return resolver.timeCommandLookup(() -> lookupUserWithId(user, isNumeric));
+    }
+
+    private static UnixUserAttributes lookupUserWithId(String user, boolean isNumeric) throws IOException {
         UnixUserAttributes.UnixUserAttributesBuilder builder = UnixUserAttributes.builder();
 
         if (isNumeric) {
@@ -201,11 +226,28 @@ public class UnixPlatform extends Platform {
         return builder.build();
     }
 
-    @SuppressWarnings("PMD.AssignmentInOperand")
     private static UnixGroupAttributes lookupGroup(String name) throws IOException {
         if (Utils.isEmpty(name)) {
             throw new IOException("No group to lookup");
         }
+        UnixIdentityResolver resolver = UnixIdentityResolver.getInstance();
+        if (resolver.isAvailable()) {
+            try {
+                Optional<UnixIdentityResolver.GroupEntry> entry = resolver.lookupGroup(name);
+                if (entry.isPresent()) {
+                    return UnixGroupAttributes.builder().principalName(entry.get().getName())
+                            .principalIdentifier(String.valueOf(entry.get().getGid())).build();
+                }
+            } catch (IOException e) {
+                logger.atDebug().setEventType("id-lookup").kv("group", name).setCause(e)
+                        .log("Native group lookup failed, looking up in " + POSIX_GROUP_FILE);
+            }
+        }
+        return resolver.timeCommandLookup(() -> lookupGroupInFile(name));
+    }
+
+    @SuppressWarnings("PMD.AssignmentInOperand")
+    private static UnixGroupAttributes lookupGroupInFile(String name) throws IOException {
         try (BufferedReader reader = Files.newBufferedReader(Paths.get(POSIX_GROUP_FILE))) {
             String line;
             while ((line = reader.readLine()) != null) {
@@ -277,7 +319,7 @@ public class UnixPlatform extends Platform {
             }
 
             for (Integer pid : pids) {
-                if (!Processes.newPidProcess(pid).isAlive()) {
+                if (!isProcessAlive(pid)) {
                     continue;
                 }
 
@@ -299,7 +341,29 @@ public class UnixPlatform extends Platform {
         return pids;
     }
 
-    private void killProcess(boolean force, UserDecorator decorator, Integer pid)
+    /**
+     * Check whether a process is still running.
+     *
+     * @param pid process id
+     * @return true if the process exists
+     * @throws IOException          if the check fails
+     * @throws InterruptedException if interrupted while checking
+     */
+    public boolean isProcessAlive(int pid) throws IOException, InterruptedException {
+        return Processes.newPidProcess(pid).isAlive();
+    }
+
+    /**
+     * Send SIGTERM or SIGKILL to a single process with the kill command, run through the decorator so that processes
+     * of other users can be signalled.
+     *
+     * @param force     true to send SIGKILL instead of SIGTERM
+     * @param decorator user decorator for the kill command, may be null
+     * @param pid       process id
+     * @throws IOException          if the kill command can't be run
+     * @throws InterruptedException if interrupted while waiting for the kill command
+     */
+    protected void killProcess(boolean force, UserDecorator decorator, int pid)
             throws IOException, InterruptedException {
         String[] cmd = {"kill", "-" + (force ? SIGKILL : SIGTERM), Integer.toString(pid)};
         if (decorator != null) {
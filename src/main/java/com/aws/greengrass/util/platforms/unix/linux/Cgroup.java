@@ -25,6 +25,9 @@ public enum Cgroup {
     private static final String CPU_CFS_QUOTA_US = "cpu.cfs_quota_us";
     private static final String CGROUP_PROCS = "cgroup.procs";
     private static final String FREEZER_STATE_FILE = "freezer.state";
+    private static final String CPUACCT_USAGE = "cpuacct.usage";
+    private static final String MEMORY_USAGE = "memory.usage_in_bytes";
+    private static final String MEMORY_MAX_USAGE = "memory.max_usage_in_bytes";
 
     private final String osString;
     private final String mountSrc;
@@ -82,4 +85,16 @@ public enum Cgroup {
     public Path getCgroupFreezerStateFilePath(String componentName) {
         return getSubsystemComponentPath(componentName).resolve(FREEZER_STATE_FILE);
     }
+
+    public Path getComponentCpuUsagePath(String componentName) {
+        return getSubsystemComponentPath(componentName).resolve(CPUACCT_USAGE);
+    }
+
+    public Path getComponentMemoryUsagePath(String componentName) {
+        return getSubsystemComponentPath(componentName).resolve(MEMORY_USAGE);
+    }
+
+    public Path getComponentMemoryMaxUsagePath(String componentName) {
+        return getSubsystemComponentPath(componentName).resolve(MEMORY_MAX_USAGE);
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.util.Pair;
+import com.aws.greengrass.util.platforms.unix.UnixExec;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Runs processes whose output is read by the shared {@link LinuxOutputPump}, falling back to the copier threads of
+ * {@link UnixExec} when the pump can't be used.
+ */
+public class LinuxExec extends UnixExec {
+    private LinuxOutputPump outputPump;
+    private LinuxOutputPump.Pipes pipes;
+
+    @Override
+    protected Process startProcess(ProcessBuilder pb) throws IOException {
+        LinuxOutputPump pump = LinuxOutputPump.getInstance();
+        if (pump == null) {
+            return super.startProcess(pb);
+        }
+        LinuxOutputPump.Pipes newPipes = pump.openPipes();
+        boolean started = false;
+        try {
+            Process p = super.startProcess(pb.redirectOutput(ProcessBuilder.Redirect.appendTo(newPipes.getStdoutSink()))
+                    .redirectError(ProcessBuilder.Redirect.appendTo(newPipes.getStderrSink())));
+            started = true;
+            return p;
+        } finally {
+            newPipes.closeSinks();
+            if (started) {
+                outputPump = pump;
+                pipes = newPipes;
+            } else {
+                newPipes.close();
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    @SuppressWarnings("PMD.NullAssignment")
+    protected Pair<ProcessOutput, ProcessOutput> pumpOutput(Consumer<CharSequence> out, Consumer<CharSequence> err,
+                                                           Runnable onClosed) {
+        if (pipes == null) {
+            return null;
+        }
+        Pair<ProcessOutput, ProcessOutput> pumped =
+                outputPump.register(pipes, componentName, getProcess(), out, err, onClosed);
+        pipes = null;
+        return pumped;
+    }
+}
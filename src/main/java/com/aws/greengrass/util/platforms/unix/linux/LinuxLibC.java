@@ -0,0 +1,47 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.nio.ByteBuffer;
+
+/**
+ * JNA bindings for the parts of the Linux C library which aren't covered by JNA platform.
+ */
+@SuppressWarnings("PMD")
+@SuppressFBWarnings
+interface LinuxLibC extends Library {
+    LinuxLibC INSTANCE = Native.load("c", LinuxLibC.class);
+
+    int O_NONBLOCK = 04000;
+    int O_CLOEXEC = 02000000;
+    int F_GETFL = 3;
+    int F_SETFL = 4;
+    int EPERM = 1;
+    int ESRCH = 3;
+    int EINTR = 4;
+    int EAGAIN = 11;
+    short POLLIN = 0x1;
+
+    int pipe2(int[] fds, int flags);
+
+    int fcntl(int fd, int cmd, int arg);
+
+    int poll(Pointer fds, NativeLong nfds, int timeout);
+
+    NativeLong read(int fd, ByteBuffer buf, NativeLong count);
+
+    NativeLong write(int fd, byte[] buf, NativeLong count);
+
+    int close(int fd);
+
+    int kill(int pid, int sig);
+}
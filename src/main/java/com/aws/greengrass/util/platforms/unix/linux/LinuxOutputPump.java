@@ -0,0 +1,721 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.MetricFactory;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.util.Exec;
+import com.aws.greengrass.util.Pair;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Platform;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Reads the output of all child processes on a few shared threads, instead of a copier thread per output stream.
+ * Children write into pipes created by the nucleus whose non-blocking read ends are polled together, output is read in
+ * bulk into a direct buffer and split into lines there. The lines of each read are handed over as one batch to the
+ * consumers of the process, which get them in order on a small pool of consumer threads, so a consumer which blocks
+ * only holds up the output of its own process as long as not all consumer threads are blocked. The pump uses the flag
+ * and error numbers of the generic Linux ABI, so it is only used on the architectures which share them.
+ */
+public final class LinuxOutputPump {
+    private static final Logger logger = LogManager.getLogger(LinuxOutputPump.class);
+    private static final int PUMP_THREADS = 2;
+    private static final int CONSUMER_THREADS = 4;
+    private static final int CLOSE_HANDLER_THREADS = 2;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // Bounds the reads from one stream per poll, so that a chatty process can't starve the others
+    private static final int MAX_READS_PER_POLL = 4;
+    // struct pollfd is an int fd followed by short events and short revents
+    private static final int POLLFD_SIZE = 8;
+    private static final int POLLFD_EVENTS_OFFSET = 4;
+    private static final int POLLFD_REVENTS_OFFSET = 6;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 256;
+    private static final long METRICS_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    static final String METRICS_NAMESPACE = "ProcessOutput";
+    private static final String NUCLEUS_OUTPUT = "nucleus";
+    // Lines queued for the consumers of a process, beyond which its output is not read until they catch up
+    private static final int MAX_QUEUED_LINES = 1024;
+    // Batches delivered in one go before the consumer thread moves on to the queues of other processes
+    private static final int MAX_BATCHES_PER_RUN = 16;
+    // A process may keep running after closing its output, its exit is then checked with a growing delay
+    private static final long MIN_EXIT_CHECK_DELAY_MILLIS = 10;
+    private static final long MAX_EXIT_CHECK_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    // Values of JNA's Platform.ARCH whose O_NONBLOCK, O_CLOEXEC and EAGAIN are the ones in LinuxLibC
+    private static final Set<String> SUPPORTED_ARCHITECTURES =
+            new HashSet<>(Arrays.asList("x86", "x86-64", "arm", "armel", "aarch64"));
+
+    private static LinuxOutputPump instance;
+    private static boolean unavailable;
+
+    private final LinuxLibC libC;
+    private final PumpThread[] pumpThreads;
+    private final AtomicInteger nextPumpThread = new AtomicInteger();
+    private final ScheduledExecutorService closeHandlers = Executors.newScheduledThreadPool(CLOSE_HANDLER_THREADS,
+            r -> {
+                Thread t = new Thread(r, "OutputPump-closed");
+                t.setDaemon(true);
+                return t;
+            });
+    private final ExecutorService consumerThreads = Executors.newFixedThreadPool(CONSUMER_THREADS, r -> {
+        Thread t = new Thread(r, "OutputPump-consumer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, OutputCounter> counters = new ConcurrentHashMap<>();
+    private final MetricFactory metricFactory = new MetricFactory(METRICS_NAMESPACE);
+
+    LinuxOutputPump(LinuxLibC libC, int threads) throws IOException {
+        this.libC = libC;
+        this.pumpThreads = new PumpThread[threads];
+        for (int i = 0; i < threads; i++) {
+            pumpThreads[i] = new PumpThread(i);
+        }
+        for (PumpThread thread : pumpThreads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Get the output pump shared by all processes started by the nucleus.
+     *
+     * @return output pump, or null if it can't be used on this host
+     */
+    @Nullable
+    public static synchronized LinuxOutputPump getInstance() {
+        if (instance == null && !unavailable) {
+            if (!SUPPORTED_ARCHITECTURES.contains(Platform.ARCH)) {
+                unavailable = true;
+                logger.atInfo().kv("arch", Platform.ARCH)
+                        .log("Process output pump isn't supported on this architecture, using a copier thread per "
+                                + "output stream");
+                return null;
+            }
+            try {
+                instance = new LinuxOutputPump(LinuxLibC.INSTANCE, PUMP_THREADS);
+            } catch (IOException | LinkageError e) {
+                unavailable = true;
+                logger.atWarn().setCause(e)
+                        .log("Unable to start the process output pump, using a copier thread per output stream");
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Create the pipes for the output of a new process. The sinks are handed to the process, and the pipes must then
+     * be registered or closed.
+     *
+     * @return pipes for stdout and stderr
+     * @throws IOException if the pipes can't be created
+     */
+    Pipes openPipes() throws IOException {
+        int[] stdout = pipe();
+        try {
+            return new Pipes(stdout, pipe());
+        } catch (IOException e) {
+            libC.close(stdout[0]);
+            libC.close(stdout[1]);
+            throw e;
+        }
+    }
+
+    /**
+     * Start pumping the output of a started process. The pump takes over the read ends of the pipes.
+     *
+     * @param pipes         pipes whose sinks the process was started with
+     * @param componentName name of the component the process runs for, used for the output metrics
+     * @param process       process writing into the pipes
+     * @param out           consumer of the stdout lines
+     * @param err           consumer of the stderr lines
+     * @param onClosed      called once both stdout and stderr are closed and the process exited
+     * @return stdout and stderr which are being pumped
+     */
+    Pair<Exec.ProcessOutput, Exec.ProcessOutput> register(Pipes pipes, @Nullable String componentName,
+                                                          @Nullable Process process, Consumer<CharSequence> out,
+                                                          Consumer<CharSequence> err, Runnable onClosed) {
+        OutputCounter counter = counters.computeIfAbsent(componentName == null ? NUCLEUS_OUTPUT : componentName,
+                k -> new OutputCounter());
+        AtomicInteger open = new AtomicInteger(2);
+        Runnable streamClosed = () -> {
+            if (open.decrementAndGet() == 0 && onClosed != null) {
+                runWhenExited(process, onClosed, MIN_EXIT_CHECK_DELAY_MILLIS);
+            }
+        };
+        PumpThread thread = pumpThreads[Math.floorMod(nextPumpThread.getAndIncrement(), pumpThreads.length)];
+        // One queue for both streams, so that the consumers see the lines in the order they were read
+        ConsumerQueue consumerQueue = new ConsumerQueue(thread);
+        PumpedStream stdout = new PumpedStream(pipes.takeStdoutSource(), out, counter, consumerQueue, streamClosed);
+        PumpedStream stderr = new PumpedStream(pipes.takeStderrSource(), err, counter, consumerQueue, streamClosed);
+
+        thread.add(stdout);
+        thread.add(stderr);
+        thread.wakeUp();
+        return new Pair<>(stdout, stderr);
+    }
+
+    private int[] pipe() throws IOException {
+        int[] fds = new int[2];
+        if (libC.pipe2(fds, LinuxLibC.O_CLOEXEC) != 0) {
+            throw new IOException("Unable to create pipe, errno " + Native.getLastError());
+        }
+        try {
+            setNonBlocking(fds[0]);
+        } catch (IOException e) {
+            libC.close(fds[0]);
+            libC.close(fds[1]);
+            throw e;
+        }
+        return fds;
+    }
+
+    private void setNonBlocking(int fd) throws IOException {
+        int flags = libC.fcntl(fd, LinuxLibC.F_GETFL, 0);
+        if (flags < 0 || libC.fcntl(fd, LinuxLibC.F_SETFL, flags | LinuxLibC.O_NONBLOCK) < 0) {
+            throw new IOException("Unable to make pipe non-blocking, errno " + Native.getLastError());
+        }
+    }
+
+    /**
+     * Run the close handler once the process exited, without holding a close handler thread while it keeps running
+     * after closing its output.
+     */
+    private void runWhenExited(@Nullable Process process, Runnable onClosed, long delayMillis) {
+        if (process == null || !process.isAlive()) {
+            closeHandlers.execute(onClosed);
+            return;
+        }
+        closeHandlers.schedule(() -> runWhenExited(process, onClosed,
+                Math.min(delayMillis * 2, MAX_EXIT_CHECK_DELAY_MILLIS)), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Emit the bytes and lines each component wrote since the last emission. Output of processes which aren't run for a
+     * component is emitted as nucleus.
+     */
+    private void emitOutputMetrics() {
+        long timestamp = System.currentTimeMillis();
+        counters.forEach((name, counter) -> {
+            long bytes = counter.bytes.get();
+            long lines = counter.lines.get();
+            if (bytes == counter.reportedBytes && lines == counter.reportedLines) {
+                return;
+            }
+            metricFactory.putMetricData(outputMetric(name + ".OutputBytes", bytes - counter.reportedBytes,
+                    timestamp));
+            metricFactory.putMetricData(outputMetric(name + ".OutputLines", lines - counter.reportedLines,
+                    timestamp));
+            counter.reportedBytes = bytes;
+            counter.reportedLines = lines;
+        });
+    }
+
+    private static Metric outputMetric(String name, long value, long timestamp) {
+        return Metric.builder()
+                .namespace(METRICS_NAMESPACE)
+                .name(name)
+                .unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum)
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static class OutputCounter {
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong lines = new AtomicLong();
+        // Only used by the thread which emits the metrics
+        private long reportedBytes;
+        private long reportedLines;
+    }
+
+    /**
+     * Pipes for the stdout and stderr of one process. The sinks are opened by the process through /proc, so that they
+     * can be given to {@link ProcessBuilder} as files.
+     */
+    final class Pipes implements Closeable {
+        private final int[] stdout;
+        private final int[] stderr;
+
+        private Pipes(int[] stdout, int[] stderr) {
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+
+        File getStdoutSink() {
+            return new File("/proc/self/fd/" + stdout[1]);
+        }
+
+        File getStderrSink() {
+            return new File("/proc/self/fd/" + stderr[1]);
+        }
+
+        /**
+         * Close the nucleus' copies of the sinks once the process is started, so that the pipes are closed when the
+         * process and its children exit.
+         */
+        void closeSinks() {
+            closeFd(stdout, 1);
+            closeFd(stderr, 1);
+        }
+
+        @Override
+        public void close() {
+            closeSinks();
+            closeFd(stdout, 0);
+            closeFd(stderr, 0);
+        }
+
+        private int takeStdoutSource() {
+            int fd = stdout[0];
+            stdout[0] = -1;
+            return fd;
+        }
+
+        private int takeStderrSource() {
+            int fd = stderr[0];
+            stderr[0] = -1;
+            return fd;
+        }
+
+        private void closeFd(int[] fds, int index) {
+            if (fds[index] >= 0) {
+                libC.close(fds[index]);
+                fds[index] = -1;
+            }
+        }
+    }
+
+    /**
+     * Polls the streams assigned to it, and reads and splits the output of those which are ready. New streams are
+     * added by waking the thread up through its own pipe.
+     */
+    private final class PumpThread extends Thread {
+        private final int[] wakeUpPipe;
+        private final byte[] wakeUpByte = new byte[1];
+        private final boolean emitsMetrics;
+        private final Queue<PumpedStream> added = new ConcurrentLinkedQueue<>();
+        private final List<PumpedStream> streams = new ArrayList<>();
+        private final List<PumpedStream> polled = new ArrayList<>();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private Memory pollFds = new Memory(POLLFD_SIZE * 16L);
+
+        PumpThread(int index) throws IOException {
+            super("OutputPump-" + index);
+            setDaemon(true);
+            wakeUpPipe = pipe();
+            setNonBlocking(wakeUpPipe[1]);
+            emitsMetrics = index == 0;
+        }
+
+        void add(PumpedStream stream) {
+            added.add(stream);
+        }
+
+        void wakeUp() {
+            // A failed write means that the pipe is full, and the thread is being woken up already
+            libC.write(wakeUpPipe[1], wakeUpByte, new NativeLong(1));
+        }
+
+        @Override
+        @SuppressWarnings({"PMD.AvoidCatchingGenericException", "InfiniteLoopStatement"})
+        public void run() {
+            long lastEmission = System.currentTimeMillis();
+            while (true) {
+                try {
+                    for (PumpedStream stream = added.poll(); stream != null; stream = added.poll()) {
+                        streams.add(stream);
+                    }
+                    int timeout = -1;
+                    if (emitsMetrics) {
+                        long now = System.currentTimeMillis();
+                        if (now - lastEmission >= METRICS_INTERVAL_MILLIS) {
+                            emitOutputMetrics();
+                            lastEmission = now;
+                        }
+                        timeout = (int) (METRICS_INTERVAL_MILLIS - (now - lastEmission));
+                    }
+                    pollOnce(timeout);
+                } catch (RuntimeException e) {
+                    logger.atError().setCause(e).log("Error while pumping process output");
+                }
+            }
+        }
+
+        private void pollOnce(int timeout) {
+            // Streams whose consumers are behind are left unread until the consumers wake the thread up
+            polled.clear();
+            for (PumpedStream stream : streams) {
+                if (!stream.consumerQueue.isFull()) {
+                    polled.add(stream);
+                }
+            }
+            int count = polled.size() + 1;
+            if (pollFds.size() < (long) count * POLLFD_SIZE) {
+                pollFds = new Memory((long) count * 2 * POLLFD_SIZE);
+            }
+            setPollFd(0, wakeUpPipe[0]);
+            for (int i = 1; i < count; i++) {
+                setPollFd(i, polled.get(i - 1).fd);
+            }
+            if (libC.poll(pollFds, new NativeLong(count), timeout) < 0) {
+                int errno = Native.getLastError();
+                if (errno != LinuxLibC.EINTR) {
+                    logger.atWarn().kv("errno", errno).log("Unable to poll process output");
+                }
+                return;
+            }
+            if (revents(0) != 0) {
+                drainWakeUps();
+            }
+            boolean anyClosed = false;
+            for (int i = 1; i < count; i++) {
+                PumpedStream stream = polled.get(i - 1);
+                if (revents(i) != 0 && !stream.readAvailable(buffer)) {
+                    stream.close();
+                    anyClosed = true;
+                }
+            }
+            if (anyClosed) {
+                streams.removeIf(PumpedStream::isClosed);
+            }
+        }
+
+        private void setPollFd(int index, int fd) {
+            long offset = (long) index * POLLFD_SIZE;
+            pollFds.setInt(offset, fd);
+            pollFds.setShort(offset + POLLFD_EVENTS_OFFSET, LinuxLibC.POLLIN);
+            pollFds.setShort(offset + POLLFD_REVENTS_OFFSET, (short) 0);
+        }
+
+        private short revents(int index) {
+            return pollFds.getShort((long) index * POLLFD_SIZE + POLLFD_REVENTS_OFFSET);
+        }
+
+        private void drainWakeUps() {
+            buffer.clear();
+            while (libC.read(wakeUpPipe[0], buffer, new NativeLong(buffer.capacity())).longValue() > 0) {
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Output stream of a process which is read by a pump thread. Lines are split on \n and \r the same way as
+     * by the copier threads of {@link Exec}, with \r\n being a single line break.
+     */
+    private final class PumpedStream implements Exec.ProcessOutput {
+        private final int fd;
+        private final Consumer<CharSequence> consumer;
+        private final OutputCounter counter;
+        private final ConsumerQueue consumerQueue;
+        private final Runnable onClosed;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private boolean fdClosed;
+        private final AtomicInteger nlines = new AtomicInteger();
+        // Partial line, which is completed by a later read
+        private byte[] pending = new byte[INITIAL_LINE_BUFFER_SIZE];
+        private int pendingLength;
+        // Complete lines of the current read, each ending with \n, which are handed to the consumer together
+        private byte[] batch = new byte[INITIAL_LINE_BUFFER_SIZE];
+        private int batchLength;
+        private int batchLines;
+        private boolean lastWasCr;
+
+        PumpedStream(int fd, Consumer<CharSequence> consumer, OutputCounter counter, ConsumerQueue consumerQueue,
+                     Runnable onClosed) {
+            this.fd = fd;
+            this.consumer = consumer;
+            this.counter = counter;
+            this.consumerQueue = consumerQueue;
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public int getNlines() {
+            return nlines.get();
+        }
+
+        @Override
+        public void join(long millis) throws InterruptedException {
+            closed.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        boolean isClosed() {
+            return fdClosed;
+        }
+
+        /**
+         * Read what the process has written so far.
+         *
+         * @param buffer buffer to read into
+         * @return false once the stream is closed
+         */
+        boolean readAvailable(ByteBuffer buffer) {
+            for (int i = 0; i < MAX_READS_PER_POLL && !consumerQueue.isFull(); i++) {
+                buffer.clear();
+                long read = libC.read(fd, buffer, new NativeLong(buffer.capacity())).longValue();
+                if (read == 0) {
+                    return false;
+                }
+                if (read < 0) {
+                    int errno = Native.getLastError();
+                    if (errno == LinuxLibC.EAGAIN) {
+                        return true;
+                    }
+                    if (errno != LinuxLibC.EINTR) {
+                        return false;
+                    }
+                    continue;
+                }
+                counter.bytes.addAndGet(read);
+                split(buffer, (int) read);
+                submitBatch();
+            }
+            return true;
+        }
+
+        void close() {
+            if (pendingLength > 0 && consumer != null) {
+                // Like the copier, the last line is passed on even without a line break
+                appendToBatch(pending, pendingLength);
+                batchLines++;
+                submitBatch();
+            }
+            pendingLength = 0;
+            libC.close(fd);
+            fdClosed = true;
+            // Closed once the consumers got every line
+            consumerQueue.submit(new LineBatch(null, null, 0, () -> {
+                closed.countDown();
+                onClosed.run();
+            }));
+        }
+
+        private void split(ByteBuffer buffer, int length) {
+            int start = 0;
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' && lastWasCr) {
+                    lastWasCr = false;
+                    start = i + 1;
+                } else if (b == '\n' || b == '\r') {
+                    endLine(buffer, start, i);
+                    lastWasCr = b == '\r';
+                    start = i + 1;
+                } else {
+                    lastWasCr = false;
+                }
+            }
+            appendToPending(buffer, start, length);
+        }
+
+        private void endLine(ByteBuffer buffer, int from, int to) {
+            nlines.incrementAndGet();
+            counter.lines.incrementAndGet();
+            if (consumer != null) {
+                appendToBatch(pending, pendingLength);
+                int length = to - from;
+                ensureBatchCapacity(length + 1);
+                buffer.position(from);
+                buffer.get(batch, batchLength, length);
+                batchLength += length;
+                batch[batchLength++] = '\n';
+                batchLines++;
+            }
+            pendingLength = 0;
+            if (pending.length > READ_BUFFER_SIZE) {
+                pending = new byte[INITIAL_LINE_BUFFER_SIZE];
+            }
+        }
+
+        private void appendToPending(ByteBuffer buffer, int from, int to) {
+            int length = to - from;
+            if (length <= 0 || consumer == null) {
+                return;
+            }
+            if (pendingLength + length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+            }
+            buffer.position(from);
+            buffer.get(pending, pendingLength, length);
+            pendingLength += length;
+        }
+
+        private void appendToBatch(byte[] bytes, int length) {
+            ensureBatchCapacity(length);
+            System.arraycopy(bytes, 0, batch, batchLength, length);
+            batchLength += length;
+        }
+
+        private void ensureBatchCapacity(int length) {
+            if (batchLength + length > batch.length) {
+                batch = Arrays.copyOf(batch, Math.max(batch.length * 2, batchLength + length));
+            }
+        }
+
+        private void submitBatch() {
+            if (batchLines > 0) {
+                consumerQueue.submit(new LineBatch(consumer, Arrays.copyOf(batch, batchLength), batchLines, null));
+            }
+            batchLength = 0;
+            batchLines = 0;
+            if (batch.length > READ_BUFFER_SIZE * 2) {
+                batch = new byte[INITIAL_LINE_BUFFER_SIZE];
+            }
+        }
+    }
+
+    /**
+     * Lines read from one stream in one go, each ending with \n except for a last line without a line break, or only
+     * an action to run after the lines queued before it.
+     */
+    private static final class LineBatch {
+        private final Consumer<CharSequence> consumer;
+        private final byte[] lines;
+        private final int lineCount;
+        private final Runnable then;
+
+        LineBatch(@Nullable Consumer<CharSequence> consumer, @Nullable byte[] lines, int lineCount,
+                  @Nullable Runnable then) {
+            this.consumer = consumer;
+            this.lines = lines;
+            this.lineCount = lineCount;
+            this.then = then;
+        }
+
+        /**
+         * Pass the lines to the consumer one by one. Like the copier threads, the consumer gets a builder which is
+         * reused for the next line.
+         */
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        void deliver(StringBuilder line) {
+            if (consumer != null && lines != null) {
+                String text = new String(lines, StandardCharsets.UTF_8);
+                int start = 0;
+                while (start < text.length()) {
+                    int end = text.indexOf('\n', start);
+                    end = end < 0 ? text.length() : end + 1;
+                    line.setLength(0);
+                    line.append(text, start, end);
+                    start = end;
+                    try {
+                        consumer.accept(line);
+                    } catch (RuntimeException e) {
+                        logger.atWarn().setCause(e).log("Process output consumer threw an exception");
+                    }
+                }
+            }
+            if (then != null) {
+                then.run();
+            }
+        }
+    }
+
+    /**
+     * Passes the line batches of one process to its consumers one after the other on the consumer threads. When too
+     * many lines are queued, the pump stops reading the output of the process, which then blocks on its full pipe,
+     * instead of the nucleus buffering without bound. The pump thread is woken up once the consumers caught up. A
+     * queue gives up its consumer thread after a few batches, so that the queues of all processes get their turn.
+     */
+    private final class ConsumerQueue implements Runnable {
+        private final PumpThread pumpThread;
+        private final Queue<LineBatch> batches = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicBoolean throttled = new AtomicBoolean();
+        // Only used by the consumer thread which is running the queue
+        private final StringBuilder line = new StringBuilder();
+
+        ConsumerQueue(PumpThread pumpThread) {
+            this.pumpThread = pumpThread;
+        }
+
+        void submit(LineBatch batch) {
+            batches.add(batch);
+            queued.addAndGet(batch.lineCount);
+            schedule();
+        }
+
+        /**
+         * Check if the consumers are too far behind to read more output. Only called by the pump thread.
+         *
+         * @return true if no more output should be read for now
+         */
+        boolean isFull() {
+            if (queued.get() < MAX_QUEUED_LINES) {
+                return false;
+            }
+            throttled.set(true);
+            // The consumers may have caught up before they could see the flag
+            return queued.get() >= MAX_QUEUED_LINES || !throttled.compareAndSet(true, false);
+        }
+
+        private void schedule() {
+            if (running.compareAndSet(false, true)) {
+                consumerThreads.execute(this);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingGenericException")
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                    LineBatch batch = batches.poll();
+                    if (batch == null) {
+                        break;
+                    }
+                    try {
+                        batch.deliver(line);
+                    } catch (RuntimeException e) {
+                        logger.atWarn().setCause(e).log("Process output close handler threw an exception");
+                    }
+                    if (queued.addAndGet(-batch.lineCount) <= MAX_QUEUED_LINES / 2
+                            && throttled.compareAndSet(true, false)) {
+                        pumpThread.wakeUp();
+                    }
+                }
+            } finally {
+                running.set(false);
+            }
+            // Batches left or added after the last poll are delivered on the next turn
+            if (!batches.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
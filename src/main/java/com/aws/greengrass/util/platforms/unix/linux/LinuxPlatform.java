@@ -5,14 +5,155 @@
 
 package com.aws.greengrass.util.platforms.unix.linux;
 
+import com.aws.greengrass.util.Exec;
 import com.aws.greengrass.util.platforms.SystemResourceController;
+import com.aws.greengrass.util.platforms.UserDecorator;
 import com.aws.greengrass.util.platforms.unix.UnixPlatform;
+import com.sun.jna.Native;
+import org.zeroturnaround.process.PidUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class LinuxPlatform extends UnixPlatform {
-    SystemResourceController systemResourceController = new LinuxSystemResourceController(this);
+    private static final Path PROC = Paths.get("/proc");
+    // Signal processes with kill(2) instead of forking the kill command, null if the C library can't be loaded
+    private static final LinuxLibC libC = loadLibC();
+    // /proc/<pid>/task/<tid>/children needs CONFIG_PROC_CHILDREN, without it descendants are found by scanning /proc
+    private static final boolean procChildrenSupported = hasProcChildren();
+
+    // Systems with the cgroup v2 unified hierarchy have no v1 controllers to mount
+    SystemResourceController systemResourceController = LinuxSystemResourceControllerV2.isUnifiedHierarchy()
+            ? new LinuxSystemResourceControllerV2(this) : new LinuxSystemResourceController(this);
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private static LinuxLibC loadLibC() {
+        try {
+            return LinuxLibC.INSTANCE;
+        } catch (Throwable e) {
+            logger.atWarn().setCause(e).log("Unable to load the C library, processes are signalled with kill");
+            return null;
+        }
+    }
+
+    private static boolean hasProcChildren() {
+        try (Stream<Path> tasks = Files.list(PROC.resolve("self").resolve("task"))) {
+            return tasks.findFirst().map(task -> Files.exists(task.resolve("children"))).orElse(false);
+        } catch (IOException e) {
+            return false;
+        }
+    }
 
     @Override
     public SystemResourceController getSystemResourceController() {
         return systemResourceController;
     }
+
+    @Override
+    public UserDecorator getUserDecorator(String launcher) {
+        if (SetprivDecorator.LAUNCHER_NAME.equalsIgnoreCase(launcher) && SetprivDecorator.isAvailable()) {
+            return new SetprivDecorator();
+        }
+        return getUserDecorator();
+    }
+
+    @Override
+    public Exec createNewProcessRunner() {
+        return new LinuxExec();
+    }
+
+    /**
+     * Get the child PIDs of a process by following the children lists in /proc from the process down, so that only
+     * the process tree is read instead of every process on the device.
+     *
+     * @param process process
+     * @return a set of PIDs
+     * @throws InterruptedException InterruptedException
+     */
+    @Override
+    public Set<Integer> getChildPids(Process process) throws InterruptedException {
+        if (!procChildrenSupported) {
+            return super.getChildPids(process);
+        }
+        Set<Integer> descendants = new HashSet<>();
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        toVisit.add(PidUtil.getPid(process));
+        try {
+            while (!toVisit.isEmpty()) {
+                for (Integer child : readChildren(toVisit.poll())) {
+                    if (descendants.add(child)) {
+                        toVisit.add(child);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.atDebug().setCause(e).log("Unable to read child processes from /proc, scanning all processes");
+            return super.getChildPids(process);
+        }
+        return descendants;
+    }
+
+    private static List<Integer> readChildren(int pid) throws IOException {
+        List<Integer> children = new ArrayList<>();
+        List<Path> tasks;
+        try (Stream<Path> taskDirs = Files.list(PROC.resolve(Integer.toString(pid)).resolve("task"))) {
+            tasks = taskDirs.collect(Collectors.toList());
+        } catch (NoSuchFileException e) {
+            // process is already gone, so it has no children
+            return children;
+        }
+        for (Path task : tasks) {
+            try {
+                String list = new String(Files.readAllBytes(task.resolve("children")), StandardCharsets.US_ASCII);
+                for (String child : list.trim().split("\\s+")) {
+                    if (!child.isEmpty()) {
+                        children.add(Integer.parseInt(child));
+                    }
+                }
+            } catch (NoSuchFileException ignored) {
+                // thread exited while we were listing the tasks
+            }
+        }
+        return children;
+    }
+
+    @Override
+    public boolean isProcessAlive(int pid) throws IOException, InterruptedException {
+        if (libC == null) {
+            return super.isProcessAlive(pid);
+        }
+        // signal 0 only checks whether the process exists and we may signal it
+        return libC.kill(pid, 0) == 0 || Native.getLastError() == LinuxLibC.EPERM;
+    }
+
+    @Override
+    protected void killProcess(boolean force, UserDecorator decorator, int pid)
+            throws IOException, InterruptedException {
+        if (libC != null) {
+            int signal = force ? SIGKILL : SIGTERM;
+            if (libC.kill(pid, signal) == 0) {
+                logger.atDebug().log("Killed pid {} with signal {}", pid, signal);
+                return;
+            }
+            int errno = Native.getLastError();
+            if (errno == LinuxLibC.ESRCH) {
+                return;
+            }
+            // EPERM means the process belongs to another user, fall back to kill which runs through the decorator
+            logger.atDebug().kv("pid", pid).kv("errno", errno).log("Unable to signal process directly");
+        }
+        super.killProcess(force, decorator, pid);
+    }
 }
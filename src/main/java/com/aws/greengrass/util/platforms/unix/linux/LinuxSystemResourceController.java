@@ -10,6 +10,7 @@ import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.Coerce;
 import com.aws.greengrass.util.Utils;
+import com.aws.greengrass.util.platforms.ResourceUsage;
 import com.aws.greengrass.util.platforms.SystemResourceController;
 import org.zeroturnaround.process.PidUtil;
 
@@ -170,6 +171,32 @@ public class LinuxSystemResourceController implements SystemResourceController {
                 StandardOpenOption.TRUNCATE_EXISTING);
     }
 
+    @Override
+    public ResourceUsage getResourceUsage(GreengrassService component) throws IOException {
+        String componentName = component.getServiceName();
+        Long cpuTimeNanos = readLongIfExists(Cgroup.CPU.getComponentCpuUsagePath(componentName));
+        Long memoryUsageBytes = readLongIfExists(Cgroup.Memory.getComponentMemoryUsagePath(componentName));
+        if (cpuTimeNanos == null && memoryUsageBytes == null) {
+            return null;
+        }
+        return ResourceUsage.builder()
+                .cpuTimeNanos(cpuTimeNanos)
+                .memoryUsageBytes(memoryUsageBytes)
+                .memoryMaxUsageBytes(readLongIfExists(Cgroup.Memory.getComponentMemoryMaxUsagePath(componentName)))
+                .build();
+    }
+
+    private Long readLongIfExists(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+        if (content.isEmpty()) {
+            return null;
+        }
+        return Long.parseLong(content);
+    }
+
     private void addComponentProcessToCgroup(String component, Process process, Cgroup cg)
             throws IOException {
 
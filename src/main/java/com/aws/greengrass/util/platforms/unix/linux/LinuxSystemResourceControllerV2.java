@@ -0,0 +1,378 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.lifecyclemanager.GreengrassService;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.Coerce;
+import com.aws.greengrass.util.Utils;
+import com.aws.greengrass.util.platforms.ResourceUsage;
+import com.aws.greengrass.util.platforms.SystemResourceController;
+import org.zeroturnaround.process.PidUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.apache.commons.io.FileUtils.ONE_KB;
+
+/**
+ * Resource controller for the cgroup v2 unified hierarchy, where every controller shares a single tree. Each
+ * component gets a cgroup at {@code /sys/fs/cgroup/greengrass/<component>}.
+ */
+public class LinuxSystemResourceControllerV2 implements SystemResourceController {
+    private static final Logger logger = LogManager.getLogger(LinuxSystemResourceControllerV2.class);
+    private static final String COMPONENT_NAME = "componentName";
+    private static final String GG_NAMESPACE = "greengrass";
+    // Resource limit keys
+    private static final String MEMORY_KEY = "memory";
+    private static final String MEMORY_HIGH_KEY = "memoryHigh";
+    private static final String CPUS_KEY = "cpus";
+    private static final String CPU_WEIGHT_KEY = "cpuWeight";
+    private static final String IO_WEIGHT_KEY = "ioWeight";
+    private static final String IO_MAX_KEY = "ioMax";
+    private static final String PIDS_KEY = "pids";
+    // Interface files
+    private static final String CGROUP_CONTROLLERS = "cgroup.controllers";
+    private static final String CGROUP_SUBTREE_CONTROL = "cgroup.subtree_control";
+    private static final String CGROUP_PROCS = "cgroup.procs";
+    private static final String CGROUP_FREEZE = "cgroup.freeze";
+    private static final String MEMORY_MAX = "memory.max";
+    private static final String MEMORY_HIGH = "memory.high";
+    private static final String MEMORY_CURRENT = "memory.current";
+    private static final String MEMORY_PEAK = "memory.peak";
+    private static final String CPU_MAX = "cpu.max";
+    private static final String CPU_WEIGHT = "cpu.weight";
+    private static final String CPU_STAT = "cpu.stat";
+    private static final String CPU_STAT_USAGE_USEC = "usage_usec";
+    private static final String IO_MAX = "io.max";
+    private static final String IO_WEIGHT = "io.weight";
+    private static final String PIDS_MAX = "pids.max";
+    private static final List<String> CONTROLLERS = Arrays.asList("cpu", "memory", "io", "pids");
+    private static final String MAX = "max";
+    private static final int CPU_MAX_PERIOD_US = 100_000;
+    private static final int DEFAULT_WEIGHT = 100;
+
+    protected final LinuxPlatform platform;
+    private final Path cgroupRoot;
+
+    public LinuxSystemResourceControllerV2(LinuxPlatform platform) {
+        this(platform, Cgroup.getRootPath());
+    }
+
+    LinuxSystemResourceControllerV2(LinuxPlatform platform, Path cgroupRoot) {
+        this.platform = platform;
+        this.cgroupRoot = cgroupRoot;
+    }
+
+    /**
+     * Check if the cgroup v2 unified hierarchy is mounted at the cgroup root. A hybrid setup mounts it elsewhere and
+     * still uses cgroup v1 for the resource controllers.
+     *
+     * @return true if the unified hierarchy is mounted at the cgroup root
+     */
+    public static boolean isUnifiedHierarchy() {
+        return Files.exists(Cgroup.getRootPath().resolve(CGROUP_CONTROLLERS));
+    }
+
+    @Override
+    public void removeResourceController(GreengrassService component) {
+        try {
+            // Assumes processes belonging to cgroups would already be terminated/killed.
+            Files.deleteIfExists(getComponentPath(component.getServiceName()));
+        } catch (IOException e) {
+            logger.atError().setCause(e).kv(COMPONENT_NAME, component.getServiceName())
+                    .log("Failed to remove the resource controller");
+        }
+    }
+
+    @Override
+    public void updateResourceLimits(GreengrassService component, Map<String, Object> resourceLimit) {
+        String componentName = component.getServiceName();
+        try {
+            Path componentPath = initializeCgroup(componentName);
+            if (resourceLimit.containsKey(MEMORY_KEY)) {
+                writeMemoryLimit(componentName, componentPath.resolve(MEMORY_MAX), MEMORY_KEY,
+                        resourceLimit.get(MEMORY_KEY));
+            }
+            if (resourceLimit.containsKey(MEMORY_HIGH_KEY)) {
+                writeMemoryLimit(componentName, componentPath.resolve(MEMORY_HIGH), MEMORY_HIGH_KEY,
+                        resourceLimit.get(MEMORY_HIGH_KEY));
+            }
+            if (resourceLimit.containsKey(CPUS_KEY)) {
+                double cpu = Coerce.toDouble(resourceLimit.get(CPUS_KEY));
+                if (cpu > 0) {
+                    int cpuQuotaUs = (int) (CPU_MAX_PERIOD_US * cpu);
+                    write(componentPath.resolve(CPU_MAX), cpuQuotaUs + " " + CPU_MAX_PERIOD_US);
+                } else {
+                    logInvalidLimit(componentName, CPUS_KEY, cpu);
+                }
+            }
+            if (resourceLimit.containsKey(CPU_WEIGHT_KEY)) {
+                writeWeight(componentName, componentPath.resolve(CPU_WEIGHT), CPU_WEIGHT_KEY,
+                        resourceLimit.get(CPU_WEIGHT_KEY), "");
+            }
+            if (resourceLimit.containsKey(IO_WEIGHT_KEY)) {
+                writeWeight(componentName, componentPath.resolve(IO_WEIGHT), IO_WEIGHT_KEY,
+                        resourceLimit.get(IO_WEIGHT_KEY), "default ");
+            }
+            if (resourceLimit.containsKey(IO_MAX_KEY)) {
+                // One "MAJ:MIN rbps=.. wbps=.. riops=.. wiops=.." entry per device, the kernel takes one per write
+                for (String deviceLimit : toList(resourceLimit.get(IO_MAX_KEY))) {
+                    write(componentPath.resolve(IO_MAX), deviceLimit);
+                }
+            }
+            if (resourceLimit.containsKey(PIDS_KEY)) {
+                long pids = Coerce.toLong(resourceLimit.get(PIDS_KEY));
+                if (pids > 0) {
+                    write(componentPath.resolve(PIDS_MAX), Long.toString(pids));
+                } else {
+                    logInvalidLimit(componentName, PIDS_KEY, pids);
+                }
+            }
+        } catch (IOException e) {
+            logger.atError().setCause(e).kv(COMPONENT_NAME, componentName).log("Failed to apply resource limits");
+        }
+    }
+
+    @Override
+    public void resetResourceLimits(GreengrassService component) {
+        // A cgroup v2 directory cannot be removed while it has processes, so the limits are reset to the defaults
+        Path componentPath = getComponentPath(component.getServiceName());
+        if (!Files.exists(componentPath)) {
+            return;
+        }
+        try {
+            resetIfExists(componentPath.resolve(MEMORY_MAX), MAX);
+            resetIfExists(componentPath.resolve(MEMORY_HIGH), MAX);
+            resetIfExists(componentPath.resolve(CPU_MAX), MAX + " " + CPU_MAX_PERIOD_US);
+            resetIfExists(componentPath.resolve(CPU_WEIGHT), Integer.toString(DEFAULT_WEIGHT));
+            resetIfExists(componentPath.resolve(IO_WEIGHT), "default " + DEFAULT_WEIGHT);
+            resetIfExists(componentPath.resolve(PIDS_MAX), MAX);
+            Path ioMax = componentPath.resolve(IO_MAX);
+            if (Files.exists(ioMax)) {
+                for (String line : Files.readAllLines(ioMax)) {
+                    String[] split = line.trim().split(" ");
+                    if (!split[0].isEmpty()) {
+                        write(ioMax, split[0] + " rbps=max wbps=max riops=max wiops=max");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.atError().setCause(e).kv(COMPONENT_NAME, component.getServiceName())
+                    .log("Failed to reset the resource limits");
+        }
+    }
+
+    @Override
+    public void addComponentProcess(GreengrassService component, Process process) {
+        try {
+            addComponentProcessToCgroup(component.getServiceName(), process);
+
+            // Child processes of a process in a cgroup are auto-added to the same cgroup by linux kernel. But in
+            // case of a race condition in starting a child process and us adding pids to cgroup, neither us nor
+            // the linux kernel will add it to the cgroup. To account for this, re-list all pids for the component
+            // after 1 second and add to cgroup again so that all component processes are resource controlled.
+            component.getContext().get(ScheduledExecutorService.class).schedule(() -> {
+                try {
+                    addComponentProcessToCgroup(component.getServiceName(), process);
+                } catch (IOException e) {
+                    handleErrorAddingPidToCgroup(e, component.getServiceName());
+                }
+            }, 1, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            handleErrorAddingPidToCgroup(e, component.getServiceName());
+        }
+    }
+
+    @Override
+    public void pauseComponentProcesses(GreengrassService component, List<Process> processes) throws IOException {
+        String componentName = component.getServiceName();
+        Path componentPath = initializeCgroup(componentName);
+        for (Process process : processes) {
+            addComponentProcessToCgroup(componentName, process);
+        }
+        write(componentPath.resolve(CGROUP_FREEZE), "1");
+    }
+
+    @Override
+    public void resumeComponentProcesses(GreengrassService component) throws IOException {
+        Path freeze = getComponentPath(component.getServiceName()).resolve(CGROUP_FREEZE);
+        if (Files.exists(freeze)) {
+            write(freeze, "0");
+        }
+    }
+
+    @Override
+    public ResourceUsage getResourceUsage(GreengrassService component) throws IOException {
+        Path componentPath = getComponentPath(component.getServiceName());
+        Path cpuStat = componentPath.resolve(CPU_STAT);
+        if (!Files.exists(cpuStat)) {
+            return null;
+        }
+        Long cpuUsageUs = null;
+        for (String line : Files.readAllLines(cpuStat)) {
+            String[] split = line.split(" ");
+            if (split.length == 2 && CPU_STAT_USAGE_USEC.equals(split[0])) {
+                cpuUsageUs = Long.parseLong(split[1].trim());
+                break;
+            }
+        }
+        return ResourceUsage.builder()
+                .cpuTimeNanos(cpuUsageUs == null ? null : TimeUnit.MICROSECONDS.toNanos(cpuUsageUs))
+                .memoryUsageBytes(readLongIfExists(componentPath.resolve(MEMORY_CURRENT)))
+                // memory.peak is only available from Linux 5.19
+                .memoryMaxUsageBytes(readLongIfExists(componentPath.resolve(MEMORY_PEAK)))
+                .build();
+    }
+
+    private Path getGGPath() {
+        return cgroupRoot.resolve(GG_NAMESPACE);
+    }
+
+    private Path getComponentPath(String componentName) {
+        return getGGPath().resolve(componentName);
+    }
+
+    private Path initializeCgroup(String componentName) throws IOException {
+        Path componentPath = getComponentPath(componentName);
+        if (Files.exists(componentPath)) {
+            return componentPath;
+        }
+        if (!Files.exists(getGGPath())) {
+            Files.createDirectory(getGGPath());
+        }
+        // Controllers must be enabled in every ancestor for their interface files to appear in the component cgroup
+        enableControllers(cgroupRoot);
+        enableControllers(getGGPath());
+        Files.createDirectory(componentPath);
+        return componentPath;
+    }
+
+    private void enableControllers(Path cgroup) throws IOException {
+        Path available = cgroup.resolve(CGROUP_CONTROLLERS);
+        if (!Files.exists(available)) {
+            return;
+        }
+        Set<String> availableControllers = new HashSet<>(Arrays.asList(
+                new String(Files.readAllBytes(available), StandardCharsets.UTF_8).trim().split(" ")));
+        for (String controller : CONTROLLERS) {
+            if (!availableControllers.contains(controller)) {
+                logger.atWarn().kv("controller", controller).kv("cgroup", cgroup)
+                        .log("Cgroup controller is not available, the related resource limits will not apply");
+                continue;
+            }
+            try {
+                write(cgroup.resolve(CGROUP_SUBTREE_CONTROL), "+" + controller);
+            } catch (IOException e) {
+                logger.atWarn().setCause(e).kv("controller", controller).kv("cgroup", cgroup)
+                        .log("Failed to enable cgroup controller");
+            }
+        }
+    }
+
+    private void addComponentProcessToCgroup(String componentName, Process process) throws IOException {
+        Path componentPath = getComponentPath(componentName);
+        if (!Files.exists(componentPath)) {
+            logger.atDebug().kv(COMPONENT_NAME, componentName).log("Resource controller is not enabled");
+            return;
+        }
+        if (process == null) {
+            return;
+        }
+        try {
+            Set<Integer> childProcesses = platform.getChildPids(process);
+            childProcesses.add(PidUtil.getPid(process));
+            Set<Integer> pidsInCgroup = Files.readAllLines(componentPath.resolve(CGROUP_PROCS)).stream()
+                    .map(String::trim).filter(s -> !s.isEmpty()).map(Integer::parseInt).collect(Collectors.toSet());
+            for (Integer pid : childProcesses) {
+                if (pid == null || pidsInCgroup.contains(pid)) {
+                    continue;
+                }
+                write(componentPath.resolve(CGROUP_PROCS), Integer.toString(pid));
+            }
+        } catch (InterruptedException e) {
+            logger.atWarn().setCause(e).log("Interrupted while getting processes to add to system limit controller");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handleErrorAddingPidToCgroup(IOException e, String component) {
+        // The process might have exited (if it's a short running process).
+        if (e.getMessage() != null && e.getMessage().contains("No such process")) {
+            logger.atWarn().kv(COMPONENT_NAME, component)
+                    .log("Failed to add pid to the cgroup because the process doesn't exist anymore");
+        } else {
+            logger.atError().setCause(e).kv(COMPONENT_NAME, component).log("Failed to add pid to the cgroup");
+        }
+    }
+
+    private void writeMemoryLimit(String componentName, Path file, String key, Object value) throws IOException {
+        long memoryLimitInKB = Coerce.toLong(value);
+        if (memoryLimitInKB > 0) {
+            write(file, Long.toString(memoryLimitInKB * ONE_KB));
+        } else {
+            logInvalidLimit(componentName, key, memoryLimitInKB);
+        }
+    }
+
+    private void writeWeight(String componentName, Path file, String key, Object value, String prefix)
+            throws IOException {
+        // Weights are relative shares between sibling cgroups, in the range [1, 10000] with a default of 100
+        int weight = Coerce.toInt(value);
+        if (weight >= 1 && weight <= 10_000) {
+            write(file, prefix + weight);
+        } else {
+            logInvalidLimit(componentName, key, weight);
+        }
+    }
+
+    private void logInvalidLimit(String componentName, String key, Object value) {
+        logger.atWarn().kv(COMPONENT_NAME, componentName).kv(key, value).log("The provided {} limit is invalid", key);
+    }
+
+    private static Collection<String> toList(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(v -> Coerce.toString(v)).filter(s -> !Utils.isEmpty(s))
+                    .collect(Collectors.toList());
+        }
+        String s = Coerce.toString(value);
+        return Utils.isEmpty(s) ? Collections.emptyList() : Collections.singletonList(s);
+    }
+
+    private static void resetIfExists(Path file, String value) throws IOException {
+        if (Files.exists(file)) {
+            write(file, value);
+        }
+    }
+
+    private static void write(Path file, String value) throws IOException {
+        Files.write(file, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long readLongIfExists(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+        if (content.isEmpty() || MAX.equals(content)) {
+            return null;
+        }
+        return Long.parseLong(content);
+    }
+}
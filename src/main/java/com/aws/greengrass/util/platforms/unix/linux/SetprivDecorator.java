@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.util.platforms.Platform;
+import com.aws.greengrass.util.platforms.UserDecorator;
+import com.aws.greengrass.util.platforms.unix.UnixIdentityResolver;
+import com.aws.greengrass.util.platforms.unix.UnixPlatform;
+import com.aws.greengrass.util.platforms.unix.UnixUserAttributes;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorator for running a command as a different user/group with setpriv from util-linux. setpriv sets the group
+ * list, gid and uid and then execs the command, so the command becomes the direct child of the nucleus. Unlike sudo,
+ * it doesn't parse the sudoers policy or open a PAM session on every launch, and it can only be used while the nucleus
+ * runs as root. Users which can't be resolved natively are run with sudo instead.
+ */
+public class SetprivDecorator extends UserDecorator {
+    public static final String LAUNCHER_NAME = "setpriv";
+    private static final Logger logger = LogManager.getLogger(SetprivDecorator.class);
+    private static final List<String> SETPRIV_PATHS = Arrays.asList("/usr/bin/setpriv", "/bin/setpriv");
+    private static final List<String> ENV_PATHS = Arrays.asList("/usr/bin/env", "/bin/env");
+    private static Launcher launcher;
+    private static boolean launcherChecked;
+
+    private final UnixIdentityResolver resolver;
+    private final UnixPlatform platform;
+    private final Launcher launcherToUse;
+
+    /**
+     * Constructor.
+     */
+    public SetprivDecorator() {
+        this(UnixIdentityResolver.getInstance(), (UnixPlatform) Platform.getInstance(),
+                isAvailable() ? getLauncher() : null);
+    }
+
+    SetprivDecorator(UnixIdentityResolver resolver, UnixPlatform platform, Launcher launcher) {
+        super();
+        this.resolver = resolver;
+        this.platform = platform;
+        this.launcherToUse = launcher;
+    }
+
+    /**
+     * Check whether commands can be launched with setpriv, which needs the nucleus to run as root.
+     *
+     * @return true if setpriv can be used
+     */
+    public static synchronized boolean isAvailable() {
+        if (!launcherChecked) {
+            launcher = findLauncher();
+            launcherChecked = true;
+        }
+        return launcher != null;
+    }
+
+    private static Launcher findLauncher() {
+        try {
+            if (!Platform.getInstance().lookupCurrentUser().isSuperUser()) {
+                logger.atWarn().log("setpriv can only launch processes while the nucleus runs as root, using sudo");
+                return null;
+            }
+        } catch (IOException e) {
+            logger.atWarn().setCause(e).log("Unable to look up the nucleus user, using sudo to launch processes");
+            return null;
+        }
+        Optional<String> setpriv = SETPRIV_PATHS.stream().filter(p -> Files.isExecutable(Paths.get(p))).findFirst();
+        Optional<String> env = ENV_PATHS.stream().filter(p -> Files.isExecutable(Paths.get(p))).findFirst();
+        if (!setpriv.isPresent() || !env.isPresent()) {
+            logger.atWarn().log("setpriv is not installed, using sudo to launch processes");
+            return null;
+        }
+        return new Launcher(setpriv.get(), env.get());
+    }
+
+    @Override
+    public String[] decorate(String... command) {
+        // do nothing if no user set
+        if (user == null) {
+            return command;
+        }
+        Optional<UnixIdentityResolver.UserEntry> entry = Optional.empty();
+        String gid = null;
+        try {
+            if (launcherToUse != null && resolver.isAvailable()) {
+                entry = resolver.lookupUser(user);
+            }
+            if (entry.isPresent()) {
+                gid = group == null ? String.valueOf(entry.get().getGid())
+                        : platform.lookupGroupByIdentifier(group).getPrincipalIdentifier();
+            }
+        } catch (IOException e) {
+            logger.atWarn().kv("user", user).kv("group", group).setCause(e)
+                    .log("Unable to look up user or group for setpriv, using sudo");
+        }
+        if (!entry.isPresent() || gid == null) {
+            return new UnixPlatform.SudoDecorator().withUser(user).withGroup(group).decorate(command);
+        }
+
+        UnixIdentityResolver.UserEntry passwd = entry.get();
+        try {
+            UnixUserAttributes current = platform.lookupCurrentUser();
+            // no privilege change necessary if running as current user
+            if (current.getPrincipalIdentifier().equals(String.valueOf(passwd.getUid()))
+                    && current.getPrimaryGID().map(String::valueOf).map(gid::equals).orElse(false)) {
+                return command;
+            }
+        } catch (IOException ignored) {
+            // ignore error here, setpriv to the same ids is harmless
+        }
+
+        List<String> ret = new ArrayList<>(command.length + 10);
+        ret.add(launcherToUse.getSetpriv());
+        ret.add("--reuid=" + passwd.getUid());
+        ret.add("--regid=" + gid);
+        ret.add("--init-groups");
+        ret.add("--");
+        // set the variables which sudo -H sets, everything else is passed through like sudo -E does
+        ret.add(launcherToUse.getEnv());
+        ret.add("HOME=" + passwd.getHome());
+        ret.add("USER=" + passwd.getName());
+        ret.add("LOGNAME=" + passwd.getName());
+        ret.addAll(Arrays.asList(command));
+        return ret.toArray(new String[0]);
+    }
+
+    private static synchronized Launcher getLauncher() {
+        return launcher;
+    }
+
+    @Value
+    static class Launcher {
+        String setpriv;
+        String env;
+    }
+}
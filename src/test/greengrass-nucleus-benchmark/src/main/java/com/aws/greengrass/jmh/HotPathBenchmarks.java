@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh;
+
+import com.aws.greengrass.jmh.authorization.WildcardTrieBenchmark;
+import com.aws.greengrass.jmh.config.ConfigurationBenchmark;
+import com.aws.greengrass.jmh.mqttclient.SpoolBenchmark;
+import com.aws.greengrass.jmh.pubsub.SubscriptionTrieBenchmark;
+import com.aws.greengrass.jmh.util.MqttChunkedPayloadPublisherBenchmark;
+import com.aws.greengrass.jmh.util.OrderedExecutorServiceBenchmark;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmarks of the nucleus hot paths with the GC profiler, so every result comes with its allocation rate,
+ * and writes the results as JSON. When a baseline result file is given, every result is compared with the baseline,
+ * and the run fails if any benchmark got slower, or allocates more per operation, than the tolerance allows.
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar com.aws.greengrass.jmh.HotPathBenchmarks <results.json>
+ * [<baseline.json> [<tolerance percent>]]}</p>
+ */
+public final class HotPathBenchmarks {
+    private static final List<Class<?>> SUITES = Arrays.asList(SubscriptionTrieBenchmark.class,
+            WildcardTrieBenchmark.class, ConfigurationBenchmark.class, SpoolBenchmark.class,
+            OrderedExecutorServiceBenchmark.class, MqttChunkedPayloadPublisherBenchmark.class);
+    private static final String ALLOCATION_METRIC = "\u00b7gc.alloc.rate.norm";
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10;
+    // Allocation rates of a few bytes per operation are noise from the profiler and the harness
+    private static final double ALLOCATION_NOISE_BYTES = 16;
+
+    private HotPathBenchmarks() {
+    }
+
+    /**
+     * Run the hot path benchmarks.
+     *
+     * @param args path of the result file, optionally followed by the path of the baseline result file and the
+     *             tolerance in percent
+     * @throws Exception if the benchmarks can't be run or the result files can't be read
+     */
+    public static void main(String[] args) throws Exception {
+        Path results = Paths.get(args.length > 0 ? args[0] : "hot-paths.json");
+        ChainedOptionsBuilder options = new OptionsBuilder();
+        for (Class<?> suite : SUITES) {
+            options.include("^" + Pattern.quote(suite.getName()) + "\\.");
+        }
+        options.addProfiler(GCProfiler.class).resultFormat(ResultFormatType.JSON).result(results.toString());
+        new Runner(options.build()).run();
+
+        if (args.length > 1) {
+            double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+            int regressions = compare(Paths.get(args[1]), results, tolerance);
+            if (regressions > 0) {
+                System.err.printf("%d results regressed by more than %.1f%% from the baseline%n", regressions,
+                        tolerance);
+                System.exit(1);
+            }
+        }
+    }
+
+    private static int compare(Path baselineFile, Path resultsFile, double tolerance) throws IOException {
+        Map<String, JsonNode> baseline = readResults(baselineFile);
+        Map<String, JsonNode> results = readResults(resultsFile);
+        int regressions = 0;
+        System.out.printf("%-100s %15s %15s %9s %15s %15s %9s%n", "Benchmark", "Baseline", "Current", "Change",
+                "Baseline B/op", "Current B/op", "Change");
+        for (Map.Entry<String, JsonNode> result : results.entrySet()) {
+            JsonNode before = baseline.get(result.getKey());
+            if (before == null) {
+                System.out.printf("%-100s %15s%n", result.getKey(), "new");
+                continue;
+            }
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double score = result.getValue().path("primaryMetric").path("score").asDouble();
+            double allocationBefore = allocation(before);
+            double allocation = allocation(result.getValue());
+            double scoreChange = change(scoreBefore, score);
+            double allocationChange = change(allocationBefore, allocation);
+            // Every hot path benchmark measures time per operation, so a higher score is a regression
+            boolean regressed = scoreChange > tolerance
+                    || allocationChange > tolerance && allocation - allocationBefore > ALLOCATION_NOISE_BYTES;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-100s %15.3f %15.3f %8.1f%% %15.1f %15.1f %8.1f%%%s%n", result.getKey(), scoreBefore,
+                    score, scoreChange, allocationBefore, allocation, allocationChange, regressed ? " REGRESSED" : "");
+        }
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> readResults(Path file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            fields.forEachRemaining(e -> params.put(e.getKey(), e.getValue().asText()));
+            params.forEach((k, v) -> key.append(' ').append(k).append('=').append(v));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocation(JsonNode result) {
+        return result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(0);
+    }
+
+    private static double change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return (after - before) / before * 100;
+    }
+}
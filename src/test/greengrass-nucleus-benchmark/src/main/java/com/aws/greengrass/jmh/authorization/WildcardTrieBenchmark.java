@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.authorization;
+
+import com.aws.greengrass.authorization.WildcardTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the authorization check of a resource against the allowed resources of a policy, with glob wildcards for
+ * standard resources and MQTT wildcards for topics. Half of the checked resources are allowed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class WildcardTrieBenchmark {
+    private static final int CHECKED_RESOURCES = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int resources;
+
+    private WildcardTrie standardTrie;
+    private WildcardTrie mqttTrie;
+    private String[] standardResources;
+    private String[] mqttResources;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        standardTrie = new WildcardTrie();
+        mqttTrie = new WildcardTrie();
+        for (int i = 0; i < resources; i++) {
+            standardTrie.add("arn:aws:s3:::bucket-" + i + "/component-?/*.zip");
+            mqttTrie.add("things/thing-" + i + "/+/shadow/#");
+        }
+        standardResources = new String[CHECKED_RESOURCES];
+        mqttResources = new String[CHECKED_RESOURCES];
+        for (int i = 0; i < CHECKED_RESOURCES; i++) {
+            int id = i % 2 == 0 ? i % resources : resources + i;
+            standardResources[i] = "arn:aws:s3:::bucket-" + id + "/component-a/artifact-" + i + ".zip";
+            mqttResources[i] = "things/thing-" + id + "/shadows/shadow/update/accepted";
+        }
+    }
+
+    @Benchmark
+    public boolean matchStandard() {
+        return standardTrie.matchesStandard(standardResources[next++ & (CHECKED_RESOURCES - 1)]);
+    }
+
+    @Benchmark
+    public boolean matchMqtt() {
+        return mqttTrie.matchesMQTT(mqttResources[next++ & (CHECKED_RESOURCES - 1)]);
+    }
+}
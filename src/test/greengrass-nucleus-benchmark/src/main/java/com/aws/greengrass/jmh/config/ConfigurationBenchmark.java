@@ -0,0 +1,133 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.config;
+
+import com.aws.greengrass.config.ConfigSnapshot;
+import com.aws.greengrass.config.Configuration;
+import com.aws.greengrass.config.ConfigurationWriter;
+import com.aws.greengrass.config.Topic;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.Context;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+
+/**
+ * Measures reads and writes of the config tree holding the given number of services, each with a version, a
+ * lifecycle, dependencies and 20 configuration keys. Every write benchmark changes a single leaf per operation, which
+ * is the common case while the nucleus is running.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class ConfigurationBenchmark {
+    private static final int CONFIGURATION_KEYS = 20;
+
+    @Param({"10", "100", "1000"})
+    public int services;
+
+    private Path root;
+    private Configuration config;
+    private Configuration copy;
+    private Topic changedLeaf;
+    private Topic changedCopyLeaf;
+    private long changes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("configuration-benchmark");
+        config = createConfig();
+        copy = createConfig();
+        changedLeaf = config.lookup(SERVICES_NAMESPACE_TOPIC, "service0", "configuration", "key0");
+        changedCopyLeaf = copy.lookup(SERVICES_NAMESPACE_TOPIC, "service0", "configuration", "key0");
+    }
+
+    private Configuration createConfig() {
+        Configuration c = new Configuration(new Context());
+        Topics servicesTopics = c.lookupTopics(SERVICES_NAMESPACE_TOPIC);
+        for (int i = 0; i < services; i++) {
+            Topics service = servicesTopics.lookupTopics("service" + i);
+            service.lookup("version").withValue("1.0." + i);
+            service.lookup("lifecycle", "install").withValue("pip3 install --user -r requirements.txt");
+            service.lookup("lifecycle", "run").withValue("python3 -u main.py --service service" + i);
+            List<String> dependencies = new ArrayList<>(Arrays.asList("aws.greengrass.Nucleus"));
+            if (i > 0) {
+                dependencies.add("service" + (i - 1));
+            }
+            service.lookup("dependencies").withValue(dependencies);
+            for (int k = 0; k < CONFIGURATION_KEYS; k++) {
+                service.lookup("configuration", "key" + k).withValue("value" + k);
+            }
+        }
+        c.context.waitForPublishQueueToClear();
+        return c;
+    }
+
+    @Benchmark
+    public Topic lookupExisting() {
+        int i = next++;
+        return config.lookup(SERVICES_NAMESPACE_TOPIC, "service" + i % services, "configuration",
+                "key" + i % CONFIGURATION_KEYS);
+    }
+
+    @Benchmark
+    public Map<String, Object> toPOJO() {
+        return config.toPOJO();
+    }
+
+    @Benchmark
+    public ConfigSnapshot snapshotAfterChange() {
+        changedLeaf.withValue("value" + changes++);
+        return config.snapshot();
+    }
+
+    @Benchmark
+    public List<String[]> diffAfterChange() {
+        changedCopyLeaf.withValue("value" + changes++);
+        return config.getRoot().diff(copy.getRoot());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Path writeTransactionLog() throws IOException {
+        Path tlog = root.resolve("config.tlog");
+        ConfigurationWriter.dump(config, tlog);
+        return tlog;
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() throws IOException {
+        config.context.close();
+        copy.context.close();
+        FileUtils.deleteDirectory(root.toFile());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.lifecyclemanager;
+
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.jmh.profilers.ForcedGcMemoryProfiler;
+import com.aws.greengrass.jmh.profilers.MiscResultRecorderProfiler;
+import com.aws.greengrass.lifecyclemanager.GreengrassService;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.AggregationPolicy;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICE_DEPENDENCIES_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICE_LIFECYCLE_NAMESPACE_TOPIC;
+
+/**
+ * Measures how long it takes to start a nucleus with many services, and records the number of live threads and the
+ * resident set size once all of them have settled. The services have no lifecycle steps, so the threads which are
+ * left are the ones the lifecycle engine keeps for idle services.
+ *
+ * <p>Run with {@code -prof com.aws.greengrass.jmh.profilers.MiscResultRecorderProfiler} to get the thread count and
+ * RSS as secondary results.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Measurement(iterations = 1)
+@Warmup(iterations = 0)
+@State(Scope.Benchmark)
+public class LifecycleEngineBenchmark {
+    @Param({DeviceConfiguration.LIFECYCLE_ENGINE_THREAD, DeviceConfiguration.LIFECYCLE_ENGINE_EVENT})
+    public String engine;
+
+    @Param({"50", "200", "500"})
+    public int services;
+
+    private Path rootDir;
+    private Kernel kernel;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        rootDir = Files.createTempDirectory("lifecycle-engine");
+        kernel = new Kernel();
+        kernel.parseArgs("-r", rootDir.toString(), "-i",
+                LifecycleEngineBenchmark.class.getResource("/com/aws/greengrass/jmh/config.yaml").toString());
+        kernel.getContext().get(DeviceConfiguration.class).getLifecycleEngine().withValue(engine);
+
+        Topics servicesTopics = kernel.getConfig().lookupTopics(SERVICES_NAMESPACE_TOPIC);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < services; i++) {
+            String name = "IdleService" + i;
+            servicesTopics.lookupTopics(name, SERVICE_LIFECYCLE_NAMESPACE_TOPIC);
+            names.add(name);
+        }
+        servicesTopics.lookup("main", SERVICE_DEPENDENCIES_NAMESPACE_TOPIC).withValue(names);
+    }
+
+    @Benchmark
+    public int launch() throws InterruptedException {
+        kernel.launch();
+        while (!kernel.orderedDependencies().stream().allMatch(GreengrassService::reachedDesiredState)) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return kernel.orderedDependencies().size();
+    }
+
+    @TearDown(Level.Iteration)
+    public void recordThreadsAndMemory() throws IOException, InterruptedException {
+        // let the executor threads which were only needed during startup time out, so the rest are the kept ones
+        TimeUnit.SECONDS.sleep(65);
+        MiscResultRecorderProfiler.setResult("threads", ManagementFactory.getThreadMXBean().getThreadCount(),
+                "threads", AggregationPolicy.AVG);
+        MiscResultRecorderProfiler.setResult("rss", residentSetSizeKiB(), "KiB", AggregationPolicy.AVG);
+        ForcedGcMemoryProfiler.recordUsedMemory();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        kernel.shutdown();
+    }
+
+    private static long residentSetSizeKiB() throws IOException {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream().filter(l -> l.startsWith("VmRSS:"))
+                .map(l -> Long.parseLong(l.replaceAll("[^0-9]", ""))).findFirst().orElse(-1L);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.lifecyclemanager;
+
+import com.aws.greengrass.util.Exec;
+import com.aws.greengrass.util.platforms.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of launching a lifecycle step as another user, from starting the process until it exits. The
+ * step is an empty shell command, so the time is spent in the launcher and the shell.
+ *
+ * <p>{@code sudo} is the default launcher. {@code setpriv} drops privileges without sudo, which needs the benchmark to
+ * run as root on Linux, otherwise it falls back to sudo as well.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Measurement(iterations = 5)
+@Warmup(iterations = 1)
+@State(Scope.Benchmark)
+public class ProcessLaunchBenchmark {
+    @Param({"sudo", "setpriv"})
+    public String launcher;
+
+    @Param({"nobody"})
+    public String user;
+
+    @Benchmark
+    public int launch() throws Exception {
+        try (Exec exec = Platform.getInstance().createNewProcessRunner()) {
+            return exec.withShell("true").withLauncher(launcher).withUser(user).exec().orElse(-1);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.lifecyclemanager;
+
+import com.aws.greengrass.util.Exec;
+import com.aws.greengrass.util.platforms.Platform;
+import com.aws.greengrass.util.platforms.unix.UnixPlatform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of stopping a lifecycle step together with its process tree, from closing the Exec until the
+ * whole tree has exited. The step is a shell which starts {@code processes - 1} sleeping children (or a single
+ * sleep), all of which stop on SIGTERM, so the time is spent finding and signalling the processes and waiting for them.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Measurement(iterations = 20)
+@Warmup(iterations = 3)
+@State(Scope.Benchmark)
+public class ProcessTreeStopBenchmark {
+    @Param({"1", "10", "100"})
+    public int processes;
+
+    private Exec exec;
+
+    @Setup(Level.Invocation)
+    public void startTree() throws IOException, InterruptedException {
+        exec = Platform.getInstance().createNewProcessRunner();
+        // a single command is exec'd by the shell, so the tree of one process is just sleep
+        exec.withShell(processes == 1 ? "sleep 1000"
+                : "for i in $(seq 1 " + (processes - 1) + "); do sleep 1000 & done; wait").background(exitCode -> {
+                });
+        UnixPlatform platform = (UnixPlatform) Platform.getInstance();
+        Process process = exec.getProcess();
+        while (platform.getChildPids(process).size() < processes - 1) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Benchmark
+    public boolean stop() throws IOException {
+        exec.close();
+        return exec.isRunning();
+    }
+
+    @TearDown(Level.Invocation)
+    public void cleanup() throws IOException {
+        exec.close();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.mqttclient;
+
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.mqttclient.spool.Spool;
+import com.aws.greengrass.mqttclient.v5.Publish;
+import com.aws.greengrass.mqttclient.v5.QOS;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures spooling an MQTT publish and draining the oldest spooled publish, like the spooler does while the
+ * connection keeps up with the publishers. The spool holds a backlog of ten publishes of the same size throughout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class SpoolBenchmark {
+    private static final int BACKLOG = 10;
+
+    @Param({"128", "8192", "131072"})
+    public int payloadBytes;
+
+    private Path rootDir;
+    private Kernel kernel;
+    private Spool spool;
+    private Publish publish;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        rootDir = Files.createTempDirectory("spool-benchmark");
+        kernel = new Kernel();
+        kernel.parseArgs("-r", rootDir.toString(), "-i",
+                SpoolBenchmark.class.getResource("/com/aws/greengrass/jmh/config.yaml").toString());
+        spool = new Spool(kernel.getContext().get(DeviceConfiguration.class));
+        publish = Publish.builder().topic("things/benchmark/telemetry").qos(QOS.AT_LEAST_ONCE)
+                .payload(new byte[payloadBytes]).build();
+        for (int i = 0; i < BACKLOG; i++) {
+            spool.addMessage(publish);
+        }
+    }
+
+    @Benchmark
+    public long spoolAndDrain() throws Exception {
+        spool.addMessage(publish);
+        long id = spool.popId();
+        spool.removeMessageById(id);
+        return id;
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() throws IOException {
+        kernel.shutdown();
+        FileUtils.deleteDirectory(rootDir.toFile());
+    }
+}
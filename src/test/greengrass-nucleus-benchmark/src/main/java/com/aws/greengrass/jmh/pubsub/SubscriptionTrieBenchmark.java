@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.pubsub;
+
+import com.aws.greengrass.builtin.services.pubsub.SubscriptionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures matching a published topic against the local pub/sub subscriptions, and subscribing and unsubscribing
+ * once the trie holds the given number of subscriptions. One in ten subscriptions has a single level wildcard and one
+ * in a hundred a multi level wildcard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class SubscriptionTrieBenchmark {
+    private static final int GROUPS = 50;
+    private static final int PUBLISHED_TOPICS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int subscriptions;
+
+    private SubscriptionTrie<Object> trie;
+    private String[] publishedTopics;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        trie = new SubscriptionTrie<>();
+        for (int i = 0; i < subscriptions; i++) {
+            int group = i % GROUPS;
+            trie.add(exactTopic(group, i), new Object());
+            if (i % 10 == 0) {
+                trie.add("fleet/" + group + "/device/+/telemetry", new Object());
+            }
+            if (i % 100 == 0) {
+                trie.add("fleet/" + group + "/#", new Object());
+            }
+        }
+        publishedTopics = new String[PUBLISHED_TOPICS];
+        for (int i = 0; i < PUBLISHED_TOPICS; i++) {
+            // half of the publishes hit an exact subscription, the other half only wildcards
+            int device = i % 2 == 0 ? i % subscriptions : subscriptions + i;
+            publishedTopics[i] = exactTopic(device % GROUPS, device);
+        }
+    }
+
+    private static String exactTopic(int group, int device) {
+        return "fleet/" + group + "/device/" + device + "/telemetry";
+    }
+
+    @Benchmark
+    public Set<Object> match() {
+        return trie.get(publishedTopics[next++ & (PUBLISHED_TOPICS - 1)]);
+    }
+
+    @Benchmark
+    public boolean subscribeAndUnsubscribe() {
+        Object callback = new Object();
+        String topic = publishedTopics[next++ & (PUBLISHED_TOPICS - 1)];
+        trie.add(topic, callback);
+        return trie.remove(topic, callback);
+    }
+}
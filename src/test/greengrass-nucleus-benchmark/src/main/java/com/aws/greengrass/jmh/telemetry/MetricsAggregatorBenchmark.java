@@ -0,0 +1,176 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.telemetry;
+
+import com.aws.greengrass.jmh.profilers.MiscResultRecorderProfiler;
+import com.aws.greengrass.telemetry.MetricLogReader;
+import com.aws.greengrass.telemetry.MetricsAggregator;
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.AggregationPolicy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one metric aggregation cycle over a telemetry directory holding about 100MB of metric logs,
+ * where only one interval worth of metrics has been appended since the previous cycle.
+ *
+ * <p>{@code incremental} keeps the per-file cursors between cycles. {@code full} discards them before each cycle,
+ * which is equivalent to re-reading every log from the start.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Measurement(iterations = 5)
+@Warmup(iterations = 1)
+@State(Scope.Benchmark)
+public class MetricsAggregatorBenchmark {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String NAMESPACE = "BenchmarkMetrics";
+    private static final long TOTAL_LOG_BYTES = 100L * 1024 * 1024;
+    private static final long ROTATED_FILE_BYTES = 10L * 1024 * 1024;
+    private static final int METRICS_PER_CYCLE = 1000;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    @Param({"incremental", "full"})
+    public String mode;
+
+    private Path root;
+    private BenchmarkMetricsAggregator aggregator;
+    private long lastAgg;
+    private long cpuTimeNanos;
+    private long cycles;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("metrics-aggregator-benchmark");
+        TelemetryConfig.getInstance().setRoot(root);
+        Path telemetryDir = TelemetryConfig.getTelemetryDirectory();
+        Files.createDirectories(telemetryDir);
+
+        // Retained logs from before the last aggregation, split into rotated files like the telemetry logger does
+        long timestamp = 1;
+        long written = 0;
+        int fileIndex = 0;
+        while (written < TOTAL_LOG_BYTES) {
+            Path file = telemetryDir.resolve(String.format("%s_2020_01_01_00_%d.log", NAMESPACE, fileIndex++));
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                long fileBytes = 0;
+                while (fileBytes < ROTATED_FILE_BYTES) {
+                    String line = logLine(timestamp++);
+                    writer.write(line);
+                    fileBytes += line.length();
+                }
+                written += fileBytes;
+            }
+        }
+        aggregator = new BenchmarkMetricsAggregator();
+        lastAgg = System.currentTimeMillis();
+        // Consume the retained logs once, as the previous cycle would have
+        aggregator.aggregate(0, lastAgg);
+    }
+
+    @Setup(Level.Invocation)
+    public void appendInterval() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(
+                TelemetryConfig.getTelemetryDirectory().resolve(NAMESPACE + ".log"), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < METRICS_PER_CYCLE; i++) {
+                writer.write(logLine(now));
+            }
+        }
+        if ("full".equals(mode)) {
+            Files.deleteIfExists(TelemetryConfig.getTelemetryDirectory().resolve("MetricLogCursors.checkpoint"));
+            aggregator = new BenchmarkMetricsAggregator();
+        }
+    }
+
+    @Benchmark
+    public void aggregationCycle() {
+        long cpuStart = THREAD_MX_BEAN.getCurrentThreadCpuTime();
+        long currTimestamp = System.currentTimeMillis() + 1;
+        aggregator.aggregate(lastAgg, currTimestamp);
+        lastAgg = currTimestamp;
+        cpuTimeNanos += THREAD_MX_BEAN.getCurrentThreadCpuTime() - cpuStart;
+        cycles++;
+    }
+
+    @TearDown(Level.Iteration)
+    public void recordCpuTime() {
+        if (cycles > 0) {
+            MiscResultRecorderProfiler.setResult("cpuTimePerCycle",
+                    cpuTimeNanos / (double) cycles / TimeUnit.MILLISECONDS.toNanos(1), "ms", AggregationPolicy.AVG);
+        }
+        cpuTimeNanos = 0;
+        cycles = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException {
+        TelemetryConfig.getInstance().closeContext();
+        FileUtils.deleteDirectory(root.toFile());
+    }
+
+    private static String logLine(long timestamp) throws IOException {
+        Metric metric = Metric.builder()
+                .namespace(NAMESPACE)
+                .name("Metric" + timestamp % 10)
+                .unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Average)
+                .value(timestamp % 1000)
+                .timestamp(timestamp)
+                .build();
+        Map<String, Object> log = new HashMap<>();
+        log.put("thread", "main");
+        log.put("level", "TRACE");
+        log.put("eventType", null);
+        log.put("message", MAPPER.writeValueAsString(metric));
+        log.put("contexts", new HashMap<>());
+        log.put("loggerName", "Metrics-" + NAMESPACE);
+        log.put("timestamp", timestamp);
+        log.put("cause", null);
+        return MAPPER.writeValueAsString(log) + System.lineSeparator();
+    }
+
+    static class BenchmarkMetricsAggregator extends MetricsAggregator {
+        BenchmarkMetricsAggregator() {
+            super(new StreamingMetricsAggregator(), new MetricLogReader());
+        }
+
+        void aggregate(long lastAgg, long currTimestamp) {
+            aggregateMetrics(lastAgg, currTimestamp);
+        }
+    }
+}
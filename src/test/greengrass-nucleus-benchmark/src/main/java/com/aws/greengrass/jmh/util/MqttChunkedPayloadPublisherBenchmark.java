@@ -0,0 +1,159 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.util;
+
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.mqttclient.MqttClient;
+import com.aws.greengrass.mqttclient.PublishRequest;
+import com.aws.greengrass.mqttclient.spool.Spool;
+import com.aws.greengrass.util.Chunkable;
+import com.aws.greengrass.util.MqttChunkedPayloadPublisher;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures splitting a status update with the given number of entries into MQTT publishes of at most 128KB, the limit
+ * used by fleet status and telemetry. The MQTT client only counts the publishes, so the time is spent serializing and
+ * chunking the payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class MqttChunkedPayloadPublisherBenchmark {
+    private static final int MAX_PAYLOAD_BYTES = 128 * 1024;
+
+    @Param({"10", "100", "1000"})
+    public int entries;
+
+    @Param({"100", "1000"})
+    public int entryBytes;
+
+    private Path rootDir;
+    private Kernel kernel;
+    private ExecutorService executorService;
+    private CountingMqttClient mqttClient;
+    private MqttChunkedPayloadPublisher<String> publisher;
+    private List<String> variablePayloads;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        rootDir = Files.createTempDirectory("chunked-publisher-benchmark");
+        kernel = new Kernel();
+        kernel.parseArgs("-r", rootDir.toString(), "-i", MqttChunkedPayloadPublisherBenchmark.class
+                .getResource("/com/aws/greengrass/jmh/config.yaml").toString());
+        DeviceConfiguration deviceConfiguration = kernel.getContext().get(DeviceConfiguration.class);
+        executorService = Executors.newSingleThreadExecutor();
+        mqttClient = new CountingMqttClient(deviceConfiguration, executorService);
+        publisher = new MqttChunkedPayloadPublisher<>(mqttClient);
+        publisher.setUpdateTopic("$aws/things/benchmark/greengrassv2/health/json");
+        publisher.setMaxPayloadLengthBytes(MAX_PAYLOAD_BYTES);
+
+        char[] entry = new char[entryBytes];
+        Arrays.fill(entry, 'x');
+        variablePayloads = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            variablePayloads.add(new String(entry));
+        }
+    }
+
+    @Benchmark
+    public long publish() {
+        publisher.publish(new StatusPayload(), variablePayloads);
+        return mqttClient.publishes.get();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() throws IOException {
+        mqttClient.close();
+        executorService.shutdownNow();
+        kernel.shutdown();
+        FileUtils.deleteDirectory(rootDir.toFile());
+    }
+
+    private static class CountingMqttClient extends MqttClient {
+        private final AtomicLong publishes = new AtomicLong();
+
+        CountingMqttClient(DeviceConfiguration deviceConfiguration, ExecutorService executorService) {
+            super(deviceConfiguration, new Spool(deviceConfiguration), false, null, executorService);
+        }
+
+        @Override
+        public CompletableFuture<Integer> publish(PublishRequest request) {
+            publishes.incrementAndGet();
+            return CompletableFuture.completedFuture(0);
+        }
+    }
+
+    /**
+     * Payload shaped like a fleet status update, with common fields, chunk info and the list of entries.
+     */
+    public static class StatusPayload implements Chunkable<String> {
+        private final String thing = "benchmark";
+        private final String overallDeviceStatus = "HEALTHY";
+        private int chunkId;
+        private int totalChunks;
+        private List<String> components;
+
+        public String getThing() {
+            return thing;
+        }
+
+        public String getOverallDeviceStatus() {
+            return overallDeviceStatus;
+        }
+
+        public int getChunkId() {
+            return chunkId;
+        }
+
+        public int getTotalChunks() {
+            return totalChunks;
+        }
+
+        public List<String> getComponents() {
+            return components;
+        }
+
+        @Override
+        public void setVariablePayload(List<String> variablePayload) {
+            this.components = variablePayload;
+        }
+
+        @Override
+        public void setChunkInfo(int id, int totalChunks) {
+            this.chunkId = id;
+            this.totalChunks = totalChunks;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.jmh.util;
+
+import com.aws.greengrass.util.OrderedExecutorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to run a batch of 1000 small tasks through the ordered executor, which runs the tasks of one key
+ * in order and the tasks of different keys in parallel. A single key serializes the whole batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@Warmup(iterations = 3, time = 2)
+@State(Scope.Benchmark)
+public class OrderedExecutorServiceBenchmark {
+    private static final int TASKS = 1000;
+    private static final int THREADS = 4;
+
+    @Param({"1", "16", "256"})
+    public int keys;
+
+    private ExecutorService pool;
+    private OrderedExecutorService executor;
+    private Object[] keyObjects;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = Executors.newFixedThreadPool(THREADS);
+        executor = new OrderedExecutorService(pool);
+        keyObjects = new Object[keys];
+        for (int i = 0; i < keys; i++) {
+            keyObjects[i] = "subscriber" + i;
+        }
+    }
+
+    @Benchmark
+    public long runBatch() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(done::countDown, keyObjects[i % keys]);
+        }
+        done.await();
+        return done.getCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -60,6 +60,8 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -200,6 +202,32 @@ class ConfigStoreIPCEventStreamAgentTest {
         assertThat(value, IsMapContaining.hasEntry("SomeLeafKey", "SomeValue"));
     }
 
+    @Test
+    void GIVEN_get_config_request_WHEN_config_unchanged_THEN_return_new_response_with_cached_immutable_value() {
+        when(mockAuthenticationData.getIdentityLabel()).thenReturn(TEST_COMPONENT_A);
+        when(kernel.findServiceTopic(TEST_COMPONENT_A))
+                .thenReturn(configuration.getRoot().lookupTopics(SERVICES_NAMESPACE_TOPIC, TEST_COMPONENT_A));
+        GetConfigurationRequest request = new GetConfigurationRequest();
+        request.setComponentName(TEST_COMPONENT_A);
+        GetConfigurationResponse first = agent.getGetConfigurationHandler(mockContext).handleRequest(request);
+        GetConfigurationResponse second = agent.getGetConfigurationHandler(mockContext).handleRequest(request);
+        assertNotSame(first, second);
+        assertSame(first.getValue(), second.getValue());
+        assertEquals(1, agent.getConfigurationValueCache().size());
+        assertThrows(UnsupportedOperationException.class, () -> second.getValue().put("someKey", "someValue"));
+
+        configuration.getRoot().lookup(SERVICES_NAMESPACE_TOPIC, TEST_COMPONENT_A, CONFIGURATION_CONFIG_KEY,
+                TEST_CONFIG_KEY_1).withValue(25);
+        GetConfigurationResponse third = agent.getGetConfigurationHandler(mockContext).handleRequest(request);
+        assertNotSame(first, third);
+        assertEquals(25, third.getValue().get(TEST_CONFIG_KEY_1));
+
+        configuration.getRoot().lookup(SERVICES_NAMESPACE_TOPIC, TEST_COMPONENT_A, CONFIGURATION_CONFIG_KEY,
+                "newKey").withValue("newValue");
+        GetConfigurationResponse fourth = agent.getGetConfigurationHandler(mockContext).handleRequest(request);
+        assertEquals("newValue", fourth.getValue().get("newKey"));
+    }
+
     @Test
     void GIVEN_get_config_request_WHEN_key_does_not_exist_THEN_fail() {
         when(mockAuthenticationData.getIdentityLabel()).thenReturn(TEST_COMPONENT_A);
@@ -63,6 +63,8 @@ public class ComponentMetricIPCEventStreamAgentTest {
     AuthenticationData mockAuthenticationData;
     @Mock
     AuthorizationHandler authorizationHandler;
+    @Mock
+    StreamingMetricsAggregator streamingMetricsAggregator;
     @Captor
     ArgumentCaptor<Permission> permissionArgumentCaptor;
 
@@ -75,7 +77,8 @@ public class ComponentMetricIPCEventStreamAgentTest {
         validComponentMetricRequest = generateComponentRequest("BytesPerSecond");
         lenient().when(mockContext.getContinuation()).thenReturn(mock(ServerConnectionContinuation.class));
         lenient().when(mockContext.getAuthenticationData()).thenReturn(mockAuthenticationData);
-        componentMetricIPCEventStreamAgent = new ComponentMetricIPCEventStreamAgent(authorizationHandler);
+        componentMetricIPCEventStreamAgent = new ComponentMetricIPCEventStreamAgent(authorizationHandler,
+                streamingMetricsAggregator);
     }
 
     @AfterEach
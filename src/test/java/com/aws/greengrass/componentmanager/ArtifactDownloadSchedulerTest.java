@@ -0,0 +1,169 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.ArtifactDownloadScheduler.ArtifactJob;
+import com.aws.greengrass.componentmanager.exceptions.PackageDownloadException;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class ArtifactDownloadSchedulerTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ArtifactDownloadScheduler scheduler = new ArtifactDownloadScheduler(executor);
+
+    @AfterEach
+    void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void GIVEN_artifact_uris_WHEN_get_host_key_THEN_group_by_scheme_and_host() throws Exception {
+        assertEquals("s3://bucket", ArtifactDownloadScheduler.hostKey(new URI("s3://Bucket/path/to/artifact.zip")));
+        assertEquals("greengrass", ArtifactDownloadScheduler.hostKey(new URI("greengrass:artifact.zip")));
+        assertEquals("docker", ArtifactDownloadScheduler.hostKey(new URI("docker:registry.io/image:latest")));
+    }
+
+    @Test
+    void GIVEN_jobs_for_several_hosts_WHEN_run_all_THEN_run_in_parallel_within_limits() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<String, AtomicInteger> runningPerHost = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxRunningPerHost = new ConcurrentHashMap<>();
+        AtomicInteger completed = new AtomicInteger();
+        // Only released once two jobs run at the same time
+        CountDownLatch parallel = new CountDownLatch(2);
+
+        List<ArtifactJob> jobs = new ArrayList<>();
+        for (String host : Arrays.asList("s3://a", "s3://a", "s3://a", "s3://a", "greengrass", "greengrass")) {
+            jobs.add(new ArtifactJob(host, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                int forHost = runningPerHost.computeIfAbsent(host, k -> new AtomicInteger()).incrementAndGet();
+                maxRunningPerHost.computeIfAbsent(host, k -> new AtomicInteger()).accumulateAndGet(forHost, Math::max);
+                parallel.countDown();
+                assertTrue(parallel.await(5, TimeUnit.SECONDS));
+                TimeUnit.MILLISECONDS.sleep(20);
+                runningPerHost.get(host).decrementAndGet();
+                running.decrementAndGet();
+                completed.incrementAndGet();
+            }));
+        }
+
+        scheduler.runAll(jobs, 3, 2);
+
+        assertEquals(6, completed.get());
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 3);
+        assertTrue(maxRunningPerHost.get("s3://a").get() <= 2);
+        assertTrue(maxRunningPerHost.get("greengrass").get() <= 2);
+    }
+
+    @Test
+    void GIVEN_single_thread_executor_busy_WHEN_run_all_THEN_caller_runs_all_jobs() throws Exception {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            AtomicInteger completed = new AtomicInteger();
+            List<ArtifactJob> jobs = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                jobs.add(new ArtifactJob("s3://host" + i, completed::incrementAndGet));
+            }
+            // preparePackages runs the scheduler on the executor it submits helpers to
+            singleThread.submit(() -> {
+                new ArtifactDownloadScheduler(singleThread).runAll(jobs, 4, 1);
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+            assertEquals(5, completed.get());
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void GIVEN_job_fails_WHEN_run_all_THEN_running_jobs_interrupted_and_pending_jobs_skipped() {
+        AtomicBoolean slowJobInterrupted = new AtomicBoolean();
+        AtomicBoolean pendingJobRan = new AtomicBoolean();
+        CountDownLatch slowJobStarted = new CountDownLatch(1);
+        List<ArtifactJob> jobs = Arrays.asList(
+                new ArtifactJob("s3://a", () -> {
+                    slowJobStarted.countDown();
+                    try {
+                        TimeUnit.SECONDS.sleep(10);
+                    } catch (InterruptedException e) {
+                        slowJobInterrupted.set(true);
+                        throw e;
+                    }
+                }),
+                new ArtifactJob("s3://b", () -> {
+                    assertTrue(slowJobStarted.await(5, TimeUnit.SECONDS));
+                    throw new PackageDownloadException("Failed to download");
+                }),
+                new ArtifactJob("s3://a", () -> pendingJobRan.set(true)));
+
+        PackageDownloadException e =
+                assertThrows(PackageDownloadException.class, () -> scheduler.runAll(jobs, 2, 1));
+        assertEquals("Failed to download", e.getMessage());
+        assertTrue(slowJobInterrupted.get());
+        assertFalse(pendingJobRan.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void GIVEN_caller_interrupted_WHEN_run_all_THEN_return_only_after_running_jobs_stopped() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger finished = new AtomicInteger();
+        List<ArtifactJob> jobs = new ArrayList<>();
+        for (String host : Arrays.asList("s3://a", "s3://b")) {
+            jobs.add(new ArtifactJob(host, () -> {
+                started.countDown();
+                try {
+                    TimeUnit.SECONDS.sleep(10);
+                } finally {
+                    finished.incrementAndGet();
+                }
+            }));
+        }
+        AtomicInteger finishedWhenReturned = new AtomicInteger(-1);
+        AtomicBoolean interruptedExceptionThrown = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            try {
+                scheduler.runAll(jobs, 2, 1);
+            } catch (InterruptedException e) {
+                interruptedExceptionThrown.set(true);
+            } catch (Exception e) {
+                // Not expected, the assertions below fail
+            }
+            finishedWhenReturned.set(finished.get());
+        });
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(5000);
+
+        assertFalse(caller.isAlive());
+        assertTrue(interruptedExceptionThrown.get());
+        assertEquals(2, finishedWhenReturned.get());
+    }
+}
@@ -7,6 +7,7 @@ package com.aws.greengrass.componentmanager;
 
 import com.amazon.aws.iot.greengrass.component.common.RecipeFormatVersion;
 import com.aws.greengrass.componentmanager.builtins.ArtifactDownloaderFactory;
+import com.aws.greengrass.componentmanager.builtins.BandwidthLimiter;
 import com.aws.greengrass.componentmanager.converter.RecipeLoader;
 import com.aws.greengrass.componentmanager.exceptions.PackageLoadingException;
 import com.aws.greengrass.componentmanager.models.ComponentIdentifier;
@@ -38,6 +39,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -321,6 +326,28 @@ class ComponentStoreTest {
         assertTrue(e.getMessage().contains("Found empty recipe for component EmptyRecipe. File was likely corrupted"));
     }
 
+    @Test
+    void GIVEN_a_recipe_found_WHEN_findPackageRecipe_again_THEN_parsed_recipe_reused_until_recipe_saved()
+            throws Exception {
+        preloadRecipeFileFromTestResource(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME);
+        String recipeContent =
+                new String(Files.readAllBytes(RECIPE_RESOURCE_PATH.resolve(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME)));
+
+        ComponentRecipe recipe = componentStore.getPackageRecipe(MONITORING_SERVICE_PKG_ID);
+        assertThat(componentStore.getPackageRecipe(MONITORING_SERVICE_PKG_ID), is(recipe));
+        assertEquals(1, componentStore.getRecipeCacheMisses());
+        assertEquals(1, componentStore.getRecipeCacheHits());
+
+        componentStore.savePackageRecipe(MONITORING_SERVICE_PKG_ID,
+                recipeContent.replace("echo MonitoringService-1.1.0", "echo updated"));
+        assertThat(componentStore.getPackageRecipe(MONITORING_SERVICE_PKG_ID).getLifecycle().get("run"),
+                is("echo updated"));
+        assertEquals(2, componentStore.getRecipeCacheMisses());
+
+        componentStore.deleteComponent(MONITORING_SERVICE_PKG_ID, artifactDownloaderFactory);
+        assertFalse(componentStore.findPackageRecipe(MONITORING_SERVICE_PKG_ID).isPresent());
+    }
+
     @Test
     void GIVEN_a_recipe_does_not_exist_WHEN_findPackageRecipe_THEN_empty_is_returned() throws Exception {
         // WHEN
@@ -468,9 +495,55 @@ class ComponentStoreTest {
         // put in a recipe, should include that file size
         preloadRecipeFileFromTestResource(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME);
         long recipeLength = RECIPE_RESOURCE_PATH.resolve(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME).toFile().length();
+        // the file was written around the component store, so it's only counted once the size is reconciled
+        assertEquals(recipeLength, componentStore.reconcileContentSize());
         assertEquals(recipeLength, componentStore.getContentSize());
     }
 
+    @Test
+    void GIVEN_content_size_scanned_WHEN_component_saved_and_deleted_THEN_content_size_accounted_without_scan()
+            throws Exception {
+        assertEquals(0, componentStore.getContentSize());
+
+        String recipeContent = new String(
+                Files.readAllBytes(RECIPE_RESOURCE_PATH.resolve(MONITORING_SERVICE_PKG_RECIPE_FILE_NAME)),
+                StandardCharsets.UTF_8);
+        componentStore.savePackageRecipe(MONITORING_SERVICE_PKG_ID, recipeContent);
+        long recipeLength = getExpectedRecipeFile(MONITORING_SERVICE_PKG_ID).length();
+        assertEquals(recipeLength, componentStore.getContentSize());
+
+        Path artifactPath = componentStore.resolveArtifactDirectoryPath(MONITORING_SERVICE_PKG_ID)
+                .resolve(MONITORING_SERVICE_PKG_ARTIFACT_NAME);
+        long sizeBefore = componentStore.beginContentSizeChange(artifactPath);
+        Files.write(artifactPath, new byte[100]);
+        componentStore.recordContentSizeChange(artifactPath, sizeBefore);
+        assertEquals(recipeLength + 100, componentStore.getContentSize());
+
+        componentStore.deleteComponent(MONITORING_SERVICE_PKG_ID, artifactDownloaderFactory);
+        assertEquals(0, componentStore.getContentSize());
+        assertEquals(0, componentStore.reconcileContentSize());
+    }
+
+    @Test
+    void GIVEN_artifact_being_written_WHEN_content_size_reconciled_THEN_written_bytes_counted_once() throws Exception {
+        assertEquals(0, componentStore.getContentSize());
+
+        Path artifactPath = componentStore.resolveArtifactDirectoryPath(MONITORING_SERVICE_PKG_ID)
+                .resolve(MONITORING_SERVICE_PKG_ARTIFACT_NAME);
+        Files.write(artifactPath, new byte[40]);
+        assertEquals(40, componentStore.reconcileContentSize());
+
+        long sizeBefore = componentStore.beginContentSizeChange(artifactPath);
+        Files.write(artifactPath, new byte[60], StandardOpenOption.APPEND);
+        // the partially written artifact is counted at its size before the write
+        assertEquals(40, componentStore.reconcileContentSize());
+
+        Files.write(artifactPath, new byte[100], StandardOpenOption.APPEND);
+        componentStore.recordContentSizeChange(artifactPath, sizeBefore);
+        assertEquals(200, componentStore.getContentSize());
+        assertEquals(200, componentStore.reconcileContentSize());
+    }
+
     private void preloadRecipeFileFromTestResource(String recipeFileName) throws Exception {
         String destinationFilename = getRecipeStorageFilenameFromTestSource(recipeFileName);
 
@@ -672,6 +745,71 @@ class ComponentStoreTest {
         verify(dockerImageDownloader, times(1)).cleanup();
     }
 
+    @Test
+    void GIVEN_recorded_artifact_digest_WHEN_artifact_unchanged_THEN_digest_reused_until_artifact_changes()
+            throws Exception {
+        Path artifact = writeArtifact("content");
+        componentStore.recordArtifactDigest(artifact, "SHA-256", "digest");
+
+        assertEquals(Optional.of("digest"), componentStore.findArtifactDigest(artifact, "SHA-256"));
+        assertEquals(Optional.empty(), componentStore.findArtifactDigest(artifact, "SHA-1"));
+        // The index is persisted in the component store
+        ComponentStore restarted = new ComponentStore(nucleusPaths, platformResolver, recipeLoader);
+        assertEquals(Optional.of("digest"), restarted.findArtifactDigest(artifact, "SHA-256"));
+
+        Files.write(artifact, "changed content".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Optional.empty(), componentStore.findArtifactDigest(artifact, "SHA-256"));
+    }
+
+    @Test
+    void GIVEN_content_size_known_WHEN_artifact_digests_recorded_THEN_digest_index_accounted_without_scan()
+            throws Exception {
+        Path artifact = writeArtifact("content");
+        long contentSize = componentStore.reconcileContentSize();
+
+        componentStore.recordArtifactDigest(artifact, "SHA-256", "digest");
+        // the second save also leaves a backup of the index behind
+        componentStore.recordArtifactDigest(artifact, "SHA-256", "other digest");
+
+        assertTrue(componentStore.getContentSize() > contentSize);
+        assertEquals(componentStore.getContentSize(), componentStore.reconcileContentSize());
+    }
+
+    @Test
+    void GIVEN_artifact_modified_just_before_recording_WHEN_find_digest_THEN_digest_not_trusted() throws Exception {
+        Path artifact = artifactDirectory.resolve("recent.txt");
+        Files.write(artifact, "content".getBytes(StandardCharsets.UTF_8));
+        componentStore.recordArtifactDigest(artifact, "SHA-256", "digest");
+
+        assertEquals(Optional.empty(), componentStore.findArtifactDigest(artifact, "SHA-256"));
+    }
+
+    @Test
+    void GIVEN_artifact_corrupted_in_place_WHEN_scrub_artifact_digests_THEN_digest_dropped() throws Exception {
+        Path artifact = writeArtifact("content");
+        Path intact = writeArtifact("intact");
+        componentStore.recordArtifactDigest(artifact, "SHA-256", Digest.calculate("content"));
+        componentStore.recordArtifactDigest(intact, "SHA-256", Digest.calculate("intact"));
+
+        // Same size and modification time, so only re-hashing notices
+        FileTime lastModified = Files.getLastModifiedTime(artifact);
+        Files.write(artifact, "CONTENT".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(artifact, lastModified);
+        assertTrue(componentStore.findArtifactDigest(artifact, "SHA-256").isPresent());
+
+        assertEquals(1, componentStore.scrubArtifactDigests(new BandwidthLimiter(() -> 0L)));
+        assertEquals(Optional.empty(), componentStore.findArtifactDigest(artifact, "SHA-256"));
+        assertTrue(componentStore.findArtifactDigest(intact, "SHA-256").isPresent());
+    }
+
+    private Path writeArtifact(String content) throws IOException {
+        Path artifact = artifactDirectory.resolve(content + ".txt");
+        Files.write(artifact, content.getBytes(StandardCharsets.UTF_8));
+        // Written well before its digest is recorded
+        Files.setLastModifiedTime(artifact, FileTime.from(Instant.now().minus(Duration.ofMinutes(1))));
+        return artifact;
+    }
+
     private static Map<String, String> getExpectedDependencies(Requirement versionRequirement) {
         return new HashMap<String, String>() {{
             put(ComponentTestResourceHelper.LOG_PACKAGE_NAME, versionRequirement.toString());
@@ -0,0 +1,161 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.componentmanager;
+
+import com.aws.greengrass.componentmanager.exceptions.NoAvailableComponentVersionException;
+import com.aws.greengrass.componentmanager.models.ComponentIdentifier;
+import com.aws.greengrass.componentmanager.models.ComponentMetadata;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.vdurmont.semver4j.Requirement;
+import com.vdurmont.semver4j.Semver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class ConcurrentComponentResolverTest {
+    private static final Map<String, Requirement> REQUIREMENTS =
+            Collections.singletonMap("group1", Requirement.buildNPM("^1.0.0"));
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void GIVEN_component_resolved_WHEN_resolve_with_same_requirements_THEN_result_reused() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        try (ConcurrentComponentResolver resolver = new ConcurrentComponentResolver((name, requirements) -> {
+            calls.incrementAndGet();
+            return metadata(name);
+        }, executor, 4)) {
+            assertEquals(metadata("A"), resolver.resolve("A", REQUIREMENTS));
+            assertEquals(metadata("A"), resolver.resolve("A", REQUIREMENTS));
+            resolver.resolve("A", Collections.singletonMap("group1", Requirement.buildNPM("1.0.0")));
+
+            assertEquals(2, calls.get());
+            assertEquals(2, resolver.getResolutionCount());
+            assertEquals(1, resolver.getReusedResolutionCount());
+        }
+    }
+
+    @Test
+    void GIVEN_level_prefetched_WHEN_resolve_THEN_components_resolved_concurrently() throws Exception {
+        // Only released once all three resolutions run at the same time
+        CountDownLatch concurrent = new CountDownLatch(3);
+        try (ConcurrentComponentResolver resolver = new ConcurrentComponentResolver((name, requirements) -> {
+            concurrent.countDown();
+            assertTrue(concurrent.await(5, TimeUnit.SECONDS));
+            return metadata(name);
+        }, executor, 4)) {
+            resolver.prefetch(level("A", "B", "C"));
+
+            assertEquals(metadata("A"), resolver.resolve("A", REQUIREMENTS));
+            assertEquals(metadata("B"), resolver.resolve("B", REQUIREMENTS));
+            assertEquals(metadata("C"), resolver.resolve("C", REQUIREMENTS));
+            assertEquals(3, resolver.getResolutionCount());
+        }
+    }
+
+    @Test
+    void GIVEN_executor_busy_WHEN_resolve_prefetched_level_THEN_caller_resolves_all() throws Exception {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try (ConcurrentComponentResolver resolver = new ConcurrentComponentResolver(
+                (name, requirements) -> metadata(name), singleThread, 4)) {
+            singleThread.submit(() -> {
+                release.await();
+                return null;
+            });
+            resolver.prefetch(level("A", "B", "C"));
+
+            assertEquals(metadata("A"), resolver.resolve("A", REQUIREMENTS));
+            assertEquals(metadata("B"), resolver.resolve("B", REQUIREMENTS));
+            assertEquals(metadata("C"), resolver.resolve("C", REQUIREMENTS));
+        } finally {
+            release.countDown();
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void GIVEN_prefetched_resolution_fails_WHEN_resolve_THEN_failure_rethrown() throws Exception {
+        try (ConcurrentComponentResolver resolver = new ConcurrentComponentResolver((name, requirements) -> {
+            if ("B".equals(name)) {
+                throw new NoAvailableComponentVersionException("No version found", name, requirements);
+            }
+            return metadata(name);
+        }, executor, 4)) {
+            resolver.prefetch(level("A", "B"));
+
+            assertEquals(metadata("A"), resolver.resolve("A", REQUIREMENTS));
+            assertThrows(NoAvailableComponentVersionException.class, () -> resolver.resolve("B", REQUIREMENTS));
+        }
+    }
+
+    @Test
+    void GIVEN_component_prefetched_WHEN_resolve_with_other_requirements_THEN_resolutions_not_concurrent()
+            throws Exception {
+        Map<String, Requirement> otherRequirements = Collections.singletonMap("group1", Requirement.buildNPM("1.0.0"));
+        CountDownLatch prefetchStarted = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        try (ConcurrentComponentResolver resolver = new ConcurrentComponentResolver((name, requirements) -> {
+            if (!"A".equals(name)) {
+                return metadata(name);
+            }
+            if (running.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            try {
+                if (REQUIREMENTS.equals(requirements)) {
+                    prefetchStarted.countDown();
+                    // Give the caller time to start resolving the same component
+                    Thread.sleep(200);
+                }
+                return metadata(name);
+            } finally {
+                running.decrementAndGet();
+            }
+        }, executor, 4)) {
+            // Two components, so that a helper starts and resolves the first one
+            resolver.prefetch(level("A", "B"));
+            assertTrue(prefetchStarted.await(5, TimeUnit.SECONDS));
+
+            assertEquals(metadata("A"), resolver.resolve("A", otherRequirements));
+            assertEquals(metadata("A"), resolver.resolve("A", REQUIREMENTS));
+            assertFalse(overlapped.get());
+        }
+    }
+
+    private static Map<String, Map<String, Requirement>> level(String... components) {
+        Map<String, Map<String, Requirement>> level = new LinkedHashMap<>();
+        for (String component : components) {
+            level.put(component, REQUIREMENTS);
+        }
+        return level;
+    }
+
+    private static ComponentMetadata metadata(String name) {
+        return new ComponentMetadata(new ComponentIdentifier(name, new Semver("1.0.0")), Collections.emptyMap());
+    }
+}
@@ -36,6 +36,8 @@ import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
@@ -49,9 +51,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
 class ArtifactDownloaderTest {
@@ -243,6 +247,27 @@ class ArtifactDownloaderTest {
         File file = downloader.getArtifactFile();
         Files.write(file.toPath(), content.getBytes());
         assertThat(downloader.downloadRequired(), is(false));
+        verify(componentStore).recordArtifactDigest(file.toPath(), "SHA-256", checksum);
+    }
+
+    @Test
+    void GIVEN_recorded_digest_WHEN_download_required_THEN_artifact_not_hashed() throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = ComponentArtifact.builder()
+                .algorithm("SHA-256").checksum(checksum)
+                .artifactUri(new URI("s3://eg-artifacts/ComponentWithS3Artifacts-1.0.0/artifact.txt")).build();
+
+        MockDownloader downloader = new MockDownloader(createTestIdentifier(), artifact, artifactDir, content,
+                componentStore);
+        File file = downloader.getArtifactFile();
+        // Content doesn't match, but the recorded digest is trusted
+        Files.write(file.toPath(), "Different content".getBytes());
+        when(componentStore.findArtifactDigest(file.toPath(), "SHA-256")).thenReturn(Optional.of(checksum));
+
+        assertThat(downloader.downloadRequired(), is(false));
+        verify(componentStore, never()).recordArtifactDigest(any(), any(), any());
     }
 
     @Test
@@ -256,6 +281,73 @@ class ArtifactDownloaderTest {
         assertThat(downloader.downloadRequired(), is(false));
     }
 
+    @Test
+    void GIVEN_large_artifact_WHEN_download_THEN_fetch_segments_in_parallel() throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = createTestArtifact("SHA-256", checksum);
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            MockDownloader downloader =
+                    spy(new ParallelMockDownloader(createTestIdentifier(), artifact, artifactDir, content,
+                            componentStore));
+            downloader.setExecutorService(executor);
+            downloader.setMultiPartThresholdBytes(10);
+            downloader.setSegmentSizeBytes(5);
+
+            File file = downloader.download();
+
+            assertThat(Files.readAllBytes(file.toPath()), equalTo(content.getBytes()));
+            for (long start = 0; start < content.length(); start += 5) {
+                verify(downloader).download(eq(start), eq(Math.min(start + 5, content.length()) - 1), any());
+            }
+            assertThat(Files.exists(artifactDir.resolve(LOCAL_FILE_NAME + ".segments")), is(false));
+            assertThat(downloader.downloadRequired(), is(false));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void GIVEN_multi_part_download_progress_exists_WHEN_download_THEN_fetch_missing_segments_only() throws Exception {
+        String content = "Sample artifact content";
+        String checksum = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content.getBytes()));
+        ComponentArtifact artifact = createTestArtifact("SHA-256", checksum);
+
+        // Segments 0 and 2 were written before a restart, the rest of the preallocated file is empty
+        byte[] partial = new byte[content.length()];
+        System.arraycopy(content.getBytes(), 0, partial, 0, 5);
+        System.arraycopy(content.getBytes(), 10, partial, 10, 5);
+        Files.write(artifactDir.resolve(LOCAL_FILE_NAME), partial);
+        Files.write(artifactDir.resolve(LOCAL_FILE_NAME + ".segments"),
+                Arrays.asList(String.format("size=%d segmentSize=5 checksum=%s", content.length(), checksum), "0",
+                        "2", "3x"));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MockDownloader downloader =
+                    spy(new ParallelMockDownloader(createTestIdentifier(), artifact, artifactDir, content,
+                            componentStore));
+            downloader.setExecutorService(executor);
+            downloader.setMultiPartThresholdBytes(10);
+            downloader.setSegmentSizeBytes(5);
+            assertThat(downloader.downloadRequired(), is(true));
+
+            File file = downloader.download();
+
+            assertThat(Files.readAllBytes(file.toPath()), equalTo(content.getBytes()));
+            verify(downloader).download(eq(5L), eq(9L), any());
+            verify(downloader).download(eq(15L), eq(19L), any());
+            verify(downloader).download(eq(20L), eq(22L), any());
+            verify(downloader, times(3)).download(anyLong(), anyLong(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private ComponentIdentifier createTestIdentifier() {
         return new ComponentIdentifier("SomeServiceWithArtifactsInS3", new Semver("1.0.0"));
     }
@@ -265,6 +357,18 @@ class ArtifactDownloaderTest {
                 .artifactUri(new URI("s3://eg-artifacts/ComponentWithS3Artifacts-1.0.0/artifact.txt")).build();
     }
 
+    static class ParallelMockDownloader extends MockDownloader {
+        ParallelMockDownloader(ComponentIdentifier identifier, ComponentArtifact artifact, Path artifactDir,
+                               String inputContent, ComponentStore componentStore) {
+            super(identifier, artifact, artifactDir, inputContent, componentStore);
+        }
+
+        @Override
+        protected boolean supportsParallelRangedDownload() {
+            return true;
+        }
+    }
+
     static class MockDownloader extends ArtifactDownloader {
         final String localFileName = LOCAL_FILE_NAME;
         final String input;
@@ -35,17 +35,21 @@ import software.amazon.awssdk.services.greengrassv2data.GreengrassV2DataClient;
 import software.amazon.awssdk.services.greengrassv2data.model.GetComponentVersionArtifactRequest;
 import software.amazon.awssdk.services.greengrassv2data.model.GetComponentVersionArtifactResponse;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Base64;
 
 import static com.aws.greengrass.componentmanager.builtins.GreengrassRepositoryDownloader.CONTENT_LENGTH_HEADER;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_FORBIDDEN;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static java.net.HttpURLConnection.HTTP_PARTIAL;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -244,6 +248,64 @@ class GreengrassRepositoryDownloaderTest {
         assertThat(e.getLocalizedMessage(), containsStringIgnoringCase("Unable to download Greengrass artifact"));
     }
 
+    @Test
+    void GIVEN_several_ranged_downloads_WHEN_download_THEN_url_fetched_once_and_client_reused() throws Exception {
+        GetComponentVersionArtifactResponse result =
+                GetComponentVersionArtifactResponse.builder()
+                        .preSignedUrl("https://www.amazon.com/artifact.txt").build();
+        when(client.getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class))).thenReturn(result);
+        ComponentIdentifier pkgId = new ComponentIdentifier("CoolService", new Semver("1.0.0"));
+        lenient().when(componentStore.getRecipeMetadata(pkgId)).thenReturn(new RecipeMetadata(TEST_ARN));
+        GreengrassRepositoryDownloader downloader = spy(new GreengrassRepositoryDownloader(clientFactory, pkgId,
+                ComponentArtifact.builder().artifactUri(new URI("greengrass:binary")).build(), null, componentStore));
+
+        doReturn(httpClient).when(downloader).getSdkHttpClient();
+        doReturn(request).when(httpClient).prepareRequest(any());
+        when(request.call()).thenAnswer(invocation -> partialResponse(100));
+        doReturn(100L).when(downloader).download(any(InputStream.class), any(MessageDigest.class));
+
+        MessageDigest digest = MessageDigest.getInstance(SHA256);
+        assertEquals(100, downloader.download(0, 99, digest));
+        assertEquals(100, downloader.download(100, 199, digest));
+
+        verify(client, times(1)).getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class));
+        verify(downloader, times(1)).getSdkHttpClient();
+        verify(httpClient, times(2)).prepareRequest(any());
+    }
+
+    @Test
+    void GIVEN_url_rejected_WHEN_download_THEN_retry_with_new_url() throws Exception {
+        when(client.getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class))).thenReturn(
+                GetComponentVersionArtifactResponse.builder().preSignedUrl("https://www.amazon.com/expired").build(),
+                GetComponentVersionArtifactResponse.builder().preSignedUrl("https://www.amazon.com/fresh").build());
+        ComponentIdentifier pkgId = new ComponentIdentifier("CoolService", new Semver("1.0.0"));
+        lenient().when(componentStore.getRecipeMetadata(pkgId)).thenReturn(new RecipeMetadata(TEST_ARN));
+        GreengrassRepositoryDownloader downloader = spy(new GreengrassRepositoryDownloader(clientFactory, pkgId,
+                ComponentArtifact.builder().artifactUri(new URI("greengrass:binary")).build(), null, componentStore));
+        downloader.setClientExceptionRetryConfig(RetryUtils.RetryConfig.builder()
+                .initialRetryInterval(Duration.ofMillis(10)).maxRetryInterval(Duration.ofMillis(10)).maxAttempt(3)
+                .retryableExceptions(Arrays.asList(RetryableServerErrorException.class)).build());
+
+        doReturn(httpClient).when(downloader).getSdkHttpClient();
+        doReturn(request).when(httpClient).prepareRequest(any());
+        when(request.call())
+                .thenReturn(HttpExecuteResponse.builder()
+                        .response(SdkHttpResponse.builder().statusCode(HTTP_FORBIDDEN).build()).build())
+                .thenAnswer(invocation -> partialResponse(100));
+        doReturn(100L).when(downloader).download(any(InputStream.class), any(MessageDigest.class));
+
+        assertEquals(100, downloader.download(0, 99, MessageDigest.getInstance(SHA256)));
+        verify(client, times(2)).getComponentVersionArtifact(any(GetComponentVersionArtifactRequest.class));
+    }
+
+    private static HttpExecuteResponse partialResponse(int length) {
+        return HttpExecuteResponse.builder()
+                .response(SdkHttpResponse.builder().statusCode(HTTP_PARTIAL)
+                        .putHeader(CONTENT_LENGTH_HEADER, String.valueOf(length)).build())
+                .responseBody(AbortableInputStream.create(new ByteArrayInputStream(new byte[length])))
+                .build();
+    }
+
     @Test
     void GIVEN_filename_in_uri_WHEN_attempt_resolve_filename_THEN_parse_filename() {
         String filename = GreengrassRepositoryDownloader
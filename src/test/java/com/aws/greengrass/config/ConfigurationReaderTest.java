@@ -7,6 +7,7 @@ package com.aws.greengrass.config;
 
 import com.aws.greengrass.dependency.Context;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.Utils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -19,14 +20,20 @@ import java.nio.charset.MalformedInputException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
 import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICE_LIFECYCLE_NAMESPACE_TOPIC;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(GGExtension.class)
 class ConfigurationReaderTest {
@@ -342,4 +349,75 @@ class ConfigurationReaderTest {
             assertNull(skeleton.find("test", "lastline").getOnce());
         }
     }
+
+    @Test
+    void GIVEN_delta_snapshot_of_modified_subtrees_WHEN_update_from_tlog_THEN_only_subtrees_rolled_back()
+            throws Exception {
+        long now = System.currentTimeMillis();
+        UpdateBehaviorTree root = new UpdateBehaviorTree(UpdateBehaviorTree.UpdateBehavior.MERGE, now);
+        UpdateBehaviorTree services = new UpdateBehaviorTree(UpdateBehaviorTree.UpdateBehavior.MERGE, now);
+        root.getChildOverride().put(SERVICES_NAMESPACE_TOPIC, services);
+        services.getChildOverride().put(UpdateBehaviorTree.WILDCARD,
+                new UpdateBehaviorTree(UpdateBehaviorTree.UpdateBehavior.REPLACE, now));
+
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "A", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run").withNewerValue(2, "a1");
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "A", "configuration", "key").withNewerValue(2, "value");
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "B", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run").withNewerValue(2, "b1");
+        config.lookup("system", "rootpath").withNewerValue(2, "/greengrass");
+
+        Map<String, Object> newConfig = Utils.immutableMap(SERVICES_NAMESPACE_TOPIC, Utils.immutableMap(
+                "A", Utils.immutableMap(SERVICE_LIFECYCLE_NAMESPACE_TOPIC, Utils.immutableMap("run", "a2")),
+                "C", Utils.immutableMap(SERVICE_LIFECYCLE_NAMESPACE_TOPIC, Utils.immutableMap("run", "c1"))));
+        List<String[]> subtrees = root.subtreesModifiedBy(config.getRoot(), newConfig);
+        assertThat(subtrees.stream().map(p -> String.join(".", p)).collect(Collectors.toList()),
+                containsInAnyOrder("services.A", "services.C"));
+
+        Path tlogPath = tempDir.resolve("delta.tlog");
+        ConfigurationWriter.dump(config, tlogPath, subtrees);
+        List<String> lines = Files.readAllLines(tlogPath);
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().noneMatch(l -> l.contains("rootpath") || l.contains("b1")));
+
+        config.updateMap(newConfig, root);
+        config.context.waitForPublishQueueToClear();
+        assertNull(config.find(SERVICES_NAMESPACE_TOPIC, "A", "configuration", "key"));
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "B", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run").withValue("b2");
+
+        ConfigurationReader.updateFromTLog(config, tlogPath, true, null, root, subtrees);
+        config.context.waitForPublishQueueToClear();
+
+        // Modified subtrees are rolled back, a service which was added is removed
+        assertEquals("a1", config.find(SERVICES_NAMESPACE_TOPIC, "A", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run")
+                .getOnce());
+        assertEquals("value", config.find(SERVICES_NAMESPACE_TOPIC, "A", "configuration", "key").getOnce());
+        assertNull(config.findNode(SERVICES_NAMESPACE_TOPIC, "C"));
+        // Everything else is left as it is, even though the service has replace behavior
+        assertEquals("b2", config.find(SERVICES_NAMESPACE_TOPIC, "B", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run")
+                .getOnce());
+        assertEquals("/greengrass", config.find("system", "rootpath").getOnce());
+    }
+
+    @Test
+    void GIVEN_new_config_with_unchanged_services_WHEN_get_modified_subtrees_THEN_unchanged_services_excluded() {
+        long now = System.currentTimeMillis();
+        UpdateBehaviorTree root = new UpdateBehaviorTree(UpdateBehaviorTree.UpdateBehavior.MERGE, now);
+        UpdateBehaviorTree services = new UpdateBehaviorTree(UpdateBehaviorTree.UpdateBehavior.MERGE, now);
+        root.getChildOverride().put(SERVICES_NAMESPACE_TOPIC, services);
+        services.getChildOverride().put(UpdateBehaviorTree.WILDCARD,
+                new UpdateBehaviorTree(UpdateBehaviorTree.UpdateBehavior.REPLACE, now));
+
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "A", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run").withNewerValue(2, "a1");
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "B", SERVICE_LIFECYCLE_NAMESPACE_TOPIC, "run").withNewerValue(2, "b1");
+        config.lookup(SERVICES_NAMESPACE_TOPIC, "B", "version").withNewerValue(2, "1.0.0");
+        config.lookup("system", "rootpath").withNewerValue(2, "/greengrass");
+
+        Map<String, Object> newConfig = Utils.immutableMap(SERVICES_NAMESPACE_TOPIC, Utils.immutableMap(
+                "A", Utils.immutableMap(SERVICE_LIFECYCLE_NAMESPACE_TOPIC, Utils.immutableMap("run", "a2")),
+                "B", Utils.immutableMap(SERVICE_LIFECYCLE_NAMESPACE_TOPIC, Utils.immutableMap("run", "b1"),
+                        "version", "1.0.0")),
+                "system", Utils.immutableMap("rootpath", "/greengrass"));
+        List<String[]> subtrees = root.subtreesModifiedBy(config.getRoot(), newConfig);
+        assertThat(subtrees.stream().map(p -> String.join(".", p)).collect(Collectors.toList()),
+                containsInAnyOrder("services.A"));
+    }
 }
@@ -24,14 +24,20 @@ import java.io.InputStream;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
 import static com.aws.greengrass.util.Coerce.toInt;
@@ -40,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -191,6 +198,130 @@ class ConfigurationTest {
         assertEquals(containerNode, config.findNode("root", "container"));
     }
 
+    @Test
+    void GIVEN_config_WHEN_node_changed_THEN_version_changes_for_node_and_ancestors_only() {
+        Topic leaf = config.lookup("a", "b", "c");
+        Topic sibling = config.lookup("a", "x");
+        long rootVersion = config.getRoot().getVersion();
+        long aVersion = config.findTopics("a").getVersion();
+        long bVersion = config.findTopics("a", "b").getVersion();
+        long siblingVersion = sibling.getVersion();
+
+        leaf.withValue("v1");
+        assertTrue(config.getRoot().getVersion() > rootVersion);
+        assertTrue(config.findTopics("a").getVersion() > aVersion);
+        assertTrue(config.findTopics("a", "b").getVersion() > bVersion);
+        assertEquals(siblingVersion, sibling.getVersion());
+
+        // Setting the same value again is not a change
+        long leafVersion = leaf.getVersion();
+        leaf.withValue("v1");
+        assertEquals(leafVersion, leaf.getVersion());
+
+        bVersion = config.findTopics("a", "b").getVersion();
+        config.findTopics("a", "b").remove(leaf);
+        assertTrue(config.findTopics("a", "b").getVersion() > bVersion);
+    }
+
+    @Test
+    void GIVEN_configs_with_same_content_WHEN_one_changed_THEN_content_hash_and_diff_reflect_change() {
+        Configuration other = new Configuration(new Context());
+        try {
+            for (Configuration c : new Configuration[]{config, other}) {
+                c.lookup("services", "a", "lifecycle", "run").withValue("run a");
+                c.lookup("services", "a", "version").withValue("1.0.0");
+                c.lookup("services", "b", "lifecycle", "run").withValue("run b");
+            }
+            // Equal content gives equal hashes, no matter the case of the names
+            other.lookup("services", "B", "lifecycle", "Run");
+            assertTrue(config.getRoot().contentEquals(other.getRoot()));
+            assertTrue(config.getRoot().diff(other.getRoot()).isEmpty());
+
+            other.lookup("services", "a", "version").withValue("2.0.0");
+            other.lookup("services", "b", "lifecycle", "install").withValue("install b");
+            other.findTopics("services", "a").remove(other.findNode("services", "a", "lifecycle"));
+            assertFalse(config.getRoot().contentEquals(other.getRoot()));
+            assertTrue(config.findNode("services", "b", "lifecycle", "run")
+                    .contentEquals(other.findNode("services", "b", "lifecycle", "run")));
+
+            Set<List<String>> changed = config.getRoot().diff(other.getRoot()).stream().map(Arrays::asList)
+                    .collect(Collectors.toSet());
+            assertEquals(new HashSet<>(Arrays.asList(Arrays.asList("services", "a", "version"),
+                    Arrays.asList("services", "a", "lifecycle"),
+                    Arrays.asList("services", "b", "lifecycle", "install"))), changed);
+
+            // Changing the value back restores the hash
+            other.lookup("services", "a", "version").withValue("1.0.0");
+            assertTrue(config.findNode("services", "a", "version")
+                    .contentEquals(other.findNode("services", "a", "version")));
+        } finally {
+            other.context.close();
+        }
+    }
+
+    @Test
+    void GIVEN_leaf_values_WHEN_content_hash_THEN_values_hashed_by_type_and_content() {
+        Topic string = config.lookup("a", "string").withValue("1");
+        Topic number = config.lookup("a", "number").withValue(1L);
+        assertFalse(string.contentEquals(number));
+
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("x", Arrays.asList("1", 2L));
+        ordered.put("y", true);
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("y", true);
+        reversed.put("x", Arrays.asList("1", 2L));
+        Topic first = config.lookup("a", "first").withNewerValue(System.currentTimeMillis(), (Object) ordered);
+        Topic second = config.lookup("a", "second").withNewerValue(System.currentTimeMillis(), (Object) reversed);
+        assertTrue(first.contentEquals(second));
+
+        Topic third = config.lookup("a", "third").withValue(Arrays.asList("1", "2"));
+        Topic fourth = config.lookup("a", "fourth").withValue(Arrays.asList("2", "1"));
+        assertFalse(third.contentEquals(fourth));
+    }
+
+    @Test
+    void GIVEN_subtree_changing_while_snapshot_taken_WHEN_snapshot_THEN_snapshot_taken_on_publish_queue() {
+        String publishThread = "Serialized listener processor";
+        AtomicInteger changes = new AtomicInteger();
+        Topics changing = new Topics(config.context, "changing", null) {
+            @Override
+            protected ConfigSnapshot buildSnapshot(long atVersion) {
+                // writers keep changing the subtree, except while the publish queue is busy with the snapshot
+                if (!publishThread.equals(Thread.currentThread().getName())) {
+                    lookup("counter").withValue(changes.incrementAndGet());
+                }
+                return super.buildSnapshot(atVersion);
+            }
+        };
+
+        ConfigSnapshot snapshot = changing.snapshot();
+
+        assertEquals(changing.getVersion(), snapshot.getVersion());
+        assertEquals(changes.get(), toInt(snapshot.find("counter").getValue()));
+    }
+
+    @Test
+    void GIVEN_config_snapshot_WHEN_config_changed_THEN_snapshot_unchanged_and_unchanged_subtrees_shared() {
+        config.lookup("services", "a", "version").withValue("1.0.0");
+        config.lookup("services", "b", "version").withValue("1.0.0");
+        config.lookup("services", "b", "_private").withValue("hidden");
+        ConfigSnapshot before = config.snapshot();
+        assertEquals(config.getRoot().getVersion(), before.getVersion());
+        assertSame(before, config.snapshot());
+
+        config.lookup("services", "a", "version").withValue("2.0.0");
+        config.findTopics("services", "b").remove(config.findNode("services", "b", "_private"));
+        ConfigSnapshot after = config.snapshot();
+
+        assertEquals("1.0.0", before.find("services", "a", "version").getValue());
+        assertEquals("hidden", before.find("services", "B", "_private").getValue());
+        assertEquals("2.0.0", after.find("services", "a", "version").getValue());
+        assertNull(after.find("services", "b", "_private"));
+        assertSame(before.find("services", "b", "version"), after.find("services", "b", "version"));
+        assertEquals(config.findTopics("services").toPOJO(), after.find("services").toPOJO());
+    }
+
     @Test
     void GIVEN_config_with_subscribers_WHEN_topic_updated_THEN_subscribers_notified_with_changed_node()
             throws Exception {
@@ -24,6 +24,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
 
 import static com.aws.greengrass.deployment.DeploymentDirectoryManager.BOOTSTRAP_TASK_FILE;
 import static com.aws.greengrass.deployment.DeploymentDirectoryManager.DEPLOYMENT_METADATA_FILE;
@@ -165,6 +167,14 @@ class DeploymentDirectoryManagerTest {
         verify(kernel, times(1)).writeEffectiveConfigAsTransactionLog(any());
     }
 
+    @Test
+    void GIVEN_file_path_and_subtrees_WHEN_take_config_snapshot_THEN_call_kernel_with_subtrees() throws Exception {
+        List<String[]> subtrees = Collections.singletonList(new String[]{"services", "A"});
+        Path snapshot = mock(Path.class);
+        deploymentDirectoryManager.takeConfigSnapshot(snapshot, subtrees);
+        verify(kernel, times(1)).writeEffectiveConfigAsTransactionLog(snapshot, subtrees);
+    }
+
     @Test
     void GIVEN_ongoing_dir_WHEN_get_file_THEN_resolve_path() throws Exception {
         Path actual = createNewDeploymentDir(mockArn);
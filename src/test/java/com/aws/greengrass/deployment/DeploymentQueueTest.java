@@ -13,6 +13,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -20,8 +24,10 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
 public class DeploymentQueueTest {
@@ -333,4 +339,30 @@ public class DeploymentQueueTest {
         assertThat(deploymentQueue.toArray(), hasSize(2));
     }
 
+    @Test
+    void GIVEN_deployment_queue_WHEN_deployment_offered_while_waiting_THEN_waiter_woken_up() throws Exception {
+        CountDownLatch waiting = new CountDownLatch(1);
+        Future<Boolean> signalled = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        }).submit(() -> {
+            waiting.countDown();
+            return deploymentQueue.await(TimeUnit.MINUTES.toMillis(1));
+        });
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+        deploymentQueue.offer(TEST_DEPLOYMENT_1);
+
+        assertTrue(signalled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void GIVEN_deployment_queue_WHEN_nothing_offered_THEN_await_times_out() throws Exception {
+        assertFalse(deploymentQueue.await(10));
+
+        deploymentQueue.offer(TEST_DEPLOYMENT_1);
+        // The signal is kept until it is consumed
+        assertTrue(deploymentQueue.await(10));
+        assertFalse(deploymentQueue.await(10));
+    }
 }
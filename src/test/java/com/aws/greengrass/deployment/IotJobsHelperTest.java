@@ -48,29 +48,33 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static com.aws.greengrass.deployment.DeviceConfiguration.DEVICE_PARAM_IOT_DATA_ENDPOINT;
-import static com.aws.greengrass.deployment.IotJobsClientWrapper.JOB_UPDATE_ACCEPTED_TOPIC;
-import static com.aws.greengrass.deployment.IotJobsClientWrapper.JOB_UPDATE_REJECTED_TOPIC;
 import static com.aws.greengrass.deployment.model.Deployment.DeploymentType.IOT_JOBS;
 import static com.aws.greengrass.deployment.model.Deployment.DeploymentType.LOCAL;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
 import static com.aws.greengrass.testcommons.testutilities.TestUtils.createCloseableLogListener;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -548,42 +552,42 @@ class IotJobsHelperTest {
     throws Exception {
         iotJobsHelper.postInject();
         String TEST_JOB_ID = "statusUpdateSuccess";
+        stubStatusUpdateResponseSubscriptions();
 
         HashMap<String, String> statusDetails = new HashMap<>();
         statusDetails.put("type", "test" );
         CompletableFuture cf = new CompletableFuture();
         cf.complete(null);
-        ArgumentCaptor<UpdateJobExecutionSubscriptionRequest> requestArgumentCaptor =
-                ArgumentCaptor.forClass(UpdateJobExecutionSubscriptionRequest.class);
         when(mockIotJobsClientWrapper.PublishUpdateJobExecution(any(), any())).thenAnswer(invocationOnMock -> {
-            verify(mockIotJobsClientWrapper).SubscribeToUpdateJobExecutionAccepted(requestArgumentCaptor.capture(),
-                    eq(QualityOfService.AT_LEAST_ONCE), updateJobExecutionResponseCaptor.capture());
-            Consumer<UpdateJobExecutionResponse> jobResponseConsumer = updateJobExecutionResponseCaptor.getValue();
-            UpdateJobExecutionResponse mockJobExecutionResponse = mock(UpdateJobExecutionResponse.class);
-            jobResponseConsumer.accept(mockJobExecutionResponse);
+            UpdateJobExecutionResponse response = new UpdateJobExecutionResponse();
+            response.clientToken = ((UpdateJobExecutionRequest) invocationOnMock.getArgument(0)).clientToken;
+            updateJobExecutionResponseCaptor.getValue().accept(response);
             return cf;
         });
 
         iotJobsHelper.updateJobStatus(TEST_JOB_ID, JobStatus.IN_PROGRESS, statusDetails);
-        verify(mockIotJobsClientWrapper).SubscribeToUpdateJobExecutionAccepted(requestArgumentCaptor.capture(),
-                eq(QualityOfService.AT_LEAST_ONCE), updateJobExecutionResponseCaptor.capture());
+        iotJobsHelper.updateJobStatus(TEST_JOB_ID, JobStatus.SUCCEEDED, statusDetails);
 
+        // Subscribed once for the responses to the updates of all jobs
+        ArgumentCaptor<UpdateJobExecutionSubscriptionRequest> requestArgumentCaptor =
+                ArgumentCaptor.forClass(UpdateJobExecutionSubscriptionRequest.class);
+        verify(mockIotJobsClientWrapper).SubscribeToUpdateJobExecutionAccepted(requestArgumentCaptor.capture(),
+                eq(QualityOfService.AT_LEAST_ONCE), any());
         UpdateJobExecutionSubscriptionRequest actualRequest = requestArgumentCaptor.getValue();
-        assertEquals(TEST_JOB_ID,actualRequest.jobId);
+        assertEquals("+", actualRequest.jobId);
         assertEquals(TEST_THING_NAME, actualRequest.thingName);
-
-        verify(mockWrapperMqttClientConnection).unsubscribe(eq(String.format(JOB_UPDATE_ACCEPTED_TOPIC,
-                TEST_THING_NAME, TEST_JOB_ID)));
+        verify(mockWrapperMqttClientConnection, never()).unsubscribe(any());
 
         ArgumentCaptor<UpdateJobExecutionRequest> publishRequestCaptor =
                 ArgumentCaptor.forClass(UpdateJobExecutionRequest.class);
-        verify(mockIotJobsClientWrapper).PublishUpdateJobExecution(publishRequestCaptor.capture(),
+        verify(mockIotJobsClientWrapper, times(2)).PublishUpdateJobExecution(publishRequestCaptor.capture(),
                 eq(QualityOfService.AT_LEAST_ONCE));
-        UpdateJobExecutionRequest publishRequest = publishRequestCaptor.getValue();
+        UpdateJobExecutionRequest publishRequest = publishRequestCaptor.getAllValues().get(0);
         assertEquals(TEST_JOB_ID, publishRequest.jobId);
         assertEquals(JobStatus.IN_PROGRESS, publishRequest.status);
         assertEquals(statusDetails, publishRequest.statusDetails);
         assertEquals(TEST_THING_NAME, publishRequest.thingName);
+        assertNotEquals(publishRequest.clientToken, publishRequestCaptor.getAllValues().get(1).clientToken);
     }
 
     @Test
@@ -591,34 +595,22 @@ class IotJobsHelperTest {
             throws Exception {
         iotJobsHelper.postInject();
         String TEST_JOB_ID = "statusUpdateFailure";
+        stubStatusUpdateResponseSubscriptions();
         CompletableFuture<Void> cf = CompletableFuture.completedFuture(null);
-        ArgumentCaptor<UpdateJobExecutionSubscriptionRequest> requestArgumentCaptor =
-                ArgumentCaptor.forClass(UpdateJobExecutionSubscriptionRequest.class);
         when(mockIotJobsClientWrapper.PublishUpdateJobExecution(any(), any())).thenAnswer(invocationOnMock -> {
-            verify(mockIotJobsClientWrapper).SubscribeToUpdateJobExecutionRejected(requestArgumentCaptor.capture(),
-                    eq(QualityOfService.AT_LEAST_ONCE), rejectedErrorCaptor.capture());
-            Consumer<RejectedError> rejectedErrorConsumer = rejectedErrorCaptor.getValue();
             RejectedError mockRejectError = new RejectedError();
             mockRejectError.message = REJECTION_MESSAGE;
-            rejectedErrorConsumer.accept(mockRejectError);
+            mockRejectError.clientToken = ((UpdateJobExecutionRequest) invocationOnMock.getArgument(0)).clientToken;
+            rejectedErrorCaptor.getValue().accept(mockRejectError);
             return cf;
         });
 
         HashMap<String, String> statusDetails = new HashMap<>();
         statusDetails.put("type", "test" );
-        try {
-            iotJobsHelper.updateJobStatus(TEST_JOB_ID, JobStatus.IN_PROGRESS, statusDetails);
-        } catch (ExecutionException e) {
-            //verify that exception is thrown with the expected message
-            assertEquals(REJECTION_MESSAGE, e.getCause().getMessage());
-        }
-
-        UpdateJobExecutionSubscriptionRequest actualRequest = requestArgumentCaptor.getValue();
-        assertEquals(TEST_JOB_ID,actualRequest.jobId);
-        assertEquals(TEST_THING_NAME, actualRequest.thingName);
-
-        verify(mockWrapperMqttClientConnection).unsubscribe(eq(String.format(JOB_UPDATE_REJECTED_TOPIC,
-                TEST_THING_NAME, TEST_JOB_ID)));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> iotJobsHelper.updateJobStatus(TEST_JOB_ID, JobStatus.IN_PROGRESS, statusDetails));
+        //verify that exception is thrown with the expected message
+        assertEquals(REJECTION_MESSAGE, e.getCause().getMessage());
 
         ArgumentCaptor<UpdateJobExecutionRequest> publishRequestCaptor =
                 ArgumentCaptor.forClass(UpdateJobExecutionRequest.class);
@@ -631,6 +623,53 @@ class IotJobsHelperTest {
         assertEquals(TEST_THING_NAME, publishRequest.thingName);
     }
 
+    @Test
+    void GIVEN_status_updates_in_flight_WHEN_responses_arrive_out_of_order_THEN_each_update_gets_its_response()
+            throws Exception {
+        iotJobsHelper.postInject();
+        stubStatusUpdateResponseSubscriptions();
+        lenient().when(mockMqttClient.getMqttOperationTimeoutMillis()).thenReturn(5000);
+        List<UpdateJobExecutionRequest> published = new CopyOnWriteArrayList<>();
+        CountDownLatch bothPublished = new CountDownLatch(2);
+        when(mockIotJobsClientWrapper.PublishUpdateJobExecution(any(), any())).thenAnswer(invocationOnMock -> {
+            published.add(invocationOnMock.getArgument(0));
+            bothPublished.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        ExecutorService updaters = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = updaters.submit(() -> {
+                iotJobsHelper.updateJobStatus("job1", JobStatus.SUCCEEDED, new HashMap<>());
+                return null;
+            });
+            Future<?> second = updaters.submit(() -> {
+                iotJobsHelper.updateJobStatus("job2", JobStatus.FAILED, new HashMap<>());
+                return null;
+            });
+            assertTrue(bothPublished.await(5, TimeUnit.SECONDS));
+
+            for (int i = published.size() - 1; i >= 0; i--) {
+                UpdateJobExecutionResponse response = new UpdateJobExecutionResponse();
+                response.clientToken = published.get(i).clientToken;
+                updateJobExecutionResponseCaptor.getValue().accept(response);
+            }
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            updaters.shutdownNow();
+        }
+        verify(mockIotJobsClientWrapper).SubscribeToUpdateJobExecutionAccepted(any(), any(), any());
+    }
+
+    private void stubStatusUpdateResponseSubscriptions() {
+        CompletableFuture<Integer> subscribed = CompletableFuture.completedFuture(1);
+        lenient().when(mockIotJobsClientWrapper.SubscribeToUpdateJobExecutionAccepted(any(), any(),
+                updateJobExecutionResponseCaptor.capture())).thenReturn(subscribed);
+        lenient().when(mockIotJobsClientWrapper.SubscribeToUpdateJobExecutionRejected(any(), any(),
+                rejectedErrorCaptor.capture())).thenReturn(subscribed);
+    }
+
     @Test
     void WHEN_mqttConnection_resumes_THEN_jobsclient_doesnt_resub_and_call_publish_persisted_deployment_status() {
         iotJobsHelper.postInject();
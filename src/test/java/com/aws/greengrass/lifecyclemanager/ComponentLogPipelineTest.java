@@ -0,0 +1,201 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.aws.greengrass.config.Topic;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.logging.api.LogEventBuilder;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.logging.impl.config.LogConfig;
+import com.aws.greengrass.logging.impl.config.LogStore;
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Answers.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ComponentLogPipelineTest {
+    private static final String COMPONENT = "MockComponent";
+
+    @TempDir
+    Path tempRootDir;
+    @Mock
+    private DeviceConfiguration deviceConfiguration;
+    @Mock
+    private GreengrassService service;
+    @Mock
+    private GreengrassService chattyService;
+    private Context context;
+
+    @AfterAll
+    static void cleanupLogger() {
+        LogManager.getRootLogConfiguration().setStore(LogStore.CONSOLE);
+    }
+
+    @BeforeEach
+    void setup() {
+        LogManager.setRoot(tempRootDir);
+        context = new Context();
+        when(service.getServiceName()).thenReturn(COMPONENT);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        context.close();
+        LogConfig.getRootLogConfig().reset();
+        LogConfig.getRootLogConfig().closeContext();
+        for (LogConfig logConfig : LogManager.getLogConfigurations().values()) {
+            logConfig.reset();
+            logConfig.closeContext();
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void GIVEN_component_logging_to_file_WHEN_output_captured_THEN_lines_written_to_component_log() throws Exception {
+        givenRateLimits(0, 0);
+        LogConfig.getRootLogConfig().setStore(LogStore.FILE);
+        Logger componentLogger = LogManagerHelper.getComponentLogger(service);
+
+        ComponentLogPipeline pipeline = new ComponentLogPipeline(deviceConfiguration, new StreamingMetricsAggregator());
+        Consumer<CharSequence> out = pipeline.capture(service, componentLogger, "lifecycle.Run", false);
+        Consumer<CharSequence> err = pipeline.capture(service, componentLogger, "lifecycle.Run", true);
+        out.accept("hello\n");
+        err.accept("oops\n");
+        pipeline.close();
+
+        List<String> lines = Files.readAllLines(
+                Paths.get(LogManager.getLogConfigurations().get(COMPONENT).getStoreName()));
+        assertEquals(2, lines.size());
+        assertThat(lines.get(0), containsString("[INFO] ("));
+        assertThat(lines.get(0), containsString(") MockComponent: stdout. hello. {scriptName=lifecycle.Run, "
+                + "serviceName=MockComponent, currentState="));
+        assertThat(lines.get(1), containsString("[WARN] ("));
+        assertThat(lines.get(1), containsString(") MockComponent: stderr. oops."));
+        assertEquals(2, pipeline.getCaptureStats().get(COMPONENT).getCapturedLines());
+    }
+
+    @Test
+    void GIVEN_line_rate_limit_WHEN_output_exceeds_it_THEN_lines_dropped_and_counted() {
+        givenRateLimits(1, 0);
+        Logger componentLogger = LogManagerHelper.getComponentLogger(service);
+
+        ComponentLogPipeline pipeline = new ComponentLogPipeline(deviceConfiguration, new StreamingMetricsAggregator());
+        Consumer<CharSequence> out = pipeline.capture(service, componentLogger, "lifecycle.Run", false);
+        for (int i = 0; i < 10; i++) {
+            out.accept("line " + i + "\n");
+        }
+        pipeline.close();
+
+        ComponentLogPipeline.CaptureStats stats = pipeline.getCaptureStats().get(COMPONENT);
+        assertEquals(10, stats.getCapturedLines() + stats.getRateLimitedLines());
+        assertThat(stats.getRateLimitedLines(), greaterThanOrEqualTo(8L));
+        assertEquals(0, stats.getOverflowedLines());
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void GIVEN_no_rate_limit_WHEN_output_exceeds_queue_THEN_capture_waits_and_no_line_dropped() throws Exception {
+        givenRateLimits(0, 0);
+        LogConfig.getRootLogConfig().setStore(LogStore.FILE);
+        Logger componentLogger = LogManagerHelper.getComponentLogger(service);
+
+        ComponentLogPipeline pipeline = new ComponentLogPipeline(deviceConfiguration, new StreamingMetricsAggregator());
+        Consumer<CharSequence> out = pipeline.capture(service, componentLogger, "lifecycle.Run", false);
+        int lines = ComponentLogPipeline.QUEUE_CAPACITY * 2;
+        for (int i = 0; i < lines; i++) {
+            out.accept("line " + i + "\n");
+        }
+        pipeline.close();
+
+        ComponentLogPipeline.CaptureStats stats = pipeline.getCaptureStats().get(COMPONENT);
+        assertEquals(lines, stats.getCapturedLines());
+        assertEquals(0, stats.getOverflowedLines());
+        assertEquals(lines, Files.readAllLines(
+                Paths.get(LogManager.getLogConfigurations().get(COMPONENT).getStoreName())).size());
+    }
+
+    @Test
+    void GIVEN_queue_of_component_full_WHEN_other_component_writes_THEN_other_capture_not_held_up() throws Exception {
+        givenRateLimits(0, 0);
+        when(chattyService.getServiceName()).thenReturn("ChattyComponent");
+        CountDownLatch release = new CountDownLatch(1);
+        LogEventBuilder event = mock(LogEventBuilder.class, RETURNS_SELF);
+        Logger chattyLogger = mock(Logger.class);
+        when(chattyLogger.atInfo()).thenAnswer(invocation -> {
+            release.await();
+            return event;
+        });
+        Logger componentLogger = mock(Logger.class);
+        when(componentLogger.atInfo()).thenReturn(event);
+
+        ComponentLogPipeline pipeline = new ComponentLogPipeline(deviceConfiguration, new StreamingMetricsAggregator());
+        Consumer<CharSequence> chatty = pipeline.capture(chattyService, chattyLogger, "lifecycle.Run", false);
+        Consumer<CharSequence> out = pipeline.capture(service, componentLogger, "lifecycle.Run", false);
+        int chattyLines = ComponentLogPipeline.QUEUE_CAPACITY * 2;
+        Thread chattyProcess = new Thread(() -> {
+            for (int i = 0; i < chattyLines; i++) {
+                chatty.accept("line " + i + "\n");
+            }
+        });
+        chattyProcess.start();
+        try {
+            // The writer is stuck on the chatty component, whose reading thread now waits for it
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                while (pipeline.getQueuedLines() < ComponentLogPipeline.QUEUE_CAPACITY) {
+                    Thread.sleep(10);
+                }
+            });
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                for (int i = 0; i < 100; i++) {
+                    out.accept("line " + i + "\n");
+                }
+            });
+        } finally {
+            release.countDown();
+        }
+        chattyProcess.join(10_000);
+        pipeline.close();
+
+        assertEquals(chattyLines, pipeline.getCaptureStats().get("ChattyComponent").getCapturedLines());
+        assertEquals(100, pipeline.getCaptureStats().get(COMPONENT).getCapturedLines());
+    }
+
+    private void givenRateLimits(long maxLinesPerSecond, long maxBytesPerSecond) {
+        when(deviceConfiguration.getComponentLogMaxLinesPerSecond())
+                .thenReturn(Topic.of(context, DeviceConfiguration.COMPONENT_LOG_MAX_LINES_PER_SECOND, maxLinesPerSecond));
+        when(deviceConfiguration.getComponentLogMaxBytesPerSecond())
+                .thenReturn(Topic.of(context, DeviceConfiguration.COMPONENT_LOG_MAX_BYTES_PER_SECOND, maxBytesPerSecond));
+    }
+}
@@ -13,6 +13,7 @@ import com.aws.greengrass.config.UpdateBehaviorTree;
 import com.aws.greengrass.dependency.ComponentStatusCode;
 import com.aws.greengrass.dependency.Context;
 import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.status.model.ComponentStatusDetails;
@@ -58,6 +59,7 @@ import static com.github.grantwest.eventually.EventuallyLambdaMatcher.eventually
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -66,6 +68,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class, GGExtension.class})
 class LifecycleTest {
@@ -529,6 +532,56 @@ class LifecycleTest {
         }
     }
 
+    @Test
+    void GIVEN_event_driven_lifecycle_WHEN_dependency_becomes_ready_THEN_service_started() throws Exception {
+        givenEventDrivenLifecycle();
+        lifecycle = new Lifecycle(greengrassService, logger, greengrassService.getPrivateConfig());
+        initLifecycleState(lifecycle, State.NEW);
+        AtomicBoolean dependencyReady = new AtomicBoolean(false);
+        lenient().when(greengrassService.dependencyReady()).thenAnswer((a) -> dependencyReady.get());
+
+        lifecycle.initLifecycleThread();
+        lifecycle.requestStart();
+
+        verify(greengrassService, timeout(1000)).install();
+        assertThat(() -> lifecycle.getState(), eventuallyEval(is(State.INSTALLED)));
+        verify(greengrassService, Mockito.after(200).never()).startup();
+
+        dependencyReady.set(true);
+        lifecycle.dependencyStateChanged();
+
+        verify(greengrassService, timeout(1000)).startup();
+        assertEquals(State.STARTING, lifecycle.getState());
+    }
+
+    @Test
+    void GIVEN_event_driven_lifecycle_WHEN_closed_THEN_lifecycle_future_completes() throws Exception {
+        givenEventDrivenLifecycle();
+        lifecycle = new Lifecycle(greengrassService, logger, greengrassService.getPrivateConfig());
+        initLifecycleState(lifecycle, State.NEW);
+
+        lifecycle.initLifecycleThread();
+        lifecycle.requestStart();
+        verify(greengrassService, timeout(1000)).startup();
+        lifecycle.reportState(State.RUNNING);
+        assertThat(() -> lifecycle.getState(), eventuallyEval(is(State.RUNNING)));
+        assertFalse(lifecycle.getLifecycleThread().isDone());
+
+        lifecycle.setClosed(true);
+        lifecycle.requestStop();
+
+        lifecycle.getLifecycleThread().get(5, TimeUnit.SECONDS);
+        verify(greengrassService).shutdown();
+        assertEquals(State.FINISHED, lifecycle.getState());
+    }
+
+    private void givenEventDrivenLifecycle() {
+        DeviceConfiguration deviceConfiguration = mock(DeviceConfiguration.class);
+        when(deviceConfiguration.getLifecycleEngine()).thenReturn(Topic.of(context,
+                DeviceConfiguration.LIFECYCLE_ENGINE, DeviceConfiguration.LIFECYCLE_ENGINE_EVENT));
+        context.put(DeviceConfiguration.class, deviceConfiguration);
+    }
+
     private void initLifecycleState(Lifecycle lf, State initState) {
         Topic stateTopic = lf.getStateTopic();
         stateTopic.withValue(initState.ordinal());
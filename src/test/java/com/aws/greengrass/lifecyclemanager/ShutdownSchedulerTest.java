@@ -0,0 +1,163 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.lifecyclemanager;
+
+import com.amazon.aws.iot.greengrass.component.common.DependencyType;
+import com.aws.greengrass.config.Configuration;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.dependency.State;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ShutdownSchedulerTest {
+    @Mock
+    private GreengrassService dependency;
+    @Mock
+    private GreengrassService depender;
+    @Mock
+    private GreengrassService independent;
+    @Mock
+    private Kernel kernel;
+
+    @Test
+    void GIVEN_hard_depender_WHEN_close_in_depender_order_THEN_dependency_closed_after_depender() {
+        when(dependency.getDependers(DependencyType.HARD)).thenReturn(Collections.singleton(depender));
+        CompletableFuture<Void> dependerClosed = new CompletableFuture<>();
+        when(depender.close()).thenReturn(dependerClosed);
+        when(independent.close()).thenReturn(CompletableFuture.completedFuture(null));
+        when(dependency.close()).thenReturn(CompletableFuture.completedFuture(null));
+
+        Map<GreengrassService, CompletableFuture<Void>> closeFutures =
+                ShutdownScheduler.closeInDependerOrder(Arrays.asList(dependency, depender, independent));
+
+        // the independent service doesn't wait for the depender
+        assertTrue(closeFutures.get(independent).isDone());
+        verify(dependency, never()).close();
+
+        dependerClosed.complete(null);
+
+        verify(dependency).close();
+        assertTrue(closeFutures.get(dependency).isDone());
+    }
+
+    @Test
+    void GIVEN_depender_fails_to_close_WHEN_close_in_depender_order_THEN_dependency_still_closed() {
+        when(dependency.getDependers(DependencyType.HARD)).thenReturn(Collections.singleton(depender));
+        CompletableFuture<Void> dependerFailed = new CompletableFuture<>();
+        dependerFailed.completeExceptionally(new IllegalStateException("depender"));
+        when(depender.close()).thenReturn(dependerFailed);
+        when(dependency.close()).thenReturn(CompletableFuture.completedFuture(null));
+
+        Map<GreengrassService, CompletableFuture<Void>> closeFutures =
+                ShutdownScheduler.closeInDependerOrder(Arrays.asList(dependency, depender));
+
+        assertTrue(closeFutures.get(depender).isCompletedExceptionally());
+        assertTrue(closeFutures.get(dependency).isDone());
+        assertFalse(closeFutures.get(dependency).isCompletedExceptionally());
+    }
+
+    @Test
+    void GIVEN_circular_dependency_WHEN_close_in_depender_order_THEN_all_closed() {
+        when(dependency.getDependers(DependencyType.HARD)).thenReturn(Collections.singleton(depender));
+        when(depender.getDependers(DependencyType.HARD)).thenReturn(Collections.singleton(dependency));
+        lenient().when(dependency.getName()).thenReturn("dependency");
+        lenient().when(depender.getName()).thenReturn("depender");
+        when(dependency.close(false)).thenReturn(CompletableFuture.completedFuture(null));
+        when(depender.close(false)).thenReturn(CompletableFuture.completedFuture(null));
+
+        Map<GreengrassService, CompletableFuture<Void>> closeFutures =
+                ShutdownScheduler.closeInDependerOrder(Arrays.asList(dependency, depender));
+
+        assertTrue(closeFutures.get(dependency).isDone());
+        assertTrue(closeFutures.get(depender).isDone());
+        verify(dependency).close(false);
+        verify(depender).close(false);
+    }
+
+    @Test
+    void GIVEN_dependency_of_circular_dependency_WHEN_close_in_depender_order_THEN_dependency_closed_after_cycle() {
+        GreengrassService a = mock(GreengrassService.class);
+        GreengrassService b = mock(GreengrassService.class);
+        GreengrassService c = mock(GreengrassService.class);
+        // A and B depend on each other, and both depend on C
+        when(a.getDependers(DependencyType.HARD)).thenReturn(Collections.singleton(b));
+        when(b.getDependers(DependencyType.HARD)).thenReturn(Collections.singleton(a));
+        when(c.getDependers(DependencyType.HARD)).thenReturn(new HashSet<>(Arrays.asList(a, b)));
+        lenient().when(a.getName()).thenReturn("A");
+        lenient().when(b.getName()).thenReturn("B");
+        CompletableFuture<Void> aClosed = new CompletableFuture<>();
+        when(a.close(false)).thenReturn(aClosed);
+        when(b.close(false)).thenReturn(CompletableFuture.completedFuture(null));
+        when(c.close()).thenReturn(CompletableFuture.completedFuture(null));
+
+        Map<GreengrassService, CompletableFuture<Void>> closeFutures =
+                ShutdownScheduler.closeInDependerOrder(Arrays.asList(c, a, b));
+
+        // the cycle is broken between A and B only, C still waits for both of them
+        verify(a).close(false);
+        assertTrue(closeFutures.get(b).isDone());
+        verify(c, never()).close();
+
+        aClosed.complete(null);
+
+        verify(c).close();
+        assertTrue(closeFutures.get(c).isDone());
+    }
+
+    @Test
+    void GIVEN_running_services_with_circular_dependency_WHEN_close_in_depender_order_THEN_all_closed()
+            throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        Context context = new Context();
+        try {
+            context.put(Kernel.class, kernel);
+            context.put(Executor.class, executor);
+            context.put(ExecutorService.class, executor);
+            Topics services = new Configuration(context).getRoot().lookupTopics(SERVICES_NAMESPACE_TOPIC);
+            GreengrassService a = new GreengrassService(services.lookupTopics("A"));
+            GreengrassService b = new GreengrassService(services.lookupTopics("B"));
+            a.addOrUpdateDependency(b, DependencyType.HARD, false);
+            b.addOrUpdateDependency(a, DependencyType.HARD, false);
+            // running dependers keep a service which waits for its dependers from closing
+            a.getPrivateConfig().lookup(Lifecycle.STATE_TOPIC_NAME).withValue(State.RUNNING.ordinal());
+            b.getPrivateConfig().lookup(Lifecycle.STATE_TOPIC_NAME).withValue(State.RUNNING.ordinal());
+
+            Map<GreengrassService, CompletableFuture<Void>> closeFutures =
+                    ShutdownScheduler.closeInDependerOrder(Arrays.asList(a, b));
+
+            closeFutures.get(a).get(5, TimeUnit.SECONDS);
+            closeFutures.get(b).get(5, TimeUnit.SECONDS);
+        } finally {
+            context.close();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.network;
+
+import com.aws.greengrass.telemetry.StreamingMetricsAggregator;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class MtlsConnectionMetricsEmitterTest {
+    @Mock
+    private SharedMtlsHttpClient sharedMtlsHttpClient;
+
+    @Test
+    void GIVEN_requests_made_WHEN_get_metrics_THEN_counts_since_previous_call_returned_in_own_namespace() {
+        when(sharedMtlsHttpClient.getRequestCount()).thenReturn(10L, 15L);
+        when(sharedMtlsHttpClient.getHandshakeCount()).thenReturn(4L, 5L);
+        when(sharedMtlsHttpClient.getResumedHandshakeCount()).thenReturn(2L, 2L);
+        when(sharedMtlsHttpClient.getConnectionReuseRate()).thenReturn(0.6, 0.5);
+        MtlsConnectionMetricsEmitter emitter =
+                new MtlsConnectionMetricsEmitter(new StreamingMetricsAggregator(), sharedMtlsHttpClient);
+
+        Map<String, Object> first = values(emitter.getMetrics());
+        assertEquals(10L, first.get("Requests"));
+        assertEquals(4L, first.get("Handshakes"));
+        assertEquals(2L, first.get("ResumedHandshakes"));
+        assertEquals(60.0, first.get("ConnectionReuseRate"));
+
+        Map<String, Object> second = values(emitter.getMetrics());
+        assertEquals(5L, second.get("Requests"));
+        assertEquals(1L, second.get("Handshakes"));
+        assertEquals(0L, second.get("ResumedHandshakes"));
+        assertEquals(50.0, second.get("ConnectionReuseRate"));
+    }
+
+    private static Map<String, Object> values(List<Metric> metrics) {
+        metrics.forEach(m -> assertEquals(MtlsConnectionMetricsEmitter.NAMESPACE, m.getNamespace()));
+        return metrics.stream().collect(Collectors.toMap(Metric::getName, Metric::getValue));
+    }
+}
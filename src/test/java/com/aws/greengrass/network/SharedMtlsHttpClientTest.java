@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.network;
+
+import com.aws.greengrass.deployment.DeviceConfiguration;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.SdkHttpClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class SharedMtlsHttpClientTest {
+    @Mock
+    private DeviceConfiguration deviceConfiguration;
+
+    private SharedMtlsHttpClient sharedMtlsHttpClient;
+
+    @BeforeEach
+    void beforeEach() {
+        sharedMtlsHttpClient = new SharedMtlsHttpClient(deviceConfiguration);
+    }
+
+    @Test
+    void GIVEN_shared_client_WHEN_user_closes_it_THEN_client_stays_shared() {
+        SdkHttpClient client = sharedMtlsHttpClient.getClient();
+        client.close();
+
+        assertSame(client, sharedMtlsHttpClient.getClient());
+        assertEquals(0, sharedMtlsHttpClient.getConnectionReuseRate());
+    }
+
+    @Test
+    void GIVEN_shared_client_closed_WHEN_prepare_request_THEN_throws() {
+        sharedMtlsHttpClient.close();
+
+        assertThrows(IllegalStateException.class, () -> sharedMtlsHttpClient.getClient()
+                .prepareRequest(HttpExecuteRequest.builder().build()));
+        assertEquals(1, sharedMtlsHttpClient.getRequestCount());
+    }
+}
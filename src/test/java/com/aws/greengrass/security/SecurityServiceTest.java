@@ -36,7 +36,9 @@ import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -297,6 +299,33 @@ class SecurityServiceTest {
         assertThat(keyManager.getPrivateKey("private-key").getAlgorithm(), is("EC"));
     }
 
+    @Test
+    void GIVEN_key_managers_loaded_WHEN_get_key_managers_from_default_THEN_reused_until_files_change()
+            throws Exception {
+        Path certPath =
+                EncryptionUtilsTest.generateCertificateFile(2048, true, resourcePath.resolve("cached-cert.pem"),
+                        false).getLeft();
+        Path privateKeyPath =
+                EncryptionUtilsTest.generatePkCS8PrivateKeyFile(2048, true, resourcePath.resolve("cached-key.pem"),
+                        false);
+
+        KeyManager[] keyManagers = defaultProvider.getKeyManagers(privateKeyPath.toUri(), certPath.toUri());
+        assertThat(defaultProvider.getKeyManagers(privateKeyPath.toUri(), certPath.toUri())[0],
+                sameInstance(keyManagers[0]));
+
+        defaultProvider.invalidateKeyManagers();
+        keyManagers = defaultProvider.getKeyManagers(privateKeyPath.toUri(), certPath.toUri());
+        assertThat(defaultProvider.getKeyManagers(privateKeyPath.toUri(), certPath.toUri())[0],
+                sameInstance(keyManagers[0]));
+
+        // Certificate rotated in place
+        EncryptionUtilsTest.generateCertificateFile(256, true, certPath, true);
+        KeyManager[] rotated = defaultProvider.getKeyManagers(privateKeyPath.toUri(), certPath.toUri());
+        assertThat(rotated[0], not(sameInstance(keyManagers[0])));
+        assertThat(((X509KeyManager) rotated[0]).getCertificateChain("private-key")[0].getSigAlgName(),
+                is("SHA256withECDSA"));
+    }
+
     @Test
     void GIVEN_non_compatible_key_uri_WHEN_get_key_managers_from_default_THEN_throw_exception() {
         Exception e = assertThrows(KeyLoadingException.class,
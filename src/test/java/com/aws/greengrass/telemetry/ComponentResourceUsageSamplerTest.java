@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.config.Configuration;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.lifecyclemanager.GenericExternalService;
+import com.aws.greengrass.lifecyclemanager.GreengrassService;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.Coerce;
+import com.aws.greengrass.util.platforms.ResourceUsage;
+import com.aws.greengrass.util.platforms.SystemResourceController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.RUNTIME_STORE_NAMESPACE_TOPIC;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPIC;
+import static com.aws.greengrass.telemetry.TelemetryAgent.TELEMETRY_AGENT_SERVICE_TOPICS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class ComponentResourceUsageSamplerTest {
+    private static final String COMPONENT = "TestComponent";
+    @TempDir
+    protected Path tempRootDir;
+    @Mock
+    private Kernel kernel;
+    @Mock
+    private GenericExternalService component;
+    @Mock
+    private GreengrassService builtinService;
+    @Mock
+    private SystemResourceController systemResourceController;
+    @Mock
+    private StreamingMetricsAggregator streamingMetricsAggregator;
+    private ComponentResourceUsageSampler sampler;
+    private Context context;
+    private Configuration configuration;
+
+    @BeforeEach
+    void setup() {
+        TelemetryConfig.getInstance().setRoot(tempRootDir);
+        context = new Context();
+        configuration = new Configuration(context);
+        lenient().when(kernel.getConfig()).thenReturn(configuration);
+        lenient().when(component.getServiceName()).thenReturn(COMPONENT);
+        when(kernel.orderedDependencies()).thenReturn(Arrays.asList(builtinService, component));
+        sampler = new ComponentResourceUsageSampler(kernel, streamingMetricsAggregator, systemResourceController);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        TelemetryConfig.getInstance().closeContext();
+        context.close();
+    }
+
+    @Test
+    void GIVEN_accounted_component_WHEN_sampled_twice_THEN_cpu_usage_computed_from_second_sample() throws IOException {
+        when(systemResourceController.getResourceUsage(component)).thenReturn(
+                ResourceUsage.builder().cpuTimeNanos(1_000L).memoryUsageBytes(2 * 1024 * 1024L).build(),
+                ResourceUsage.builder().cpuTimeNanos(2_000L).memoryUsageBytes(4 * 1024 * 1024L)
+                        .memoryMaxUsageBytes(8 * 1024 * 1024L).build());
+
+        Map<String, Metric> metrics = byName(sampler.getMetrics());
+        assertEquals(Collections.singleton(COMPONENT + ".MemoryUsage"), metrics.keySet());
+        assertEquals(2.0, metrics.get(COMPONENT + ".MemoryUsage").getValue());
+        assertFalse(sampler.getLatestUsage().get(COMPONENT).containsKey(ComponentResourceUsageSampler.CPU_USAGE_KEY));
+
+        metrics = byName(sampler.getMetrics());
+        assertEquals(3, metrics.size());
+        assertTrue(metrics.containsKey(COMPONENT + ".CpuUsage"));
+        assertEquals(8.0, metrics.get(COMPONENT + ".MemoryMaxUsage").getValue());
+        Map<String, Object> latest = sampler.getLatestUsage().get(COMPONENT);
+        assertEquals(2_000L, latest.get(ComponentResourceUsageSampler.CPU_TIME_NANOS_KEY));
+        assertEquals(4 * 1024 * 1024L, latest.get(ComponentResourceUsageSampler.MEMORY_USAGE_BYTES_KEY));
+        assertTrue(latest.containsKey(ComponentResourceUsageSampler.CPU_USAGE_KEY));
+    }
+
+    @Test
+    void GIVEN_component_no_longer_accounted_WHEN_sampled_THEN_latest_sample_removed() throws IOException {
+        when(systemResourceController.getResourceUsage(component)).thenReturn(
+                ResourceUsage.builder().memoryUsageBytes(1024L).build(), null);
+
+        sampler.getMetrics();
+        assertTrue(sampler.getLatestUsage().containsKey(COMPONENT));
+
+        assertTrue(sampler.getMetrics().isEmpty());
+        assertTrue(sampler.getLatestUsage().isEmpty());
+        assertNull(configuration.findTopics(SERVICES_NAMESPACE_TOPIC, TELEMETRY_AGENT_SERVICE_TOPICS,
+                RUNTIME_STORE_NAMESPACE_TOPIC, ComponentResourceUsageSampler.RESOURCE_USAGE_TOPIC, COMPONENT));
+    }
+
+    @Test
+    void GIVEN_accounted_component_WHEN_sampled_THEN_latest_sample_in_runtime_config() throws IOException {
+        when(systemResourceController.getResourceUsage(component)).thenReturn(
+                ResourceUsage.builder().memoryUsageBytes(1024L).build(),
+                ResourceUsage.builder().memoryUsageBytes(2048L).build());
+
+        sampler.getMetrics();
+        sampler.getMetrics();
+        Topics usage = configuration.findTopics(SERVICES_NAMESPACE_TOPIC, TELEMETRY_AGENT_SERVICE_TOPICS,
+                RUNTIME_STORE_NAMESPACE_TOPIC, ComponentResourceUsageSampler.RESOURCE_USAGE_TOPIC);
+        assertFalse(usage.parentNeedsToKnow());
+        assertEquals(2048L, Coerce.toLong(usage.find(COMPONENT,
+                ComponentResourceUsageSampler.MEMORY_USAGE_BYTES_KEY)));
+    }
+
+    private static Map<String, Metric> byName(List<Metric> metrics) {
+        return metrics.stream().collect(Collectors.toMap(Metric::getName, m -> m));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class MetricLogReaderTest {
+    @TempDir
+    protected Path tempRootDir;
+    private Path logFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        TelemetryConfig.getInstance().setRoot(tempRootDir);
+        Files.createDirectories(TelemetryConfig.getTelemetryDirectory());
+        logFile = TelemetryConfig.getTelemetryDirectory().resolve("Namespace.log");
+    }
+
+    @AfterEach
+    void cleanup() {
+        TelemetryConfig.getInstance().closeContext();
+    }
+
+    @Test
+    void GIVEN_appended_lines_WHEN_read_THEN_only_new_complete_lines_are_read() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("line1\nline2\n");
+        assertEquals(Arrays.asList("line1", "line2"), read(reader));
+
+        append("line3\nparti");
+        assertEquals(Collections.singletonList("line3"), read(reader));
+
+        append("al\r\n");
+        assertEquals(Collections.singletonList("partial"), read(reader));
+        assertTrue(read(reader).isEmpty());
+    }
+
+    @Test
+    void GIVEN_consumer_rejects_line_WHEN_read_again_THEN_line_is_read_again() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("old\nnew\n");
+        List<String> lines = new ArrayList<>();
+        reader.readNewLines(logFile, line -> {
+            if ("new".equals(line)) {
+                return false;
+            }
+            lines.add(line);
+            return true;
+        });
+        assertEquals(Collections.singletonList("old"), lines);
+        assertEquals(Collections.singletonList("new"), read(reader));
+    }
+
+    @Test
+    void GIVEN_saved_cursors_WHEN_new_reader_THEN_continue_from_cursor() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("line1\n");
+        read(reader);
+        reader.save();
+
+        append("line2\n");
+        assertEquals(Collections.singletonList("line2"), read(new MetricLogReader()));
+    }
+
+    @Test
+    void GIVEN_truncated_file_WHEN_read_THEN_read_from_start() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("a long line which will be truncated\n");
+        read(reader);
+
+        Files.write(logFile, "short\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        assertEquals(Collections.singletonList("short"), read(reader));
+    }
+
+    @Test
+    void GIVEN_file_rewritten_with_more_content_WHEN_read_THEN_read_from_start() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("line1\n");
+        read(reader);
+
+        Files.write(logFile, "other1\nother2\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.TRUNCATE_EXISTING);
+        assertEquals(Arrays.asList("other1", "other2"), read(reader));
+    }
+
+    @Test
+    void GIVEN_rotated_file_WHEN_read_THEN_rotated_content_is_not_read_again() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("line1\n");
+        read(reader);
+
+        Path rotated = logFile.resolveSibling("Namespace_2020_01_01_00_0.log");
+        Files.move(logFile, rotated);
+        List<String> lines = new ArrayList<>();
+        reader.readNewLines(rotated, lines::add);
+        if (Files.readAttributes(rotated, BasicFileAttributes.class).fileKey() != null) {
+            // The file key follows the file across the rename
+            assertTrue(lines.isEmpty());
+        }
+
+        append("line2\n");
+        assertEquals(Collections.singletonList("line2"), read(reader));
+    }
+
+    @Test
+    void GIVEN_lines_spanning_read_blocks_WHEN_read_THEN_lines_are_read_whole() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        // the carriage return of the first line ends a block and its line feed starts the next one
+        String first = String.join("", Collections.nCopies(MetricLogReader.BUFFER_SIZE - 1, "a"));
+        String second = String.join("", Collections.nCopies(MetricLogReader.BUFFER_SIZE * 2, "\u00e9"));
+        append(first + "\r\n" + second + "\nshort\n");
+
+        assertEquals(Arrays.asList(first, second, "short"), read(reader));
+        assertTrue(read(reader).isEmpty());
+    }
+
+    @Test
+    void GIVEN_skipped_lines_WHEN_read_THEN_only_lines_after_skipped_are_read() throws IOException {
+        MetricLogReader reader = new MetricLogReader();
+        append("skipped\nparti");
+        reader.skipNewLines(logFile);
+
+        append("al\nline\n");
+        assertEquals(Arrays.asList("partial", "line"), read(reader));
+    }
+
+    private List<String> read(MetricLogReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        reader.readNewLines(logFile, lines::add);
+        return lines;
+    }
+
+    private void append(String s) throws IOException {
+        Files.write(logFile, s.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+}
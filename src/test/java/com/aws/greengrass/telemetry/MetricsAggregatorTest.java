@@ -47,7 +47,8 @@ class MetricsAggregatorTest {
     private final MetricFactory greengrassComponentsMetricsFactory = new MetricFactory(GREENGRASS_COMPONENTS_NS);
     private final MetricFactory streamManagerMetricsFactory = new MetricFactory(STREAM_MANAGER_NS);
     private final MetricFactory aggregatedMetricFactory = new MetricFactory(AGGREGATE_METRICS_FILE);
-    private final MetricsAggregator metricsAggregator = new MetricsAggregator();
+    private final MetricsAggregator metricsAggregator = new MetricsAggregator(new StreamingMetricsAggregator(),
+            new MetricLogReader());
     @TempDir
     protected Path tempRootDir;
 
@@ -365,4 +366,32 @@ class MetricsAggregatorTest {
         //we have 3 entries of the aggregated metrics before this latest TS
         assertEquals(3, aggregatedNamespaceDataMap.get(currentTimestamp).size());
     }
+
+    @Test
+    void GIVEN_streamed_namespace_WHEN_no_longer_streamed_THEN_its_logs_not_aggregated_again() throws IOException {
+        StreamingMetricsAggregator streamingMetricsAggregator = new StreamingMetricsAggregator();
+        MetricsAggregator aggregator = new MetricsAggregator(streamingMetricsAggregator, new MetricLogReader());
+        Metric m = Metric.builder().namespace(GREENGRASS_COMPONENTS_NS).name("A").unit(TelemetryUnit.Count)
+                .aggregation(TelemetryAggregation.Sum).value(10).timestamp(Instant.now().toEpochMilli()).build();
+        greengrassComponentsMetricsFactory.putMetricData(m);
+        streamingMetricsAggregator.record(m);
+
+        // the namespace is forgotten by the streaming aggregator after being idle for a few intervals
+        for (int i = 0; i <= StreamingMetricsAggregator.MAX_IDLE_INTERVALS; i++) {
+            aggregator.aggregateMetrics(0, Instant.now().toEpochMilli() + 1000);
+        }
+        assertFalse(streamingMetricsAggregator.isStreamed(GREENGRASS_COMPONENTS_NS));
+
+        long aggregatesWithMetrics = Files.readAllLines(TelemetryConfig.getTelemetryDirectory()
+                .resolve("AggregateMetrics.log")).stream().map(log -> {
+                    try {
+                        return mapper.readValue(mapper.readTree(log).get("message").asText(),
+                                AggregatedNamespaceData.class);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }).filter(am -> GREENGRASS_COMPONENTS_NS.equals(am.getNamespace()) && !am.getMetrics().isEmpty())
+                .count();
+        assertEquals(1, aggregatesWithMetrics);
+    }
 }
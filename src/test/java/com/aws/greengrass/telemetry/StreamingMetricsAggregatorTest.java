@@ -0,0 +1,139 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.telemetry;
+
+import com.aws.greengrass.telemetry.impl.Metric;
+import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
+import com.aws.greengrass.telemetry.models.TelemetryAggregation;
+import com.aws.greengrass.telemetry.models.TelemetryUnit;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class StreamingMetricsAggregatorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String NAMESPACE = "GreengrassComponents";
+    @TempDir
+    protected Path tempRootDir;
+
+    @BeforeEach
+    void setup() {
+        TelemetryConfig.getInstance().setRoot(tempRootDir);
+    }
+
+    @AfterEach
+    void cleanup() {
+        TelemetryConfig.getInstance().closeContext();
+    }
+
+    @Test
+    void GIVEN_recorded_metrics_WHEN_drain_THEN_aggregate_by_type_and_reset() {
+        StreamingMetricsAggregator aggregator = new StreamingMetricsAggregator();
+        for (int value : new int[]{10, 20, 30}) {
+            aggregator.record(metric("A", TelemetryAggregation.Sum, value));
+            aggregator.record(metric("B", TelemetryAggregation.Average, value));
+            aggregator.record(metric("C", TelemetryAggregation.Maximum, value));
+            aggregator.record(metric("D", TelemetryAggregation.Minimum, value));
+        }
+        assertTrue(aggregator.isStreamed(NAMESPACE));
+        assertFalse(aggregator.isStreamed("SystemMetrics"));
+
+        Map<String, List<AggregatedMetric>> drained = aggregator.drain();
+        assertEquals(1, drained.size());
+        Map<String, AggregatedMetric> byName = drained.get(NAMESPACE).stream()
+                .collect(Collectors.toMap(AggregatedMetric::getName, m -> m));
+        assertEquals(60.0, byName.get("A").getValue().get("Sum"));
+        assertEquals(20.0, byName.get("B").getValue().get("Average"));
+        assertEquals(30.0, byName.get("C").getValue().get("Maximum"));
+        assertEquals(10.0, byName.get("D").getValue().get("Minimum"));
+
+        assertTrue(aggregator.drain().isEmpty());
+        assertTrue(aggregator.isStreamed(NAMESPACE));
+    }
+
+    @Test
+    void GIVEN_streamed_namespace_WHEN_idle_for_several_intervals_THEN_namespace_forgotten() {
+        StreamingMetricsAggregator aggregator = new StreamingMetricsAggregator();
+        aggregator.record(metric("A", TelemetryAggregation.Sum, 10));
+        aggregator.drain();
+        aggregator.checkpoint();
+        for (int i = 1; i < StreamingMetricsAggregator.MAX_IDLE_INTERVALS; i++) {
+            aggregator.drain();
+            assertTrue(aggregator.isStreamed(NAMESPACE));
+        }
+        aggregator.drain();
+        assertFalse(aggregator.isStreamed(NAMESPACE));
+
+        aggregator.checkpoint();
+        assertFalse(Files.exists(
+                TelemetryConfig.getTelemetryDirectory().resolve(StreamingMetricsAggregator.CHECKPOINT_FILE)));
+    }
+
+    @Test
+    void GIVEN_checkpoint_WHEN_new_aggregator_THEN_restore_running_aggregates() {
+        StreamingMetricsAggregator aggregator = new StreamingMetricsAggregator();
+        aggregator.record(metric("B", TelemetryAggregation.Average, 10));
+        aggregator.record(metric("B", TelemetryAggregation.Average, 30));
+        aggregator.checkpoint();
+
+        StreamingMetricsAggregator restored = new StreamingMetricsAggregator();
+        assertTrue(restored.isStreamed(NAMESPACE));
+        restored.record(metric("B", TelemetryAggregation.Average, 50));
+        List<AggregatedMetric> metrics = restored.drain().get(NAMESPACE);
+        assertEquals(1, metrics.size());
+        assertEquals(30.0, metrics.get(0).getValue().get("Average"));
+    }
+
+    @Test
+    void GIVEN_streamed_namespace_WHEN_aggregate_metrics_THEN_log_in_memory_aggregates() throws IOException {
+        StreamingMetricsAggregator aggregator = new StreamingMetricsAggregator();
+        MetricsAggregator metricsAggregator = new MetricsAggregator(aggregator, new MetricLogReader());
+        long lastAgg = Instant.now().toEpochMilli();
+        aggregator.record(metric("A", TelemetryAggregation.Sum, 10));
+        aggregator.record(metric("A", TelemetryAggregation.Sum, 20));
+        long currTimestamp = Instant.now().toEpochMilli();
+
+        metricsAggregator.aggregateMetrics(lastAgg, currTimestamp);
+        List<String> aggregatedMetricLogs = Files.readAllLines(
+                TelemetryConfig.getTelemetryDirectory().resolve("AggregateMetrics.log"));
+        assertEquals(1, aggregatedMetricLogs.size());
+        AggregatedNamespaceData am = mapper.readValue(
+                mapper.readTree(aggregatedMetricLogs.get(0)).get("message").asText(), AggregatedNamespaceData.class);
+        assertEquals(NAMESPACE, am.getNamespace());
+        assertEquals(currTimestamp, am.getTimestamp());
+        assertEquals(30.0, am.getMetrics().get(0).getValue().get("Sum"));
+        assertTrue(Files.exists(
+                TelemetryConfig.getTelemetryDirectory().resolve(StreamingMetricsAggregator.CHECKPOINT_FILE)));
+    }
+
+    private static Metric metric(String name, TelemetryAggregation aggregation, int value) {
+        return Metric.builder()
+                .namespace(NAMESPACE)
+                .name(name)
+                .unit(TelemetryUnit.Count)
+                .aggregation(aggregation)
+                .value(value)
+                .timestamp(Instant.now().toEpochMilli())
+                .build();
+    }
+}
@@ -11,6 +11,7 @@ import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.lifecyclemanager.KernelMetricsEmitter;
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.mqttclient.PublishRequest;
+import com.aws.greengrass.network.MtlsConnectionMetricsEmitter;
 import com.aws.greengrass.telemetry.impl.config.TelemetryConfig;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
 import com.aws.greengrass.testcommons.testutilities.GGServiceTestUtil;
@@ -58,6 +59,7 @@ import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -95,7 +97,11 @@ class TelemetryAgentTest extends GGServiceTestUtil {
     @Mock
     private KernelMetricsEmitter kme;
     @Mock
+    private MtlsConnectionMetricsEmitter mcme;
+    @Mock
     private MetricsAggregator ma;
+    @Mock
+    private ComponentResourceUsageSampler crus;
 
     @BeforeEach
     void setup(ExtensionContext ec) {
@@ -126,7 +132,7 @@ class TelemetryAgentTest extends GGServiceTestUtil {
         configurationTopics.createLeafChild("periodicPublishMetricsIntervalSeconds").withValue(300);
         lenient().when(mockDeviceConfiguration.getTelemetryConfigurationTopics()).thenReturn(configurationTopics);
         lenient().when(mockMqttClient.publish(any(PublishRequest.class))).thenReturn(CompletableFuture.completedFuture(0));
-        telemetryAgent = new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ses, executorService,
+        telemetryAgent = new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, mcme, crus, ses, executorService,
                 3, 1);
     }
 
@@ -154,11 +160,24 @@ class TelemetryAgentTest extends GGServiceTestUtil {
         for (PeriodicMetricsEmitter p : telemetryAgent.getPeriodicMetricsEmitters()) {
             assertNotNull(p.future);
         }
+        // Sampling component resource usage is opt-in
+        assertNull(crus.future);
+    }
+
+    @Test
+    void GIVEN_resource_usage_sample_interval_configured_WHEN_starts_up_THEN_schedule_sampling()
+            throws InterruptedException {
+        mockDeviceConfiguration.getTelemetryConfigurationTopics()
+                .createLeafChild("componentResourceUsageSampleIntervalSec").withValue(60);
+        telemetryAgent.postInject();
+        TimeUnit.SECONDS.sleep(1);
+
+        assertNotNull(crus.future);
     }
 
     @Test
     void GIVEN_periodic_update_less_than_default_WHEN_config_read_THEN_sets_publish_interval_to_default() throws InterruptedException {
-        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ses, executorService));
+        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, mcme, crus, ses, executorService));
         telemetryAgent.postInject();
         TimeUnit.SECONDS.sleep(1);
         assertNotNull(telemetryAgent.getPeriodicAggregateMetricsFuture());
@@ -180,7 +199,7 @@ class TelemetryAgentTest extends GGServiceTestUtil {
         configurationTopics.createLeafChild("periodicPublishMetricsIntervalSeconds").withValue(300);
         when(mockDeviceConfiguration.getTelemetryConfigurationTopics()).thenReturn(configurationTopics);
 
-        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, ses, executorService));
+        telemetryAgent = spy(new TelemetryAgent(config, mockMqttClient, mockDeviceConfiguration, ma, sme, kme, mcme, crus, ses, executorService));
         telemetryAgent.postInject();
 
         TimeUnit.SECONDS.sleep(2);
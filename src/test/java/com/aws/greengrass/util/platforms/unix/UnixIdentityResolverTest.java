@@ -0,0 +1,62 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledOnOs(OS.LINUX)
+@ExtendWith(GGExtension.class)
+class UnixIdentityResolverTest {
+    private final UnixIdentityResolver resolver = UnixIdentityResolver.getInstance();
+
+    @Test
+    void GIVEN_root_user_WHEN_lookup_by_name_or_id_THEN_same_user_returned() throws Exception {
+        assertTrue(resolver.isAvailable());
+
+        Optional<UnixIdentityResolver.UserEntry> byName = resolver.lookupUser("root");
+        Optional<UnixIdentityResolver.UserEntry> byId = resolver.lookupUser("0");
+
+        assertTrue(byName.isPresent());
+        assertEquals(0, byName.get().getUid());
+        assertEquals(0, byName.get().getGid());
+        assertEquals(byName, byId);
+    }
+
+    @Test
+    void GIVEN_user_looked_up_WHEN_lookup_again_THEN_served_from_cache() throws Exception {
+        resolver.lookupUser("root");
+        long cacheHits = resolver.getLookupStats().getCacheHits();
+
+        resolver.lookupUser("root");
+
+        assertEquals(cacheHits + 1, resolver.getLookupStats().getCacheHits());
+    }
+
+    @Test
+    void GIVEN_unknown_user_and_group_WHEN_lookup_THEN_empty() throws Exception {
+        assertFalse(resolver.lookupUser("greengrass-no-such-user").isPresent());
+        assertFalse(resolver.lookupGroup("greengrass-no-such-group").isPresent());
+        assertEquals("root", resolver.lookupGroup("0").get().getName());
+    }
+
+    @Test
+    void GIVEN_id_outside_of_id_range_WHEN_lookup_THEN_empty() throws Exception {
+        // 2^32 would wrap around to uid 0 and 2^32 + 1 to gid 1 if the id was truncated
+        assertFalse(resolver.lookupUser("4294967296").isPresent());
+        assertFalse(resolver.lookupGroup("4294967297").isPresent());
+        assertFalse(resolver.lookupUser("99999999999999999999").isPresent());
+    }
+}
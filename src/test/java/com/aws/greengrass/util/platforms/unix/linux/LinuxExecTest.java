@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.Exec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@EnabledOnOs(OS.LINUX)
+@ExtendWith(GGExtension.class)
+class LinuxExecTest {
+
+    @Test
+    void GIVEN_process_output_WHEN_pumped_THEN_lines_split_like_copier() throws Exception {
+        assertNotNull(LinuxOutputPump.getInstance());
+        List<String> out = new CopyOnWriteArrayList<>();
+        List<String> err = new CopyOnWriteArrayList<>();
+        try (Exec exec = new LinuxExec()) {
+            Optional<Integer> exit = exec.withShell("printf 'a\\r\\nb\\rc\\n\\nd'; printf 'e\\n' >&2")
+                    .withComponentName("TestComponent")
+                    .withOut(s -> out.add(s.toString()))
+                    .withErr(s -> err.add(s.toString()))
+                    .exec();
+
+            assertEquals(Optional.of(0), exit);
+        }
+        assertEquals(Arrays.asList("a\n", "b\n", "c\n", "\n", "d"), out);
+        assertEquals(Arrays.asList("e\n"), err);
+    }
+
+    @Test
+    void GIVEN_background_process_WHEN_output_closed_THEN_exit_code_reported() throws Exception {
+        CompletableFuture<Integer> exitCode = new CompletableFuture<>();
+        List<String> out = new CopyOnWriteArrayList<>();
+        try (Exec exec = new LinuxExec()) {
+            exec.withShell("echo done; exit 3").withOut(s -> out.add(s.toString())).background(exitCode::complete);
+
+            assertEquals(3, exitCode.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Arrays.asList("done\n"), out);
+    }
+
+    @Test
+    void GIVEN_many_lines_WHEN_pumped_THEN_every_line_passed_in_order() throws Exception {
+        List<String> out = new CopyOnWriteArrayList<>();
+        try (Exec exec = new LinuxExec()) {
+            Optional<Integer> exit = exec.withShell("seq 1 20000").withOut(s -> out.add(s.toString())).exec();
+
+            assertEquals(Optional.of(0), exit);
+        }
+        assertEquals(20_000, out.size());
+        for (int i = 0; i < out.size(); i++) {
+            assertEquals((i + 1) + "\n", out.get(i));
+        }
+    }
+
+    @Test
+    void GIVEN_process_closes_output_WHEN_still_running_THEN_exit_code_reported_once_exited() throws Exception {
+        CompletableFuture<Integer> exitCode = new CompletableFuture<>();
+        try (Exec exec = new LinuxExec()) {
+            exec.withShell("exec >&- 2>&-; sleep 1; exit 4").background(exitCode::complete);
+
+            assertEquals(4, exitCode.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void GIVEN_consumer_blocked_WHEN_other_process_writes_THEN_other_output_still_pumped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> blockedExit = new CompletableFuture<>();
+        List<String> out = new CopyOnWriteArrayList<>();
+        try (Exec blocked = new LinuxExec()) {
+            blocked.withShell("echo blocked").withOut(s -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).background(blockedExit::complete);
+            // Processes are spread over the pump threads, one of these shares its thread with the blocked consumer
+            for (int i = 0; i < 4; i++) {
+                try (Exec other = new LinuxExec()) {
+                    CompletableFuture<Integer> otherExit = new CompletableFuture<>();
+                    other.withShell("echo other").withOut(s -> out.add(s.toString())).background(otherExit::complete);
+                    assertEquals(0, otherExit.get(5, TimeUnit.SECONDS));
+                }
+            }
+            assertEquals(Arrays.asList("other\n", "other\n", "other\n", "other\n"), out);
+            release.countDown();
+            assertEquals(0, blockedExit.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.zeroturnaround.process.PidUtil;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledOnOs(OS.LINUX)
+@ExtendWith(GGExtension.class)
+class LinuxPlatformTest {
+    private final LinuxPlatform platform = new LinuxPlatform();
+
+    @Test
+    void GIVEN_process_tree_WHEN_kill_process_and_children_THEN_all_processes_stopped() throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "sleep 100 & sh -c 'sleep 100 & wait' & wait").start();
+        try {
+            Set<Integer> pids = waitForChildren(process, 3);
+            assertEquals(3, pids.size());
+
+            Set<Integer> killed = platform.killProcessAndChildren(process, false, null, null);
+
+            assertEquals(pids, killed);
+            // the shell returns from wait once its children were terminated
+            assertTrue(process.waitFor(5, TimeUnit.SECONDS));
+        } finally {
+            platform.killProcessAndChildren(process, true, null, null);
+        }
+    }
+
+    @Test
+    void GIVEN_process_WHEN_it_exits_THEN_not_alive() throws Exception {
+        Process process = new ProcessBuilder("sleep", "100").start();
+        int pid = PidUtil.getPid(process);
+        assertTrue(platform.isProcessAlive(pid));
+
+        platform.killProcessAndChildren(process, true, null, null);
+
+        assertTrue(process.waitFor(5, TimeUnit.SECONDS));
+        assertFalse(platform.isProcessAlive(pid));
+    }
+
+    private Set<Integer> waitForChildren(Process process, int count) throws InterruptedException {
+        Set<Integer> pids = platform.getChildPids(process);
+        for (int i = 0; i < 100 && pids.size() < count; i++) {
+            TimeUnit.MILLISECONDS.sleep(50);
+            pids = platform.getChildPids(process);
+        }
+        return pids;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.lifecyclemanager.GreengrassService;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.platforms.ResourceUsage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class LinuxSystemResourceControllerV2Test {
+    private static final String COMPONENT = "TestComponent";
+    @TempDir
+    Path cgroupRoot;
+    @Mock
+    private LinuxPlatform platform;
+    @Mock
+    private GreengrassService component;
+    private LinuxSystemResourceControllerV2 controller;
+    private Path componentPath;
+
+    @BeforeEach
+    void setup() throws IOException {
+        Files.write(cgroupRoot.resolve("cgroup.controllers"), "cpuset cpu io memory pids".getBytes(StandardCharsets.UTF_8));
+        when(component.getServiceName()).thenReturn(COMPONENT);
+        controller = new LinuxSystemResourceControllerV2(platform, cgroupRoot);
+        componentPath = cgroupRoot.resolve("greengrass").resolve(COMPONENT);
+    }
+
+    @Test
+    void GIVEN_resource_limits_WHEN_update_THEN_write_cgroup_v2_interface_files() throws IOException {
+        Map<String, Object> limits = new HashMap<>();
+        limits.put("memory", 1024);
+        limits.put("memoryHigh", 512);
+        limits.put("cpus", 1.5);
+        limits.put("cpuWeight", 200);
+        limits.put("ioWeight", 50);
+        limits.put("ioMax", Collections.singletonList("8:0 wbps=1048576"));
+        limits.put("pids", 64);
+        controller.updateResourceLimits(component, limits);
+
+        assertEquals("1048576", read("memory.max"));
+        assertEquals("524288", read("memory.high"));
+        assertEquals("150000 100000", read("cpu.max"));
+        assertEquals("200", read("cpu.weight"));
+        assertEquals("default 50", read("io.weight"));
+        assertEquals("8:0 wbps=1048576", read("io.max"));
+        assertEquals("64", read("pids.max"));
+        assertEquals("+pids", new String(Files.readAllBytes(cgroupRoot.resolve("cgroup.subtree_control")),
+                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void GIVEN_invalid_weight_WHEN_update_THEN_weight_not_written() {
+        controller.updateResourceLimits(component, Collections.singletonMap("cpuWeight", 0));
+        assertFalse(Files.exists(componentPath.resolve("cpu.weight")));
+    }
+
+    @Test
+    void GIVEN_resource_limits_WHEN_reset_THEN_write_defaults() throws IOException {
+        Map<String, Object> limits = new HashMap<>();
+        limits.put("memory", 1024);
+        limits.put("cpus", 0.5);
+        controller.updateResourceLimits(component, limits);
+
+        controller.resetResourceLimits(component);
+        assertEquals("max", read("memory.max"));
+        assertEquals("max 100000", read("cpu.max"));
+    }
+
+    @Test
+    void GIVEN_component_cgroup_WHEN_pause_and_resume_THEN_write_cgroup_freeze() throws IOException {
+        controller.pauseComponentProcesses(component, Collections.emptyList());
+        assertEquals("1", read("cgroup.freeze"));
+
+        controller.resumeComponentProcesses(component);
+        assertEquals("0", read("cgroup.freeze"));
+    }
+
+    @Test
+    void GIVEN_component_cgroup_WHEN_get_resource_usage_THEN_read_cpu_stat_and_memory() throws IOException {
+        assertNull(controller.getResourceUsage(component));
+
+        Files.createDirectories(componentPath);
+        write("cpu.stat", "usage_usec 1500\nuser_usec 1000\nsystem_usec 500\n");
+        write("memory.current", "4096\n");
+        ResourceUsage usage = controller.getResourceUsage(component);
+        assertEquals(1_500_000L, usage.getCpuTimeNanos());
+        assertEquals(4096L, usage.getMemoryUsageBytes());
+        assertNull(usage.getMemoryMaxUsageBytes());
+    }
+
+    private String read(String file) throws IOException {
+        return new String(Files.readAllBytes(componentPath.resolve(file)), StandardCharsets.UTF_8);
+    }
+
+    private void write(String file, String content) throws IOException {
+        Files.write(componentPath.resolve(file), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
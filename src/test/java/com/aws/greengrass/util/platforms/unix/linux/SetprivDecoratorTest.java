@@ -0,0 +1,105 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.util.platforms.unix.linux;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.util.platforms.unix.UnixGroupAttributes;
+import com.aws.greengrass.util.platforms.unix.UnixIdentityResolver;
+import com.aws.greengrass.util.platforms.unix.UnixPlatform;
+import com.aws.greengrass.util.platforms.unix.UnixUserAttributes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@EnabledOnOs(OS.LINUX)
+@ExtendWith({MockitoExtension.class, GGExtension.class})
+class SetprivDecoratorTest {
+    private static final String[] command = {"echo", "hello", "world"};
+    private static final SetprivDecorator.Launcher launcher =
+            new SetprivDecorator.Launcher("/usr/bin/setpriv", "/usr/bin/env");
+    private static final UnixIdentityResolver.UserEntry foo =
+            new UnixIdentityResolver.UserEntry("foo", 1001, 1002, "/home/foo");
+
+    @Mock
+    private UnixIdentityResolver resolver;
+    @Mock
+    private UnixPlatform platform;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        lenient().when(resolver.isAvailable()).thenReturn(true);
+        lenient().when(platform.lookupCurrentUser()).thenReturn(UnixUserAttributes.builder().principalName("root")
+                .principalIdentifier("0").primaryGid(0L).build());
+    }
+
+    @Test
+    void GIVEN_user_WHEN_decorate_THEN_generate_setpriv_with_primary_group_of_user() throws Exception {
+        when(resolver.lookupUser("foo")).thenReturn(Optional.of(foo));
+
+        assertThat(new SetprivDecorator(resolver, platform, launcher).withUser("foo").decorate(command),
+                is(arrayContaining("/usr/bin/setpriv", "--reuid=1001", "--regid=1002", "--init-groups", "--",
+                        "/usr/bin/env", "HOME=/home/foo", "USER=foo", "LOGNAME=foo", "echo", "hello", "world")));
+    }
+
+    @Test
+    void GIVEN_user_and_group_WHEN_decorate_THEN_generate_setpriv_with_group() throws Exception {
+        when(resolver.lookupUser("foo")).thenReturn(Optional.of(foo));
+        when(platform.lookupGroupByIdentifier("bar"))
+                .thenReturn(UnixGroupAttributes.builder().principalName("bar").principalIdentifier("2000").build());
+
+        assertThat(new SetprivDecorator(resolver, platform, launcher).withUser("foo").withGroup("bar")
+                        .decorate(command),
+                is(arrayContaining("/usr/bin/setpriv", "--reuid=1001", "--regid=2000", "--init-groups", "--",
+                        "/usr/bin/env", "HOME=/home/foo", "USER=foo", "LOGNAME=foo", "echo", "hello", "world")));
+    }
+
+    @Test
+    void GIVEN_numeric_user_WHEN_decorate_THEN_generate_setpriv_with_name_of_user() throws Exception {
+        when(resolver.lookupUser("1001")).thenReturn(Optional.of(foo));
+
+        assertThat(new SetprivDecorator(resolver, platform, launcher).withUser("1001").decorate(command),
+                is(arrayContaining("/usr/bin/setpriv", "--reuid=1001", "--regid=1002", "--init-groups", "--",
+                        "/usr/bin/env", "HOME=/home/foo", "USER=foo", "LOGNAME=foo", "echo", "hello", "world")));
+    }
+
+    @Test
+    void GIVEN_current_user_WHEN_decorate_THEN_command_unchanged() throws Exception {
+        when(resolver.lookupUser("root")).thenReturn(
+                Optional.of(new UnixIdentityResolver.UserEntry("root", 0, 0, "/root")));
+
+        assertThat(new SetprivDecorator(resolver, platform, launcher).withUser("root").decorate(command),
+                is(arrayContaining(command)));
+    }
+
+    @Test
+    void GIVEN_nucleus_not_root_WHEN_decorate_THEN_generate_sudo() {
+        // setpriv can't be launched by a nucleus which doesn't run as root
+        assertThat(new SetprivDecorator(resolver, platform, null).withUser("foo").withGroup("bar")
+                        .decorate(command),
+                is(arrayContaining("sudo", "-n", "-E", "-H", "-u", "foo", "-g", "bar", "--", "echo", "hello",
+                        "world")));
+    }
+
+    @Test
+    void GIVEN_user_not_resolved_WHEN_decorate_THEN_generate_sudo() throws Exception {
+        when(resolver.lookupUser("100")).thenReturn(Optional.empty());
+
+        assertThat(new SetprivDecorator(resolver, platform, launcher).withUser("100").decorate(command),
+                is(arrayContaining("sudo", "-n", "-E", "-H", "-u", "#100", "--", "echo", "hello", "world")));
+    }
+}